@@ -0,0 +1,125 @@
+package gui;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * DataBenchmark - Aufbau von Data und Verteilung ueber Model.setProperty()...
+ * <p>
+ * Die Taktung selbst veroeffentlicht nur noch den StateSnapshot, Data entsteht
+ * bei Bedarf ueber toData(). Ueber den PropertyChangeSupport des Model laeuft
+ * der Sollwert (DATA_SET_POINT_KEY), ein angemeldeter Listener nimmt die
+ * Ereignisse entgegen.
+ * </p>
+ * <ul>
+ * <li>toData: Aufbau eines Data aus dem StateSnapshot,</li>
+ * <li>setProperty: wechselnder Sollwert mit Verteilung an den Listener,</li>
+ * <li>readState: Lesen des veroeffentlichten Zustandes (Vergleichswert).</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class DataBenchmark
+{
+    /**
+     * model - ohne Hardware-Anbindung...
+     */
+    private Model model;
+
+    /**
+     * snapshot - Quelle fuer toData()...
+     */
+    private final StateSnapshot snapshot = new StateSnapshot();
+
+    /**
+     * target - Ziel fuer readState()...
+     */
+    private final StateSnapshot target = new StateSnapshot();
+
+    /**
+     * index - laufender Index in Model.SET_POINTS...
+     */
+    private int index;
+
+    /**
+     * blackhole - fuer den Listener...
+     */
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole)
+    {
+        this.blackhole = blackhole;
+        this.model = new Model(null, (MotorDriver) null, new java.util.Properties());
+        this.model.addPropertyChangeListener(new PropertyChangeListener()
+        {
+            @Override
+            public void propertyChange(PropertyChangeEvent event)
+            {
+                DataBenchmark.this.blackhole.consume(event.getNewValue());
+            }
+        });
+        this.snapshot.counter = 1L;
+        this.snapshot.phi = 123_456L;
+        this.snapshot.rotation = 2_057_600L;
+        this.snapshot.lapTime = 400_000L;
+        this.snapshot.rpm = 1_500_000L;
+        this.snapshot.cycleTime = 100_000L;
+        this.index = 0;
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.model.shutdown();
+    }
+
+    /**
+     * toData() - Aufbau eines Data...
+     * @return Data
+     */
+    @Benchmark
+    public Data toData()
+    {
+        this.snapshot.counter++;
+        return this.snapshot.toData();
+    }
+
+    /**
+     * setProperty() - wechselnder Sollwert, Verteilung an den Listener...
+     */
+    @Benchmark
+    public void setProperty()
+    {
+        this.index = (this.index + 1) % Model.SET_POINTS.length;
+        this.model.setProperty(Model.DATA_SET_POINT_KEY, Model.SET_POINTS[this.index]);
+    }
+
+    /**
+     * readState() - Lesen des Zustandes ohne Allokation...
+     * @return Version
+     */
+    @Benchmark
+    public long readState()
+    {
+        return this.model.readState(this.target);
+    }
+}
@@ -0,0 +1,129 @@
+package gui;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * EdgeBenchmark - Verarbeitung einer Flanke des Drehgebers...
+ * <p>
+ * Das Model wird ohne Hardware-Anbindung angelegt (EdgeSource und MotorDriver
+ * null), die Flanken werden direkt ueber handleEdge() eingespeist, so wie es
+ * der EdgeProcessor tut. Eine Operation ist eine Flanke, die Zeitstempel sind
+ * synthetisch (EDGE_NANOS Abstand).
+ * </p>
+ * <ul>
+ * <li>handleEdge: Zaehlung im EncoderCounter (vorwaerts, volle Periode A/B),</li>
+ * <li>callback: Callback der EdgeSource, d.h. Ablage im EdgeRing, je batchSize
+ * Flanken ein Leeren des Rings wie im EdgeProcessor.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class EdgeBenchmark
+{
+    /**
+     * EDGE_NANOS = 10 us - Abstand der synthetischen Flanken...
+     */
+    private final static long EDGE_NANOS = 10_000L;
+
+    /**
+     * decoding - Auswertung 1-, 2- oder 4-fach...
+     */
+    @Param({"1", "4"})
+    public int decoding;
+
+    /**
+     * batchSize - Stapelgroesse beim Leeren des Rings...
+     */
+    @Param({"1024"})
+    public int batchSize;
+
+    /**
+     * model - ohne Hardware-Anbindung...
+     */
+    private Model model;
+
+    /**
+     * ring, batch[] - fuer den Callback...
+     */
+    private EdgeRing ring;
+    private long[] batch;
+
+    /**
+     * pending - Anzahl der Ereignisse im Ring seit dem letzten Leeren...
+     */
+    private int pending;
+
+    /**
+     * nanoTime - synthetischer Zeitstempel...
+     */
+    private long nanoTime;
+
+    @Setup
+    public void setup()
+    {
+        final java.util.Properties properties = new java.util.Properties();
+        properties.setProperty(Model.DECODING_KEY, Integer.toString(this.decoding));
+        this.model = new Model(null, (MotorDriver) null, properties);
+        this.ring = new EdgeRing(Integer.parseInt(Model.DEFAULT_EDGE_RING_CAPACITY));
+        this.batch = new long[this.batchSize];
+        this.pending = 0;
+        this.nanoTime = System.nanoTime();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.model.shutdown();
+    }
+
+    /**
+     * handleEdge() - eine volle Periode A/B vorwaerts, d.h. vier Flanken...
+     */
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void handleEdge()
+    {
+        final Model model = this.model;
+        long nanoTime = this.nanoTime;
+        model.handleEdge(EdgeSource.PIN_INC_A, true, nanoTime += EDGE_NANOS);
+        model.handleEdge(EdgeSource.PIN_INC_B, true, nanoTime += EDGE_NANOS);
+        model.handleEdge(EdgeSource.PIN_INC_A, false, nanoTime += EDGE_NANOS);
+        model.handleEdge(EdgeSource.PIN_INC_B, false, nanoTime += EDGE_NANOS);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * callback() - Ablage einer Flanke im Ring, stapelweises Leeren...
+     * @param blackhole
+     */
+    @Benchmark
+    public void callback(Blackhole blackhole)
+    {
+        this.nanoTime += EDGE_NANOS;
+        blackhole.consume(this.ring.offer(EdgeSource.PIN_INC_A, (this.pending & 1) == 0, this.nanoTime));
+        if (++this.pending == this.batchSize)
+        {
+            blackhole.consume(this.ring.drain(this.batch));
+            this.pending = 0;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package gui;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * GpioCdevBenchmark - Weg einer Flanke von der Anbindung bis in den EdgeRing...
+ * <p>
+ * Eine Operation ist eine Flanke, der Ring wird je Stapel wie im EdgeProcessor
+ * geleert. Verglichen werden:
+ * </p>
+ * <ul>
+ * <li>cdev: Dekodierung eines gelesenen Stapels von BATCH_EVENTS Ereignissen
+ * struct gpio_v2_line_event im direkten ByteBuffer (GpioCdevEdgeSource.dispatch()),</li>
+ * <li>pi4j: Nachbildung des Callbacks von Pi4jEdgeSource je Flanke, d.h. ein
+ * Ereignis-Objekt, System.nanoTime() und die Suche des Pins ueber die Referenz
+ * (ohne den Thread-Wechsel in Pi4J, der zusaetzlich anfaellt).</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class GpioCdevBenchmark
+{
+    /**
+     * EDGE_NANOS = 10 us - Abstand der synthetischen Flanken...
+     */
+    private final static long EDGE_NANOS = 10_000L;
+
+    /**
+     * LINES - offset der Leitungen (NE555, A, B)...
+     */
+    private final static int[] LINES = {17, 27, 22};
+
+    /**
+     * Event - Nachbildung von GpioPinDigitalStateChangeEvent...
+     */
+    private final static class Event
+    {
+        private final Object pin;
+        private final boolean rising;
+
+        Event(Object pin, boolean rising)
+        {
+            this.pin = pin;
+            this.rising = rising;
+        }
+    }
+
+    /**
+     * source, buffer - fuer cdev...
+     */
+    private GpioCdevEdgeSource source;
+    private ByteBuffer buffer;
+
+    /**
+     * pins[] - provisionierte Pins fuer pi4j (Suche ueber die Referenz)...
+     */
+    private Object[] pins;
+
+    /**
+     * ring, batch[] - Ziel der Flanken...
+     */
+    private EdgeRing ring;
+    private long[] batch;
+
+    /**
+     * listener - Ablage im Ring...
+     */
+    private EdgeListener listener;
+
+    /**
+     * pending - Anzahl der Ereignisse im Ring seit dem letzten Leeren (pi4j)...
+     */
+    private int pending;
+
+    @Setup
+    public void setup() throws java.io.IOException
+    {
+        this.source = new GpioCdevEdgeSource(GpioCdevEdgeSource.STANDARD_INPUT, LINES);
+        this.buffer = ByteBuffer.allocateDirect(GpioCdevEdgeSource.BATCH_EVENTS * GpioCdevEdgeSource.EVENT_SIZE).order(ByteOrder.nativeOrder());
+        // Volle Perioden A/B vorwaerts, fortlaufende seqno...
+        long nanoTime = System.nanoTime();
+        for (int index = 0; index < GpioCdevEdgeSource.BATCH_EVENTS; index++)
+        {
+            final int line = LINES[((index & 1) == 0)? EdgeSource.PIN_INC_A : EdgeSource.PIN_INC_B];
+            GpioCdevEdgeSource.encode(this.buffer, nanoTime += EDGE_NANOS, line, (index & 2) == 0, index + 1);
+        }
+        this.pins = new Object[LINES.length];
+        for (int pin = 0; pin < this.pins.length; pin++)
+        {
+            this.pins[pin] = new Object();
+        }
+        this.ring = new EdgeRing(Integer.parseInt(Model.DEFAULT_EDGE_RING_CAPACITY));
+        this.batch = new long[GpioCdevEdgeSource.BATCH_EVENTS];
+        final EdgeRing ring = this.ring;
+        this.listener = new EdgeListener()
+        {
+            @Override
+            public void onEdge(int pin, boolean high, long nanoTime)
+            {
+                ring.offer(pin, high, nanoTime);
+            }
+        };
+        this.pending = 0;
+    }
+
+    /**
+     * cdev() - ein gelesener Stapel, ohne Allokation dekodiert...
+     * @param blackhole
+     */
+    @Benchmark
+    @OperationsPerInvocation(GpioCdevEdgeSource.BATCH_EVENTS)
+    public void cdev(Blackhole blackhole)
+    {
+        this.buffer.position(0);
+        blackhole.consume(this.source.dispatch(this.buffer, this.listener));
+        blackhole.consume(this.ring.drain(this.batch));
+    }
+
+    /**
+     * pi4j() - Callback je Flanke wie in Pi4jEdgeSource...
+     * @param blackhole
+     */
+    @Benchmark
+    public void pi4j(Blackhole blackhole)
+    {
+        final Event event = new Event(this.pins[1 + (this.pending & 1)], (this.pending & 2) == 0);
+        final long nanoTime = System.nanoTime();
+        for (int pin = 0; pin < this.pins.length; pin++)
+        {
+            if (this.pins[pin] == event.pin)
+            {
+                this.listener.onEdge(pin, event.rising, nanoTime);
+                break;
+            }
+        }
+        if (++this.pending == GpioCdevEdgeSource.BATCH_EVENTS)
+        {
+            blackhole.consume(this.ring.drain(this.batch));
+            this.pending = 0;
+        }
+    }
+}
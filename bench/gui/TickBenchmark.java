@@ -0,0 +1,104 @@
+package gui;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TickBenchmark - Taktung (steigende Flanke NE555) mit Bestimmung von
+ * rpm, lapTime und rotation...
+ * <p>
+ * Eine Operation ist eine Taktung nach einer vollen Periode A/B (vier Flanken,
+ * vgl. EdgeBenchmark.handleEdge fuer deren Anteil). Mit speedSwitchCount
+ * wird das Verfahren der Drehzahlbestimmung gewaehlt: "1" => Zuwachs pro
+ * Taktzeit, "1000000" => Periodendauer der letzten Zaehlschritte.
+ * </p>
+ * <p>
+ * Mit channels werden je Operation alle Kanaele bedient (je Kanal vier
+ * Flanken, eine gemeinsame Taktung), die Dauer einer Operation sollte
+ * linear mit der Anzahl der Kanaele wachsen.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class TickBenchmark
+{
+    /**
+     * EDGE_NANOS = 10 us - Abstand der synthetischen Flanken...
+     */
+    private final static long EDGE_NANOS = 10_000L;
+
+    /**
+     * speedSwitchCount - vgl. Model.SPEED_SWITCH_KEY...
+     */
+    @Param({"1", "1000000"})
+    public String speedSwitchCount;
+
+    /**
+     * channels - vgl. Model.CHANNELS_KEY...
+     */
+    @Param({"1", "4", "16"})
+    public int channels;
+
+    /**
+     * model - ohne Hardware-Anbindung...
+     */
+    private Model model;
+
+    /**
+     * nanoTime - synthetischer Zeitstempel...
+     */
+    private long nanoTime;
+
+    @Setup
+    public void setup()
+    {
+        final java.util.Properties properties = new java.util.Properties();
+        properties.setProperty(Model.SPEED_SWITCH_KEY, this.speedSwitchCount);
+        properties.setProperty(Model.CHANNELS_KEY, Integer.toString(this.channels));
+        this.model = new Model(null, (MotorDriver) null, properties);
+        this.nanoTime = System.nanoTime();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.model.shutdown();
+    }
+
+    /**
+     * tick() - je Kanal vier Flanken A/B, dann die Taktung...
+     */
+    @Benchmark
+    public void tick()
+    {
+        final Model model = this.model;
+        long nanoTime = this.nanoTime;
+        for (int channel = 0; channel < this.channels; channel++)
+        {
+            final int pinA = EdgeSource.pinA(channel);
+            final int pinB = EdgeSource.pinB(channel);
+            model.handleEdge(pinA, true, nanoTime += EDGE_NANOS);
+            model.handleEdge(pinB, true, nanoTime += EDGE_NANOS);
+            model.handleEdge(pinA, false, nanoTime += EDGE_NANOS);
+            model.handleEdge(pinB, false, nanoTime += EDGE_NANOS);
+        }
+        model.handleEdge(EdgeSource.PIN_NE555, true, nanoTime += EDGE_NANOS);
+        this.nanoTime = nanoTime;
+    }
+}
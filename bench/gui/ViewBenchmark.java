@@ -0,0 +1,153 @@
+package gui;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTextField;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ViewBenchmark - Aufbereitung der Anzeigetexte in SwingWindow...
+ * <p>
+ * Das SwingWindow selbst (JFrame) ist ohne Bildschirm nicht anlegbar, gemessen
+ * wird daher dessen Aufbereitung je Bild fuer die sechs Anzeigefelder:
+ * </p>
+ * <ul>
+ * <li>formatData: Data.getValue() je Feld wie frueher in propertyChange(DATA_KEY)
+ * (Vergleichswert, die View liest nur noch in renderState()),</li>
+ * <li>formatSnapshot: StateSnapshot.format() nur der geaenderten Werte wie
+ * in renderState(),</li>
+ * <li>renderSnapshot: wie formatSnapshot, zusaetzlich setText() in ein
+ * JTextField (ohne EDT, nur das Dokument).</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class ViewBenchmark
+{
+    /**
+     * KEYS[] - Keys der Anzeigefelder...
+     */
+    private final static String[] KEYS =
+    {
+        Data.COUNTER_KEY,
+        Data.PHI_KEY,
+        Data.ROTATION_KEY,
+        Data.LAP_TIME_KEY,
+        Data.RPM_KEY,
+        Data.CYCLE_TIME_KEY
+    };
+
+    /**
+     * snapshot - der anzuzeigende Zustand...
+     */
+    private final StateSnapshot snapshot = new StateSnapshot();
+
+    /**
+     * data - der anzuzeigende Zustand als Data...
+     */
+    private Data data;
+
+    /**
+     * renderedValues[] - zuletzt angezeigte Werte je Feld...
+     */
+    private final long[] renderedValues = new long[KEYS.length];
+
+    /**
+     * fields[] - Anzeigefelder...
+     */
+    private final JTextField[] fields = new JTextField[KEYS.length];
+
+    @Setup
+    public void setup()
+    {
+        this.snapshot.counter = 1L;
+        this.snapshot.phi = 123_456L;
+        this.snapshot.rotation = 2_057_600L;
+        this.snapshot.lapTime = 400_000L;
+        this.snapshot.rpm = 1_500_000L;
+        this.snapshot.cycleTime = 100_000L;
+        this.data = this.snapshot.toData();
+        for (int index = 0; index < this.fields.length; index++)
+        {
+            this.fields[index] = new JTextField(10);
+            this.renderedValues[index] = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * formatData() - alle Felder aus Data...
+     * @param blackhole
+     */
+    @Benchmark
+    public void formatData(Blackhole blackhole)
+    {
+        for (String key: KEYS)
+        {
+            blackhole.consume(this.data.getValue(key));
+        }
+    }
+
+    /**
+     * formatSnapshot() - nur die geaenderten Felder (counter, phi, rotation je Bild)...
+     * @param blackhole
+     */
+    @Benchmark
+    public void formatSnapshot(Blackhole blackhole)
+    {
+        advance();
+        for (int index = 0; index < KEYS.length; index++)
+        {
+            final int slot = StateSnapshot.slotOf(KEYS[index]);
+            final long value = this.snapshot.get(slot);
+            if (value != this.renderedValues[index])
+            {
+                this.renderedValues[index] = value;
+                blackhole.consume(StateSnapshot.format(slot, value));
+            }
+        }
+    }
+
+    /**
+     * renderSnapshot() - wie formatSnapshot(), mit setText()...
+     */
+    @Benchmark
+    public void renderSnapshot()
+    {
+        advance();
+        for (int index = 0; index < KEYS.length; index++)
+        {
+            final int slot = StateSnapshot.slotOf(KEYS[index]);
+            final long value = this.snapshot.get(slot);
+            if (value != this.renderedValues[index])
+            {
+                this.renderedValues[index] = value;
+                this.fields[index].setText(StateSnapshot.format(slot, value));
+            }
+        }
+    }
+
+    /**
+     * advance() - naechstes Bild: Zaehler und Lage aendern sich...
+     */
+    private void advance()
+    {
+        this.snapshot.counter++;
+        this.snapshot.phi += 100L;
+        this.snapshot.rotation += 4_000L;
+    }
+}
@@ -0,0 +1,60 @@
+package gui;
+
+/**
+ * ControlMode - Betriebsart der Sollwertvorgabe (vgl. Model.CONTROL_MODE_KEY)...
+ * <ul>
+ * <li>OPEN_LOOP: der Sollwert der ComboBox geht unmittelbar an den DRV8830,</li>
+ * <li>SPEED: der Sollwert der ComboBox ist eine Solldrehzahl, der Stellwert
+ * fuer den DRV8830 wird je Taktung vom PidController bestimmt,</li>
+ * <li>POSITION: Fahrt auf eine Ziellage (vgl. Model.moveTo()), der Betrag des
+ * Sollwertes der ComboBox ist der Stellwert der Fahrt. Das Erreichen des Zieles
+ * wird je Flanke des Drehgebers geprueft und loest sofort brake() aus.</li>
+ * </ul>
+ */
+public enum ControlMode
+{
+    OPEN_LOOP("openLoop"),
+    SPEED("speed"),
+    POSITION("position");
+    
+    /**
+     * key - Eintrag in der Konfiguration...
+     */
+    private final String key;
+    
+    /**
+     * Konstruktor ControlMode(String key)
+     * @param key
+     */
+    private ControlMode(String key)
+    {
+        this.key = key;
+    }
+    
+    /**
+     * getKey() - Eintrag in der Konfiguration...
+     * @return key
+     */
+    public String getKey()
+    {
+        return this.key;
+    }
+    
+    /**
+     * fromKey(String key) - Betriebsart zum Eintrag der Konfiguration...
+     * @param key z.B. "openLoop", "speed" oder "position"
+     * @return ControlMode
+     * @throws IllegalArgumentException bei unbekanntem Eintrag
+     */
+    public static ControlMode fromKey(String key)
+    {
+        for (ControlMode mode: values())
+        {
+            if (mode.key.equals(key))
+            {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("ControlMode: " + key);
+    }
+}
@@ -44,6 +44,81 @@ public class Data implements Comparable<Data>
      * CYCLE_TIME_KEY = "cycleTimeKey" - Key zum Zugriff auf die Taktzeit...
      */
     public final static String CYCLE_TIME_KEY = "cycleTimeKey";
+    
+    /**
+     * ERROR_KEY = "errorKey" - Key zum Zugriff auf die Regelabweichung des Drehzahlreglers...
+     */
+    public final static String ERROR_KEY = "errorKey";
+    
+    /**
+     * INTEGRAL_KEY = "integralKey" - Key zum Zugriff auf den Integralanteil des Drehzahlreglers...
+     */
+    public final static String INTEGRAL_KEY = "integralKey";
+    
+    /**
+     * OUTPUT_KEY = "outputKey" - Key zum Zugriff auf den Stellwert an den DRV8830...
+     */
+    public final static String OUTPUT_KEY = "outputKey";
+
+    /**
+     * RPM_MEAN_KEY = "rpmMeanKey" - Key zum Zugriff auf die mittlere Drehzahl im gleitenden Fenster...
+     */
+    public final static String RPM_MEAN_KEY = "rpmMeanKey";
+
+    /**
+     * RIPPLE_KEY = "rippleKey" - Key zum Zugriff auf die Welligkeit der Drehzahl...
+     */
+    public final static String RIPPLE_KEY = "rippleKey";
+
+    /**
+     * STANDSTILL_KEY = "standstillKey" - Key zum Zugriff auf die Kennung Stillstand...
+     */
+    public final static String STANDSTILL_KEY = "standstillKey";
+
+    /**
+     * PROFILE_VALUE_KEY = "profileValueKey" - Key zum Zugriff auf den Wert der Rampe des Sollwertes...
+     */
+    public final static String PROFILE_VALUE_KEY = "profileValueKey";
+
+    /**
+     * PROFILE_RATE_KEY = "profileRateKey" - Key zum Zugriff auf die Steigung der Rampe...
+     */
+    public final static String PROFILE_RATE_KEY = "profileRateKey";
+
+    /**
+     * PROFILE_PHASE_KEY = "profilePhaseKey" - Key zum Zugriff auf den Abschnitt der Rampe...
+     */
+    public final static String PROFILE_PHASE_KEY = "profilePhaseKey";
+
+    /**
+     * TARGET_PHI_KEY = "targetPhiKey" - Key zum Zugriff auf die Ziellage der Lageregelung...
+     */
+    public final static String TARGET_PHI_KEY = "targetPhiKey";
+
+    /**
+     * OVERSHOOT_KEY = "overshootKey" - Key zum Zugriff auf den Ueberlauf ueber die Ziellage...
+     */
+    public final static String OVERSHOOT_KEY = "overshootKey";
+
+    /**
+     * BRAKE_LATENCY_KEY = "brakeLatencyKey" - Key zum Zugriff auf die Reaktionszeit bis brake()...
+     */
+    public final static String BRAKE_LATENCY_KEY = "brakeLatencyKey";
+
+    /**
+     * RIPPLE_ORDER_KEY = "rippleOrderKey" - Key zum Zugriff auf die dominante Ordnung der Welligkeit...
+     */
+    public final static String RIPPLE_ORDER_KEY = "rippleOrderKey";
+
+    /**
+     * RIPPLE_AMPLITUDE_KEY = "rippleAmplitudeKey" - Key zum Zugriff auf die Amplitude der dominanten Ordnung...
+     */
+    public final static String RIPPLE_AMPLITUDE_KEY = "rippleAmplitudeKey";
+
+    /**
+     * RIPPLE_FREQUENCY_KEY = "rippleFrequencyKey" - Key zum Zugriff auf die Frequenz der dominanten Ordnung...
+     */
+    public final static String RIPPLE_FREQUENCY_KEY = "rippleFrequencyKey";
 
     /**
      * counter - Zaehler fuer die aktuelle Taktung k...
@@ -76,6 +151,81 @@ public class Data implements Comparable<Data>
      */
     private final BigDecimal cycleTime;
     
+    /**
+     * error - Regelabweichung des Drehzahlreglers (Solldrehzahl - Drehzahl) in 1/min...
+     */
+    private final BigDecimal error;
+    
+    /**
+     * integral - Integralanteil des Drehzahlreglers in Stellwert...
+     */
+    private final BigDecimal integral;
+    
+    /**
+     * output - Stellwert an den DRV8830...
+     */
+    private final Long output;
+    
+    /**
+     * rpmMean - mittlere Drehzahl im gleitenden Fenster in 1/min...
+     */
+    private final BigDecimal rpmMean;
+    
+    /**
+     * ripple - Welligkeit der Drehzahl (Standardabweichung im gleitenden Fenster) in 1/min...
+     */
+    private final BigDecimal ripple;
+    
+    /**
+     * standstill - Stillstand (kein Zuwachs der Lage im gleitenden Fenster)...
+     */
+    private final Boolean standstill;
+    
+    /**
+     * profileValue - Wert der Rampe des Sollwertes in Stufen...
+     */
+    private final BigDecimal profileValue;
+    
+    /**
+     * profileRate - Steigung der Rampe in Stufen pro s...
+     */
+    private final BigDecimal profileRate;
+    
+    /**
+     * profilePhase - Abschnitt der Rampe (Anzeigetext)...
+     */
+    private final String profilePhase;
+    
+    /**
+     * targetPhi - Ziellage der Lageregelung in Impulsen...
+     */
+    private final Long targetPhi;
+    
+    /**
+     * overshoot - Ueberlauf ueber die Ziellage in Impulsen...
+     */
+    private final Long overshoot;
+    
+    /**
+     * brakeLatency - Reaktionszeit von der Flanke am Ziel bis zum ausgefuehrten brake() in us...
+     */
+    private final BigDecimal brakeLatency;
+    
+    /**
+     * rippleOrder - dominante Ordnung der Welligkeit, 0 => keine...
+     */
+    private final Long rippleOrder;
+    
+    /**
+     * rippleAmplitude - Amplitude der dominanten Ordnung in % der Drehzahl...
+     */
+    private final BigDecimal rippleAmplitude;
+    
+    /**
+     * rippleFrequency - Frequenz der dominanten Ordnung in Hz...
+     */
+    private final BigDecimal rippleFrequency;
+    
     /**
      * Data() - Defaultkonstruktor...
      */
@@ -108,6 +258,138 @@ public class Data implements Comparable<Data>
      * @param cycleTime
      */
     public Data(Long counter, Long phi, BigDecimal rotation, BigDecimal lapTime, BigDecimal rpm, BigDecimal cycleTime, BigDecimal setPoint)
+    {
+        this(counter, phi, rotation, lapTime, rpm, cycleTime, setPoint, BigDecimal.ZERO, BigDecimal.ZERO, Long.valueOf(0L));
+    }
+    
+    /**
+     * Konstruktor Data(...) - mit dem Zustand des Drehzahlreglers
+     * @param counter
+     * @param phi
+     * @param rotation
+     * @param lapTime
+     * @param rpm
+     * @param cycleTime
+     * @param setPoint
+     * @param error Regelabweichung in 1/min
+     * @param integral Integralanteil
+     * @param output Stellwert
+     */
+    public Data(Long counter, Long phi, BigDecimal rotation, BigDecimal lapTime, BigDecimal rpm, BigDecimal cycleTime, BigDecimal setPoint,
+                BigDecimal error, BigDecimal integral, Long output)
+    {
+        this(counter, phi, rotation, lapTime, rpm, cycleTime, setPoint, error, integral, output, BigDecimal.ZERO, BigDecimal.ZERO, Boolean.FALSE);
+    }
+    
+    /**
+     * Konstruktor Data(...) - mit den Werten des gleitenden Fensters
+     * @param counter
+     * @param phi
+     * @param rotation
+     * @param lapTime
+     * @param rpm
+     * @param cycleTime
+     * @param setPoint
+     * @param error Regelabweichung in 1/min
+     * @param integral Integralanteil
+     * @param output Stellwert
+     * @param rpmMean mittlere Drehzahl in 1/min
+     * @param ripple Welligkeit der Drehzahl in 1/min
+     * @param standstill Stillstand
+     */
+    public Data(Long counter, Long phi, BigDecimal rotation, BigDecimal lapTime, BigDecimal rpm, BigDecimal cycleTime, BigDecimal setPoint,
+                BigDecimal error, BigDecimal integral, Long output, BigDecimal rpmMean, BigDecimal ripple, Boolean standstill)
+    {
+        this(counter, phi, rotation, lapTime, rpm, cycleTime, setPoint, error, integral, output, rpmMean, ripple, standstill,
+             setPoint, BigDecimal.ZERO, SetPointProfile.phaseName(SetPointProfile.PHASE_IDLE));
+    }
+    
+    /**
+     * Konstruktor Data(...) - mit dem Zustand der Rampe des Sollwertes
+     * @param counter
+     * @param phi
+     * @param rotation
+     * @param lapTime
+     * @param rpm
+     * @param cycleTime
+     * @param setPoint
+     * @param error Regelabweichung in 1/min
+     * @param integral Integralanteil
+     * @param output Stellwert
+     * @param rpmMean mittlere Drehzahl in 1/min
+     * @param ripple Welligkeit der Drehzahl in 1/min
+     * @param standstill Stillstand
+     * @param profileValue Wert der Rampe in Stufen
+     * @param profileRate Steigung der Rampe in Stufen pro s
+     * @param profilePhase Abschnitt der Rampe
+     */
+    public Data(Long counter, Long phi, BigDecimal rotation, BigDecimal lapTime, BigDecimal rpm, BigDecimal cycleTime, BigDecimal setPoint,
+                BigDecimal error, BigDecimal integral, Long output, BigDecimal rpmMean, BigDecimal ripple, Boolean standstill,
+                BigDecimal profileValue, BigDecimal profileRate, String profilePhase)
+    {
+        this(counter, phi, rotation, lapTime, rpm, cycleTime, setPoint, error, integral, output, rpmMean, ripple, standstill,
+             profileValue, profileRate, profilePhase, Long.valueOf(0L), Long.valueOf(0L), BigDecimal.ZERO);
+    }
+    
+    /**
+     * Konstruktor Data(...) - mit dem Zustand der Lageregelung
+     * @param counter
+     * @param phi
+     * @param rotation
+     * @param lapTime
+     * @param rpm
+     * @param cycleTime
+     * @param setPoint
+     * @param error Regelabweichung in 1/min
+     * @param integral Integralanteil
+     * @param output Stellwert
+     * @param rpmMean mittlere Drehzahl in 1/min
+     * @param ripple Welligkeit der Drehzahl in 1/min
+     * @param standstill Stillstand
+     * @param profileValue Wert der Rampe in Stufen
+     * @param profileRate Steigung der Rampe in Stufen pro s
+     * @param profilePhase Abschnitt der Rampe
+     * @param targetPhi Ziellage in Impulsen
+     * @param overshoot Ueberlauf in Impulsen
+     * @param brakeLatency Reaktionszeit bis brake() in us
+     */
+    public Data(Long counter, Long phi, BigDecimal rotation, BigDecimal lapTime, BigDecimal rpm, BigDecimal cycleTime, BigDecimal setPoint,
+                BigDecimal error, BigDecimal integral, Long output, BigDecimal rpmMean, BigDecimal ripple, Boolean standstill,
+                BigDecimal profileValue, BigDecimal profileRate, String profilePhase, Long targetPhi, Long overshoot, BigDecimal brakeLatency)
+    {
+        this(counter, phi, rotation, lapTime, rpm, cycleTime, setPoint, error, integral, output, rpmMean, ripple, standstill,
+             profileValue, profileRate, profilePhase, targetPhi, overshoot, brakeLatency, Long.valueOf(0L), BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+    
+    /**
+     * Konstruktor Data(...) - mit der Analyse der Welligkeit
+     * @param counter
+     * @param phi
+     * @param rotation
+     * @param lapTime
+     * @param rpm
+     * @param cycleTime
+     * @param setPoint
+     * @param error Regelabweichung in 1/min
+     * @param integral Integralanteil
+     * @param output Stellwert
+     * @param rpmMean mittlere Drehzahl in 1/min
+     * @param ripple Welligkeit der Drehzahl in 1/min
+     * @param standstill Stillstand
+     * @param profileValue Wert der Rampe in Stufen
+     * @param profileRate Steigung der Rampe in Stufen pro s
+     * @param profilePhase Abschnitt der Rampe
+     * @param targetPhi Ziellage in Impulsen
+     * @param overshoot Ueberlauf in Impulsen
+     * @param brakeLatency Reaktionszeit bis brake() in us
+     * @param rippleOrder dominante Ordnung der Welligkeit
+     * @param rippleAmplitude Amplitude der dominanten Ordnung in %
+     * @param rippleFrequency Frequenz der dominanten Ordnung in Hz
+     */
+    public Data(Long counter, Long phi, BigDecimal rotation, BigDecimal lapTime, BigDecimal rpm, BigDecimal cycleTime, BigDecimal setPoint,
+                BigDecimal error, BigDecimal integral, Long output, BigDecimal rpmMean, BigDecimal ripple, Boolean standstill,
+                BigDecimal profileValue, BigDecimal profileRate, String profilePhase, Long targetPhi, Long overshoot, BigDecimal brakeLatency,
+                Long rippleOrder, BigDecimal rippleAmplitude, BigDecimal rippleFrequency)
     {
         this.counter = (counter != null)? counter : Long.valueOf(0L);
         this.phi = (phi != null)? phi : Long.valueOf(0L);
@@ -115,6 +397,21 @@ public class Data implements Comparable<Data>
         this.lapTime = (lapTime != null)? lapTime : BigDecimal.ZERO;
         this.rpm = (rpm != null)? rpm : BigDecimal.ZERO;
         this.cycleTime = (cycleTime != null)? cycleTime : BigDecimal.ZERO;
+        this.error = (error != null)? error : BigDecimal.ZERO;
+        this.integral = (integral != null)? integral : BigDecimal.ZERO;
+        this.output = (output != null)? output : Long.valueOf(0L);
+        this.rpmMean = (rpmMean != null)? rpmMean : BigDecimal.ZERO;
+        this.ripple = (ripple != null)? ripple : BigDecimal.ZERO;
+        this.standstill = (standstill != null)? standstill : Boolean.FALSE;
+        this.profileValue = (profileValue != null)? profileValue : BigDecimal.ZERO;
+        this.profileRate = (profileRate != null)? profileRate : BigDecimal.ZERO;
+        this.profilePhase = (profilePhase != null)? profilePhase : SetPointProfile.phaseName(SetPointProfile.PHASE_IDLE);
+        this.targetPhi = (targetPhi != null)? targetPhi : Long.valueOf(0L);
+        this.overshoot = (overshoot != null)? overshoot : Long.valueOf(0L);
+        this.brakeLatency = (brakeLatency != null)? brakeLatency : BigDecimal.ZERO;
+        this.rippleOrder = (rippleOrder != null)? rippleOrder : Long.valueOf(0L);
+        this.rippleAmplitude = (rippleAmplitude != null)? rippleAmplitude : BigDecimal.ZERO;
+        this.rippleFrequency = (rippleFrequency != null)? rippleFrequency : BigDecimal.ZERO;
     }
 
     /**
@@ -210,13 +507,135 @@ public class Data implements Comparable<Data>
         return this.cycleTime;
     }
 
+    /**
+     * @return the error
+     */
+    public final BigDecimal getError()
+    {
+        return this.error;
+    }
+
+    /**
+     * @return the integral
+     */
+    public final BigDecimal getIntegral()
+    {
+        return this.integral;
+    }
+
+    /**
+     * @return the output
+     */
+    public final Long getOutput()
+    {
+        return this.output;
+    }
+
+    /**
+     * @return the rpmMean
+     */
+    public final BigDecimal getRpmMean()
+    {
+        return this.rpmMean;
+    }
+
+    /**
+     * @return the ripple
+     */
+    public final BigDecimal getRipple()
+    {
+        return this.ripple;
+    }
+
+    /**
+     * @return the standstill
+     */
+    public final Boolean getStandstill()
+    {
+        return this.standstill;
+    }
+
+    /**
+     * @return the profileValue
+     */
+    public final BigDecimal getProfileValue()
+    {
+        return this.profileValue;
+    }
+
+    /**
+     * @return the profileRate
+     */
+    public final BigDecimal getProfileRate()
+    {
+        return this.profileRate;
+    }
+
+    /**
+     * @return the profilePhase
+     */
+    public final String getProfilePhase()
+    {
+        return this.profilePhase;
+    }
+
+    /**
+     * @return the targetPhi
+     */
+    public final Long getTargetPhi()
+    {
+        return this.targetPhi;
+    }
+
+    /**
+     * @return the overshoot
+     */
+    public final Long getOvershoot()
+    {
+        return this.overshoot;
+    }
+
+    /**
+     * @return the brakeLatency
+     */
+    public final BigDecimal getBrakeLatency()
+    {
+        return this.brakeLatency;
+    }
+
+    /**
+     * @return the rippleOrder
+     */
+    public final Long getRippleOrder()
+    {
+        return this.rippleOrder;
+    }
+
+    /**
+     * @return the rippleAmplitude
+     */
+    public final BigDecimal getRippleAmplitude()
+    {
+        return this.rippleAmplitude;
+    }
+
+    /**
+     * @return the rippleFrequency
+     */
+    public final BigDecimal getRippleFrequency()
+    {
+        return this.rippleFrequency;
+    }
+
    /**
      * 
      * @return String[]
      */
     public String[] getKeys()
     {
-        return new String[] {COUNTER_KEY, PHI_KEY, ROTATION_KEY, LAP_TIME_KEY, RPM_KEY, CYCLE_TIME_KEY};
+        return new String[] {COUNTER_KEY, PHI_KEY, ROTATION_KEY, LAP_TIME_KEY, RPM_KEY, CYCLE_TIME_KEY, ERROR_KEY, INTEGRAL_KEY, OUTPUT_KEY,
+                             RPM_MEAN_KEY, RIPPLE_KEY, STANDSTILL_KEY, PROFILE_VALUE_KEY, PROFILE_RATE_KEY, PROFILE_PHASE_KEY,
+                             TARGET_PHI_KEY, OVERSHOOT_KEY, BRAKE_LATENCY_KEY, RIPPLE_ORDER_KEY, RIPPLE_AMPLITUDE_KEY, RIPPLE_FREQUENCY_KEY};
     }
 
     /**
@@ -250,6 +669,66 @@ public class Data implements Comparable<Data>
         {
             return (this.cycleTime != null)? this.cycleTime.toString() : null;   
         }
+        if (Data.ERROR_KEY.equals(key))
+        {
+            return (this.error != null)? this.error.toString() : null;
+        }
+        if (Data.INTEGRAL_KEY.equals(key))
+        {
+            return (this.integral != null)? this.integral.toString() : null;
+        }
+        if (Data.OUTPUT_KEY.equals(key))
+        {
+            return (this.output != null)? this.output.toString() : null;
+        }
+        if (Data.RPM_MEAN_KEY.equals(key))
+        {
+            return (this.rpmMean != null)? this.rpmMean.toString() : null;
+        }
+        if (Data.RIPPLE_KEY.equals(key))
+        {
+            return (this.ripple != null)? this.ripple.toString() : null;
+        }
+        if (Data.STANDSTILL_KEY.equals(key))
+        {
+            return (this.standstill != null)? this.standstill.toString() : null;
+        }
+        if (Data.PROFILE_VALUE_KEY.equals(key))
+        {
+            return (this.profileValue != null)? this.profileValue.toString() : null;
+        }
+        if (Data.PROFILE_RATE_KEY.equals(key))
+        {
+            return (this.profileRate != null)? this.profileRate.toString() : null;
+        }
+        if (Data.PROFILE_PHASE_KEY.equals(key))
+        {
+            return this.profilePhase;
+        }
+        if (Data.TARGET_PHI_KEY.equals(key))
+        {
+            return (this.targetPhi != null)? this.targetPhi.toString() : null;
+        }
+        if (Data.OVERSHOOT_KEY.equals(key))
+        {
+            return (this.overshoot != null)? this.overshoot.toString() : null;
+        }
+        if (Data.BRAKE_LATENCY_KEY.equals(key))
+        {
+            return (this.brakeLatency != null)? this.brakeLatency.toString() : null;
+        }
+        if (Data.RIPPLE_ORDER_KEY.equals(key))
+        {
+            return (this.rippleOrder != null)? this.rippleOrder.toString() : null;
+        }
+        if (Data.RIPPLE_AMPLITUDE_KEY.equals(key))
+        {
+            return (this.rippleAmplitude != null)? this.rippleAmplitude.toString() : null;
+        }
+        if (Data.RIPPLE_FREQUENCY_KEY.equals(key))
+        {
+            return (this.rippleFrequency != null)? this.rippleFrequency.toString() : null;
+        }
         return null;
     }    
     
@@ -273,6 +752,36 @@ public class Data implements Comparable<Data>
                                   .append(this.rpm)
                                   .append(" ")
                                   .append(this.cycleTime)
+                                  .append(" ")
+                                  .append(this.error)
+                                  .append(" ")
+                                  .append(this.integral)
+                                  .append(" ")
+                                  .append(this.output)
+                                  .append(" ")
+                                  .append(this.rpmMean)
+                                  .append(" ")
+                                  .append(this.ripple)
+                                  .append(" ")
+                                  .append(this.standstill)
+                                  .append(" ")
+                                  .append(this.profileValue)
+                                  .append(" ")
+                                  .append(this.profileRate)
+                                  .append(" ")
+                                  .append(this.profilePhase)
+                                  .append(" ")
+                                  .append(this.targetPhi)
+                                  .append(" ")
+                                  .append(this.overshoot)
+                                  .append(" ")
+                                  .append(this.brakeLatency)
+                                  .append(" ")
+                                  .append(this.rippleOrder)
+                                  .append(" ")
+                                  .append(this.rippleAmplitude)
+                                  .append(" ")
+                                  .append(this.rippleFrequency)
                                   .append("]")
                                   .toString();
     }
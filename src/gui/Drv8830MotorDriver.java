@@ -0,0 +1,57 @@
+package gui;
+
+import java.io.IOException;
+
+import com.pi4j.io.i2c.I2CBus;
+import com.pi4j.io.i2c.I2CFactory;
+import com.pi4j.io.i2c.I2CFactory.UnsupportedBusNumberException;
+
+import raspi.hardware.i2c.DRV8830;
+
+/**
+ * Drv8830MotorDriver - MotorDriver auf Basis des DRV8830 am I2C-Bus...
+ */
+public class Drv8830MotorDriver implements MotorDriver
+{
+    /**
+     * drv8830 - Referenz auf den DRV8830-Baustein
+     */
+    private final DRV8830 drv8830;
+    
+    /**
+     * Konstruktor Drv8830MotorDriver(int busNumber, int address)
+     * @param busNumber Nummer des I2C-Busses, z.B. I2CBus.BUS_1
+     * @param address Bus-Adresse des DRV8830
+     * @throws IOException
+     * @throws UnsupportedBusNumberException
+     */
+    public Drv8830MotorDriver(int busNumber, int address) throws IOException, UnsupportedBusNumberException
+    {
+        final I2CBus i2cBus = I2CFactory.getInstance(busNumber);
+        this.drv8830 = new DRV8830(i2cBus.getDevice(address));
+    }
+
+    @Override
+    public int getFault() throws IOException
+    {
+        return this.drv8830.getFault();
+    }
+
+    @Override
+    public String getFaultReason(int fault)
+    {
+        return DRV8830.Fault.getFault(fault).getReason();
+    }
+
+    @Override
+    public void drive(int value) throws IOException
+    {
+        this.drv8830.drive(value);
+    }
+
+    @Override
+    public void brake() throws IOException
+    {
+        this.drv8830.brake();
+    }
+}
@@ -0,0 +1,27 @@
+package gui;
+
+/**
+ * Interface EdgeListener - nimmt die Flanken einer EdgeSource entgegen...
+ * <p>
+ * Die Pins werden ueber ihren Index (EdgeSource.PIN_...) angesprochen,
+ * damit entfaellt der Vergleich ueber den Pin-Namen.
+ * </p>
+ */
+public interface EdgeListener
+{
+    /**
+     * onEdge(int pin, boolean high, long nanoTime) - Pegelwechsel am Pin...
+     * <p>
+     * Der Zeitstempel nanoTime stammt von System.nanoTime() (monoton, unabhaengig
+     * von Korrekturen der Systemuhr) und wird so frueh wie moeglich erfasst.
+     * </p>
+     * <p>
+     * Die EdgeSource ruft onEdge() nie gleichzeitig aus mehreren Threads auf
+     * (der EdgeRing hat genau einen Schreiber), ggf. serialisiert sie die Aufrufe.
+     * </p>
+     * @param pin Index des Pins, vgl. EdgeSource.PIN_NE555, EdgeSource.PIN_INC_A...
+     * @param high neuer Pegel, true: steigende Flanke, false: fallende Flanke
+     * @param nanoTime Zeitpunkt der Flanke in ns (System.nanoTime())
+     */
+    public void onEdge(int pin, boolean high, long nanoTime);
+}
@@ -0,0 +1,317 @@
+package gui;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * EdgeProcessor - Verarbeitungs-Thread der Flanken-Ereignisse aus einem EdgeRing...
+ * <p>
+ * Der Callback der EdgeSource legt die Ereignisse nur im EdgeRing ab. Dieser
+ * Thread entnimmt sie stapelweise, liefert sie in Reihenfolge an den listener
+ * und beauftragt nach jedem Stapel batchEnd (z.B. die Veroeffentlichung des
+ * Zaehlerstandes). Damit ist die Latenz des Callbacks von der Verarbeitung
+ * entkoppelt.
+ * </p>
+ * <p>
+ * Ist der Ring leer, so wird zunaechst kurz aktiv gewartet, dann der Thread
+ * abgegeben und schliesslich fuer PARK_NANOS geparkt. Die Zeitstempel der
+ * Flanken sind davon nicht betroffen.
+ * </p>
+ * <p>
+ * Optional wird ein zweiter Ring (tickRing, z.B. von der SoftwareClock) nach
+ * jedem Stapel der Flanken geleert und an den tickListener geliefert. Die
+ * Taktung sieht damit die Flanken bis zum Leeren des Rings, alle Zugriffe
+ * auf den Zustand bleiben in diesem einen Thread.
+ * </p>
+ */
+final class EdgeProcessor
+{
+    /**
+     * logger
+     */
+    private final static Logger logger = LoggerFactory.getLogger(EdgeProcessor.class);
+    
+    /**
+     * SPIN_ROUNDS, YIELD_ROUNDS - Anzahl der Leerlaeufe vor dem Parken...
+     */
+    private final static int SPIN_ROUNDS = 100;
+    private final static int YIELD_ROUNDS = 200;
+    
+    /**
+     * PARK_NANOS = 50 us - max. Wartezeit bei leerem Ring...
+     */
+    private final static long PARK_NANOS = 50_000L;
+    
+    /**
+     * HANDLER_SAMPLE_MASK = 7 - die Dauer der Verarbeitung wird fuer jede 8. Flanke
+     * des Drehgebers einzeln gemessen (zwei Zeitmessungen je Messung)...
+     */
+    private final static long HANDLER_SAMPLE_MASK = 7L;
+    
+    /**
+     * ring - Quelle der Ereignisse...
+     */
+    private final EdgeRing ring;
+    
+    /**
+     * listener - Verarbeitung je Ereignis...
+     */
+    private final EdgeListener listener;
+    
+    /**
+     * batchEnd - Beauftragung nach jedem Stapel...
+     */
+    private final Runnable batchEnd;
+    
+    /**
+     * tickRing - zweite Quelle (Taktung) oder null...
+     */
+    private final EdgeRing tickRing;
+    
+    /**
+     * tickListener - Verarbeitung je Ereignis aus dem tickRing...
+     */
+    private final EdgeListener tickListener;
+    
+    /**
+     * tickBatch[] - Zwischenablage fuer den tickRing...
+     */
+    private final long[] tickBatch;
+    
+    /**
+     * batch[] - Zwischenablage eines Stapels...
+     */
+    private final long[] batch;
+    
+    /**
+     * thread - der Verarbeitungs-Thread...
+     */
+    private final Thread thread;
+    
+    /**
+     * running - false => Thread beenden (nach Leeren des Rings)...
+     */
+    private volatile boolean running = true;
+    
+    /**
+     * batches, events, maxBatch - Statistik der Stapel (nur dieser Thread schreibt)...
+     */
+    private volatile long batches = 0L;
+    private volatile long events = 0L;
+    private volatile int maxBatch = 0;
+    
+    /**
+     * handlerDurations - Dauer der Verarbeitung einer einzelnen Flanke des Drehgebers
+     * (Stichprobe, vgl. HANDLER_SAMPLE_MASK), ohne batchEnd und ohne Flanken NE555,
+     * deren Taktung das Histogramm tickCompute erfasst...
+     */
+    private final LatencyHistogram handlerDurations = new LatencyHistogram("edgeHandler");
+    
+    /**
+     * Konstruktor EdgeProcessor(String name, EdgeRing ring, int batchSize, EdgeListener listener, Runnable batchEnd)
+     * @param name Name des Threads
+     * @param ring Quelle der Ereignisse
+     * @param batchSize max. Anzahl der Ereignisse je Stapel
+     * @param listener Verarbeitung je Ereignis
+     * @param batchEnd Beauftragung nach jedem Stapel
+     */
+    EdgeProcessor(String name, EdgeRing ring, int batchSize, EdgeListener listener, Runnable batchEnd)
+    {
+        this(name, ring, batchSize, listener, batchEnd, null, null);
+    }
+    
+    /**
+     * Konstruktor EdgeProcessor(String name, EdgeRing ring, int batchSize, EdgeListener listener, Runnable batchEnd,
+     *                           EdgeRing tickRing, EdgeListener tickListener)
+     * @param name Name des Threads
+     * @param ring Quelle der Ereignisse
+     * @param batchSize max. Anzahl der Ereignisse je Stapel
+     * @param listener Verarbeitung je Ereignis
+     * @param batchEnd Beauftragung nach jedem Stapel
+     * @param tickRing zweite Quelle (Taktung) oder null
+     * @param tickListener Verarbeitung je Ereignis aus dem tickRing
+     */
+    EdgeProcessor(String name, EdgeRing ring, int batchSize, EdgeListener listener, Runnable batchEnd,
+                  EdgeRing tickRing, EdgeListener tickListener)
+    {
+        this.ring = ring;
+        this.listener = listener;
+        this.batchEnd = batchEnd;
+        this.batch = new long[batchSize];
+        this.tickRing = tickRing;
+        this.tickListener = tickListener;
+        this.tickBatch = (tickRing != null)? new long[tickRing.getCapacity()] : null;
+        this.thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                process();
+            }
+        }, name);
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MAX_PRIORITY);
+    }
+    
+    /**
+     * start() - Start des Verarbeitungs-Threads...
+     */
+    void start()
+    {
+        this.thread.start();
+    }
+    
+    /**
+     * process() - Schleife des Verarbeitungs-Threads...
+     */
+    private void process()
+    {
+        int idle = 0;
+        while (true)
+        {
+            final int count = this.ring.drain(this.batch);
+            if ((count == 0) && !processTicks())
+            {
+                if (!this.running)
+                {
+                    break;
+                }
+                idle++;
+                if (idle > SPIN_ROUNDS + YIELD_ROUNDS)
+                {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+                else if (idle > SPIN_ROUNDS)
+                {
+                    Thread.yield();
+                }
+                continue;
+            }
+            idle = 0;
+            if (count == 0)
+            {
+                continue;
+            }
+            long sequence = this.events;
+            for (int index = 0; index < count; index++)
+            {
+                final long event = this.batch[index];
+                final int pin = EdgeRing.pinOf(event);
+                // Stichprobe je Flanke, Flanken NE555 (Taktung) ausgenommen...
+                final boolean sample = (pin != EdgeSource.PIN_NE555) && ((++sequence & HANDLER_SAMPLE_MASK) == 0L);
+                final long start = sample? System.nanoTime() : 0L;
+                try
+                {
+                    this.listener.onEdge(pin, EdgeRing.isHigh(event), this.ring.nanoTimeOf(event));
+                }
+                catch (RuntimeException exception)
+                {
+                    logger.error("EdgeProcessor: Verarbeitung der Flanke", exception);
+                }
+                if (sample)
+                {
+                    this.handlerDurations.record(System.nanoTime() - start);
+                }
+            }
+            this.batchEnd.run();
+            this.batches = this.batches + 1L;
+            this.events = this.events + count;
+            if (count > this.maxBatch)
+            {
+                this.maxBatch = count;
+            }
+            processTicks();
+        }
+        this.batchEnd.run();
+    }
+    
+    /**
+     * processTicks() - Leeren des tickRing...
+     * @return true => mindestens ein Ereignis verarbeitet
+     */
+    private boolean processTicks()
+    {
+        if (this.tickRing == null)
+        {
+            return false;
+        }
+        final int count = this.tickRing.drain(this.tickBatch);
+        for (int index = 0; index < count; index++)
+        {
+            final long event = this.tickBatch[index];
+            try
+            {
+                this.tickListener.onEdge(EdgeRing.pinOf(event), EdgeRing.isHigh(event), this.tickRing.nanoTimeOf(event));
+            }
+            catch (RuntimeException exception)
+            {
+                logger.error("EdgeProcessor: Verarbeitung der Taktung", exception);
+            }
+        }
+        return (count > 0);
+    }
+    
+    /**
+     * getBatches() - Anzahl der verarbeiteten Stapel...
+     * @return batches
+     */
+    long getBatches()
+    {
+        return this.batches;
+    }
+    
+    /**
+     * getEvents() - Anzahl der verarbeiteten Ereignisse...
+     * @return events
+     */
+    long getEvents()
+    {
+        return this.events;
+    }
+    
+    /**
+     * getMaxBatch() - groesster Stapel...
+     * @return maxBatch
+     */
+    int getMaxBatch()
+    {
+        return this.maxBatch;
+    }
+    
+    /**
+     * getAverageBatch() - mittlere Stapelgroesse...
+     * @return events/batches
+     */
+    double getAverageBatch()
+    {
+        final long batches = this.batches;
+        return (batches == 0L)? 0.0 : (double) this.events / batches;
+    }
+    
+    /**
+     * getHandlerDurations() - Dauer der Verarbeitung je Ereignis...
+     * @return LatencyHistogram
+     */
+    LatencyHistogram getHandlerDurations()
+    {
+        return this.handlerDurations;
+    }
+    
+    /**
+     * shutdown() - Beenden nach Leeren des Rings...
+     */
+    void shutdown()
+    {
+        this.running = false;
+        try
+        {
+            this.thread.join(1000L);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
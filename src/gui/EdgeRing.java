@@ -0,0 +1,248 @@
+package gui;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * EdgeRing - vorab angelegter Ringpuffer fuer Flanken-Ereignisse, genau
+ * ein schreibender Thread (Callback der EdgeSource) und genau ein lesender
+ * Thread (EdgeProcessor)...
+ * <p>
+ * Jedes Ereignis wird als long abgelegt (keine Objekte, keine Allokation):
+ * </p>
+ * <pre>
+ *   Bit 63...8: nanoTime - base (mit Vorzeichen, reicht fuer ca. 1 Jahr)
+ *   Bit  7...1: Index des Pins (EdgeSource.PIN_...)
+ *   Bit      0: Pegel (1 => High)
+ * </pre>
+ * <p>
+ * Ist der Ring voll, so wird das Ereignis verworfen und in overflows gezaehlt
+ * (der Callback blockiert nie). Verworfene Flanken A/B zeigen sich im
+ * EncoderCounter als unzulaessige Uebergaenge.
+ * </p>
+ */
+final class EdgeRing
+{
+    /**
+     * MAX_PIN = 127 - groesster ablegbarer Index eines Pins...
+     */
+    static final int MAX_PIN = 0x7F;
+    
+    /**
+     * buffer[] - die Ereignisse, Laenge ist eine Zweierpotenz...
+     */
+    private final long[] buffer;
+    
+    /**
+     * mask - buffer.length - 1...
+     */
+    private final int mask;
+    
+    /**
+     * base - Bezugszeitpunkt der Zeitstempel in ns...
+     */
+    private final long base;
+    
+    /**
+     * TAIL, HEAD - Index von tail und head in positions[], jeweils in einer 
+     * eigenen Cache-Line (64 Byte), damit Schreiber und Leser sich nicht 
+     * gegenseitig die Cache-Line entziehen...
+     */
+    private static final int TAIL = 8;
+    private static final int HEAD = 24;
+    
+    /**
+     * positions[] - tail (naechste Schreibposition, nur vom Schreiber geaendert)
+     * und head (naechste Leseposition, nur vom Leser geaendert)...
+     */
+    private final AtomicLongArray positions = new AtomicLongArray(HEAD + 8);
+    
+    /**
+     * producerTail - lokale Kopie von tail (nur Schreiber)...
+     */
+    private long producerTail = 0L;
+    
+    /**
+     * consumerHead - lokale Kopie von head (nur Leser)...
+     */
+    private long consumerHead = 0L;
+    
+    /**
+     * cachedHead - zuletzt gelesener Wert von head (nur Schreiber), damit wird
+     * head nur gelesen, wenn der Ring voll erscheint...
+     */
+    private long cachedHead = 0L;
+    
+    /**
+     * overflowCount - Anzahl der verworfenen Ereignisse, lokale Kopie (nur Schreiber)...
+     */
+    private long overflowCount = 0L;
+    
+    /**
+     * overflows - Anzahl der verworfenen Ereignisse...
+     */
+    private final AtomicLong overflows = new AtomicLong();
+    
+    /**
+     * maxOccupancy - max. Fuellstand beim Lesen (nur Leser schreibt)...
+     */
+    private volatile int maxOccupancy = 0;
+    
+    /**
+     * Konstruktor EdgeRing(int capacity)
+     * @param capacity Mindestgroesse, wird auf eine Zweierpotenz aufgerundet
+     */
+    EdgeRing(int capacity)
+    {
+        if (capacity < 1 || capacity > (1 << 30))
+        {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        final int size = (capacity == 1)? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new long[size];
+        this.mask = size - 1;
+        this.base = System.nanoTime();
+    }
+    
+    /**
+     * offer(int pin, boolean high, long nanoTime) - Ablage eines Ereignisses,
+     * nur vom Schreiber beauftragt...
+     * @param pin Index des Pins, 0...MAX_PIN
+     * @param high neuer Pegel
+     * @param nanoTime Zeitpunkt der Flanke in ns
+     * @return false, wenn der Ring voll war (Ereignis verworfen)
+     */
+    boolean offer(int pin, boolean high, long nanoTime)
+    {
+        final long tail = this.producerTail;
+        if (tail - this.cachedHead >= this.buffer.length)
+        {
+            this.cachedHead = this.positions.get(HEAD);
+            if (tail - this.cachedHead >= this.buffer.length)
+            {
+                this.overflows.lazySet(++this.overflowCount);
+                return false;
+            }
+        }
+        this.buffer[(int) tail & this.mask] = ((nanoTime - this.base) << 8) | (pin << 1) | (high? 1L : 0L);
+        this.producerTail = tail + 1L;
+        this.positions.lazySet(TAIL, tail + 1L);
+        return true;
+    }
+    
+    /**
+     * put(int pin, boolean high, long nanoTime) - Ablage eines Ereignisses, bei
+     * vollem Ring wird gewartet (nur fuer verlustfreie Quellen, vgl. 
+     * EdgeSource.isLossless())...
+     * @param pin Index des Pins, 0...MAX_PIN
+     * @param high neuer Pegel
+     * @param nanoTime Zeitpunkt der Flanke in ns
+     */
+    void put(int pin, boolean high, long nanoTime)
+    {
+        final long tail = this.producerTail;
+        while (tail - this.cachedHead >= this.buffer.length)
+        {
+            Thread.yield();
+            this.cachedHead = this.positions.get(HEAD);
+        }
+        this.buffer[(int) tail & this.mask] = ((nanoTime - this.base) << 8) | (pin << 1) | (high? 1L : 0L);
+        this.producerTail = tail + 1L;
+        this.positions.lazySet(TAIL, tail + 1L);
+    }
+    
+    /**
+     * drain(long[] batch) - Entnahme von bis zu batch.length Ereignissen, nur
+     * vom Leser beauftragt...
+     * @param batch Ziel der Ereignisse
+     * @return Anzahl der entnommenen Ereignisse
+     */
+    int drain(long[] batch)
+    {
+        final long head = this.consumerHead;
+        final long available = this.positions.get(TAIL) - head;
+        if (available == 0L)
+        {
+            return 0;
+        }
+        if (available > this.maxOccupancy)
+        {
+            this.maxOccupancy = (int) available;
+        }
+        final int count = (int) Math.min(available, batch.length);
+        for (int index = 0; index < count; index++)
+        {
+            batch[index] = this.buffer[(int) (head + index) & this.mask];
+        }
+        this.consumerHead = head + count;
+        this.positions.lazySet(HEAD, head + count);
+        return count;
+    }
+    
+    /**
+     * pinOf(long event) - Index des Pins eines Ereignisses...
+     * @param event
+     * @return pin
+     */
+    static int pinOf(long event)
+    {
+        return (int) (event >>> 1) & MAX_PIN;
+    }
+    
+    /**
+     * isHigh(long event) - Pegel eines Ereignisses...
+     * @param event
+     * @return true => High
+     */
+    static boolean isHigh(long event)
+    {
+        return (event & 1L) != 0L;
+    }
+    
+    /**
+     * nanoTimeOf(long event) - Zeitpunkt eines Ereignisses in ns (System.nanoTime())...
+     * @param event
+     * @return nanoTime
+     */
+    long nanoTimeOf(long event)
+    {
+        return this.base + (event >> 8);
+    }
+    
+    /**
+     * getCapacity() - Groesse des Rings...
+     * @return capacity
+     */
+    int getCapacity()
+    {
+        return this.buffer.length;
+    }
+    
+    /**
+     * getOccupancy() - momentaner Fuellstand...
+     * @return occupancy
+     */
+    int getOccupancy()
+    {
+        final long head = this.positions.get(HEAD);
+        return (int) Math.max(0L, this.positions.get(TAIL) - head);
+    }
+    
+    /**
+     * getMaxOccupancy() - max. Fuellstand (beim Lesen gemessen)...
+     * @return maxOccupancy
+     */
+    int getMaxOccupancy()
+    {
+        return this.maxOccupancy;
+    }
+    
+    /**
+     * getOverflows() - Anzahl der verworfenen Ereignisse...
+     * @return overflows
+     */
+    long getOverflows()
+    {
+        return this.overflows.get();
+    }
+}
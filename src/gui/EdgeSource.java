@@ -0,0 +1,93 @@
+package gui;
+
+/**
+ * Interface EdgeSource - Quelle der Flanken fuer den Takt (NE555) und
+ * die Impulsfolgen A und B der Drehgeber (je Motorkanal ein Paar)...
+ * <p>
+ * Implementierungen sind die Anbindung ueber Pi4J (Pi4jEdgeSource) und 
+ * die Software-Nachbildung (SimulatedEdgeSource), mit der das Model
+ * auch ohne Raspi betrieben werden kann.
+ * </p>
+ */
+public interface EdgeSource
+{
+    /**
+     * PIN_NE555 = 0 - Index des Takt-Pins (NE555)...
+     */
+    public final static int PIN_NE555 = 0;
+    
+    /**
+     * PIN_INC_A = 1 - Index der Impulsfolge A...
+     */
+    public final static int PIN_INC_A = 1;
+    
+    /**
+     * PIN_INC_B = 2 - Index der Impulsfolge B...
+     */
+    public final static int PIN_INC_B = 2;
+    
+    /**
+     * pinA(int channel) - Index der Impulsfolge A eines Motorkanals, die 
+     * Kanaele folgen paarweise auf PIN_NE555 (Kanal 0 => PIN_INC_A)...
+     * @param channel Kanal
+     * @return Index des Pins
+     */
+    public static int pinA(int channel)
+    {
+        return PIN_INC_A + 2 * channel;
+    }
+    
+    /**
+     * pinB(int channel) - Index der Impulsfolge B eines Motorkanals 
+     * (Kanal 0 => PIN_INC_B)...
+     * @param channel Kanal
+     * @return Index des Pins
+     */
+    public static int pinB(int channel)
+    {
+        return PIN_INC_B + 2 * channel;
+    }
+    
+    /**
+     * channelOf(int pin) - Motorkanal eines Pins A/B (Umkehrung von pinA(), pinB())...
+     * @param pin Index des Pins (nicht PIN_NE555)
+     * @return Kanal
+     */
+    public static int channelOf(int pin)
+    {
+        return (pin - PIN_INC_A) >> 1;
+    }
+    
+    /**
+     * start(EdgeListener listener) - Anmelden des Listeners und Beginn
+     * der Flankenlieferung...
+     * @param listener
+     */
+    public void start(EdgeListener listener);
+    
+    /**
+     * isHigh(int pin) - aktueller Pegel am Pin...
+     * @param pin Index des Pins
+     * @return true, wenn der Pin High ist
+     */
+    public boolean isHigh(int pin);
+    
+    /**
+     * isLossless() - darf die Quelle keine Flanke verlieren?
+     * <p>
+     * Eine Live-Quelle (GPIO) kann nicht warten, bei vollem Ring wird die 
+     * Flanke verworfen. Eine Wiedergabe (TraceEdgeSource) wartet dagegen auf
+     * Platz im Ring, damit jede Flanke verarbeitet wird.
+     * </p>
+     * @return true => der Listener wartet auf Platz statt zu verwerfen
+     */
+    public default boolean isLossless()
+    {
+        return false;
+    }
+    
+    /**
+     * shutdown() - Beenden der Flankenlieferung, Freigabe der Ressourcen...
+     */
+    public void shutdown();
+}
@@ -0,0 +1,579 @@
+package gui;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EncoderCounter - lock-freie Zaehlung der Impulsfolgen A/B des Drehgebers...
+ * <p>
+ * Die Auswertung erfolgt tabellengesteuert ueber den Zustand (A, B) vor und 
+ * nach jeder Flanke. Je nach Auswertung (decoding) werden gezaehlt:
+ * </p>
+ * <ul>
+ * <li>DECODING_1X: nur die steigenden Flanken A (bisheriges Verhalten),</li>
+ * <li>DECODING_2X: beide Flanken A,</li>
+ * <li>DECODING_4X: beide Flanken A und B.</li>
+ * </ul>
+ * <p>
+ * Unzulaessige Uebergaenge (beide Pegel gleichzeitig geaendert oder eine 
+ * Flanke ohne Pegelwechsel) werden nicht gezaehlt, sondern in illegalCount
+ * erfasst. Sie sind ein Mass fuer verlorene Flanken.
+ * </p>
+ * <p>
+ * Die Methoden onEdgeA(), onEdgeB() und publish() werden ausschliesslich von
+ * einem Thread beauftragt (single writer, der EdgeProcessor). Die Flanken 
+ * aendern nur die lokalen Zustandsgroessen, erst publish() am Ende eines 
+ * Stapels von Flanken veroeffentlicht die Ergebnisse ohne Sperre:
+ * </p>
+ * <ul>
+ * <li>der Zaehlerstand ueber ein AtomicLong (lazySet),</li>
+ * <li>die Umlaufdauer, die Periodendauer der letzten Zaehlschritte und der
+ * Zeitpunkt des letzten Zaehlschrittes ueber ein Sequence-Lock.</li>
+ * </ul>
+ * <p>
+ * Alle Zeiten beruhen auf den Zeitstempeln der Flanken (System.nanoTime()).
+ * </p>
+ * <p>
+ * Leser (Taktung, reset(), stop()) blockieren den Flanken-Thread damit nie.
+ * Zuruecksetzen erfolgt ebenfalls ohne Schreibzugriff auf die Zustandsgroessen 
+ * des Flanken-Threads: reset() merkt sich den aktuellen Zaehlerstand als 
+ * Offset, resetLap() beginnt eine neue Epoche der Umlaufmessung.
+ * </p>
+ */
+final class EncoderCounter
+{
+    /**
+     * DECODING_1X = 1 - Zaehlung der steigenden Flanken A...
+     */
+    static final int DECODING_1X = 1;
+    
+    /**
+     * DECODING_2X = 2 - Zaehlung beider Flanken A...
+     */
+    static final int DECODING_2X = 2;
+    
+    /**
+     * DECODING_4X = 4 - Zaehlung beider Flanken A und B...
+     */
+    static final int DECODING_4X = 4;
+    
+    /**
+     * STATE_A, STATE_B - Bits des Zustandes (A: Bit 1, B: Bit 0)...
+     * <p>
+     * Vorwaerts durchlaeuft der Zustand 00 -> 10 -> 11 -> 01 -> 00
+     * (steigende Flanke A bei B Low zaehlt +1).
+     * </p>
+     */
+    private static final int STATE_A = 0b10;
+    private static final int STATE_B = 0b01;
+    
+    /**
+     * FORWARD[] - Nachfolger eines Zustandes in Vorwaertsrichtung...
+     */
+    private static final int[] FORWARD = {0b10, 0b00, 0b11, 0b01};
+    
+    /**
+     * ILLEGAL_TRANSITIONS - Bitmaske der unzulaessigen Uebergaenge, 
+     * Bit (alt << 2 | neu)...
+     */
+    private static final int ILLEGAL_TRANSITIONS = createIllegalTransitions();
+    
+    /**
+     * TIMING_LAP_NANOS ... TIMING_PERIOD_STEPS - Index in timing[] (vgl. readTiming())...
+     */
+    static final int TIMING_LAP_NANOS = 0;
+    static final int TIMING_LAST_STEP_NANOS = 1;
+    static final int TIMING_PERIOD_NANOS = 2;
+    static final int TIMING_PERIOD_STEPS = 3;
+    static final int TIMING_SLOTS = 4;
+    
+    /**
+     * steps[] - Zaehlschritt je Uebergang, Index (alt << 2 | neu)...
+     */
+    private final int[] steps;
+    
+    /**
+     * decoding - Auswertung DECODING_1X, DECODING_2X oder DECODING_4X...
+     */
+    private final int decoding;
+    
+    /**
+     * measuringNumber - Anzahl der Impulse zur Ermittlung der Umlaufdauer...
+     */
+    private final long measuringNumber;
+    
+    /**
+     * periodSteps - Anzahl der Zaehlschritte fuer die Messung der Periodendauer...
+     */
+    private final int periodSteps;
+    
+    ///////////////////////////////////////////////////////////////////////////
+    // Zustandsgroessen des Flanken-Threads (nur dort gelesen und geschrieben)...
+    
+    /**
+     * state - Zustand (A, B), nachgefuehrt ueber die Flanken A und B...
+     */
+    private int state = 0;
+    
+    /**
+     * illegal - Anzahl der unzulaessigen Uebergaenge, lokale Kopie von illegalCount...
+     */
+    private long illegal = 0L;
+    
+    /**
+     * raw - Zaehlerstand (ohne Offset), lokale Kopie von count...
+     */
+    private long raw = 0L;
+    
+    /**
+     * edges - Anzahl der gezaehlten Flanken, lokale Kopie von edgeCount...
+     */
+    private long edges = 0L;
+    
+    /**
+     * direction[] - Kennung Rueckwaerts der aktuellen und der letzten Messung,
+     * damit Moeglichkeit, einen Richtungswechsel zu erkennen...
+     */
+    private final boolean direction[] = {false, false};
+    
+    /**
+     * lapStartTime, lapEndTime - Zeitpunkte der letzten beiden Messungen in ns...
+     */
+    private long lapStartTime = 0L;
+    private long lapEndTime = 0L;
+    
+    /**
+     * lapEpochSeen - Epoche, zu der lapStartTime/lapEndTime gehoeren...
+     */
+    private long lapEpochSeen = 0L;
+    
+    /**
+     * stepTimes[] - Ring der Zeitpunkte der letzten (periodSteps+1) Zaehlschritte...
+     */
+    private final long[] stepTimes;
+    
+    /**
+     * stepHead - naechster Schreibindex in stepTimes[]...
+     */
+    private int stepHead = 0;
+    
+    /**
+     * stepsValid - Anzahl der gueltigen Eintraege in stepTimes[] (gleiche Richtung, gleiche Epoche)...
+     */
+    private int stepsValid = 0;
+    
+    /**
+     * lastStep - Richtung des letzten Zaehlschrittes (+1, -1)...
+     */
+    private int lastStep = 0;
+    
+    /**
+     * periodEpochSeen - Epoche, zu der stepTimes[] gehoert...
+     */
+    private long periodEpochSeen = 0L;
+    
+    /**
+     * lastStepTime, periodTime, periodCountLocal, lapTime, lapTimeEpoch - lokale 
+     * Kopien der Groessen unter dem Sequence-Lock, veroeffentlicht durch publish()...
+     */
+    private long lastStepTime = 0L;
+    private long periodTime = 0L;
+    private long periodCountLocal = 0L;
+    private long lapTime = 0L;
+    private long lapTimeEpoch = 0L;
+    
+    /**
+     * dirty - seit dem letzten publish() wurde gezaehlt...
+     */
+    private boolean dirty = false;
+    
+    ///////////////////////////////////////////////////////////////////////////
+    // Veroeffentlichte Groessen...
+    
+    /**
+     * count - Zaehlerstand (ohne Offset)...
+     */
+    private final AtomicLong count = new AtomicLong();
+    
+    /**
+     * edgeCount - Anzahl der insgesamt gezaehlten Flanken...
+     */
+    private final AtomicLong edgeCount = new AtomicLong();
+    
+    /**
+     * illegalCount - Anzahl der insgesamt erkannten unzulaessigen Uebergaenge...
+     */
+    private final AtomicLong illegalCount = new AtomicLong();
+    
+    /**
+     * sequence - Sequence-Lock fuer lapNanos, lapEpoch, lastStepNanos, periodNanos
+     * und periodCount, ungerade => Schreibvorgang...
+     */
+    private final AtomicLong sequence = new AtomicLong();
+    
+    /**
+     * lapNanos - Dauer zwischen den letzten beiden Messungen in ns...
+     */
+    private final AtomicLong lapNanos = new AtomicLong();
+    
+    /**
+     * lapEpoch - Epoche, in der lapNanos gemessen wurde...
+     */
+    private final AtomicLong lapEpoch = new AtomicLong();
+    
+    /**
+     * lastStepNanos - Zeitpunkt des letzten Zaehlschrittes in ns...
+     */
+    private final AtomicLong lastStepNanos = new AtomicLong();
+    
+    /**
+     * periodNanos - Dauer der letzten |periodCount| Zaehlschritte in ns...
+     */
+    private final AtomicLong periodNanos = new AtomicLong();
+    
+    /**
+     * periodCount - Anzahl der Zaehlschritte zu periodNanos, mit Vorzeichen der Richtung...
+     */
+    private final AtomicLong periodCount = new AtomicLong();
+    
+    ///////////////////////////////////////////////////////////////////////////
+    // Vorgaben der Leser...
+    
+    /**
+     * offset - Zaehlerstand zum Zeitpunkt von reset()...
+     */
+    private volatile long offset = 0L;
+    
+    /**
+     * epoch - aktuelle Epoche der Umlaufmessung, erhoeht durch resetLap()...
+     */
+    private final AtomicLong epoch = new AtomicLong();
+    
+    /**
+     * Konstruktor EncoderCounter(int decoding, long measuringNumber, int periodSteps)
+     * @param decoding Auswertung DECODING_1X, DECODING_2X oder DECODING_4X
+     * @param measuringNumber Anzahl der Impulse zur Ermittlung der Umlaufdauer
+     * (bezogen auf die Auswertung decoding)
+     * @param periodSteps Anzahl der Zaehlschritte zur Messung der Periodendauer, >= 1
+     */
+    EncoderCounter(int decoding, long measuringNumber, int periodSteps)
+    {
+        if (periodSteps < 1)
+        {
+            throw new IllegalArgumentException("periodSteps: " + periodSteps);
+        }
+        if ((decoding != DECODING_1X) && (decoding != DECODING_2X) && (decoding != DECODING_4X))
+        {
+            throw new IllegalArgumentException("decoding: " + decoding);
+        }
+        this.decoding = decoding;
+        this.measuringNumber = measuringNumber;
+        this.steps = createSteps(decoding);
+        this.periodSteps = periodSteps;
+        this.stepTimes = new long[periodSteps + 1];
+    }
+    
+    /**
+     * createSteps(int decoding) - Aufbau der Tabelle der Zaehlschritte...
+     * @param decoding
+     * @return steps[], Index (alt << 2 | neu)
+     */
+    private static int[] createSteps(int decoding)
+    {
+        final int[] steps = new int[16];
+        for (int from = 0; from < 4; from++)
+        {
+            final int to = FORWARD[from];
+            // Vorwaerts wechselt A genau bei den Zustaenden 00 -> 10 und 11 -> 01, 
+            // die steigende Flanke A vorwaerts ist 00 -> 10, rueckwaerts 01 -> 11...
+            final boolean edgeA = ((from ^ to) & STATE_A) != 0;
+            final boolean counted;
+            switch (decoding)
+            {
+                case DECODING_1X:
+                    counted = (from == 0b00);
+                    break;
+                case DECODING_2X:
+                    counted = edgeA;
+                    break;
+                default:
+                    counted = true;
+                    break;
+            }
+            if (counted)
+            {
+                steps[(from << 2) | to] = +1;
+                steps[(to << 2) | from] = -1;
+            }
+        }
+        if (decoding == DECODING_1X)
+        {
+            // Rueckwaerts zaehlt die steigende Flanke A (01 -> 11), nicht die fallende...
+            steps[(0b10 << 2) | 0b00] = 0;
+            steps[(0b01 << 2) | 0b11] = -1;
+        }
+        return steps;
+    }
+    
+    /**
+     * createIllegalTransitions() - Aufbau der Bitmaske der unzulaessigen Uebergaenge...
+     * <p>
+     * Unzulaessig sind Uebergaenge ohne Pegelwechsel (eine Flanke ging verloren)
+     * und Uebergaenge mit Wechsel beider Pegel.
+     * </p>
+     * @return Bitmaske, Bit (alt << 2 | neu)
+     */
+    private static int createIllegalTransitions()
+    {
+        int mask = 0;
+        for (int from = 0; from < 4; from++)
+        {
+            mask |= 1 << ((from << 2) | from);
+            mask |= 1 << ((from << 2) | (from ^ (STATE_A | STATE_B)));
+        }
+        return mask;
+    }
+    
+    /**
+     * setLevels(boolean aHigh, boolean bHigh) - Vorgabe der Pegel vor dem Start 
+     * der EdgeSource, Aufruf nur vor der ersten Flanke...
+     * @param aHigh Pegel A
+     * @param bHigh Pegel B
+     */
+    void setLevels(boolean aHigh, boolean bHigh)
+    {
+        this.state = (aHigh? STATE_A : 0) | (bHigh? STATE_B : 0);
+    }
+    
+    /**
+     * onEdgeA(boolean high, long nanoTime) - Flanke der Impulsfolge A...
+     * @param high neuer Pegel
+     * @param nanoTime Zeitpunkt der Flanke in ns
+     */
+    void onEdgeA(boolean high, long nanoTime)
+    {
+        onState(high? (this.state | STATE_A) : (this.state & ~STATE_A), nanoTime);
+    }
+    
+    /**
+     * onEdgeB(boolean high, long nanoTime) - Flanke der Impulsfolge B...
+     * @param high neuer Pegel
+     * @param nanoTime Zeitpunkt der Flanke in ns
+     */
+    void onEdgeB(boolean high, long nanoTime)
+    {
+        onState(high? (this.state | STATE_B) : (this.state & ~STATE_B), nanoTime);
+    }
+    
+    /**
+     * onState(int next, long nanoTime) - Uebergang in den Zustand next...
+     * <p>
+     * Der Zaehlschritt ergibt sich aus der Tabelle steps[]. Je Zaehlschritt wird
+     * die Dauer der letzten periodSteps Schritte gleicher Richtung bestimmt. Bei 
+     * Erreichen eines Vielfachen von measuringNumber erfolgt die Messung der 
+     * Umlaufdauer. Die Drehrichtung ergibt sich dabei aus dem Vorzeichen des 
+     * Zaehlschrittes.
+     * </p>
+     * @param next neuer Zustand (A: Bit 1, B: Bit 0)
+     * @param nanoTime Zeitpunkt der Flanke in ns
+     */
+    private void onState(int next, long nanoTime)
+    {
+        final int transition = (this.state << 2) | next;
+        this.state = next;
+        if (((ILLEGAL_TRANSITIONS >>> transition) & 1) != 0)
+        {
+            this.illegal++;
+            this.dirty = true;
+            return;
+        }
+        final int step = this.steps[transition];
+        if (step == 0)
+        {
+            return;
+        }
+        this.raw += step;
+        this.edges++;
+        this.dirty = true;
+        
+        ///////////////////////////////////////////////////////////////////////
+        // Periodendauer der letzten Zaehlschritte gleicher Richtung...
+        final long epoch = this.epoch.get();
+        if ((step != this.lastStep) || (epoch != this.periodEpochSeen))
+        {
+            // Richtungswechsel oder neue Epoche: Messung beginnt neu...
+            this.stepsValid = 0;
+            this.lastStep = step;
+            this.periodEpochSeen = epoch;
+        }
+        final int length = this.stepTimes.length;
+        this.stepTimes[this.stepHead] = nanoTime;
+        this.stepHead = (this.stepHead + 1 == length)? 0 : this.stepHead + 1;
+        if (this.stepsValid < length)
+        {
+            this.stepsValid++;
+        }
+        final int periodCount = this.stepsValid - 1;
+        // Aeltester gueltiger Eintrag: periodCount Schritte vor dem aktuellen...
+        int oldest = this.stepHead - 1 - periodCount;
+        oldest = (oldest < 0)? oldest + length : oldest;
+        this.periodTime = nanoTime - this.stepTimes[oldest];
+        this.periodCountLocal = step * periodCount;
+        this.lastStepTime = nanoTime;
+        
+        if (((this.raw - this.offset) % this.measuringNumber) == 0)
+        {
+            // Vielfaches von measuringNumber erreicht...
+            final long now = nanoTime;
+            this.direction[1] = this.direction[0];
+            this.direction[0] = (step < 0);
+            if ((this.direction[0]^this.direction[1]) || (epoch != this.lapEpochSeen))
+            {
+                // Excl. Oder: Wenn Richtungswechsel (oder neue Epoche), dann... 
+                this.lapStartTime = now;
+                this.lapEndTime = now;
+                this.lapEpochSeen = epoch;
+            }
+            else
+            {
+                this.lapStartTime = this.lapEndTime;
+                this.lapEndTime = now;
+            }
+            this.lapTime = this.lapEndTime - this.lapStartTime;
+            this.lapTimeEpoch = epoch;
+        }
+    }
+    
+    /**
+     * publish() - Veroeffentlichung der lokalen Zustandsgroessen, einmal je 
+     * Stapel von Flanken und vor jeder Taktung...
+     */
+    void publish()
+    {
+        if (!this.dirty)
+        {
+            return;
+        }
+        this.dirty = false;
+        this.count.lazySet(this.raw);
+        this.edgeCount.lazySet(this.edges);
+        this.illegalCount.lazySet(this.illegal);
+        final long sequence = this.sequence.get();
+        this.sequence.lazySet(sequence + 1L);
+        this.lapNanos.lazySet(this.lapTime);
+        this.lapEpoch.lazySet(this.lapTimeEpoch);
+        this.lastStepNanos.lazySet(this.lastStepTime);
+        this.periodNanos.lazySet(this.periodTime);
+        this.periodCount.lazySet(this.periodCountLocal);
+        this.sequence.lazySet(sequence + 2L);
+    }
+    
+    /**
+     * getDecoding() - Auswertung DECODING_1X, DECODING_2X oder DECODING_4X...
+     * @return decoding
+     */
+    int getDecoding()
+    {
+        return this.decoding;
+    }
+    
+    /**
+     * getPhi() - Lage in Impulsen seit dem letzten reset()...
+     * @return phi
+     */
+    long getPhi()
+    {
+        return this.count.get() - this.offset;
+    }
+    
+    /**
+     * getLocalPhi() - Lage in Impulsen seit dem letzten reset() einschliesslich 
+     * der noch nicht veroeffentlichten Flanken, nur im Thread des EdgeProcessor...
+     * @return phi
+     */
+    long getLocalPhi()
+    {
+        return this.raw - this.offset;
+    }
+    
+    /**
+     * getEdgeCount() - Anzahl der insgesamt gezaehlten Flanken (ohne reset)...
+     * @return edgeCount
+     */
+    long getEdgeCount()
+    {
+        return this.edgeCount.get();
+    }
+    
+    /**
+     * getIllegalCount() - Anzahl der unzulaessigen Uebergaenge (ohne reset), 
+     * Mass fuer verlorene Flanken...
+     * @return illegalCount
+     */
+    long getIllegalCount()
+    {
+        return this.illegalCount.get();
+    }
+    
+    /**
+     * getPeriodSteps() - Anzahl der Zaehlschritte zur Messung der Periodendauer...
+     * @return periodSteps
+     */
+    int getPeriodSteps()
+    {
+        return this.periodSteps;
+    }
+    
+    /**
+     * readTiming(long[] timing) - konsistentes Lesen der Zeitgroessen...
+     * <ul>
+     * <li>timing[TIMING_LAP_NANOS]: Dauer zwischen den letzten beiden Messungen 
+     * der Umlaufdauer in ns, 0, wenn seit resetLap() noch keine vollstaendige 
+     * Messung vorliegt,</li>
+     * <li>timing[TIMING_LAST_STEP_NANOS]: Zeitpunkt des letzten Zaehlschrittes,</li>
+     * <li>timing[TIMING_PERIOD_NANOS]: Dauer der letzten |timing[TIMING_PERIOD_STEPS]|
+     * Zaehlschritte gleicher Richtung in ns,</li>
+     * <li>timing[TIMING_PERIOD_STEPS]: Anzahl dieser Zaehlschritte mit Vorzeichen 
+     * der Richtung, 0 => keine Messung (seit resetLap() oder Richtungswechsel).</li>
+     * </ul>
+     * @param timing Ziel, Laenge >= TIMING_SLOTS
+     */
+    void readTiming(long[] timing)
+    {
+        while (true)
+        {
+            final long before = this.sequence.get();
+            final long lapNanos = this.lapNanos.get();
+            final long lapEpoch = this.lapEpoch.get();
+            final long lastStepNanos = this.lastStepNanos.get();
+            final long periodNanos = this.periodNanos.get();
+            final long periodCount = this.periodCount.get();
+            final long after = this.sequence.get();
+            if ((before == after) && ((before & 1L) == 0L))
+            {
+                final boolean current = (lapEpoch == this.epoch.get());
+                timing[TIMING_LAP_NANOS] = current? lapNanos : 0L;
+                timing[TIMING_LAST_STEP_NANOS] = lastStepNanos;
+                timing[TIMING_PERIOD_NANOS] = periodNanos;
+                timing[TIMING_PERIOD_STEPS] = periodCount;
+                return;
+            }
+        }
+    }
+    
+    /**
+     * reset() - phi wird auf 0 gesetzt (ueber den Offset)...
+     */
+    void reset()
+    {
+        this.offset = this.count.get();
+    }
+    
+    /**
+     * resetLap() - Beginn einer neuen Umlaufmessung und einer neuen Messung
+     * der Periodendauer...
+     */
+    void resetLap()
+    {
+        this.epoch.incrementAndGet();
+    }
+}
@@ -0,0 +1,131 @@
+package gui;
+
+import java.math.BigDecimal;
+
+/**
+ * FixedPoint - Hilfsfunktionen fuer das Rechnen mit skalierten long-Werten...
+ * <p>
+ * Ein Wert x mit scale s wird als long x*10^s abgelegt. Die Rundung
+ * entspricht BigDecimal.ROUND_HALF_UP (bei 0.5 weg von 0), damit liefern
+ * die Anzeigewerte dieselben Ziffern wie die bisherige Rechnung mit BigDecimal.
+ * </p>
+ */
+final class FixedPoint
+{
+    /**
+     * POWERS_OF_TEN[] - 10^0...10^18...
+     */
+    private final static long[] POWERS_OF_TEN = new long[19];
+    
+    static
+    {
+        POWERS_OF_TEN[0] = 1L;
+        for (int index = 1; index < POWERS_OF_TEN.length; index++)
+        {
+            POWERS_OF_TEN[index] = 10L * POWERS_OF_TEN[index-1];
+        }
+    }
+    
+    /**
+     * NANOS_PER_SECOND = 10^9
+     */
+    final static long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    private FixedPoint()
+    {
+    }
+    
+    /**
+     * pow10(int exponent)
+     * @param exponent 0...18
+     * @return 10^exponent
+     */
+    static long pow10(int exponent)
+    {
+        return POWERS_OF_TEN[exponent];
+    }
+    
+    /**
+     * divide(long numerator, long denominator) - Quotient gerundet nach ROUND_HALF_UP...
+     * @param numerator Zaehler
+     * @param denominator Nenner, > 0
+     * @return round(numerator/denominator)
+     */
+    static long divide(long numerator, long denominator)
+    {
+        final long quotient = numerator / denominator;
+        final long remainder = numerator % denominator;
+        if (Math.abs(remainder) >= denominator - Math.abs(remainder))
+        {
+            return (numerator < 0L)? quotient - 1L : quotient + 1L;
+        }
+        return quotient;
+    }
+    
+    /**
+     * multiplyDivide(long value, long factor, long denominator) - round(value*factor/denominator)
+     * ohne Ueberlauf des Zwischenergebnisses value*factor...
+     * <p>
+     * value wird dazu in value = high*denominator + low zerlegt, high*factor ist
+     * ganzzahlig, nur low*factor/denominator muss gerundet werden.
+     * </p>
+     * @param value
+     * @param factor Faktor, >= 0 und factor*denominator < Long.MAX_VALUE
+     * @param denominator Nenner, > 0
+     * @return round(value*factor/denominator)
+     */
+    static long multiplyDivide(long value, long factor, long denominator)
+    {
+        final long high = value / denominator;
+        final long low = value % denominator;
+        return high * factor + divide(low * factor, denominator);
+    }
+    
+    /**
+     * perSecond(long count, long nanos, int scale) - Rate count/nanos in 1/s 
+     * mit scale Nachkommastellen...
+     * <p>
+     * Bis etwa 9 s Dauer wird ohne Verlust gerechnet, darueber wird die Dauer
+     * auf us gerundet (vgl. multiplyDivide()).
+     * </p>
+     * @param count Anzahl, |count * 10^scale| < Long.MAX_VALUE
+     * @param nanos Dauer in ns, > 0
+     * @param scale Anzahl der Nachkommastellen
+     * @return round(count/nanos * 10^9 * 10^scale)
+     */
+    static long perSecond(long count, long nanos, int scale)
+    {
+        if (nanos <= Long.MAX_VALUE / NANOS_PER_SECOND)
+        {
+            return multiplyDivide(count * pow10(scale), NANOS_PER_SECOND, nanos);
+        }
+        return multiplyDivide(count * pow10(scale), NANOS_PER_SECOND / 1000L, divide(nanos, 1000L));
+    }
+    
+    /**
+     * nanosToScaled(long nanos, int scale) - Zeitdauer in ns als Sekunden mit scale 
+     * Nachkommastellen, Werte kleiner 10^-scale werden zu 0 (vgl. toBigDecimalSeconds())...
+     * @param nanos Zeitdauer in ns
+     * @param scale Anzahl der Nachkommastellen (0...9)
+     * @return Sekunden * 10^scale
+     */
+    static long nanosToScaled(long nanos, int scale)
+    {
+        final long result = divide(nanos, pow10(9 - scale));
+        return (result < 1L)? 0L : result;
+    }
+    
+    /**
+     * toDecimal(long unscaled, int scale) - Anzeigewert als BigDecimal...
+     * <p>
+     * Der Wert 0 wird wie bisher als BigDecimal.ZERO (ohne Nachkommastellen) geliefert.
+     * </p>
+     * @param unscaled skalierter Wert
+     * @param scale Anzahl der Nachkommastellen
+     * @return BigDecimal
+     */
+    static BigDecimal toDecimal(long unscaled, int scale)
+    {
+        return (unscaled == 0L)? BigDecimal.ZERO : BigDecimal.valueOf(unscaled, scale);
+    }
+}
@@ -0,0 +1,281 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GpioCdevCheckMain - Pruefung der Dekodierung von GpioCdevEdgeSource an
+ * einer Ereignisdatei im Format struct gpio_v2_line_event, ohne Raspi...
+ * <p>
+ * Aufruf mit Eintraegen key=value, z.B.:<br>
+ * <code>
+ * java gui.GpioCdevCheckMain events=src/gui/gpio-events.bin
+ * </code>
+ * </p>
+ * <p>
+ * Die Datei gpio-events.bin (Byte-Reihenfolge little-endian wie auf dem
+ * Raspi) enthaelt die Ereignisse EVENTS[], darunter eine Luecke in seqno, eine
+ * nicht zugeordnete Leitung und am Ende ein unvollstaendiges Ereignis. Sie ist
+ * keine Aufzeichnung am Raspi, sondern nachgebildet (Aufruf mit write=true):
+ * write() verwendet die Lage der Felder von struct gpio_v2_line_event aus 
+ * &lt;linux/gpio.h&gt; als eigene Konstanten, unabhaengig von GpioCdevEdgeSource,
+ * damit eine falsche Lage dort (OFFSET_..., EVENT_SIZE) als Abweichung auffaellt. Verglichen werden die Pegel vor der ersten Flanke, je Flanke Pin,
+ * Pegel und Zeitstempel (bezogen auf die erste Flanke), die Anzahl der Flanken,
+ * der verlorenen Ereignisse und der nicht zugeordneten Leitungen sowie die
+ * Pegel am Ende. Bei einer Abweichung endet der Aufruf mit Exit-Code 1.
+ * </p>
+ */
+public class GpioCdevCheckMain
+{
+    /**
+     * EVENTS_KEY = "events" - Ereignisdatei...
+     */
+    public final static String EVENTS_KEY = "events";
+    
+    /**
+     * DEFAULT_EVENTS = "src/gui/gpio-events.bin" - Voreinstellung fuer EVENTS_KEY...
+     */
+    public final static String DEFAULT_EVENTS = "src/gui/gpio-events.bin";
+    
+    /**
+     * WRITE_KEY = "write" - true => Ereignisdatei aus EVENTS[] neu erzeugen...
+     */
+    public final static String WRITE_KEY = "write";
+    
+    /**
+     * LINES[] - offset der Leitungen: NE555, A0, B0 (wie Model.DEFAULT_GPIO_LINES)...
+     */
+    private final static int[] LINES = {17, 27, 22};
+    
+    /**
+     * struct gpio_v2_line_event (&lt;linux/gpio.h&gt;, 48 Byte): __aligned_u64 timestamp_ns,
+     * __u32 id, __u32 offset, __u32 seqno, __u32 line_seqno, __u32 padding[6]...
+     */
+    private final static int KERNEL_EVENT_SIZE = 48;
+    private final static int KERNEL_TIMESTAMP_NS = 0;
+    private final static int KERNEL_ID = 8;
+    private final static int KERNEL_OFFSET = 12;
+    private final static int KERNEL_SEQNO = 16;
+    private final static int KERNEL_LINE_SEQNO = 20;
+    
+    /**
+     * GPIO_V2_LINE_EVENT_RISING_EDGE = 1, GPIO_V2_LINE_EVENT_FALLING_EDGE = 2 (&lt;linux/gpio.h&gt;)...
+     */
+    private final static int GPIO_V2_LINE_EVENT_RISING_EDGE = 1;
+    private final static int GPIO_V2_LINE_EVENT_FALLING_EDGE = 2;
+    
+    /**
+     * UNMAPPED_LINE = 5 - Leitung ohne Zuordnung...
+     */
+    private final static int UNMAPPED_LINE = 5;
+    
+    /**
+     * EVENTS[] - Inhalt der Ereignisdatei: timestamp_ns, offset, steigend (1/0), seqno...
+     */
+    private final static long[][] EVENTS = {
+        {1_000_000L, 27, 1, 1},
+        {1_050_000L, 22, 1, 2},
+        {1_060_000L, 17, 1, 3},
+        {1_061_000L, 17, 0, 4},
+        {1_100_000L, UNMAPPED_LINE, 1, 5},
+        {1_150_000L, 27, 0, 6},
+        // seqno 7 und 8 im Kernel verworfen...
+        {1_300_000L, 22, 0, 9},
+        {1_350_000L, 27, 1, 10}
+    };
+    
+    /**
+     * LOST_EVENTS = 2, UNKNOWN_LINES = 1 - erwartete Statistik...
+     */
+    private final static long LOST_EVENTS = 2L;
+    private final static long UNKNOWN_LINES = 1L;
+    
+    /**
+     * TRAILING_BYTES = 20 - unvollstaendiges Ereignis am Ende der Ereignisdatei...
+     */
+    private final static int TRAILING_BYTES = 20;
+    
+    /**
+     * mismatches - Anzahl der Abweichungen...
+     */
+    private static int mismatches = 0;
+    
+    /** main()-Funktionalitaet... */
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        final java.util.Properties properties = new java.util.Properties();
+        for (String arg: args)
+        {
+            final int index = arg.indexOf('=');
+            if (index > 0)
+            {
+                properties.setProperty(arg.substring(0, index).trim(), arg.substring(index+1).trim());
+            }
+        }
+        final Path events = Paths.get(properties.getProperty(EVENTS_KEY, DEFAULT_EVENTS));
+        if (Boolean.parseBoolean(properties.getProperty(WRITE_KEY, "false")))
+        {
+            write(events);
+            System.out.println("Datei geschrieben: " + events);
+        }
+        check("Groesse der Datei", EVENTS.length * KERNEL_EVENT_SIZE + TRAILING_BYTES, java.nio.file.Files.size(events));
+    
+        final GpioCdevEdgeSource edgeSource = new GpioCdevEdgeSource(events.toString(), LINES);
+        // Pegel vor der ersten Flanke: Gegenteil der ersten Flanke je Pin...
+        check("Pegel NE555 am Anfang", false, edgeSource.isHigh(EdgeSource.PIN_NE555));
+        check("Pegel A am Anfang", false, edgeSource.isHigh(EdgeSource.PIN_INC_A));
+        check("Pegel B am Anfang", false, edgeSource.isHigh(EdgeSource.PIN_INC_B));
+        check("verlustfrei", true, edgeSource.isLossless());
+    
+        final List<long[]> received = new ArrayList<>();
+        edgeSource.start(new EdgeListener()
+        {
+            @Override
+            public void onEdge(int pin, boolean high, long nanoTime)
+            {
+                received.add(new long[] {pin, high? 1L : 0L, nanoTime});
+            }
+        });
+        while (!edgeSource.isFinished())
+        {
+            Thread.sleep(10L);
+        }
+        edgeSource.shutdown();
+    
+        // Erwartete Flanken: alle zugeordneten Ereignisse in der Reihenfolge der Ereignisdatei...
+        final List<long[]> expected = new ArrayList<>();
+        for (long[] event: EVENTS)
+        {
+            final int pin = pinOf((int) event[1]);
+            if (pin >= 0)
+            {
+                expected.add(new long[] {pin, event[2], event[0]});
+            }
+        }
+        check("Anzahl der Flanken", expected.size(), received.size());
+        check("getEdges()", expected.size(), edgeSource.getEdges());
+        check("getLostEvents()", LOST_EVENTS, edgeSource.getLostEvents());
+        check("getUnknownLines()", UNKNOWN_LINES, edgeSource.getUnknownLines());
+        for (int index = 0; index < Math.min(expected.size(), received.size()); index++)
+        {
+            final long[] expectedEdge = expected.get(index);
+            final long[] receivedEdge = received.get(index);
+            check("Flanke " + index + " Pin", expectedEdge[0], receivedEdge[0]);
+            check("Flanke " + index + " Pegel", expectedEdge[1], receivedEdge[1]);
+            check("Flanke " + index + " Zeit", expectedEdge[2] - expected.get(0)[2], receivedEdge[2] - received.get(0)[2]);
+        }
+        check("Pegel NE555 am Ende", false, edgeSource.isHigh(EdgeSource.PIN_NE555));
+        check("Pegel A am Ende", true, edgeSource.isHigh(EdgeSource.PIN_INC_A));
+        check("Pegel B am Ende", false, edgeSource.isHigh(EdgeSource.PIN_INC_B));
+    
+        System.out.println(String.format("Pruefung %s: %d Flanken, %d verloren, %d nicht zugeordnet, %d Abweichungen",
+                                         events, received.size(), edgeSource.getLostEvents(), edgeSource.getUnknownLines(), mismatches));
+        if (mismatches != 0)
+        {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * write(Path path) - Datei aus EVENTS[] erzeugen (little-endian, Lage der 
+     * Felder nach KERNEL_...), zuletzt TRAILING_BYTES eines weiteren Ereignisses...
+     * @param path
+     * @throws IOException
+     */
+    private static void write(Path path) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate((EVENTS.length + 1) * KERNEL_EVENT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        // line_seqno: fortlaufend je Leitung...
+        final java.util.Map<Integer, Integer> lineSeqnos = new java.util.HashMap<>();
+        for (long[] event: EVENTS)
+        {
+            final int line = (int) event[1];
+            final int lineSeqno = lineSeqnos.containsKey(line)? lineSeqnos.get(line) + 1 : 1;
+            lineSeqnos.put(line, lineSeqno);
+            put(buffer, event[0], line, event[2] != 0L, (int) event[3], lineSeqno);
+        }
+        final int position = buffer.position();
+        put(buffer, 1_400_000L, LINES[EdgeSource.PIN_INC_B], true, 11, 3);
+        buffer.position(position + TRAILING_BYTES);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+        }
+    }
+    
+    /**
+     * put(ByteBuffer buffer, long timestamp, int line, boolean rising, int seqno, int lineSeqno) -
+     * ein Ereignis struct gpio_v2_line_event anfuegen, padding[6] = 0...
+     * @param buffer
+     * @param timestamp timestamp_ns
+     * @param line offset
+     * @param rising true => GPIO_V2_LINE_EVENT_RISING_EDGE
+     * @param seqno
+     * @param lineSeqno
+     */
+    private static void put(ByteBuffer buffer, long timestamp, int line, boolean rising, int seqno, int lineSeqno)
+    {
+        final int position = buffer.position();
+        buffer.put(new byte[KERNEL_EVENT_SIZE], 0, KERNEL_EVENT_SIZE);
+        buffer.putLong(position + KERNEL_TIMESTAMP_NS, timestamp);
+        buffer.putInt(position + KERNEL_ID, rising? GPIO_V2_LINE_EVENT_RISING_EDGE : GPIO_V2_LINE_EVENT_FALLING_EDGE);
+        buffer.putInt(position + KERNEL_OFFSET, line);
+        buffer.putInt(position + KERNEL_SEQNO, seqno);
+        buffer.putInt(position + KERNEL_LINE_SEQNO, lineSeqno);
+    }
+    
+    /**
+     * pinOf(int line) - Pin-Index zum offset der Leitung...
+     * @param line
+     * @return Pin-Index, -1 => nicht zugeordnet
+     */
+    private static int pinOf(int line)
+    {
+        for (int pin = 0; pin < LINES.length; pin++)
+        {
+            if (LINES[pin] == line)
+            {
+                return pin;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * check(String name, long expected, long actual) - Vergleich, Ausgabe der Abweichung...
+     * @param name
+     * @param expected
+     * @param actual
+     */
+    private static void check(String name, long expected, long actual)
+    {
+        if (expected != actual)
+        {
+            mismatches++;
+            System.out.println("Abweichung " + name + ": erwartet " + expected + ", gelesen " + actual);
+        }
+    }
+    
+    /**
+     * check(String name, boolean expected, boolean actual) - Vergleich, Ausgabe der Abweichung...
+     * @param name
+     * @param expected
+     * @param actual
+     */
+    private static void check(String name, boolean expected, boolean actual)
+    {
+        check(name, expected? 1L : 0L, actual? 1L : 0L);
+    }
+}
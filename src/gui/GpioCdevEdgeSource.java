@@ -0,0 +1,431 @@
+package gui;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * GpioCdevEdgeSource - EdgeSource auf Basis der Linux-GPIO-Zeichengeraete
+ * (ABI v2, struct gpio_v2_line_event), ohne Pi4J...
+ * <p>
+ * Ein eigener Thread liest die Ereignisse stapelweise (bis zu BATCH_EVENTS je
+ * read()) in einen direkten ByteBuffer und liefert sie ohne Allokation an den
+ * Listener. Der Zeitstempel jeder Flanke ist der des Kernels (timestamp_ns,
+ * CLOCK_MONOTONIC wie System.nanoTime() unter Linux), erfasst in der
+ * Interrupt-Behandlung statt erst im Callback-Thread.
+ * </p>
+ * <p>
+ * Die Anforderung der Leitungen (ioctl GPIO_V2_GET_LINE_IOCTL auf /dev/gpiochipN)
+ * ist aus Java ohne native Bibliothek nicht moeglich. Gelesen wird daher:
+ * </p>
+ * <ul>
+ * <li>"-": die Standardeingabe, d.h. der Dateideskriptor der Leitungsanforderung,
+ * den ein Startprogramm als fd 0 vererbt (read() unmittelbar auf dem Kernel-Puffer),
+ * vgl. tools/gpiocdev-launch.py und README.md,</li>
+ * <li>eine FIFO, in die ein Hilfsprozess die Ereignisse unveraendert weiterreicht,</li>
+ * <li>eine aufgezeichnete Datei (regulaere Datei): Wiedergabe so schnell wie
+ * moeglich, verlustfrei (isLossless()), die Zeitstempel bezogen auf den Start
+ * der Wiedergabe. Damit ist die Dekodierung ohne Raspi pruefbar.</li>
+ * </ul>
+ * <p>
+ * Die Zuordnung der Leitungen (offset) zu den Pin-Indizes erfolgt ueber eine
+ * Tabelle: lines[pin] ist der offset des Pins EdgeSource.PIN_NE555, pinA(0),
+ * pinB(0)... Luecken in seqno (Ueberlauf des Kernel-Puffers) werden als
+ * verlorene Flanken gezaehlt (getLostEvents()). Die Pegel vor der ersten
+ * Flanke sind ohne ioctl nicht lesbar: live gelten sie als Low, bei einer
+ * Aufzeichnung ergeben sie sich aus der jeweils ersten Flanke eines Pins.
+ * </p>
+ */
+public class GpioCdevEdgeSource implements EdgeSource
+{
+    /**
+     * logger
+     */
+    private final static Logger logger = LoggerFactory.getLogger(GpioCdevEdgeSource.class);
+    
+    /**
+     * STANDARD_INPUT = "-" - Ereignisse von der Standardeingabe (vererbte Leitungsanforderung)...
+     */
+    public final static String STANDARD_INPUT = "-";
+    
+    /**
+     * EVENT_SIZE = 48 - Groesse von struct gpio_v2_line_event in Byte...
+     */
+    final static int EVENT_SIZE = 48;
+    
+    /**
+     * OFFSET_... - Lage der Felder in struct gpio_v2_line_event...
+     */
+    final static int OFFSET_TIMESTAMP = 0;
+    final static int OFFSET_ID = 8;
+    final static int OFFSET_LINE = 12;
+    final static int OFFSET_SEQNO = 16;
+    final static int OFFSET_LINE_SEQNO = 20;
+    
+    /**
+     * EVENT_RISING_EDGE = 1, EVENT_FALLING_EDGE = 2 - enum gpio_v2_line_event_id...
+     */
+    final static int EVENT_RISING_EDGE = 1;
+    final static int EVENT_FALLING_EDGE = 2;
+    
+    /**
+     * BATCH_EVENTS = 256 - max. Anzahl der Ereignisse je read()...
+     */
+    final static int BATCH_EVENTS = 256;
+    
+    /**
+     * eventFile - Quelle der Ereignisse (STANDARD_INPUT, FIFO oder Aufzeichnung)...
+     */
+    private final String eventFile;
+    
+    /**
+     * recorded - true => regulaere Datei (Aufzeichnung)...
+     */
+    private final boolean recorded;
+    
+    /**
+     * pinOfLine[] - Pin-Index je offset der Leitung, -1 => nicht zugeordnet...
+     */
+    private final int[] pinOfLine;
+    
+    /**
+     * levels - aktuelle Pegel je Pin-Index (1 => High)...
+     */
+    private final AtomicIntegerArray levels;
+    
+    /**
+     * timeOffset - Verschiebung der Zeitstempel (0 live, bei einer Aufzeichnung
+     * Start der Wiedergabe - erster Zeitstempel), nur im lesenden Thread...
+     */
+    private long timeOffset = 0L;
+    
+    /**
+     * first - noch keine Flanke gelesen, nur im lesenden Thread...
+     */
+    private boolean first = true;
+    
+    /**
+     * lastSeqno - seqno der letzten Flanke, nur im lesenden Thread...
+     */
+    private int lastSeqno = 0;
+    
+    /**
+     * edges, lostEvents, unknownLines - Statistik, geschrieben im lesenden Thread...
+     */
+    private volatile long edges = 0L;
+    private volatile long lostEvents = 0L;
+    private volatile long unknownLines = 0L;
+    
+    /**
+     * finished - true => Ende der Quelle erreicht (oder Abbruch)...
+     */
+    private volatile boolean finished = false;
+    
+    /**
+     * running - false => Abbruch...
+     */
+    private volatile boolean running = true;
+    
+    /**
+     * thread - der lesende Thread...
+     */
+    private Thread thread = null;
+    
+    /**
+     * Konstruktor GpioCdevEdgeSource(String eventFile, int[] lines)
+     * @param eventFile STANDARD_INPUT, FIFO oder aufgezeichnete Datei
+     * @param lines offset der Leitung je Pin-Index (PIN_NE555, pinA(0), pinB(0)...)
+     * @throws IOException wenn eine Aufzeichnung nicht lesbar ist
+     */
+    public GpioCdevEdgeSource(String eventFile, int[] lines) throws IOException
+    {
+        this.eventFile = eventFile;
+        this.recorded = !STANDARD_INPUT.equals(eventFile) && Files.isRegularFile(Paths.get(eventFile));
+        int maxLine = 0;
+        for (int line: lines)
+        {
+            if (line < 0)
+            {
+                throw new IllegalArgumentException("line: " + line);
+            }
+            maxLine = Math.max(maxLine, line);
+        }
+        this.pinOfLine = new int[maxLine + 1];
+        Arrays.fill(this.pinOfLine, -1);
+        for (int pin = 0; pin < lines.length; pin++)
+        {
+            this.pinOfLine[lines[pin]] = pin;
+        }
+        this.levels = new AtomicIntegerArray(lines.length);
+        if (this.recorded)
+        {
+            initialLevels(Paths.get(eventFile));
+        }
+    }
+    
+    /**
+     * initialLevels(Path path) - Pegel vor der ersten Flanke einer Aufzeichnung:
+     * Gegenteil der ersten Flanke je Pin...
+     * @param path
+     * @throws IOException
+     */
+    private void initialLevels(Path path) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(BATCH_EVENTS * EVENT_SIZE).order(ByteOrder.nativeOrder());
+        final boolean[] seen = new boolean[this.levels.length()];
+        int missing = seen.length;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            while ((missing > 0) && (channel.read(buffer) >= 0))
+            {
+                buffer.flip();
+                while ((missing > 0) && (buffer.remaining() >= EVENT_SIZE))
+                {
+                    final int position = buffer.position();
+                    final int pin = pinOf(buffer.getInt(position + OFFSET_LINE));
+                    if ((pin >= 0) && !seen[pin])
+                    {
+                        seen[pin] = true;
+                        missing--;
+                        this.levels.set(pin, (buffer.getInt(position + OFFSET_ID) == EVENT_RISING_EDGE)? 0 : 1);
+                    }
+                    buffer.position(position + EVENT_SIZE);
+                }
+                buffer.compact();
+            }
+        }
+    }
+    
+    @Override
+    public void start(EdgeListener listener)
+    {
+        this.thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    read(listener);
+                }
+                catch (IOException exception)
+                {
+                    if (GpioCdevEdgeSource.this.running)
+                    {
+                        logger.error("GpioCdevEdgeSource: Lesen abgebrochen", exception);
+                    }
+                }
+                finally
+                {
+                    GpioCdevEdgeSource.this.finished = true;
+                }
+            }
+        }, "GpioCdevEdgeSource");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MAX_PRIORITY);
+        this.thread.start();
+    }
+    
+    /**
+     * open() - Kanal der Quelle, die Standardeingabe ohne erneutes Oeffnen
+     * (der vererbte Dateideskriptor laesst sich nicht ueber /proc oeffnen)...
+     * @return Kanal
+     * @throws IOException
+     */
+    private ReadableByteChannel open() throws IOException
+    {
+        if (STANDARD_INPUT.equals(this.eventFile))
+        {
+            return new FileInputStream(FileDescriptor.in).getChannel();
+        }
+        return FileChannel.open(Paths.get(this.eventFile), StandardOpenOption.READ);
+    }
+    
+    /**
+     * read(EdgeListener listener) - Schleife des lesenden Threads...
+     * @param listener
+     * @throws IOException
+     */
+    private void read(EdgeListener listener) throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_EVENTS * EVENT_SIZE).order(ByteOrder.nativeOrder());
+        try (ReadableByteChannel channel = open())
+        {
+            logger.debug("GpioCdevEdgeSource gestartet: " + this.eventFile + (this.recorded? " (Aufzeichnung)" : ""));
+            while (this.running && (channel.read(buffer) >= 0))
+            {
+                buffer.flip();
+                dispatch(buffer, listener);
+                // ...unvollstaendiges Ereignis an den Anfang...
+                buffer.compact();
+            }
+        }
+        logger.debug("GpioCdevEdgeSource beendet: " + this.edges + " Flanken, " + this.lostEvents + " verloren");
+    }
+    
+    /**
+     * dispatch(ByteBuffer buffer, EdgeListener listener) - Lieferung aller
+     * vollstaendigen Ereignisse im buffer (ohne Allokation), die Position
+     * steht danach auf dem ersten unvollstaendigen Ereignis...
+     * @param buffer gelesene Ereignisse (Byte-Reihenfolge des Kernels)
+     * @param listener
+     * @return Anzahl der gelieferten Flanken
+     */
+    int dispatch(ByteBuffer buffer, EdgeListener listener)
+    {
+        int position = buffer.position();
+        final int limit = buffer.limit() - EVENT_SIZE;
+        int delivered = 0;
+        long lost = 0L;
+        long unknown = 0L;
+        while (position <= limit)
+        {
+            final long timestamp = buffer.getLong(position + OFFSET_TIMESTAMP);
+            final boolean high = (buffer.getInt(position + OFFSET_ID) == EVENT_RISING_EDGE);
+            final int pin = pinOf(buffer.getInt(position + OFFSET_LINE));
+            final int seqno = buffer.getInt(position + OFFSET_SEQNO);
+            position += EVENT_SIZE;
+            if (this.first)
+            {
+                this.first = false;
+                this.timeOffset = this.recorded? System.nanoTime() - timestamp : 0L;
+            }
+            else if (seqno != this.lastSeqno + 1)
+            {
+                // Luecke: Ereignisse im Kernel verworfen (Puffer voll)...
+                lost += (seqno - this.lastSeqno - 1) & 0xFFFFFFFFL;
+            }
+            this.lastSeqno = seqno;
+            if (pin < 0)
+            {
+                unknown++;
+                continue;
+            }
+            this.levels.lazySet(pin, high? 1 : 0);
+            listener.onEdge(pin, high, timestamp + this.timeOffset);
+            delivered++;
+        }
+        buffer.position(position);
+        this.edges += delivered;
+        if (lost != 0L)
+        {
+            this.lostEvents += lost;
+        }
+        if (unknown != 0L)
+        {
+            this.unknownLines += unknown;
+        }
+        return delivered;
+    }
+    
+    /**
+     * pinOf(int line) - Pin-Index zum offset der Leitung...
+     * @param line offset
+     * @return Pin-Index, -1 => nicht zugeordnet
+     */
+    private int pinOf(int line)
+    {
+        return ((line >= 0) && (line < this.pinOfLine.length))? this.pinOfLine[line] : -1;
+    }
+    
+    /**
+     * encode(ByteBuffer buffer, long timestamp, int line, boolean high, int seqno) -
+     * ein Ereignis im Format struct gpio_v2_line_event anfuegen (Aufzeichnung, Messung)...
+     * @param buffer Byte-Reihenfolge des Kernels (ByteOrder.nativeOrder())
+     * @param timestamp Zeitstempel in ns
+     * @param line offset der Leitung
+     * @param high true => steigende Flanke
+     * @param seqno fortlaufende Nummer (ab 1)
+     */
+    static void encode(ByteBuffer buffer, long timestamp, int line, boolean high, int seqno)
+    {
+        final int position = buffer.position();
+        buffer.putLong(position + OFFSET_TIMESTAMP, timestamp);
+        buffer.putInt(position + OFFSET_ID, high? EVENT_RISING_EDGE : EVENT_FALLING_EDGE);
+        buffer.putInt(position + OFFSET_LINE, line);
+        buffer.putInt(position + OFFSET_SEQNO, seqno);
+        buffer.putInt(position + OFFSET_LINE_SEQNO, seqno);
+        for (int index = OFFSET_LINE_SEQNO + 4; index < EVENT_SIZE; index += 4)
+        {
+            buffer.putInt(position + index, 0);
+        }
+        buffer.position(position + EVENT_SIZE);
+    }
+    
+    @Override
+    public boolean isHigh(int pin)
+    {
+        return (pin < this.levels.length()) && (this.levels.get(pin) != 0);
+    }
+    
+    @Override
+    public boolean isLossless()
+    {
+        return this.recorded;
+    }
+    
+    /**
+     * isFinished() - Ende der Quelle erreicht?
+     * @return true => keine weiteren Flanken
+     */
+    public boolean isFinished()
+    {
+        return this.finished;
+    }
+    
+    /**
+     * @return Anzahl der gelieferten Flanken
+     */
+    public long getEdges()
+    {
+        return this.edges;
+    }
+    
+    /**
+     * @return Anzahl der im Kernel verworfenen Flanken (Luecken in seqno)
+     */
+    public long getLostEvents()
+    {
+        return this.lostEvents;
+    }
+    
+    /**
+     * @return Anzahl der Ereignisse nicht zugeordneter Leitungen
+     */
+    public long getUnknownLines()
+    {
+        return this.unknownLines;
+    }
+    
+    @Override
+    public void shutdown()
+    {
+        this.running = false;
+        if (this.thread != null)
+        {
+            // Unterbrechen schliesst den Kanal und beendet ein blockierendes read()...
+            this.thread.interrupt();
+            try
+            {
+                this.thread.join(1000L);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
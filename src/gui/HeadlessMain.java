@@ -0,0 +1,323 @@
+package gui;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * HeadlessMain - Betrieb des Model ohne GUI (Dienst auf dem Raspi ohne
+ * Bildschirm)...
+ * <p>
+ * Die Konfiguration wird wie bei SwingMain aus system.properties gelesen,
+ * optional ergaenzt um eine Datei (config=...) und um Eintraege key=value
+ * der Kommandozeile, z.B.:<br>
+ * <code>
+ * java -cp ... gui.HeadlessMain config=/etc/raspi.properties controlMode=speed statusInterval=5
+ * </code>
+ * </p>
+ * <p>
+ * Es werden weder SwingWindow noch Controller, LookAndFeel oder Icon geladen,
+ * AWT/Swing wird nicht initialisiert. Die Bedienung erfolgt ueber JMX
+ * (ModelMonitor, vgl. Model.JMX_NAME_KEY) oder zeilenweise ueber die
+ * Standardeingabe (vgl. COMMANDS), die Ausgabe des Zustandes zyklisch ueber
+ * den logger. Beim Beenden (quit, Ende der JVM, SIGTERM) wird der Motor
+ * angehalten und das Model heruntergefahren.
+ * </p>
+ */
+public class HeadlessMain
+{
+    /**
+     * logger...
+     */
+    private final static Logger logger = LoggerFactory.getLogger(HeadlessMain.class);
+    
+    /**
+     * CONFIG_KEY = "config" - zusaetzliche Property-Datei (Kommandozeile)...
+     */
+    public final static String CONFIG_KEY = "config";
+    
+    /**
+     * STATUS_INTERVAL_KEY = "statusInterval" - Abstand der Ausgabe des Zustandes
+     * in s, 0 => keine Ausgabe...
+     */
+    public final static String STATUS_INTERVAL_KEY = "statusInterval";
+    
+    /**
+     * DEFAULT_STATUS_INTERVAL = "10" - Voreinstellung fuer STATUS_INTERVAL_KEY...
+     */
+    public final static String DEFAULT_STATUS_INTERVAL = "10";
+    
+    /**
+     * CONSOLE_KEY = "console" - true => Kommandos ueber die Standardeingabe...
+     */
+    public final static String CONSOLE_KEY = "console";
+    
+    /**
+     * DEFAULT_CONSOLE = "true" - Voreinstellung fuer CONSOLE_KEY (false, wenn die
+     * Anbindung die Standardeingabe liest, vgl. Model.usesStandardInput())...
+     */
+    public final static String DEFAULT_CONSOLE = "true";
+    
+    /**
+     * COMMANDS - Kommandos der Standardeingabe...
+     */
+    public final static String COMMANDS = "setPoint <-31...31> [Kanal] | moveTo <Impulse> [Kanal] | reset | stop | status | quit";
+    
+    /**
+     * model...
+     */
+    private final Model model;
+    
+    /**
+     * terminated - wird mit quit bzw. im Shutdown-Hook freigegeben...
+     */
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    
+    /**
+     * state - wiederverwendeter Zustand fuer die Ausgabe...
+     */
+    private final StateSnapshot state = new StateSnapshot();
+    
+    /**
+     * stopped - terminate() ist erfolgt (synchronisiert ueber this)...
+     */
+    private boolean stopped = false;
+    
+    /** main()-Funktionalitaet... */
+    public static void main(String[] args) throws InterruptedException
+    {
+        // AWT darf auch indirekt nicht initialisiert werden...
+        System.setProperty("java.awt.headless", "true");
+    
+        final java.util.Properties properties = loadProperties(args);
+        final HeadlessMain headlessMain = new HeadlessMain(new Model(properties));
+        logger.info(ProcessStats.describe("HeadlessMain"));
+        // Liest die Anbindung die Standardeingabe (gpiocdev), ohne Konsole...
+        final String console = Model.usesStandardInput(properties)? "false" : DEFAULT_CONSOLE;
+        headlessMain.run(Long.parseLong(properties.getProperty(STATUS_INTERVAL_KEY, DEFAULT_STATUS_INTERVAL).trim()),
+                         Boolean.parseBoolean(properties.getProperty(CONSOLE_KEY, console).trim()));
+    }
+    
+    /**
+     * loadProperties(String[] args) - system.properties, dann die Datei
+     * CONFIG_KEY, dann die Eintraege key=value der Kommandozeile...
+     * @param args Kommandozeile
+     * @return Properties
+     */
+    static java.util.Properties loadProperties(String[] args)
+    {
+        final java.util.Properties arguments = new java.util.Properties();
+        for (String arg: args)
+        {
+            final int index = arg.indexOf('=');
+            if (index > 0)
+            {
+                arguments.setProperty(arg.substring(0, index).trim(), arg.substring(index+1).trim());
+            }
+        }
+        final java.util.Properties properties = new java.util.Properties();
+        try (java.io.InputStream inputStream = HeadlessMain.class.getResourceAsStream(SwingMain.PROPERTIES_FILE))
+        {
+            if (inputStream != null)
+            {
+                properties.load(inputStream);
+            }
+        }
+        catch (java.io.IOException exception)
+        {
+            logger.warn("'" + SwingMain.PROPERTIES_FILE + "' nicht lesbar: " + exception.getMessage());
+        }
+        final String config = arguments.getProperty(CONFIG_KEY);
+        if (config != null)
+        {
+            try (java.io.InputStream inputStream = new java.io.FileInputStream(config))
+            {
+                properties.load(inputStream);
+            }
+            catch (java.io.IOException exception)
+            {
+                // Eine ausdruecklich angegebene Datei muss lesbar sein...
+                System.err.println("Can't read the properties file '" + config + "'! ");
+                System.exit(1);
+            }
+        }
+        properties.putAll(arguments);
+        return properties;
+    }
+    
+    /**
+     * Konstruktor HeadlessMain(Model model)
+     * @param model
+     */
+    HeadlessMain(Model model)
+    {
+        this.model = model;
+    }
+    
+    /**
+     * run(long statusInterval, boolean console) - Betrieb bis quit bzw. zum Ende der JVM...
+     * @param statusInterval Abstand der Ausgabe des Zustandes in s, 0 => keine Ausgabe
+     * @param console true => Kommandos ueber die Standardeingabe
+     * @throws InterruptedException
+     */
+    void run(long statusInterval, boolean console) throws InterruptedException
+    {
+        final Thread shutdownHook = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                terminate();
+            }
+        }, "HeadlessMain-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    
+        if (console)
+        {
+            final Thread consoleThread = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    readCommands();
+                }
+            }, "HeadlessMain-console");
+            consoleThread.setDaemon(true);
+            consoleThread.start();
+            logger.info("Kommandos: " + COMMANDS);
+        }
+    
+        if (statusInterval > 0L)
+        {
+            while (!this.terminated.await(statusInterval, TimeUnit.SECONDS))
+            {
+                logger.info(status());
+            }
+        }
+        else
+        {
+            this.terminated.await();
+        }
+    
+        // Ende ueber quit (bei SIGTERM ist der Shutdown-Hook bereits aktiv)...
+        if (terminate())
+        {
+            System.exit(0);
+        }
+    }
+    
+    /**
+     * terminate() - Anhalten des Motors und Herunterfahren des Model (einmalig)...
+     * @return true => erfolgt, false => bereits zuvor erfolgt
+     */
+    private synchronized boolean terminate()
+    {
+        if (this.stopped)
+        {
+            return false;
+        }
+        this.stopped = true;
+        logger.info("terminate()...");
+        this.model.stop();
+        this.model.shutdown();
+        this.terminated.countDown();
+        return true;
+    }
+    
+    /**
+     * readCommands() - zeilenweise Kommandos der Standardeingabe (vgl. COMMANDS)...
+     * <p>
+     * Ohne Standardeingabe (z.B. als Dienst) endet nur das Lesen, der Betrieb
+     * laeuft weiter.
+     * </p>
+     */
+    private void readCommands()
+    {
+        final java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.InputStreamReader(System.in));
+        try
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                final String[] words = line.trim().split("\\s+");
+                if (words[0].isEmpty())
+                {
+                    continue;
+                }
+                try
+                {
+                    if (!execute(words))
+                    {
+                        return;
+                    }
+                }
+                catch (IllegalArgumentException exception)
+                {
+                    System.out.println("? " + exception.getMessage() + " (" + COMMANDS + ")");
+                }
+            }
+        }
+        catch (java.io.IOException exception)
+        {
+            logger.warn("Standardeingabe: " + exception.getMessage());
+        }
+    }
+    
+    /**
+     * execute(String[] words) - Ausfuehrung eines Kommandos...
+     * @param words Kommando und Argumente
+     * @return false => quit
+     * @throws IllegalArgumentException unbekanntes Kommando oder ungueltiges Argument
+     */
+    boolean execute(String[] words)
+    {
+        switch (words[0])
+        {
+            case "setPoint":
+                if (words.length != 2 && words.length != 3)
+                {
+                    throw new IllegalArgumentException("setPoint ohne Wert");
+                }
+                this.model.setSetPoint((words.length == 3)? Integer.parseInt(words[2]) : 0, Integer.parseInt(words[1]));
+                System.out.println(status());
+                return true;
+            case "moveTo":
+                if (words.length != 2 && words.length != 3)
+                {
+                    throw new IllegalArgumentException("moveTo ohne Ziellage");
+                }
+                this.model.moveTo((words.length == 3)? Integer.parseInt(words[2]) : 0, Long.parseLong(words[1]));
+                return true;
+            case "reset":
+                this.model.reset();
+                return true;
+            case "stop":
+                this.model.stop();
+                return true;
+            case "status":
+                System.out.println(status());
+                return true;
+            case "quit":
+                this.terminated.countDown();
+                return false;
+            default:
+                throw new IllegalArgumentException(words[0]);
+        }
+    }
+    
+    /**
+     * status() - Zustand der letzten Taktung und Statistik als Text...
+     * @return Text
+     */
+    synchronized String status()
+    {
+        this.model.readState(this.state);
+        return String.format("k=%d, phi=%d, n=%s 1/min, Sollwert %d, Stellwert %d, %d Flanken, %d unzulaessig",
+                             this.state.getCounter(), this.state.getPhi(),
+                             FixedPoint.toDecimal(this.state.getRpm(), Model.SCALE_RPM).toPlainString(),
+                             this.model.getSetPoint(), this.state.getOutput(),
+                             this.model.getEdgeCount(), this.model.getIllegalTransitions());
+    }
+}
@@ -0,0 +1,976 @@
+package gui;
+
+import java.io.IOException;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * I2cScheduler - ein eigener Thread ist alleiniger Nutzer des I2C-Busses...
+ * <p>
+ * Alle Zugriffe auf die MotorDriver (ein Treiber je Kanal, vgl. MotorChannel) 
+ * werden als Kommando in eine Prioritaets-Warteschlange eingereiht und 
+ * nacheinander im Bus-Thread ausgefuehrt:
+ * </p>
+ * <ol>
+ * <li>PRIORITY_BRAKE - brake(),</li>
+ * <li>PRIORITY_DRIVE - drive(value), noch nicht ausgefuehrte drive-Kommandos 
+ *     werden je Kanal auf den letzten Wert zusammengefasst,</li>
+ * <li>PRIORITY_FAULT - getFault(), zusaetzlich durch den Bus-Thread selbst 
+ *     im Abstand faultPollNanos fuer alle Kanaele beauftragt.</li>
+ * </ol>
+ * <p>
+ * Die Stellwerte aller Kanaele einer Taktung werden mit drive(int[], long) 
+ * unter einer Sperre eingereiht und damit im Bus-Thread unmittelbar 
+ * nacheinander ausgefuehrt (ein Stapel je Taktung). Dafuer werden vorab 
+ * angelegte Kommandos ohne CompletableFuture verwendet, die Taktung 
+ * erfolgt damit ohne Allokation.
+ * </p>
+ * <p>
+ * Fuer die Lageregelung (vgl. ControlMode.POSITION) wird ein brake-Kommando 
+ * mit armBrake() vorab angelegt und mit fireBrake() aus dem Thread des 
+ * EdgeProcessor ohne Allokation eingereiht.
+ * </p>
+ * <p>
+ * Der Aufrufer erhaelt sofort ein CompletableFuture und wird nicht blockiert.
+ * Bei IOException wird bis zu maxRetries-mal mit verdoppelter Wartezeit 
+ * (beginnend mit backoffNanos) wiederholt. Solange der Bus gestoert ist, 
+ * wird nur der Beginn und das Ende der Stoerung protokolliert, das Abfragen 
+ * des FAULT-Registers erfolgt dann im entsprechend verlaengerten Abstand.
+ * </p>
+ */
+public class I2cScheduler
+{
+    /**
+     * logger
+     */
+    private final static Logger logger = LoggerFactory.getLogger(I2cScheduler.class);
+    
+    /**
+     * PRIORITY_BRAKE, PRIORITY_DRIVE, PRIORITY_FAULT - Prioritaeten der Kommandos, 
+     * kleiner Wert => hoehere Prioritaet...
+     */
+    public final static int PRIORITY_BRAKE = 0;
+    public final static int PRIORITY_DRIVE = 1;
+    public final static int PRIORITY_FAULT = 2;
+    
+    /**
+     * NO_DRIVE = Integer.MIN_VALUE - Wert in drive(int[], long): kein Kommando 
+     * fuer den Kanal (z.B. nach fireBrake())...
+     */
+    public final static int NO_DRIVE = Integer.MIN_VALUE;
+    
+    /**
+     * MAX_BACKOFF_FACTOR = 64 - max. Verlaengerung des Abfrageabstandes bei Stoerung...
+     */
+    private final static int MAX_BACKOFF_FACTOR = 64;
+    
+    /**
+     * Command - Kommando in der Warteschlange...
+     */
+    private final static class Command implements Comparable<Command>
+    {
+        final int priority;
+        final int channel;
+        long sequence;
+        long submitTime;
+        long origin;
+        final CompletableFuture<Integer> future;
+        int value;
+        
+        Command(int priority, int channel, long sequence, int value)
+        {
+            this(priority, channel, sequence, value, System.nanoTime());
+        }
+        
+        Command(int priority, int channel, long sequence, int value, long origin)
+        {
+            this(priority, channel, sequence, value, origin, new CompletableFuture<Integer>());
+        }
+        
+        Command(int priority, int channel, long sequence, int value, long origin, CompletableFuture<Integer> future)
+        {
+            this.priority = priority;
+            this.channel = channel;
+            this.sequence = sequence;
+            this.value = value;
+            this.submitTime = System.nanoTime();
+            this.origin = origin;
+            this.future = future;
+        }
+
+        @Override
+        public int compareTo(Command another)
+        {
+            if (this.priority != another.priority)
+            {
+                return (this.priority < another.priority)? -1 : +1;
+            }
+            return Long.compare(this.sequence, another.sequence);
+        }
+    }
+    
+    /**
+     * drivers[] - die Motortreiber, Index ist der Kanal, nur im Bus-Thread angesprochen...
+     */
+    private final MotorDriver[] drivers;
+    
+    /**
+     * faultPollNanos - Abstand der Abfrage des FAULT-Registers in ns...
+     */
+    private final long faultPollNanos;
+    
+    /**
+     * maxRetries - max. Anzahl der Wiederholungen je Kommando...
+     */
+    private final int maxRetries;
+    
+    /**
+     * backoffNanos - Wartezeit vor der ersten Wiederholung in ns...
+     */
+    private final long backoffNanos;
+    
+    /**
+     * lock/notEmpty - Schutz der Warteschlange...
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    
+    /**
+     * queue - Warteschlange der Kommandos...
+     */
+    private final PriorityQueue<Command> queue = new PriorityQueue<>();
+    
+    /**
+     * pendingDrives[] - noch nicht ausgefuehrtes drive-Kommando je Kanal (Zusammenfassung)...
+     */
+    private final Command[] pendingDrives;
+    
+    /**
+     * pendingFaults[] - noch nicht ausgefuehrtes getFault-Kommando je Kanal...
+     */
+    private final Command[] pendingFaults;
+    
+    /**
+     * armedBrakes[] - vorab angelegtes brake-Kommando je Kanal (vgl. armBrake())...
+     */
+    private final Command[] armedBrakes;
+    
+    /**
+     * batchDrives[][] - je Kanal zwei vorab angelegte drive-Kommandos ohne Future 
+     * fuer drive(int[], long), abwechselnd verwendet: eines kann noch im Bus-Thread 
+     * ausgefuehrt werden, waehrend das andere eingereiht wird...
+     */
+    private final Command[][] batchDrives;
+    
+    /**
+     * executing - das zuletzt aus der Warteschlange entnommene Kommando, bis zum 
+     * Ende seiner Ausfuehrung (null => keines), vgl. batchDrives...
+     */
+    private volatile Command executing = null;
+    
+    /**
+     * sequence - fortlaufende Nummer fuer die Reihenfolge gleicher Prioritaet...
+     */
+    private long sequence = 0L;
+    
+    /**
+     * running - Kennung fuer den Lauf des Bus-Threads...
+     */
+    private volatile boolean running = true;
+    
+    /**
+     * thread - der Bus-Thread...
+     */
+    private final Thread thread;
+    
+    /**
+     * faults - zuletzt gelesene Fehlerkennung je Kanal...
+     */
+    private final AtomicIntegerArray faults;
+    
+    /**
+     * consecutiveErrors - Anzahl der aufeinanderfolgenden gescheiterten Kommandos...
+     */
+    private int consecutiveErrors = 0;
+    
+    /**
+     * Statistik...
+     */
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private volatile int queueDepth = 0;
+    private volatile int maxQueueDepth = 0;
+    
+    /**
+     * transactionDurations - Dauer der Aufrufe des MotorDriver (Blockieren am Bus),
+     * originToDrive - Dauer vom Ausloeser (z.B. Flanke NE555) bis zum ausgefuehrten drive(),
+     * originToBrake - Dauer vom Ausloeser (z.B. Flanke am Ziel) bis zum ausgefuehrten brake()...
+     */
+    private final LatencyHistogram transactionDurations = new LatencyHistogram("i2cTransaction");
+    private final LatencyHistogram originToDrive = new LatencyHistogram("edgeToDrive");
+    private final LatencyHistogram originToBrake = new LatencyHistogram("edgeToBrake");
+    
+    /**
+     * brakeLatencies - letzte Dauer vom Ausloeser bis zum ausgefuehrten brake() je Kanal in ns...
+     */
+    private final AtomicLongArray brakeLatencies;
+    
+    /**
+     * Konstruktor I2cScheduler(...) - ein Motortreiber (Kanal 0)...
+     * @param driver der Motortreiber
+     * @param faultPollNanos Abstand der Abfrage des FAULT-Registers in ns
+     * @param maxRetries max. Anzahl der Wiederholungen je Kommando
+     * @param backoffNanos Wartezeit vor der ersten Wiederholung in ns
+     */
+    public I2cScheduler(MotorDriver driver, long faultPollNanos, int maxRetries, long backoffNanos)
+    {
+        this(new MotorDriver[] {driver}, faultPollNanos, maxRetries, backoffNanos);
+    }
+    
+    /**
+     * Konstruktor I2cScheduler(...) - ein Motortreiber je Kanal am selben Bus...
+     * @param drivers die Motortreiber, Index ist der Kanal
+     * @param faultPollNanos Abstand der Abfrage des FAULT-Registers in ns
+     * @param maxRetries max. Anzahl der Wiederholungen je Kommando
+     * @param backoffNanos Wartezeit vor der ersten Wiederholung in ns
+     */
+    public I2cScheduler(MotorDriver[] drivers, long faultPollNanos, int maxRetries, long backoffNanos)
+    {
+        this.drivers = drivers.clone();
+        this.pendingDrives = new Command[drivers.length];
+        this.pendingFaults = new Command[drivers.length];
+        this.armedBrakes = new Command[drivers.length];
+        this.batchDrives = new Command[drivers.length][2];
+        for (int channel = 0; channel < drivers.length; channel++)
+        {
+            for (int index = 0; index < this.batchDrives[channel].length; index++)
+            {
+                this.batchDrives[channel][index] = new Command(PRIORITY_DRIVE, channel, 0L, 0, 0L, null);
+            }
+        }
+        this.brakeLatencies = new AtomicLongArray(drivers.length);
+        this.faults = new AtomicIntegerArray(drivers.length);
+        this.faultPollNanos = faultPollNanos;
+        this.maxRetries = maxRetries;
+        this.backoffNanos = backoffNanos;
+        this.thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                I2cScheduler.this.run();
+            }
+        }, "I2cScheduler");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    
+    /**
+     * brake() - Abbremsen aller Kanaele mit hoechster Prioritaet...
+     * @return Future, erfuellt nach Ausfuehrung aller Kanaele
+     */
+    public CompletableFuture<Void> brake()
+    {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[this.drivers.length];
+        this.lock.lock();
+        try
+        {
+            for (int channel = 0; channel < this.drivers.length; channel++)
+            {
+                futures[channel] = enqueueBrake(channel).future;
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+        return CompletableFuture.allOf(futures);
+    }
+    
+    /**
+     * brake(int channel) - Abbremsen eines Kanals mit hoechster Prioritaet...
+     * @param channel Kanal
+     * @return Future, erfuellt nach Ausfuehrung
+     */
+    public CompletableFuture<Integer> brake(int channel)
+    {
+        this.lock.lock();
+        try
+        {
+            return enqueueBrake(channel).future;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * enqueueBrake(int channel) - Einreihen von brake(), lock muss gehalten werden...
+     * @param channel Kanal
+     * @return Kommando
+     */
+    private Command enqueueBrake(int channel)
+    {
+        return enqueueBrake(new Command(PRIORITY_BRAKE, channel, this.sequence++, 0));
+    }
+    
+    /**
+     * enqueueBrake(Command command) - Einreihen eines brake-Kommandos, lock muss gehalten werden...
+     * @param command
+     * @return command
+     */
+    private Command enqueueBrake(Command command)
+    {
+        // Ein noch ausstehendes drive() ist durch brake() ueberholt...
+        final Command pendingDrive = this.pendingDrives[command.channel];
+        if (pendingDrive != null)
+        {
+            this.queue.remove(pendingDrive);
+            if (pendingDrive.future != null)
+            {
+                pendingDrive.future.cancel(false);
+            }
+            this.pendingDrives[command.channel] = null;
+        }
+        return enqueue(command);
+    }
+    
+    /**
+     * armBrake(int channel) - brake-Kommando fuer fireBrake() vorab anlegen 
+     * (Allokation ausserhalb des Flanken-Pfades)...
+     * @param channel Kanal
+     */
+    public void armBrake(int channel)
+    {
+        this.lock.lock();
+        try
+        {
+            if (this.armedBrakes[channel] == null)
+            {
+                this.armedBrakes[channel] = new Command(PRIORITY_BRAKE, channel, 0L, 0);
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * disarmBrake(int channel) - vorab angelegtes brake-Kommando verwerfen...
+     * @param channel Kanal
+     */
+    public void disarmBrake(int channel)
+    {
+        this.lock.lock();
+        try
+        {
+            this.armedBrakes[channel] = null;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * fireBrake(int channel, long origin) - Einreihen des vorab angelegten 
+     * brake-Kommandos mit hoechster Prioritaet, ohne Allokation (Flanken-Pfad)...
+     * @param channel Kanal
+     * @param origin Zeitpunkt des Ausloesers in ns (Zeitstempel der Flanke)
+     * @return false => kein brake-Kommando vorab angelegt
+     */
+    public boolean fireBrake(int channel, long origin)
+    {
+        this.lock.lock();
+        try
+        {
+            final Command command = this.armedBrakes[channel];
+            if (command == null)
+            {
+                return false;
+            }
+            this.armedBrakes[channel] = null;
+            command.sequence = this.sequence++;
+            command.submitTime = System.nanoTime();
+            command.origin = origin;
+            enqueueBrake(command);
+            return true;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * drive(int value) - Vorgabe des Sollwertes (Kanal 0), ein noch ausstehendes 
+     * drive-Kommando wird auf den neuen Wert gesetzt...
+     * @param value Sollwert
+     * @return Future, erfuellt nach Ausfuehrung
+     */
+    public CompletableFuture<Integer> drive(int value)
+    {
+        return drive(value, System.nanoTime());
+    }
+    
+    /**
+     * drive(int value, long origin) - wie drive(int value), mit dem Zeitpunkt
+     * des Ausloesers fuer die Latenz bis zur Ausfuehrung (vgl. getOriginToDrive()).
+     * Bei Zusammenfassung gilt der Ausloeser des aeltesten Kommandos...
+     * @param value Sollwert
+     * @param origin Zeitpunkt des Ausloesers in ns (System.nanoTime())
+     * @return Future, erfuellt nach Ausfuehrung
+     */
+    public CompletableFuture<Integer> drive(int value, long origin)
+    {
+        return drive(0, value, origin);
+    }
+    
+    /**
+     * drive(int channel, int value, long origin) - wie drive(int value, long origin)
+     * fuer den Kanal channel...
+     * @param channel Kanal
+     * @param value Sollwert
+     * @param origin Zeitpunkt des Ausloesers in ns (System.nanoTime())
+     * @return Future, erfuellt nach Ausfuehrung
+     */
+    public CompletableFuture<Integer> drive(int channel, int value, long origin)
+    {
+        this.lock.lock();
+        try
+        {
+            final Command pendingDrive = this.pendingDrives[channel];
+            if ((pendingDrive != null) && (pendingDrive.future == null))
+            {
+                // Ausstehendes Kommando aus drive(int[], long) ohne Future ersetzen...
+                this.queue.remove(pendingDrive);
+                this.pendingDrives[channel] = null;
+                return enqueueDrive(channel, value, pendingDrive.origin).future;
+            }
+            return enqueueDrive(channel, value, origin).future;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * drive(int[] values, long origin) - Vorgabe der Sollwerte aller Kanaele 
+     * einer Taktung als Stapel: eine Sperre, die Kommandos folgen in der 
+     * Warteschlange unmittelbar aufeinander. Ohne Allokation: ein noch 
+     * ausstehendes drive-Kommando wird auf den neuen Wert gesetzt, sonst wird 
+     * eines der vorab angelegten Kommandos batchDrives ohne Future eingereiht
+     * (kein Ergebnis fuer den Aufrufer, Fehler nur in der Statistik)...
+     * @param values Sollwerte, Index ist der Kanal (NO_DRIVE => kein Kommando)
+     * @param origin Zeitpunkt des Ausloesers in ns (System.nanoTime())
+     */
+    public void drive(int[] values, long origin)
+    {
+        this.lock.lock();
+        try
+        {
+            for (int channel = 0; channel < values.length; channel++)
+            {
+                if (values[channel] != NO_DRIVE)
+                {
+                    enqueueBatchDrive(channel, values[channel], origin);
+                }
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * enqueueDrive(int channel, int value, long origin) - Einreihen bzw. 
+     * Zusammenfassen von drive(), lock muss gehalten werden...
+     * @param channel Kanal
+     * @param value Sollwert
+     * @param origin Zeitpunkt des Ausloesers in ns
+     * @return Kommando
+     */
+    private Command enqueueDrive(int channel, int value, long origin)
+    {
+        final Command pendingDrive = this.pendingDrives[channel];
+        if (pendingDrive != null)
+        {
+            pendingDrive.value = value;
+            return pendingDrive;
+        }
+        this.pendingDrives[channel] = enqueue(new Command(PRIORITY_DRIVE, channel, this.sequence++, value, origin));
+        return this.pendingDrives[channel];
+    }
+    
+    /**
+     * enqueueBatchDrive(int channel, int value, long origin) - wie enqueueDrive(), 
+     * jedoch ohne Allokation mit einem der vorab angelegten Kommandos batchDrives, 
+     * das nicht gerade im Bus-Thread ausgefuehrt wird, lock muss gehalten werden...
+     * @param channel Kanal
+     * @param value Sollwert
+     * @param origin Zeitpunkt des Ausloesers in ns
+     */
+    private void enqueueBatchDrive(int channel, int value, long origin)
+    {
+        final Command pendingDrive = this.pendingDrives[channel];
+        if (pendingDrive != null)
+        {
+            pendingDrive.value = value;
+            return;
+        }
+        // Hoechstens eines der beiden Kommandos wird gerade ausgefuehrt (ein Bus-Thread)...
+        final Command[] commands = this.batchDrives[channel];
+        final Command command = (commands[0] != this.executing)? commands[0] : commands[1];
+        command.sequence = this.sequence++;
+        command.submitTime = System.nanoTime();
+        command.origin = origin;
+        command.value = value;
+        this.pendingDrives[channel] = enqueue(command);
+    }
+    
+    /**
+     * pollFault() - Abfrage des FAULT-Registers aller Kanaele...
+     * @return Future, erfuellt nach Abfrage aller Kanaele
+     */
+    public CompletableFuture<Void> pollFault()
+    {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[this.drivers.length];
+        this.lock.lock();
+        try
+        {
+            for (int channel = 0; channel < this.drivers.length; channel++)
+            {
+                futures[channel] = enqueueFault(channel).future;
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+        return CompletableFuture.allOf(futures);
+    }
+    
+    /**
+     * pollFault(int channel) - Abfrage des FAULT-Registers eines Kanals...
+     * @param channel Kanal
+     * @return Future mit der Fehlerkennung
+     */
+    public CompletableFuture<Integer> pollFault(int channel)
+    {
+        this.lock.lock();
+        try
+        {
+            return enqueueFault(channel).future;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * enqueueFault(int channel) - Einreihen von getFault(), hoechstens ein 
+     * ausstehendes Kommando je Kanal, lock muss gehalten werden...
+     * @param channel Kanal
+     * @return Kommando
+     */
+    private Command enqueueFault(int channel)
+    {
+        if (this.pendingFaults[channel] == null)
+        {
+            this.pendingFaults[channel] = enqueue(new Command(PRIORITY_FAULT, channel, this.sequence++, 0));
+        }
+        return this.pendingFaults[channel];
+    }
+    
+    /**
+     * enqueue(Command command) - Einreihen, lock muss gehalten werden...
+     * @param command
+     * @return command
+     */
+    private Command enqueue(Command command)
+    {
+        this.queue.add(command);
+        final int depth = this.queue.size();
+        this.queueDepth = depth;
+        if (depth > this.maxQueueDepth)
+        {
+            this.maxQueueDepth = depth;
+        }
+        this.notEmpty.signal();
+        return command;
+    }
+    
+    /**
+     * run() - Schleife des Bus-Threads...
+     */
+    private void run()
+    {
+        long nextPoll = System.nanoTime();
+        while (this.running || !isEmpty())
+        {
+            Command command = null;
+            this.lock.lock();
+            try
+            {
+                while (this.queue.isEmpty() && this.running)
+                {
+                    final long wait = nextPoll - System.nanoTime();
+                    if (wait <= 0L)
+                    {
+                        break;
+                    }
+                    this.notEmpty.awaitNanos(wait);
+                }
+                if (this.queue.isEmpty() && this.running && (nextPoll - System.nanoTime() <= 0L))
+                {
+                    // Zyklische Abfrage des FAULT-Registers aller Kanaele...
+                    for (int channel = 0; channel < this.drivers.length; channel++)
+                    {
+                        enqueueFault(channel);
+                    }
+                    final int factor = Math.min(1 << Math.min(this.consecutiveErrors, 6), MAX_BACKOFF_FACTOR);
+                    nextPoll = System.nanoTime() + this.faultPollNanos * factor;
+                }
+                command = this.queue.poll();
+                if (command != null)
+                {
+                    this.executing = command;
+                    if (command == this.pendingDrives[command.channel])
+                    {
+                        this.pendingDrives[command.channel] = null;
+                    }
+                    if (command == this.pendingFaults[command.channel])
+                    {
+                        this.pendingFaults[command.channel] = null;
+                    }
+                }
+                this.queueDepth = this.queue.size();
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            finally
+            {
+                this.lock.unlock();
+            }
+            if (command != null)
+            {
+                execute(command);
+                this.executing = null;
+            }
+        }
+    }
+    
+    /**
+     * isEmpty()
+     * @return true, wenn kein Kommando aussteht
+     */
+    private boolean isEmpty()
+    {
+        this.lock.lock();
+        try
+        {
+            return this.queue.isEmpty();
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * execute(Command command) - Ausfuehrung mit Wiederholung...
+     * @param command
+     */
+    private void execute(Command command)
+    {
+        final MotorDriver driver = this.drivers[command.channel];
+        long backoff = this.backoffNanos;
+        for (int attempt = 0; ; attempt++)
+        {
+            try
+            {
+                final long start = System.nanoTime();
+                final int result;
+                switch (command.priority)
+                {
+                    case PRIORITY_BRAKE:
+                        driver.brake();
+                        result = 0;
+                        break;
+                    case PRIORITY_DRIVE:
+                        driver.drive(command.value);
+                        result = command.value;
+                        break;
+                    default:
+                        result = driver.getFault();
+                        onFault(command.channel, result);
+                        break;
+                }
+                final long end = System.nanoTime();
+                this.transactionDurations.record(end - start);
+                if (command.priority == PRIORITY_DRIVE)
+                {
+                    this.originToDrive.record(end - command.origin);
+                }
+                else if (command.priority == PRIORITY_BRAKE)
+                {
+                    this.originToBrake.record(end - command.origin);
+                    this.brakeLatencies.lazySet(command.channel, end - command.origin);
+                }
+                onSuccess(command);
+                if (command.future != null)
+                {
+                    command.future.complete(Integer.valueOf(result));
+                }
+                return;
+            }
+            catch (IOException exception)
+            {
+                if (attempt >= this.maxRetries || !this.running)
+                {
+                    onError(command, exception);
+                    if (command.future != null)
+                    {
+                        command.future.completeExceptionally(exception);
+                    }
+                    return;
+                }
+                this.retries.incrementAndGet();
+                try
+                {
+                    TimeUnit.NANOSECONDS.sleep(backoff);
+                }
+                catch (InterruptedException interruptedException)
+                {
+                    Thread.currentThread().interrupt();
+                    if (command.future != null)
+                    {
+                        command.future.completeExceptionally(exception);
+                    }
+                    return;
+                }
+                backoff *= 2L;
+            }
+        }
+    }
+    
+    /**
+     * onSuccess(Command command) - Statistik nachfuehren, Ende einer Stoerung protokollieren...
+     * @param command
+     */
+    private void onSuccess(Command command)
+    {
+        final long latency = System.nanoTime() - command.submitTime;
+        this.transactions.incrementAndGet();
+        this.totalLatency.addAndGet(latency);
+        if (latency > this.maxLatency.get())
+        {
+            this.maxLatency.lazySet(latency);
+        }
+        if (this.consecutiveErrors > 0)
+        {
+            logger.info("I2C wieder fehlerfrei nach " + this.consecutiveErrors + " gescheiterten Kommandos.");
+            this.consecutiveErrors = 0;
+        }
+    }
+    
+    /**
+     * onError(Command command, IOException exception) - nur der Beginn einer 
+     * Stoerung wird protokolliert...
+     * @param command
+     * @param exception
+     */
+    private void onError(Command command, IOException exception)
+    {
+        this.errors.incrementAndGet();
+        if (this.consecutiveErrors++ == 0)
+        {
+            logger.error("I2C-Kommando (Prioritaet " + command.priority + ", Kanal " + command.channel + ") nach " + this.maxRetries + " Wiederholungen gescheitert:", exception);
+        }
+    }
+    
+    /**
+     * onFault(int channel, int fault) - Aenderung der Fehlerkennung protokollieren...
+     * @param channel Kanal
+     * @param fault
+     */
+    private void onFault(int channel, int fault)
+    {
+        if (fault != this.faults.get(channel))
+        {
+            if (fault != 0)
+            {
+                logger.error("DRV8830-Fehler (Kanal " + channel + "): " + this.drivers[channel].getFaultReason(fault));
+            }
+            else
+            {
+                logger.info("DRV8830 (Kanal " + channel + ") wieder fehlerfrei.");
+            }
+            this.faults.set(channel, fault);
+        }
+    }
+    
+    /**
+     * shutdown() - die ausstehenden Kommandos werden noch ausgefuehrt, 
+     * dann endet der Bus-Thread...
+     */
+    public void shutdown()
+    {
+        this.lock.lock();
+        try
+        {
+            this.running = false;
+            this.notEmpty.signal();
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+        try
+        {
+            this.thread.join(1000L);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return die zuletzt gelesene Fehlerkennung des Kanals 0 (0 => fehlerfrei)
+     */
+    public final int getFault()
+    {
+        return this.faults.get(0);
+    }
+
+    /**
+     * @param channel Kanal
+     * @return die zuletzt gelesene Fehlerkennung des Kanals (0 => fehlerfrei)
+     */
+    public final int getFault(int channel)
+    {
+        return this.faults.get(channel);
+    }
+
+    /**
+     * @return Anzahl der Kanaele (Motortreiber)
+     */
+    public final int getChannels()
+    {
+        return this.drivers.length;
+    }
+
+    /**
+     * @return Anzahl der ausgefuehrten Kommandos
+     */
+    public final long getTransactions()
+    {
+        return this.transactions.get();
+    }
+
+    /**
+     * @return Anzahl der endgueltig gescheiterten Kommandos
+     */
+    public final long getErrors()
+    {
+        return this.errors.get();
+    }
+
+    /**
+     * @return Anzahl der Wiederholungen
+     */
+    public final long getRetries()
+    {
+        return this.retries.get();
+    }
+
+    /**
+     * @return mittlere Dauer vom Einreihen bis zur Ausfuehrung in ns
+     */
+    public final long getAverageLatency()
+    {
+        final long transactions = this.transactions.get();
+        return (transactions > 0L)? this.totalLatency.get()/transactions : 0L;
+    }
+
+    /**
+     * @return max. Dauer vom Einreihen bis zur Ausfuehrung in ns
+     */
+    public final long getMaxLatency()
+    {
+        return this.maxLatency.get();
+    }
+
+    /**
+     * getTransactionDurations() - Dauer der Aufrufe des MotorDriver...
+     * @return LatencyHistogram
+     */
+    final LatencyHistogram getTransactionDurations()
+    {
+        return this.transactionDurations;
+    }
+
+    /**
+     * getOriginToDrive() - Dauer vom Ausloeser bis zum ausgefuehrten drive()...
+     * @return LatencyHistogram
+     */
+    final LatencyHistogram getOriginToDrive()
+    {
+        return this.originToDrive;
+    }
+
+    /**
+     * getOriginToBrake() - Dauer vom Ausloeser bis zum ausgefuehrten brake()...
+     * @return LatencyHistogram
+     */
+    final LatencyHistogram getOriginToBrake()
+    {
+        return this.originToBrake;
+    }
+
+    /**
+     * @param channel Kanal
+     * @return letzte Dauer vom Ausloeser bis zum ausgefuehrten brake() in ns (0 => noch kein brake())
+     */
+    public final long getBrakeLatency(int channel)
+    {
+        return this.brakeLatencies.get(channel);
+    }
+
+    /**
+     * @return aktuelle Anzahl der ausstehenden Kommandos
+     */
+    public final int getQueueDepth()
+    {
+        return this.queueDepth;
+    }
+
+    /**
+     * @return max. Anzahl der ausstehenden Kommandos
+     */
+    public final int getMaxQueueDepth()
+    {
+        return this.maxQueueDepth;
+    }
+}
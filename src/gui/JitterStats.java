@@ -0,0 +1,105 @@
+package gui;
+
+/**
+ * JitterStats - laufende Statistik einer Zeitgroesse in ns (z.B. Taktzeit
+ * oder Verspaetung des Weckens)...
+ * <p>
+ * Es schreibt nur ein Thread (record()), gelesen wird aus beliebigen Threads
+ * ohne Sperre. Die einzelnen Werte sind damit jeweils aktuell, untereinander
+ * aber nicht notwendig konsistent, fuer die Anzeige genuegt das.
+ * </p>
+ */
+final class JitterStats
+{
+    /**
+     * count - Anzahl der Werte...
+     */
+    private volatile long count = 0L;
+    
+    /**
+     * sum - Summe der Werte in ns...
+     */
+    private volatile long sum = 0L;
+    
+    /**
+     * sumSquares - Summe der Quadrate in ns^2 (double, Ueberlauf)...
+     */
+    private volatile double sumSquares = 0.0;
+    
+    /**
+     * min, max - kleinster und groesster Wert in ns...
+     */
+    private volatile long min = Long.MAX_VALUE;
+    private volatile long max = Long.MIN_VALUE;
+    
+    /**
+     * record(long nanos) - Erfassen eines Wertes (nur ein schreibender Thread)...
+     * @param nanos Wert in ns
+     */
+    void record(long nanos)
+    {
+        this.sum = this.sum + nanos;
+        this.sumSquares = this.sumSquares + (double) nanos * nanos;
+        if (nanos < this.min)
+        {
+            this.min = nanos;
+        }
+        if (nanos > this.max)
+        {
+            this.max = nanos;
+        }
+        this.count = this.count + 1L;
+    }
+    
+    /**
+     * getCount() - Anzahl der Werte...
+     * @return count
+     */
+    long getCount()
+    {
+        return this.count;
+    }
+    
+    /**
+     * getMin() - kleinster Wert...
+     * @return min in ns, 0 ohne Werte
+     */
+    long getMin()
+    {
+        return (this.count == 0L)? 0L : this.min;
+    }
+    
+    /**
+     * getMax() - groesster Wert...
+     * @return max in ns, 0 ohne Werte
+     */
+    long getMax()
+    {
+        return (this.count == 0L)? 0L : this.max;
+    }
+    
+    /**
+     * getMean() - Mittelwert...
+     * @return Mittelwert in ns, 0 ohne Werte
+     */
+    double getMean()
+    {
+        final long count = this.count;
+        return (count == 0L)? 0.0 : (double) this.sum / count;
+    }
+    
+    /**
+     * getStandardDeviation() - Standardabweichung (Jitter)...
+     * @return Standardabweichung in ns, 0 ohne Werte
+     */
+    double getStandardDeviation()
+    {
+        final long count = this.count;
+        if (count == 0L)
+        {
+            return 0.0;
+        }
+        final double mean = (double) this.sum / count;
+        return Math.sqrt(Math.max(0.0, this.sumSquares / count - mean * mean));
+    }
+}
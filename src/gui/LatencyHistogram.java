@@ -0,0 +1,279 @@
+package gui;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram - Histogramm von Zeitdauern in ns mit fester Groesse und
+ * relativer Aufloesung (Aufbau wie ein HDR-Histogramm)...
+ * <p>
+ * Werte bis 2*SUB_BUCKETS werden einzeln gezaehlt, darueber je Zweierpotenz
+ * in SUB_BUCKETS gleich breite Faecher, d.h. mit einem relativen Fehler von
+ * hoechstens 1/SUB_BUCKETS (ca. 3%). Werte ab MAX_VALUE fallen in das letzte
+ * Fach. Der Speicher ist fest (BUCKETS Zaehler), record() erfolgt ohne
+ * Allokation und ohne Sperre.
+ * </p>
+ * <p>
+ * Es schreibt nur ein Thread (record()). snapshot() und reset() sind aus
+ * beliebigen Threads moeglich: reset() merkt sich den aktuellen Stand als
+ * Bezug, ein Snapshot enthaelt die Werte seit dem letzten reset(). Damit
+ * greift nur der schreibende Thread schreibend auf die Zaehler zu.
+ * </p>
+ */
+final class LatencyHistogram
+{
+    /**
+     * SUB_BUCKET_BITS = 5 - Aufloesung: 32 Faecher je Zweierpotenz...
+     */
+    private final static int SUB_BUCKET_BITS = 5;
+    
+    /**
+     * SUB_BUCKETS - Anzahl der Faecher je Zweierpotenz...
+     */
+    private final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    
+    /**
+     * MAX_BITS = 40 - Werte bis 2^40 ns (ca. 18 min)...
+     */
+    private final static int MAX_BITS = 40;
+    
+    /**
+     * MAX_VALUE - groesster unterschiedener Wert in ns...
+     */
+    final static long MAX_VALUE = (1L << MAX_BITS) - 1L;
+    
+    /**
+     * BUCKETS - Anzahl der Faecher...
+     */
+    final static int BUCKETS = indexOf(MAX_VALUE) + 1;
+    
+    /**
+     * name - Bezeichnung (Ausgabe)...
+     */
+    private final String name;
+    
+    /**
+     * counts - Zaehler je Fach...
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    
+    /**
+     * sum - Summe der Werte in ns (nur der schreibende Thread)...
+     */
+    private volatile long sum = 0L;
+    
+    /**
+     * baseline[], baselineSum - Stand beim letzten reset()...
+     */
+    private long[] baseline = new long[BUCKETS];
+    private long baselineSum = 0L;
+    
+    /**
+     * Konstruktor LatencyHistogram(String name)
+     * @param name Bezeichnung
+     */
+    LatencyHistogram(String name)
+    {
+        this.name = name;
+    }
+    
+    /**
+     * indexOf(long value) - Fach zum Wert...
+     * @param value Wert in ns, 0 <= value <= MAX_VALUE
+     * @return Index des Faches
+     */
+    static int indexOf(long value)
+    {
+        if (value < 2 * SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift * SUB_BUCKETS) + (int) (value >>> shift);
+    }
+    
+    /**
+     * highestValueOf(int index) - groesster Wert im Fach...
+     * @param index Index des Faches
+     * @return Wert in ns
+     */
+    static long highestValueOf(int index)
+    {
+        if (index < 2 * SUB_BUCKETS)
+        {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        final long top = index - (long) shift * SUB_BUCKETS;
+        return ((top + 1L) << shift) - 1L;
+    }
+    
+    /**
+     * getName() - Bezeichnung...
+     * @return name
+     */
+    String getName()
+    {
+        return this.name;
+    }
+    
+    /**
+     * record(long nanos) - Erfassen eines Wertes (nur ein schreibender Thread)...
+     * @param nanos Dauer in ns, negative Werte zaehlen als 0
+     */
+    void record(long nanos)
+    {
+        final long value = (nanos < 0L)? 0L : Math.min(nanos, MAX_VALUE);
+        final int index = indexOf(value);
+        this.counts.lazySet(index, this.counts.get(index) + 1L);
+        this.sum = this.sum + value;
+    }
+    
+    /**
+     * snapshot() - die Werte seit dem letzten reset()...
+     * @return Snapshot
+     */
+    synchronized Snapshot snapshot()
+    {
+        final long[] counts = new long[BUCKETS];
+        for (int index = 0; index < BUCKETS; index++)
+        {
+            counts[index] = this.counts.get(index) - this.baseline[index];
+        }
+        return new Snapshot(this.name, counts, this.sum - this.baselineSum);
+    }
+    
+    /**
+     * reset() - der aktuelle Stand wird Bezug der folgenden Snapshots...
+     */
+    synchronized void reset()
+    {
+        final long[] baseline = new long[BUCKETS];
+        for (int index = 0; index < BUCKETS; index++)
+        {
+            baseline[index] = this.counts.get(index);
+        }
+        this.baselineSum = this.sum;
+        this.baseline = baseline;
+    }
+    
+    /**
+     * Snapshot - unveraenderlicher Stand eines LatencyHistogram...
+     */
+    static final class Snapshot
+    {
+        /**
+         * PERCENTILES[] - Perzentile der Ausgabe (toString())...
+         */
+        private final static double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+    
+        private final String name;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+    
+        /**
+         * Konstruktor Snapshot(String name, long[] counts, long sum)
+         * @param name
+         * @param counts Zaehler je Fach
+         * @param sum Summe der Werte in ns
+         */
+        private Snapshot(String name, long[] counts, long sum)
+        {
+            this.name = name;
+            this.counts = counts;
+            this.sum = sum;
+            long count = 0L;
+            for (long value: counts)
+            {
+                count += value;
+            }
+            this.count = count;
+        }
+    
+        /**
+         * getName() - Bezeichnung...
+         * @return name
+         */
+        String getName()
+        {
+            return this.name;
+        }
+    
+        /**
+         * getCount() - Anzahl der Werte...
+         * @return count
+         */
+        long getCount()
+        {
+            return this.count;
+        }
+    
+        /**
+         * getMean() - Mittelwert...
+         * @return Mittelwert in ns, 0 ohne Werte
+         */
+        double getMean()
+        {
+            return (this.count == 0L)? 0.0 : (double) this.sum / this.count;
+        }
+    
+        /**
+         * getValueAtPercentile(double percentile) - Wert, den percentile Prozent
+         * der Werte nicht ueberschreiten (obere Grenze des Faches)...
+         * @param percentile 0...100
+         * @return Wert in ns, 0 ohne Werte
+         */
+        long getValueAtPercentile(double percentile)
+        {
+            if (this.count == 0L)
+            {
+                return 0L;
+            }
+            final long rank = Math.max(1L, (long) Math.ceil(this.count * Math.min(100.0, percentile) / 100.0));
+            long seen = 0L;
+            for (int index = 0; index < this.counts.length; index++)
+            {
+                seen += this.counts[index];
+                if (seen >= rank)
+                {
+                    return highestValueOf(index);
+                }
+            }
+            return MAX_VALUE;
+        }
+    
+        /**
+         * getMax() - groesster Wert (obere Grenze des Faches)...
+         * @return Wert in ns, 0 ohne Werte
+         */
+        long getMax()
+        {
+            for (int index = this.counts.length - 1; index >= 0; index--)
+            {
+                if (this.counts[index] != 0L)
+                {
+                    return highestValueOf(index);
+                }
+            }
+            return 0L;
+        }
+    
+        /**
+         * toString() - Anzahl, Mittelwert und Perzentile in us...
+         */
+        @Override
+        public String toString()
+        {
+            final StringBuilder builder = new StringBuilder();
+            builder.append(String.format("%s: %d Werte, mittel %.1f us", this.name, this.count, getMean()/1000.0));
+            for (double percentile: PERCENTILES)
+            {
+                builder.append(String.format(", p%s %.1f us",
+                                             (percentile == Math.rint(percentile))? Long.toString((long) percentile) : Double.toString(percentile),
+                                             getValueAtPercentile(percentile)/1000.0));
+            }
+            builder.append(String.format(", max. %.1f us", getMax()/1000.0));
+            return builder.toString();
+        }
+    }
+}
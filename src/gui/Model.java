@@ -2,31 +2,15 @@ package gui;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Objects;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.pi4j.io.gpio.GpioController;
-import com.pi4j.io.gpio.GpioFactory;
-import com.pi4j.io.gpio.GpioPin;
-import com.pi4j.io.gpio.GpioPinDigitalInput;
-import com.pi4j.io.gpio.Pin;
-import com.pi4j.io.gpio.PinEdge;
-import com.pi4j.io.gpio.PinPullResistance;
-import com.pi4j.io.gpio.RaspiPin;
-import com.pi4j.io.gpio.event.GpioPinDigitalStateChangeEvent;
-import com.pi4j.io.gpio.event.GpioPinListenerDigital;
-import com.pi4j.io.i2c.I2CBus;
-import com.pi4j.io.i2c.I2CFactory;
-
-import raspi.hardware.i2c.DRV8830;
-
 // Vgl. https://www.baeldung.com/java-observer-pattern
 // auch https://wiki.swechsler.de/doku.php?id=java:allgemein:mvc-beispiel
 // http://www.nullpointer.at/2011/02/06/howto-gui-mit-swing-teil-4-interaktion-mit-der-gui/
@@ -46,12 +30,12 @@ public class Model
      * logger
      */
     private final static Logger logger = LoggerFactory.getLogger(Model.class);
-
+    
     /**
      * Kennung isRaspi kennzeichnet, der Lauf erfolgt auf dem RasberryPi.
      * Die Kennung wird zur Laufzeit aus den Systemvariablen fuer das
-     * Betriebssystem und die Architektur ermittelt. Mit dieser Kennung kann
-     * die Beauftragung von Raspi-internen Programmen gesteuert werden.
+     * Betriebssystem und die Architektur ermittelt. Ohne Eintrag BACKEND_KEY
+     * wird damit die Anbindung ueber Pi4J gewaehlt.
      */
     private final boolean isRaspi;
     /**
@@ -70,97 +54,378 @@ public class Model
     public final static String OS_ARCH_RASPI = "arm";
     
     /**
-     * Referenz auf den GPIO-controller...
-     * <p>
-     * Der GPIO-Controller bedient die GPIO-Schnittstelle des Raspi.
-     * </p>
+     * BACKEND_KEY = "backend" - Key-Eintrag in der Konfiguration fuer die Auswahl
+     * der Hardware-Anbindung...
      * <p>
-     * Der GPIO-Controller wird im Konstruktor instanziiert...
+     * Moegliche Werte sind BACKEND_RASPI, BACKEND_GPIO_CDEV und BACKEND_SIMULATION. 
+     * Ohne Eintrag wird auf dem Raspi BACKEND_RASPI verwendet, sonst erfolgt keine Anbindung.
      * </p>
      */
-    private final GpioController gpioController;
-
+    public final static String BACKEND_KEY = "backend";
+    
+    /**
+     * BACKEND_RASPI = "raspi" - Anbindung ueber Pi4J (GPIO und I2C)...
+     */
+    public final static String BACKEND_RASPI = "raspi";
+    
+    /**
+     * BACKEND_SIMULATION = "simulation" - Software-Nachbildung von Drehgeber, 
+     * NE555 und DRV8830...
+     */
+    public final static String BACKEND_SIMULATION = "simulation";
+    
+    /**
+     * BACKEND_GPIO_CDEV = "gpiocdev" - Flanken ueber das GPIO-Zeichengeraet des
+     * Linux-Kernels (vgl. GpioCdevEdgeSource), Motortreiber ueber I2C wie BACKEND_RASPI...
+     */
+    public final static String BACKEND_GPIO_CDEV = "gpiocdev";
+    
+    /**
+     * GPIO_EVENT_FILE_KEY = "gpioEventFile" - Quelle der Ereignisse fuer BACKEND_GPIO_CDEV:
+     * "-" (Standardeingabe, vererbte Leitungsanforderung), FIFO oder Aufzeichnung...
+     */
+    public final static String GPIO_EVENT_FILE_KEY = "gpioEventFile";
+    
+    /**
+     * DEFAULT_GPIO_EVENT_FILE = "-" - Voreinstellung fuer GPIO_EVENT_FILE_KEY...
+     */
+    public final static String DEFAULT_GPIO_EVENT_FILE = GpioCdevEdgeSource.STANDARD_INPUT;
+    
+    /**
+     * GPIO_LINES_KEY = "gpioLines" - offset der Leitungen am gpiochip (BCM-Nummern)
+     * fuer NE555, A0, B0, A1, B1..., durch Komma getrennt...
+     */
+    public final static String GPIO_LINES_KEY = "gpioLines";
+    
+    /**
+     * DEFAULT_GPIO_LINES = "17,27,22" - Voreinstellung fuer GPIO_LINES_KEY 
+     * (dieselben Anschluesse wie Pi4jEdgeSource)...
+     */
+    public final static String DEFAULT_GPIO_LINES = "17,27,22";
+    
+    /**
+     * SIM_EDGE_RATE_KEY = "simEdgeRate" - Flanken pro Sekunde der Simulation,
+     * der Wert "max" liefert die Flanken so schnell wie moeglich...
+     */
+    public final static String SIM_EDGE_RATE_KEY = "simEdgeRate";
+    
+    /**
+     * SIM_TICK_RATE_KEY = "simTickRate" - Taktfrequenz (NE555) der Simulation in Hz...
+     */
+    public final static String SIM_TICK_RATE_KEY = "simTickRate";
+    
+    /**
+     * edgeSource - Quelle der Flanken (Takt und Drehgeber), null => keine Anbindung...
+     */
+    private final EdgeSource edgeSource;
+    
+    /**
+     * EDGE_RING_CAPACITY_KEY = "edgeRingCapacity" - Groesse des Rings der 
+     * Flanken-Ereignisse (wird auf eine Zweierpotenz aufgerundet)...
+     */
+    public final static String EDGE_RING_CAPACITY_KEY = "edgeRingCapacity";
+    
+    /**
+     * DEFAULT_EDGE_RING_CAPACITY = "65536" - Voreinstellung fuer EDGE_RING_CAPACITY_KEY...
+     */
+    public final static String DEFAULT_EDGE_RING_CAPACITY = "65536";
+    
+    /**
+     * EDGE_BATCH_SIZE_KEY = "edgeBatchSize" - max. Anzahl der Flanken, die der 
+     * EdgeProcessor je Stapel verarbeitet...
+     */
+    public final static String EDGE_BATCH_SIZE_KEY = "edgeBatchSize";
+    
+    /**
+     * DEFAULT_EDGE_BATCH_SIZE = "1024" - Voreinstellung fuer EDGE_BATCH_SIZE_KEY...
+     */
+    public final static String DEFAULT_EDGE_BATCH_SIZE = "1024";
+    
+    /**
+     * CLOCK_SOURCE_KEY = "clockSource" - Quelle der Taktung: CLOCK_NE555 (steigende 
+     * Flanke NE555) oder CLOCK_SOFTWARE (SoftwareClock mit CLOCK_PERIOD_KEY)...
+     */
+    public final static String CLOCK_SOURCE_KEY = "clockSource";
+    
+    /**
+     * CLOCK_NE555 = "ne555", CLOCK_SOFTWARE = "software" - Eintraege zu CLOCK_SOURCE_KEY...
+     */
+    public final static String CLOCK_NE555 = "ne555";
+    public final static String CLOCK_SOFTWARE = "software";
+    
+    /**
+     * CLOCK_PERIOD_KEY = "clockPeriod" - Taktzeit der SoftwareClock in us...
+     */
+    public final static String CLOCK_PERIOD_KEY = "clockPeriod";
+    
+    /**
+     * DEFAULT_CLOCK_PERIOD = "1000" - Voreinstellung fuer CLOCK_PERIOD_KEY (1 kHz)...
+     */
+    public final static String DEFAULT_CLOCK_PERIOD = "1000";
+    
+    /**
+     * CLOCK_SPIN_KEY = "clockSpin" - aktives Warten der SoftwareClock vor der 
+     * Deadline in us, davor wird geparkt...
+     */
+    public final static String CLOCK_SPIN_KEY = "clockSpin";
+    
+    /**
+     * DEFAULT_CLOCK_SPIN = "100" - Voreinstellung fuer CLOCK_SPIN_KEY...
+     */
+    public final static String DEFAULT_CLOCK_SPIN = "100";
+    
+    /**
+     * RECORDER_DIR_KEY = "recorderDir" - Verzeichnis der Aufzeichnung der Taktung,
+     * ohne Eintrag keine Aufzeichnung (vgl. TelemetryRecorder)...
+     */
+    public final static String RECORDER_DIR_KEY = "recorderDir";
+    
+    /**
+     * RECORDER_SEGMENT_SIZE_KEY = "recorderSegmentSize" - Groesse einer Segment-Datei in MiB...
+     */
+    public final static String RECORDER_SEGMENT_SIZE_KEY = "recorderSegmentSize";
+    
+    /**
+     * DEFAULT_RECORDER_SEGMENT_SIZE = "64" - Voreinstellung fuer RECORDER_SEGMENT_SIZE_KEY...
+     */
+    public final static String DEFAULT_RECORDER_SEGMENT_SIZE = "64";
+    
+    /**
+     * RECORDER_MAX_SEGMENTS_KEY = "recorderMaxSegments" - max. Anzahl der aufbewahrten 
+     * Segment-Dateien, 0 => unbegrenzt...
+     */
+    public final static String RECORDER_MAX_SEGMENTS_KEY = "recorderMaxSegments";
+    
+    /**
+     * DEFAULT_RECORDER_MAX_SEGMENTS = "16" - Voreinstellung fuer RECORDER_MAX_SEGMENTS_KEY...
+     */
+    public final static String DEFAULT_RECORDER_MAX_SEGMENTS = "16";
+    
+    /**
+     * RECORDER_FORCE_INTERVAL_KEY = "recorderForceInterval" - Abstand des Zurueckschreibens
+     * auf den Datentraeger in ms, 0 => nur bei Segmentwechsel...
+     */
+    public final static String RECORDER_FORCE_INTERVAL_KEY = "recorderForceInterval";
+    
+    /**
+     * DEFAULT_RECORDER_FORCE_INTERVAL = "1000" - Voreinstellung fuer RECORDER_FORCE_INTERVAL_KEY...
+     */
+    public final static String DEFAULT_RECORDER_FORCE_INTERVAL = "1000";
+    
+    /**
+     * RECORDER_CAPACITY_KEY = "recorderCapacity" - Anzahl der Datensaetze im Ring
+     * zwischen Taktung und Recorder...
+     */
+    public final static String RECORDER_CAPACITY_KEY = "recorderCapacity";
+    
+    /**
+     * DEFAULT_RECORDER_CAPACITY = "4096" - Voreinstellung fuer RECORDER_CAPACITY_KEY...
+     */
+    public final static String DEFAULT_RECORDER_CAPACITY = "4096";
+    
+    /**
+     * RECORDER_EDGES_KEY = "recorderEdges" - true => auch alle Flanken aufzeichnen
+     * (Grundlage der Wiedergabe, vgl. TraceEdgeSource, ReplayMain)...
+     */
+    public final static String RECORDER_EDGES_KEY = "recorderEdges";
+    
+    /**
+     * recorder - Aufzeichnung der Taktung, null => keine Aufzeichnung...
+     */
+    private final TelemetryRecorder recorder;
+    
+    /**
+     * rippleAnalyzer - Analyse der Welligkeit je Ordnung in einem eigenen Thread,
+     * null => keine Analyse (oder keine Anbindung)...
+     */
+    private final RippleAnalyzer rippleAnalyzer;
+    
+    /**
+     * edgeRing - der Callback der EdgeSource legt die Flanken nur hier ab, 
+     * null => keine Anbindung...
+     */
+    private final EdgeRing edgeRing;
+    
+    /**
+     * edgeProcessor - Verarbeitung der Flanken aus dem edgeRing in einem 
+     * eigenen Thread, null => keine Anbindung...
+     */
+    private final EdgeProcessor edgeProcessor;
+    
+    /**
+     * softwareClock - interne Taktung, null => Taktung durch den NE555...
+     */
+    private final SoftwareClock softwareClock;
+    
+    /**
+     * tickPeriods - Statistik der Taktzeit (Jitter der Taktung, NE555 oder SoftwareClock),
+     * geschrieben in der Taktung...
+     */
+    private final JitterStats tickPeriods = new JitterStats();
+    
+    /**
+     * tickIntervals - Histogramm der Taktzeit, tickDurations - Histogramm der 
+     * Rechenzeit der Taktung, beide geschrieben in der Taktung...
+     */
+    private final LatencyHistogram tickIntervals = new LatencyHistogram("tickInterval");
+    private final LatencyHistogram tickDurations = new LatencyHistogram("tickCompute");
     
     /**
      * ADDRESS - Bus-Adresse des I2C-Bausteins, festgelegt durch
      * Verdrahtung auf dem Baustein... 
      */
     public final static int ADDRESS = 0x60; 
-
+    
     /**
-     * drv8830 - Referenz auf den DRV8830-Baustein unter der Adresse ADDRESS
+     * I2C_BUS = 1 - Nummer des I2C-Busses (vgl. I2CBus.BUS_1)...
      */
-    private DRV8830 drv8830 = null;
+    public final static int I2C_BUS = 1;
     
     /**
-     * drvSetPoint - Sollwert fuer den DRV8830 (int)
+     * FAULT_MAX_AGE_KEY = "faultMaxAge" - max. Alter der Schattenkopie des 
+     * FAULT-Registers in ms...
      */
-    private int drvSetPoint = 0;
-
+    public final static String FAULT_MAX_AGE_KEY = "faultMaxAge";
+    
     /**
-     * Pull-Up/Pull-Down-Einstellung...
-     * <p>
-     * Hier Voreinstellung auf PinPullResistance.OFF, da Pull-Down-Widerstaende 
-     * durch die Hardware bereitgestellt werden...
-     * </p>
-     * <p>
-     * Hier Einstellung: Kein Pull-Down/Pull-Up durch den Raspi (daher PinPullResistance.OFF)...
-     * </p>
+     * DEFAULT_FAULT_MAX_AGE = "100" - Voreinstellung fuer FAULT_MAX_AGE_KEY in ms...
      */
-    private final static PinPullResistance PIN_PULL_RESISTANCE = PinPullResistance.OFF;
+    public final static String DEFAULT_FAULT_MAX_AGE = "100";
     
     /**
-     * ...der folgenden Pin wird über den Takt des Ne555 angesprochen und gibt damit den Takt
-     * fuer die Regelung und Anzeige vor...
-     * <p>
-     * Der Name des Pins wird als Key fuer die Ablage der damit im Zusammenhang
-     * stehenden Daten verwendet (Key: GPIO_PIN_NE555_NAME)
-     * </p>
-     * <p>
-     * Der am Pin auftretende Impuls wird durch das Interface GpioPinListenerDigital 
-     * verarbeitet.
-     * </p>
+     * motorDrivers[] - Referenzen auf die Motortreiber je Kanal (DRV8830 unter der 
+     * Adresse ADDRESS bzw. CHANNEL_ADDRESSES_KEY), Zugriff ueber die Schattenkopie 
+     * der Register, null => keine Anbindung...
      */
-    private final static Pin GPIO_NE555_PIN = RaspiPin.GPIO_00;    // GPIO 17, Board-Nr. = 11
+    private final ShadowedMotorDriver[] motorDrivers;
     
     /**
-     * Impulsfolge A..., wird durch einen entsprechenden Interrupt bedient.
-     * <p>
-     * Die Verarbeitung der Impulsfolge erfolgt durch das Interface
-     * GpioPinListenerDigital.
-     * </p>
+     * FAULT_POLL_INTERVAL_KEY = "faultPollInterval" - Abstand der Abfrage des 
+     * FAULT-Registers in ms, unabhaengig von der Taktung...
      */
-    private final static Pin GPIO_INC_A_PIN = RaspiPin.GPIO_02;     // GPIO 27, Board-Nr. = 13
+    public final static String FAULT_POLL_INTERVAL_KEY = "faultPollInterval";
     
     /**
-     * Impulsfolge B..., wird aber mit dem Impuls A in der Interrupt-Routine abgefragt...
-     * <p>
-     * Die Verarbeitung der Impulsfolge GPIO_INC_B_PIN erfolgt durch Abfrage des 
-     * Zustandes ueber GpioPinDigitalInput.
-     * </p>
+     * DEFAULT_FAULT_POLL_INTERVAL = "200" - Voreinstellung fuer FAULT_POLL_INTERVAL_KEY in ms...
+     */
+    public final static String DEFAULT_FAULT_POLL_INTERVAL = "200";
+    
+    /**
+     * I2C_RETRIES_KEY = "i2cRetries" - max. Anzahl der Wiederholungen eines I2C-Kommandos...
+     */
+    public final static String I2C_RETRIES_KEY = "i2cRetries";
+    
+    /**
+     * DEFAULT_I2C_RETRIES = "3" - Voreinstellung fuer I2C_RETRIES_KEY...
+     */
+    public final static String DEFAULT_I2C_RETRIES = "3";
+    
+    /**
+     * I2C_BACKOFF_KEY = "i2cBackoff" - Wartezeit vor der ersten Wiederholung in ms...
+     */
+    public final static String I2C_BACKOFF_KEY = "i2cBackoff";
+    
+    /**
+     * DEFAULT_I2C_BACKOFF = "5" - Voreinstellung fuer I2C_BACKOFF_KEY in ms...
+     */
+    public final static String DEFAULT_I2C_BACKOFF = "5";
+    
+    /**
+     * JMX_NAME_KEY = "jmxName" - ObjectName, unter dem der ModelMonitor am 
+     * Platform-MBeanServer angemeldet wird (Abfrage z.B. mit jconsole), leer => 
+     * keine Anmeldung. Der Kanal 0 unter dem Namen selbst, die weiteren Kanaele 
+     * k unter dem Namen mit dem Zusatz ",channel=k" (vgl. jmxName())...
+     */
+    public final static String JMX_NAME_KEY = "jmxName";
+    
+    /**
+     * DEFAULT_JMX_NAME = "gui:type=Model" - Voreinstellung fuer JMX_NAME_KEY...
+     */
+    public final static String DEFAULT_JMX_NAME = "gui:type=Model";
+    
+    /**
+     * jmxNames - ObjectName der angemeldeten ModelMonitor (je Kanal), leer => keine...
+     */
+    private final java.util.List<ObjectName> jmxNames;
+    
+    /**
+     * HTTP_PORT_KEY = "httpPort" - Port des TelemetryServer (Browser, REST), 
+     * leer => kein Server, 0 => beliebiger freier Port...
+     */
+    public final static String HTTP_PORT_KEY = "httpPort";
+    
+    /**
+     * HTTP_ADDRESS_KEY = "httpAddress" - Adresse des TelemetryServer, fuer den 
+     * Zugriff von aussen z.B. 0.0.0.0 (keine Authentifizierung!)...
+     */
+    public final static String HTTP_ADDRESS_KEY = "httpAddress";
+    
+    /**
+     * DEFAULT_HTTP_ADDRESS = "127.0.0.1" - Voreinstellung fuer HTTP_ADDRESS_KEY (nur lokal)...
+     */
+    public final static String DEFAULT_HTTP_ADDRESS = "127.0.0.1";
+    
+    /**
+     * HTTP_MAX_CLIENTS_KEY = "httpMaxClients" - max. Anzahl gleichzeitiger Streams...
+     */
+    public final static String HTTP_MAX_CLIENTS_KEY = "httpMaxClients";
+    
+    /**
+     * DEFAULT_HTTP_MAX_CLIENTS = "4" - Voreinstellung fuer HTTP_MAX_CLIENTS_KEY...
+     */
+    public final static String DEFAULT_HTTP_MAX_CLIENTS = "4";
+    
+    /**
+     * telemetryServer - HTTP-Server oder null...
+     */
+    private final TelemetryServer telemetryServer;
+    
+    /**
+     * i2cScheduler - Bus-Thread, alle Zugriffe auf den motorDriver erfolgen 
+     * ueber den i2cScheduler...
+     */
+    private final I2cScheduler i2cScheduler;
+    
+    /**
+     * CHANNELS_KEY = "channels" - Anzahl der Motorkanaele, je Kanal ein Drehgeber 
+     * (Impulsfolgen A/B) und ein Motortreiber, gemeinsam sind Taktung und I2C-Bus...
+     */
+    public final static String CHANNELS_KEY = "channels";
+    
+    /**
+     * DEFAULT_CHANNELS = "1" - Voreinstellung fuer CHANNELS_KEY...
+     */
+    public final static String DEFAULT_CHANNELS = "1";
+    
+    /**
+     * MAX_CHANNELS = 63 - max. Anzahl der Kanaele, begrenzt durch den Index der 
+     * Pins im Ereignis des EdgeRing (7 Bit, vgl. EdgeSource.pinB())...
      */
-    private final static Pin GPIO_INC_B_PIN = RaspiPin.GPIO_03;     // GPIO 22, Board-Nr. = 15
+    public final static int MAX_CHANNELS = 63;
     
     /**
-     * gpio_Inc_B_Pin - Referenz auf den Zustand des Pin GPIO_INC_B_PIN
+     * CHANNEL_ADDRESSES_KEY = "channelAddresses" - Bus-Adressen der Motortreiber 
+     * je Kanal, durch Komma getrennt (z.B. "0x60,0x61"), ohne Eintrag ADDRESS + Kanal...
      */
-    private final GpioPinDigitalInput gpio_Inc_B_Pin; 
+    public final static String CHANNEL_ADDRESSES_KEY = "channelAddresses";
     
     /**
-     * GPIO_NE555_PIN_NAME - String-Name des Takt-Pins an dem der Ne555
-     * angeschlossen ist.
+     * CHANNEL_PINS_KEY = "channelPins" - Pins der Impulsfolgen A:B je Kanal 
+     * (Pi4J-Nummerierung), durch Komma getrennt (z.B. "2:3,4:5"), ohne Eintrag 
+     * nur Kanal 0 an GPIO_02:GPIO_03...
      */
-    public final static String GPIO_NE555_PIN_NAME = GPIO_NE555_PIN.getName();
+    public final static String CHANNEL_PINS_KEY = "channelPins";
     
     /**
-     * GPIO_INC_A_PIN_NAME - String-Name des Pin A...
+     * channels[] - die Motorkanaele, jeder mit eigenem Zustand (vgl. MotorChannel)...
      */
-    public final static String GPIO_INC_A_PIN_NAME = GPIO_INC_A_PIN.getName();
+    private final MotorChannel[] channels;
     
     /**
-     * GPIO_INC_B_PIN_NAME - String-Name des Pin B...
+     * drives[] - Stellwerte aller Kanaele der letzten Taktung, nur in der Taktung 
+     * beschrieben und als Stapel an den i2cScheduler uebergeben...
      */
-    public final static String GPIO_INC_B_PIN_NAME = GPIO_INC_B_PIN.getName();
+    private final int[] drives;
     
     /**
      * NAME_RESET_BUTTON = "resetButton"
@@ -171,7 +436,7 @@ public class Model
      * NAME_START_BUTTON = "startButton"
      */
     public static final String NAME_START_BUTTON = "startButton";
-
+    
     /**
      * NAME_STOP_BUTTON = "stopButton"
      */
@@ -192,6 +457,13 @@ public class Model
     /**
      * DATA_KEY = "dataKey" - Key zum zugriff auf die Data-Daten. Diese Daten beinhalten
      * zumeist die Informationen vom Model hin zur GUI, die in der GUI nur angezeigt werden.
+     * <p>
+     * Die Daten werden nicht in der dataMap gehalten, sondern als StateSnapshot 
+     * je Kanal ueber den StatePublisher veroeffentlicht (vgl. readState(), getData()).
+     * Je Takt erfolgt kein PropertyChangeEvent mehr, die View liest den Zustand 
+     * mit ihrer eigenen Bildrate (vgl. SwingWindow). Unter DATA_KEY wird kein 
+     * PropertyChangeEvent gefeuert, Data bei Bedarf ueber getData().
+     * </p>
      */
     public final static String DATA_KEY = "dataKey"; 
     
@@ -211,17 +483,16 @@ public class Model
      */
     private final static String[] DATA_KEYS = 
     {
-        DATA_KEY,
         DATA_SET_POINT_KEY
     };
-
+    
     /**
      * MAX_VALUE - max. Sollwert des PWM-Schaltkreises (hier nur der Betrag!)...
      * <p>
      * Auswaehlbar sind (2*MAX_VALUE+1)-Werte von (-MAX_VALUE... 0 ...+MAX_VALUE)
      * </p>
      */
-    private final static int MAX_VALUE = 31;     
+    final static int MAX_VALUE = 31;     
     
     /**
      * SET_POINT_SCALE = 5
@@ -291,69 +562,24 @@ public class Model
     private final PropertyChangeSupport support = new PropertyChangeSupport(this);
     
     /**
-     * counter - Taktzaehler (keine weitere funktionale Bedeutung)
+     * NO_PAST - Kennung fuer past: noch keine Taktung erfolgt...
      */
-    private long counter = 0L;
+    private final static long NO_PAST = Long.MIN_VALUE;
     
     /**
-     * phi - Lageinformation in Impulse, Mass fuer den Winkel phi,
-     * gemessen in Anzahl der Impule...
-     */
-    private long phi = 0L;
-
-    /**
-     *  position - das long-Array position[] dient der Ermittlung 
-     *  des Zuwachses der Position waehrend der letzten Taktung: 
-     *  phi[k+1]-phi[k].
-     */
-    private long[] position = new long[] {0L, 0L};
-    
-    /**
-     * deltas[] - Folge der deltas, jeweils Dokumentation des Zuwachs am Lagewert...
-     */
-    private long[] deltas = new long[10];
-    
-    /**
-     * is_B_High[] - Kennung fuer is_B_High der aktuellen und der
-     * letzten Umdrehung, damit Möglichkeit, 
-     * einen Richtungswechsel zu erkennen...
-     */
-    private boolean is_B_High[] = {false, false};
-    
-    /**
-     * 
-     */
-    private Instant lapStartTime = null;
-    
-    /**
-     * 
-     */
-    private Instant lapEndTime = null;
-    
-    /**
-     * 
-     */
-    private BigDecimal lapTime = BigDecimal.ZERO;
-    
-    /**
-     * Instant past - letzter Zeitstempel...
+     * past - letzter Zeitstempel in ns (System.nanoTime() der Flanke NE555)...
      * <p>
      * Der Takt wird durch den Ne555 vorgegeben. 
      * Hier wird der letzte Zeitstempel abgelegt zur Bestimmung
-     * der Taktdauer T. Die Taktdauer wird in cycleTime abgelegt.
+     * der Taktdauer T. Die Taktdauer wird an die Kanaele uebergeben.
      * </p>
      * <p>
-     * Der Anfangswert muss null sein, um die Erstbeauftragung zu erkennen,
+     * Der Anfangswert muss NO_PAST sein, um die Erstbeauftragung zu erkennen,
      * da erst bei Zweitbeauftragung die Taktdauer bestimmbar ist.
      * </p>
      */
-    private Instant past = null;
+    private long past = NO_PAST;
     
-    /**
-     * cycleTime - aktuell ermittelte Taktzeit aus (now - past)...
-     */
-    private Duration cycleTime = Duration.ZERO;
-
     /**
      * 
      */
@@ -374,13 +600,28 @@ public class Model
     public static int SCALE_LAP_TIME = 3;
     
     /**
-     * PULS_NUMBER = 400L - Anzahl der Impulse pro Umdrehung
+     * SCALE_CONTROL = 3 - Darstellung des Integralanteils des PidController...
+     */
+    public final static int SCALE_CONTROL = 3;
+    
+    /**
+     * SCALE_LATENCY = 3 - Darstellung der Reaktionszeit in us (skaliert: ns)...
+     */
+    public final static int SCALE_LATENCY = 3;
+    
+    /**
+     * PULS_NUMBER = 400L - Anzahl der Impulse pro Umdrehung (Strichzahl des 
+     * Drehgebers, Auswertung DECODING_1X)
+     * <p>
+     * Je nach Auswertung ergibt sich die Anzahl der Zaehlschritte pro 
+     * Umdrehung zu pulsNumber = PULS_NUMBER * decoding.
+     * </p>
      */
     public final static long PULS_NUMBER = 400L;
    
     /**
      * MEASURING_NUMBER - Anzahl der Impulse zur Ermittlung der 
-     * Umdrehungsdauer.
+     * Umdrehungsdauer (Auswertung DECODING_1X).
      * <p>
      * Achtung!! Ganzzahlig-Vielfaches von MEASURING_NUMBER muss PULS_NUMBER ergeben! 
      * </p>
@@ -388,66 +629,229 @@ public class Model
     public final static long MEASURING_NUMBER = 100L;
     
     /**
-     * MEASURING_FACTOR - Korrekturfaktor, da MEASURING_NUMBER Teiler von PULS_NUMBER. 
+     * DECODING_KEY = "decoding" - Auswertung der Impulsfolgen A/B: 
+     * 1 (steigende Flanken A), 2 (Flanken A) oder 4 (Flanken A und B)...
      */
-    public final static BigDecimal MEASURING_FACTOR = BigDecimal.valueOf(PULS_NUMBER/MEASURING_NUMBER);
+    public final static String DECODING_KEY = "decoding";
     
     /**
-     * CIRCUMFERENCE - Anzahl der Impulse pro Umdrehung
-     * 
-     * Aus der Anzahl der Impulse I pro Zeiteinheit T ergibt sich die
-     * Umdrehungszahl U pro Minute zu:
-     * 
-     *   U = I * 1/CIRCUMFERENCE * 60/T
-     *   U = (I/T) * (60/CIRCUMFERENCE) 
+     * DEFAULT_DECODING = "4" - Voreinstellung fuer DECODING_KEY...
      */
-    public final static BigDecimal CIRCUMFERENCE = BigDecimal.valueOf(PULS_NUMBER);
+    public final static String DEFAULT_DECODING = "4";
     
     /**
-     * CONST
+     * PERIOD_STEPS_KEY = "periodSteps" - Anzahl der Zaehlschritte, ueber die 
+     * die Periodendauer gemessen wird (Drehzahl aus Zeit pro Zaehlschritt)...
      */
-    public final static BigDecimal CONST = BigDecimal.valueOf(60L).divide(CIRCUMFERENCE, SCALE_INTERN, BigDecimal.ROUND_HALF_UP);
-
+    public final static String PERIOD_STEPS_KEY = "periodSteps";
     
     /**
-     * 
+     * DEFAULT_PERIOD_STEPS = "8" - Voreinstellung fuer PERIOD_STEPS_KEY...
      */
-    private BigDecimal cycleTimeDecimal = BigDecimal.ZERO;    
+    public final static String DEFAULT_PERIOD_STEPS = "8";
     
     /**
-     * 
+     * SPEED_SWITCH_KEY = "speedSwitchCount" - Umschaltung der Drehzahlmessung: 
+     * ab dieser Anzahl Zaehlschritte pro Taktung aus Zaehlschritten pro Taktzeit,
+     * darunter aus der Periodendauer der letzten Zaehlschritte...
      */
-    private BigDecimal rotation = null;
+    public final static String SPEED_SWITCH_KEY = "speedSwitchCount";
     
     /**
-     * 
+     * DEFAULT_SPEED_SWITCH = "100" - Voreinstellung fuer SPEED_SWITCH_KEY,
+     * entspricht einer Aufloesung von 1% bei Zaehlung pro Taktung...
      */
-    private BigDecimal rpm = null;
+    public final static String DEFAULT_SPEED_SWITCH = "100";
     
     /**
-     * lock - Object fuer das Synchronisieren...
+     * SPEED_WINDOW_KEY = "speedWindow" - Laenge des gleitenden Fensters in Taktungen 
+     * fuer mittlere Drehzahl, Welligkeit und Stillstand...
      */
-    final private Object lock = new Object(); 
+    public final static String SPEED_WINDOW_KEY = "speedWindow";
     
     /**
-     * Default-Konstruktor 
+     * DEFAULT_SPEED_WINDOW = "10" - Voreinstellung fuer SPEED_WINDOW_KEY...
      */
-    public Model() 
-    {
-        // 1.) Wo erfolgt der Lauf, auf einem Raspi?
-        final String os_name = System.getProperty("os.name").toLowerCase();
-        final String os_arch = System.getProperty("os.arch").toLowerCase();
-        logger.debug("Betriebssytem: " + os_name + " " + os_arch);
-        // Kennung isRaspi setzen...
-        this.isRaspi = OS_NAME_RASPI.equals(os_name) && OS_ARCH_RASPI.equals(os_arch);
-        
-        // ... Map setPointsMap befuellen...
-        for (int index = 0; index < SET_POINTS.length; index++)
-        {
-            // index = 0          =>  -MAX_VALUE
-            // index = MAX_VALUE  =>   0
-            // index = 2*MAX_VALUE => +MAX_VALUE
-            setPointsMap.put(SET_POINTS[index], Integer.valueOf(MAX_VALUE-index));
+    public final static String DEFAULT_SPEED_WINDOW = "10";
+    
+    /**
+     * CONTROL_MODE_KEY = "controlMode" - Betriebsart der Sollwertvorgabe:
+     * "openLoop" (Sollwert an den DRV8830), "speed" (Drehzahlregelung) oder
+     * "position" (Fahrt auf eine Ziellage, vgl. moveTo()), vgl. ControlMode...
+     */
+    public final static String CONTROL_MODE_KEY = "controlMode";
+    
+    /**
+     * DEFAULT_CONTROL_MODE = "openLoop" - Voreinstellung fuer CONTROL_MODE_KEY...
+     */
+    public final static String DEFAULT_CONTROL_MODE = "openLoop";
+    
+    /**
+     * RPM_PER_SET_POINT_KEY = "rpmPerSetPoint" - Solldrehzahl in 1/min je Stufe 
+     * der Sollwertvorgabe (Betriebsart "speed")...
+     */
+    public final static String RPM_PER_SET_POINT_KEY = "rpmPerSetPoint";
+    
+    /**
+     * DEFAULT_RPM_PER_SET_POINT = "10" - Voreinstellung fuer RPM_PER_SET_POINT_KEY...
+     */
+    public final static String DEFAULT_RPM_PER_SET_POINT = "10";
+    
+    /**
+     * PID_KP_KEY = "pidKp", PID_KI_KEY = "pidKi", PID_KD_KEY = "pidKd" - Verstaerkungen
+     * des PidController (Stellwert pro 1/min, pro 1/min*s bzw. pro 1/min/s)...
+     */
+    public final static String PID_KP_KEY = "pidKp";
+    public final static String PID_KI_KEY = "pidKi";
+    public final static String PID_KD_KEY = "pidKd";
+    
+    /**
+     * DEFAULT_PID_KP, DEFAULT_PID_KI, DEFAULT_PID_KD - Voreinstellungen der Verstaerkungen...
+     */
+    public final static String DEFAULT_PID_KP = "0.05";
+    public final static String DEFAULT_PID_KI = "0.2";
+    public final static String DEFAULT_PID_KD = "0";
+    
+    /**
+     * PROFILE_RATE_KEY = "profileRate" - max. Aenderung des Sollwertes in Stufen
+     * pro s (Rampe, vgl. SetPointProfile), 0 => Sprung ohne Profil...
+     */
+    public final static String PROFILE_RATE_KEY = "profileRate";
+    
+    /**
+     * DEFAULT_PROFILE_RATE = "60" - Voreinstellung fuer PROFILE_RATE_KEY
+     * (-31...+31 in etwa 1 s)...
+     */
+    public final static String DEFAULT_PROFILE_RATE = "60";
+    
+    /**
+     * PROFILE_JERK_KEY = "profileJerk" - max. Aenderung der Rampe in Stufen
+     * pro s^2 (S-Kurve), 0 => Trapezprofil...
+     */
+    public final static String PROFILE_JERK_KEY = "profileJerk";
+    
+    /**
+     * DEFAULT_PROFILE_JERK = "240" - Voreinstellung fuer PROFILE_JERK_KEY
+     * (volle Rampe nach 0.25 s)...
+     */
+    public final static String DEFAULT_PROFILE_JERK = "240";
+    
+    /**
+     * RIPPLE_ORDERS_KEY = "rippleOrders" - Ordnungen (Vielfache der Drehfrequenz)
+     * der Analyse der Welligkeit, durch Komma getrennt (vgl. RippleAnalyzer), 
+     * leer => keine Analyse...
+     */
+    public final static String RIPPLE_ORDERS_KEY = "rippleOrders";
+    
+    /**
+     * DEFAULT_RIPPLE_ORDERS = "" - Voreinstellung fuer RIPPLE_ORDERS_KEY: keine
+     * Analyse (kein Thread, keine Last in handleEdge()), Einschalten z.B. mit
+     * rippleOrders = 1,2,3,4...
+     */
+    public final static String DEFAULT_RIPPLE_ORDERS = "";
+    
+    /**
+     * RIPPLE_REVOLUTIONS_KEY = "rippleRevolutions" - Umdrehungen je Block der
+     * Analyse (Aufloesung und Verzoegerung der Ergebnisse)...
+     */
+    public final static String RIPPLE_REVOLUTIONS_KEY = "rippleRevolutions";
+    
+    /**
+     * DEFAULT_RIPPLE_REVOLUTIONS = "2" - Voreinstellung fuer RIPPLE_REVOLUTIONS_KEY...
+     */
+    public final static String DEFAULT_RIPPLE_REVOLUTIONS = "2";
+    
+    /**
+     * pulsNumber - Anzahl der Zaehlschritte pro Umdrehung (PULS_NUMBER * decoding)...
+     */
+    private final long pulsNumber;
+    
+    /**
+     * MEASURING_FACTOR - Korrekturfaktor, da MEASURING_NUMBER Teiler von PULS_NUMBER
+     * (unabhaengig von der Auswertung). 
+     */
+    public final static BigDecimal MEASURING_FACTOR = BigDecimal.valueOf(PULS_NUMBER/MEASURING_NUMBER);
+    
+    /**
+     * CIRCUMFERENCE - Anzahl der Impulse pro Umdrehung (Auswertung DECODING_1X)
+     * 
+     * Aus der Anzahl der Impulse I pro Zeiteinheit T ergibt sich die
+     * Umdrehungszahl U pro Minute zu:
+     * 
+     *   U = I * 1/CIRCUMFERENCE * 60/T
+     *   U = (I/T) * (60/CIRCUMFERENCE) 
+     */
+    public final static BigDecimal CIRCUMFERENCE = BigDecimal.valueOf(PULS_NUMBER);
+    
+    /**
+     * CONST
+     */
+    public final static BigDecimal CONST = BigDecimal.valueOf(60L).divide(CIRCUMFERENCE, SCALE_INTERN, BigDecimal.ROUND_HALF_UP);
+    
+    /**
+     * Default-Konstruktor 
+     */
+    public Model() 
+    {
+        this(new java.util.Properties());
+    }
+    
+    /**
+     * Konstruktor Model(Properties properties) - Auswahl der Hardware-Anbindung 
+     * ueber den Eintrag BACKEND_KEY...
+     * @param properties Konfiguration, vgl. BACKEND_KEY, SIM_EDGE_RATE_KEY, SIM_TICK_RATE_KEY
+     */
+    public Model(java.util.Properties properties)
+    {
+        this(createEdgeSource(properties), createMotorDrivers(properties), properties);
+    }
+    
+    /**
+     * Konstruktor Model(EdgeSource edgeSource, MotorDriver motorDriver)
+     * <p>
+     * Ist edgeSource null, so erfolgt keine Anbindung (wie bisher ausserhalb des Raspi).
+     * </p>
+     * @param edgeSource Quelle der Flanken oder null
+     * @param motorDriver Motortreiber oder null
+     */
+    public Model(EdgeSource edgeSource, MotorDriver motorDriver)
+    {
+        this(edgeSource, motorDriver, new java.util.Properties());
+    }
+    
+    /**
+     * Konstruktor Model(EdgeSource edgeSource, MotorDriver motorDriver, Properties properties)
+     * @param edgeSource Quelle der Flanken oder null
+     * @param motorDriver Motortreiber oder null
+     * @param properties Konfiguration, vgl. FAULT_MAX_AGE_KEY
+     */
+    public Model(EdgeSource edgeSource, MotorDriver motorDriver, java.util.Properties properties)
+    {
+        this(edgeSource, (motorDriver != null)? new MotorDriver[] {motorDriver} : null, properties);
+    }
+    
+    /**
+     * Konstruktor Model(EdgeSource edgeSource, MotorDriver[] motorDrivers, Properties properties)
+     * <p>
+     * Die Anzahl der Kanaele ergibt sich aus CHANNELS_KEY, je Kanal ist ein 
+     * Motortreiber anzugeben.
+     * </p>
+     * @param edgeSource Quelle der Flanken oder null
+     * @param motorDrivers Motortreiber je Kanal oder null
+     * @param properties Konfiguration, vgl. CHANNELS_KEY, FAULT_MAX_AGE_KEY
+     */
+    public Model(EdgeSource edgeSource, MotorDriver[] motorDrivers, java.util.Properties properties)
+    {
+        // 1.) Wo erfolgt der Lauf, auf einem Raspi?
+        this.isRaspi = isRaspi();
+        
+        // ... Map setPointsMap befuellen...
+        for (int index = 0; index < SET_POINTS.length; index++)
+        {
+            // index = 0          =>  -MAX_VALUE
+            // index = MAX_VALUE  =>   0
+            // index = 2*MAX_VALUE => +MAX_VALUE
+            setPointsMap.put(SET_POINTS[index], Integer.valueOf(MAX_VALUE-index));
         }
         
         // *** Befuellen der dataMap... ***
@@ -458,259 +862,603 @@ public class Model
             this.dataMap.put(key, null);
         }
         
-        // Protokollarray zuruecksetzen...
-        for (int index = 0; index < this.deltas.length; index++)
+        final int channelCount = getChannelCount(properties);
+        if ((motorDrivers != null) && (motorDrivers.length != channelCount))
         {
-            this.deltas[index] = 0L;
+            throw new IllegalArgumentException(CHANNELS_KEY + ": " + channelCount + ", Motortreiber: " + motorDrivers.length);
+        }
+        // Kanal 0 unter DATA_SET_POINT_KEY, die weiteren unter setPointKey(channel)...
+        for (int channel = 1; channel < channelCount; channel++)
+        {
+            this.dataMap.put(setPointKey(channel), null);
         }
         
-        // ...den gpioController anlegen...
-        this.gpioController = isRaspi? GpioFactory.getInstance() : null;
-
-        this.gpio_Inc_B_Pin = (this.gpioController != null)? this.gpioController.provisionDigitalInputPin(GPIO_INC_B_PIN, PIN_PULL_RESISTANCE) : null;
-
-        // Anfangswerte setzen...
-        this.lapEndTime = this.lapStartTime = Instant.now();
+        final int decoding = Integer.parseInt(properties.getProperty(DECODING_KEY, DEFAULT_DECODING).trim());
+        this.pulsNumber = PULS_NUMBER * decoding;
+        
+        this.edgeSource = edgeSource;
+        if (motorDrivers != null)
+        {
+            final long faultMaxAge = Long.parseLong(properties.getProperty(FAULT_MAX_AGE_KEY, DEFAULT_FAULT_MAX_AGE).trim());
+            this.motorDrivers = new ShadowedMotorDriver[channelCount];
+            for (int channel = 0; channel < channelCount; channel++)
+            {
+                this.motorDrivers[channel] = new ShadowedMotorDriver(motorDrivers[channel], faultMaxAge * 1_000_000L);
+            }
+            final long faultPollInterval = Long.parseLong(properties.getProperty(FAULT_POLL_INTERVAL_KEY, DEFAULT_FAULT_POLL_INTERVAL).trim());
+            final int i2cRetries = Integer.parseInt(properties.getProperty(I2C_RETRIES_KEY, DEFAULT_I2C_RETRIES).trim());
+            final long i2cBackoff = Long.parseLong(properties.getProperty(I2C_BACKOFF_KEY, DEFAULT_I2C_BACKOFF).trim());
+            this.i2cScheduler = new I2cScheduler(this.motorDrivers, faultPollInterval * 1_000_000L, i2cRetries, i2cBackoff * 1_000_000L);
+        }
+        else
+        {
+            this.motorDrivers = null;
+            this.i2cScheduler = null;
+        }
+        
+        this.recorder = createRecorder(properties, this.pulsNumber);
+        this.rippleAnalyzer = (edgeSource != null)? createRippleAnalyzer(properties, channelCount, this.pulsNumber) : null;
+        
+        // Je Kanal eigener Zustand, aufgezeichnet wird nur Kanal 0...
+        this.channels = new MotorChannel[channelCount];
+        for (int channel = 0; channel < channelCount; channel++)
+        {
+            this.channels[channel] = new MotorChannel(channel, properties, (channel == 0)? this.recorder : null, this.i2cScheduler, this.rippleAnalyzer);
+        }
+        this.drives = new int[channelCount];
         
         ///////////////////////////////////////////////////////////////////////////////////////////
-        // Alles weitere nur, wenn der Lauf auf dem Raspi erfolgt...
-        if (this.isRaspi)
+        // Alles weitere nur, wenn eine Anbindung besteht...
+        if (this.edgeSource != null)
         {
-            ///////////////////////////////////////////////////////////////////////////////////////
-            // Den Listener anlegen...
-            final GpioPinListenerDigital listener  = new GpioPinListenerDigital() 
+            final int edgeRingCapacity = Integer.parseInt(properties.getProperty(EDGE_RING_CAPACITY_KEY, DEFAULT_EDGE_RING_CAPACITY).trim());
+            final int edgeBatchSize = Integer.parseInt(properties.getProperty(EDGE_BATCH_SIZE_KEY, DEFAULT_EDGE_BATCH_SIZE).trim());
+            this.edgeRing = new EdgeRing(edgeRingCapacity);
+            
+            // Taktung durch den NE555 oder die SoftwareClock (eigener Ring, ein Erzeuger je Ring)...
+            final String clockSource = properties.getProperty(CLOCK_SOURCE_KEY, CLOCK_NE555).trim();
+            final EdgeRing tickRing;
+            if (CLOCK_SOFTWARE.equals(clockSource))
+            {
+                final long clockPeriod = Long.parseLong(properties.getProperty(CLOCK_PERIOD_KEY, DEFAULT_CLOCK_PERIOD).trim());
+                final long clockSpin = Long.parseLong(properties.getProperty(CLOCK_SPIN_KEY, DEFAULT_CLOCK_SPIN).trim());
+                tickRing = new EdgeRing(64);
+                this.softwareClock = new SoftwareClock(clockPeriod * 1000L, clockSpin * 1000L, tickRing);
+            }
+            else if (CLOCK_NE555.equals(clockSource))
+            {
+                tickRing = null;
+                this.softwareClock = null;
+            }
+            else
+            {
+                throw new IllegalArgumentException(CLOCK_SOURCE_KEY + ": " + clockSource);
+            }
+            
+            this.edgeProcessor = new EdgeProcessor("EdgeProcessor", this.edgeRing, edgeBatchSize, new EdgeListener()
+            {
+                @Override
+                public void onEdge(int pin, boolean high, long nanoTime)
+                {
+                    handleEdge(pin, high, nanoTime);
+                }
+            }, 
+            new Runnable()
             {
-                /**
-                 * handleGpioPinDigitalStateChangeEvent() - Reaktion auf
-                 * 
-                 */
                 @Override
-                public void handleGpioPinDigitalStateChangeEvent(GpioPinDigitalStateChangeEvent event)
+                public void run()
                 {
-                    final GpioPin gpioPin = event.getPin();
-                    final String pinName = gpioPin.getName();
-                    final PinEdge pinEdge = event.getEdge();
-                    // Die steigende Flanke A wird jeweils zur Messung ausgewertet.
-                    // Die Drehrichtung ergibt sich dabei daras, ob B bereits High
-                    // ist oder noch Low.
-                    // Dieses Vorgehen setzt voraus, dass bei Auftritt der Flanke
-                    // der Zusatnd der anderen Impulsfolge bekannt ist, dazu dienen
-                    // die Zustandsgroessen is_A_High bzw. is_B_High.
-                    // Anm.: Die Impulsfolgen A und B sind auch vertauschbar.
-                    pinLabel:
-                    synchronized (lock)
+                    publishCounters();
+                    if (Model.this.recorder != null)
                     {
-                        // Wenn Flanke UND INC_A, dann...
-                        if ((PinEdge.RISING == pinEdge) && GPIO_INC_A_PIN_NAME.equals(pinName))
-                        {
-                            // Zustand von Impuls B...
-                            final boolean is_B_High = (Model.this.gpio_Inc_B_Pin != null)? Model.this.gpio_Inc_B_Pin.isHigh() : true;
-                            
-                            //////////////////////////////////////////////////////////////
-                            // Hier: Steigende Flanke und Impuls A...
-                            //////////////////////////////////////////////////////////////
-                            // Hier erfolgt das Zaehlen der Impulse in Model.this.phi 
-                            // in Abhaengigkeit davon, welchen Zustand der Impuls B 
-                            // angenommen hat...
-                            Model.this.phi += (is_B_High)? -1L : +1L;
-                            
-                            if ((Model.this.phi % Model.MEASURING_NUMBER) == 0)
-                            {
-                                // Vielfaches von Model.PULS_NUMBER erreicht...
-                                final Instant now = Instant.now();
-                                Model.this.is_B_High[1] = Model.this.is_B_High[0];
-                                Model.this.is_B_High [0] = is_B_High;
-                                if (Model.this.is_B_High [0]^Model.this.is_B_High[1])
-                                {
-                                    // Excl. Oder: Wenn Richtungswechsel, dann 
-                                    Model.this.lapStartTime = now;
-                                    Model.this.lapEndTime = now;
-                                }
-                                else
-                                {
-                                    Model.this.lapStartTime = Model.this.lapEndTime;
-                                    Model.this.lapEndTime = now;
-                                }    
-                            }
-                            
-                            break pinLabel;
-                        }
-                        
-                        if ((PinEdge.RISING == pinEdge) && GPIO_NE555_PIN_NAME.equals(pinName))
+                        Model.this.recorder.flushEdges();
+                    }
+                }
+            },
+            tickRing,
+            new EdgeListener()
+            {
+                @Override
+                public void onEdge(int pin, boolean high, long nanoTime)
+                {
+                    publishCounters();
+                    tick(nanoTime);
+                }
+            });
+            
+            if (this.i2cScheduler != null)
+            {
+                for (int channel = 0; channel < channelCount; channel++)
+                {
+                    final int index = channel;
+                    this.i2cScheduler.pollFault(channel).whenComplete(new java.util.function.BiConsumer<Integer, Throwable>()
+                    {
+                        @Override
+                        public void accept(Integer fault, Throwable exception)
                         {
-                            ///////////////////////////////////////////////////////////////////
-                            // Die Taktung hat einen Referenzpunkt erreicht.
-                            ///////////////////////////////////////////////////////////////////
-                            Model.this.counter++;
-                            try
-                            {
-                                
-                                int fault = Model.this.drv8830.getFault(); 
-                                // Bei fault == 0 => Fehlerfrei, sonst Fehler!
-                                if (fault != 0)
-                                {
-                                    final DRV8830.Fault error = DRV8830.Fault.getFault(fault);
-                                    logger.error("DRV8830-Fehler: " + error.getReason());
-                                }
-                                Model.this.drv8830.drive(drvSetPoint);
-                            } 
-                            catch (IOException exception)
-                            {
-                                logger.error("drive():", exception);
-                            }
-                            
-                            // now zur zeitlichen Einordnung des Ereignisses...
-                            // Jetzt werden die Kenngroesse der Taktung ermittelt:
-                            // - now: der jetzige Zeitpunkt, die Zeitdauer ergibt sich
-                            //        durch Differenzbildung zu Model.this.past...
-                            // now wird im Verlauf im Zustand Model.this.past abgelegt. 
-                            final Instant now = Instant.now();
-                            // Model.this.past: Zeitpunkt der letzten Taktung...
-                            if (Model.this.past == null)
-                            {
-                                // Erste Beauftragung: Model.this.past = null...
-                                Model.this.past = now;
-                            }
-                            // Model.this.cycleTime: Taktzeit aus der Differenz now - past.
-                            // Ablage der aktuell gemessenen Taktzeit in der Zustandsgroesse cycleTime...
-                            Model.this.cycleTime = Duration.between(Model.this.past, now);
-                          
-                            // Bestimmung des Anzeigewertes von Model.this.cycleTime in Sekunden...
-                            // cycleTimeDecimal - momentane Taktzeit (cycleTime) in Sekunden...
-                            Model.this.cycleTimeDecimal = toBigDecimalSeconds(Model.this.cycleTime, SCALE_CYCLE_TIME);
-                          
-                            //////////////////////////////////////////////////////////////////////////
-                            // ...und Ablage der aktuelle ermittelten Taktzeit...
-                            Model.this.past = now;
-                            //////////////////////////////////////////////////////////////////////////
-                         
-                            // Das Array position[] dient der Ermittlung des Zuwachses der Position
-                            // waehrend der letzten Taktung: phi[k+1]-phi[k].
-                            Model.this.position[1] = Model.this.position[0];
-                            Model.this.position[0] = Model.this.phi;
-                          
-                            Model.this.rotation = BigDecimal.valueOf(Model.this.phi).divide(CIRCUMFERENCE, SCALE_RPM, BigDecimal.ROUND_HALF_UP);
-                          
-                            //////////////////////////////////////////////////////////////////////////
-                            // delta - Zuwachs an Lage in Impulsen gemessen...
-                            final long delta = Model.this.position[0] - Model.this.position[1];
-                            int index = deltas.length-1;
-                            while (index > 0)
-                            {
-                                Model.this.deltas[index] = Model.this.deltas[--index];
-                            }
-                            Model.this.deltas[0] = delta;
-                            final StringBuilder logMsg = new StringBuilder();
-                            for (index = 0; index < Model.this.deltas.length; index++)
-                            {
-                                logMsg.append(Model.this.deltas[index]);
-                                logMsg.append(" ");
-                            }
-                            logger.debug(logMsg.toString());
-                            //////////////////////////////////////////////////////////////////////////
-                            
-                            // increment: Zuwachs an Impulsen als BigDecimal
-                            final BigDecimal increment = BigDecimal.valueOf(delta);
-                          
-                            Model.this.rpm = (BigDecimal.ZERO.compareTo(cycleTimeDecimal) != 0)? (increment.divide(cycleTimeDecimal, SCALE_INTERN, BigDecimal.ROUND_HALF_UP).multiply(Model.CONST).setScale(SCALE_RPM, BigDecimal.ROUND_HALF_UP)) : BigDecimal.ZERO;
-                          
-                            Model.this.rpm = (Model.this.rpm.abs().compareTo(BigDecimal.ONE.movePointLeft(2)) < 0)? BigDecimal.ZERO : Model.this.rpm; 
-                          
-                            //////////////////////////////////////////////////////////////////////////
-                            // Ermittlung der Dauer einer Umdrehung
-                            //
-                            label:
-                            {
-                                for (long delta_phi: Model.this.deltas)
-                                {
-                                    if (delta_phi != 0L)
-                                    {
-                                        break label;
-                                    }
-                                }
-                                Model.this.lapEndTime = Model.this.lapStartTime = Instant.now();
-                            }
-                            
-                            final Duration duration  = Duration.between(Model.this.lapStartTime, Model.this.lapEndTime);
-                            
-                            // Zeitdauer fuer eine Umdrehung bestimmen...
-                            Model.this.lapTime = MEASURING_FACTOR.multiply(toBigDecimalSeconds(duration, SCALE_LAP_TIME));
-                            
-                            if (Model.this.dataMap.containsKey(DATA_KEY))
+                            if (exception == null)
                             {
-                                // Die dataMap haelt die Daten zur Anzeige in der View...
-                                final Object oldValue = Model.this.dataMap.get(DATA_KEY);
-                                final Data oldData = (oldValue instanceof Data)? (Data) oldValue : new Data();
-                              
-                                // Model.this.counter: fortlaufender Zaehler...
-                                final Data newData = new Data(Long.valueOf(Model.this.counter), 
-                                                              Long.valueOf(Model.this.phi),
-                                                              Model.this.rotation,
-                                                              Model.this.lapTime,
-                                                              Model.this.rpm,
-                                                              Model.this.cycleTimeDecimal);
-                                setProperty(DATA_KEY, newData);
+                                logger.info("drv8830 (Kanal " + index + ") liefert mit getFault() die Kennung: " + fault);
                             }
-                          
-                            // logger.debug(now + ": Taktzeit=" + Model.this.cycleTime + ", phi=" + Model.this.phi);
                         }
-                    } // 
+                    });
                 }
+            }
+            
+            ///////////////////////////////////////////////////////////////////////////////////////
+            // Ausgangspegel des Drehgebers, dann den Listener anmelden. Der Callback 
+            // legt die Flanke nur im edgeRing ab (keine Verarbeitung, keine Allokation)...
+            for (MotorChannel channel: this.channels)
+            {
+                channel.getEncoderCounter().setLevels(this.edgeSource.isHigh(EdgeSource.pinA(channel.getIndex())), 
+                                                      this.edgeSource.isHigh(EdgeSource.pinB(channel.getIndex())));
+            }
+            this.edgeProcessor.start();
+            if (this.softwareClock != null)
+            {
+                this.softwareClock.start();
+            }
+            final EdgeRing edgeRing = this.edgeRing;
+            if (this.edgeSource.isLossless())
+            {
+                // Wiedergabe: auf Platz im Ring warten statt zu verwerfen...
+                this.edgeSource.start(new EdgeListener()
+                {
+                    @Override
+                    public void onEdge(int pin, boolean high, long nanoTime)
+                    {
+                        edgeRing.put(pin, high, nanoTime);
+                    }
+                });
+            }
+            else
+            {
+                this.edgeSource.start(new EdgeListener()
+                {
+                    @Override
+                    public void onEdge(int pin, boolean high, long nanoTime)
+                    {
+                        edgeRing.offer(pin, high, nanoTime);
+                    }
+                });
+            }
+        } // end if(this.edgeSource != null).
+        else
+        {
+            this.edgeRing = null;
+            this.edgeProcessor = null;
+            this.softwareClock = null;
+        }
         
-                /**
-                 * toBigDecimalSeconds(Duration duration) - liefert die Anzahl der Sekunden
-                 * <p>
-                 * Vgl. toBigDecimalSeconds() aus Duration in Java 11.
-                 * </p>
-                 * @param duration
-                 * @return
-                 */
-                private BigDecimal toBigDecimalSeconds(Duration duration, int scale)
+        this.jmxNames = registerMonitors(properties.getProperty(JMX_NAME_KEY, DEFAULT_JMX_NAME).trim());
+        this.telemetryServer = createTelemetryServer(properties);
+    }
+    
+    /**
+     * createTelemetryServer(Properties properties) - Anlegen und Start des 
+     * TelemetryServer entsprechend der Konfiguration...
+     * @param properties
+     * @return TelemetryServer oder null (kein Eintrag HTTP_PORT_KEY oder Port belegt)
+     */
+    private TelemetryServer createTelemetryServer(java.util.Properties properties)
+    {
+        final String port = properties.getProperty(HTTP_PORT_KEY, "").trim();
+        if (port.length() == 0)
+        {
+            return null;
+        }
+        final String address = properties.getProperty(HTTP_ADDRESS_KEY, DEFAULT_HTTP_ADDRESS).trim();
+        final int maxClients = Integer.parseInt(properties.getProperty(HTTP_MAX_CLIENTS_KEY, DEFAULT_HTTP_MAX_CLIENTS).trim());
+        try
+        {
+            final TelemetryServer telemetryServer = new TelemetryServer(this, new java.net.InetSocketAddress(address, Integer.parseInt(port)), maxClients);
+            telemetryServer.start();
+            return telemetryServer;
+        }
+        catch (java.io.IOException exception)
+        {
+            logger.error("TelemetryServer " + address + ":" + port + " nicht moeglich: " + exception.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * registerMonitors(String name) - Anmeldung eines ModelMonitor je Kanal am 
+     * Platform-MBeanServer (vgl. jmxName())...
+     * <p>
+     * Ist ein Name bereits vergeben (z.B. ein zweites Model in derselben JVM), 
+     * wird nur gewarnt, das Model arbeitet ohne diesen Monitor weiter.
+     * </p>
+     * @param name ObjectName des Kanals 0, leer => keine Anmeldung
+     * @return die angemeldeten ObjectName
+     */
+    private java.util.List<ObjectName> registerMonitors(String name)
+    {
+        final java.util.List<ObjectName> objectNames = new java.util.ArrayList<>();
+        if (name.isEmpty())
+        {
+            return objectNames;
+        }
+        for (int channel = 0; channel < this.channels.length; channel++)
+        {
+            final String channelName = jmxName(name, channel);
+            try
+            {
+                final ObjectName objectName = new ObjectName(channelName);
+                java.lang.management.ManagementFactory.getPlatformMBeanServer().registerMBean(new ModelMonitor(this, channel), objectName);
+                logger.info("JMX: " + objectName);
+                objectNames.add(objectName);
+            }
+            catch (JMException exception)
+            {
+                logger.warn("JMX-Anmeldung " + channelName + " nicht moeglich: " + exception.getMessage());
+            }
+        }
+        return objectNames;
+    }
+    
+    /**
+     * jmxName(String name, int channel) - ObjectName des ModelMonitor eines Kanals:
+     * Kanal 0 unter name (z.B. "gui:type=Model"), Kanal k unter name + ",channel=k"...
+     * @param name ObjectName des Kanals 0
+     * @param channel Kanal
+     * @return ObjectName des Kanals
+     */
+    static String jmxName(String name, int channel)
+    {
+        return (channel == 0)? name : name + ",channel=" + channel;
+    }
+    
+    /**
+     * isRaspi() - Ermittlung aus den Systemvariablen fuer das Betriebssystem 
+     * und die Architektur, ob der Lauf auf dem Raspi erfolgt...
+     * @return true, wenn der Lauf auf dem Raspi erfolgt
+     */
+    private static boolean isRaspi()
+    {
+        final String os_name = System.getProperty("os.name").toLowerCase();
+        final String os_arch = System.getProperty("os.arch").toLowerCase();
+        logger.debug("Betriebssytem: " + os_name + " " + os_arch);
+        return OS_NAME_RASPI.equals(os_name) && OS_ARCH_RASPI.equals(os_arch);
+    }
+    
+    /**
+     * getBackend(Properties properties) - liefert die gewaehlte Anbindung...
+     * @param properties
+     * @return BACKEND_RASPI, BACKEND_GPIO_CDEV, BACKEND_SIMULATION oder "" (keine Anbindung)
+     */
+    private static String getBackend(java.util.Properties properties)
+    {
+        final String backend = properties.getProperty(BACKEND_KEY, "").trim();
+        if (backend.length() == 0)
+        {
+            return isRaspi()? BACKEND_RASPI : "";
+        }
+        return backend;
+    }
+    
+    /**
+     * usesStandardInput(Properties properties) - liest die Anbindung die Standardeingabe?
+     * (dann keine Kommandos ueber die Konsole)
+     * @param properties
+     * @return true => BACKEND_GPIO_CDEV mit GPIO_EVENT_FILE_KEY "-"
+     */
+    static boolean usesStandardInput(java.util.Properties properties)
+    {
+        return BACKEND_GPIO_CDEV.equals(getBackend(properties))
+            && GpioCdevEdgeSource.STANDARD_INPUT.equals(properties.getProperty(GPIO_EVENT_FILE_KEY, DEFAULT_GPIO_EVENT_FILE).trim());
+    }
+    
+    /**
+     * getChannelCount(Properties properties) - Anzahl der Kanaele (CHANNELS_KEY)...
+     * @param properties
+     * @return 1...MAX_CHANNELS
+     */
+    static int getChannelCount(java.util.Properties properties)
+    {
+        final int channels = Integer.parseInt(properties.getProperty(CHANNELS_KEY, DEFAULT_CHANNELS).trim());
+        if (channels < 1 || channels > MAX_CHANNELS)
+        {
+            throw new IllegalArgumentException(CHANNELS_KEY + ": " + channels);
+        }
+        return channels;
+    }
+    
+    /**
+     * getChannelEntries(Properties properties, String key) - Eintraege je Kanal 
+     * (durch Komma getrennt), z.B. CHANNEL_ADDRESSES_KEY...
+     * @param properties
+     * @param key
+     * @return Eintraege, leer => kein Eintrag
+     */
+    private static String[] getChannelEntries(java.util.Properties properties, String key)
+    {
+        final String value = properties.getProperty(key, "").trim();
+        return (value.length() == 0)? new String[0] : value.split("\\s*,\\s*");
+    }
+    
+    /**
+     * createEdgeSource(Properties properties) - Anlegen der EdgeSource 
+     * entsprechend der Konfiguration...
+     * @param properties
+     * @return EdgeSource oder null
+     */
+    private static EdgeSource createEdgeSource(java.util.Properties properties)
+    {
+        final String backend = getBackend(properties);
+        final int channels = getChannelCount(properties);
+        if (BACKEND_RASPI.equals(backend))
+        {
+            final String[] entries = getChannelEntries(properties, CHANNEL_PINS_KEY);
+            if (entries.length == 0 && channels == 1)
+            {
+                return new Pi4jEdgeSource();
+            }
+            if (entries.length != channels)
+            {
+                throw new IllegalArgumentException(CHANNEL_PINS_KEY + ": " + entries.length + " Eintraege fuer " + channels + " Kanaele");
+            }
+            // Je Kanal die Pi4J-Nummern der Impulsfolgen A:B...
+            final int[] encoderPins = new int[2 * channels];
+            for (int channel = 0; channel < channels; channel++)
+            {
+                final String[] pins = entries[channel].split(":");
+                if (pins.length != 2)
                 {
-                    Objects.requireNonNull(duration, "duration must not be null!");
-                    final BigDecimal result = BigDecimal.valueOf(duration.getSeconds()).add(BigDecimal.valueOf(duration.getNano(), 9)).setScale(scale,  BigDecimal.ROUND_HALF_UP);
-                    return (result.compareTo(BigDecimal.ONE.movePointLeft(scale)) < 0)? BigDecimal.ZERO : result;   
+                    throw new IllegalArgumentException(CHANNEL_PINS_KEY + ": " + entries[channel]);
                 }
-            };
-            
-            
-            GpioPinDigitalInput[] gpioPins = new GpioPinDigitalInput[]
+                encoderPins[2 * channel] = Integer.parseInt(pins[0].trim());
+                encoderPins[2 * channel + 1] = Integer.parseInt(pins[1].trim());
+            }
+            return new Pi4jEdgeSource(encoderPins);
+        }
+        if (BACKEND_GPIO_CDEV.equals(backend))
+        {
+            final String[] entries = properties.getProperty(GPIO_LINES_KEY, DEFAULT_GPIO_LINES).trim().split("\\s*,\\s*");
+            if (entries.length != 1 + 2 * channels)
+            {
+                throw new IllegalArgumentException(GPIO_LINES_KEY + ": " + entries.length + " Eintraege fuer " + channels + " Kanaele");
+            }
+            final int[] lines = new int[entries.length];
+            for (int pin = 0; pin < lines.length; pin++)
+            {
+                lines[pin] = Integer.parseInt(entries[pin]);
+            }
+            final String eventFile = properties.getProperty(GPIO_EVENT_FILE_KEY, DEFAULT_GPIO_EVENT_FILE).trim();
+            try
+            {
+                return new GpioCdevEdgeSource(eventFile, lines);
+            }
+            catch (java.io.IOException exception)
+            {
+                throw new IllegalArgumentException(GPIO_EVENT_FILE_KEY + ": " + eventFile, exception);
+            }
+        }
+        if (BACKEND_SIMULATION.equals(backend))
+        {
+            final String edgeRate = properties.getProperty(SIM_EDGE_RATE_KEY, "4000").trim();
+            final String tickRate = properties.getProperty(SIM_TICK_RATE_KEY, "10").trim();
+            return new SimulatedEdgeSource("max".equals(edgeRate)? Double.POSITIVE_INFINITY : Double.parseDouble(edgeRate),
+                                           Double.parseDouble(tickRate), channels);
+        }
+        return null;
+    }
+    
+    /**
+     * createMotorDrivers(Properties properties) - Anlegen der MotorDriver je Kanal
+     * entsprechend der Konfiguration...
+     * @param properties
+     * @return MotorDriver je Kanal oder null
+     */
+    private static MotorDriver[] createMotorDrivers(java.util.Properties properties)
+    {
+        final String backend = getBackend(properties);
+        final int channels = getChannelCount(properties);
+        final MotorDriver[] motorDrivers = new MotorDriver[channels];
+        if (BACKEND_RASPI.equals(backend) || BACKEND_GPIO_CDEV.equals(backend))
+        {
+            final String[] addresses = getChannelEntries(properties, CHANNEL_ADDRESSES_KEY);
+            if (addresses.length != 0 && addresses.length != channels)
+            {
+                throw new IllegalArgumentException(CHANNEL_ADDRESSES_KEY + ": " + addresses.length + " Eintraege fuer " + channels + " Kanaele");
+            }
+            ///////////////////////////////////////////////////////////////////////////////////////
+            // Die I2C-Schnittstelle einrichten, alle Treiber am selben Bus...
+            try
+            {
+                for (int channel = 0; channel < channels; channel++)
+                {
+                    final int address = (addresses.length != 0)? Integer.decode(addresses[channel]).intValue() : ADDRESS + channel;
+                    motorDrivers[channel] = new Drv8830MotorDriver(I2C_BUS, address);
+                }
+                return motorDrivers;
+            } 
+            catch (Throwable exception)
+            {
+                logger.error("I2CFactory.getInstance()", exception);
+                System.exit(0);
+            }
+        }
+        if (BACKEND_SIMULATION.equals(backend))
+        {
+            for (int channel = 0; channel < channels; channel++)
+            {
+                motorDrivers[channel] = new SimulatedMotorDriver();
+            }
+            return motorDrivers;
+        }
+        return null;
+    }
+    
+    /**
+     * createRecorder(Properties properties, long pulsNumber) - Anlegen des TelemetryRecorder
+     * entsprechend der Konfiguration...
+     * @param properties
+     * @param pulsNumber Zaehlschritte pro Umdrehung
+     * @return TelemetryRecorder oder null (keine Aufzeichnung)
+     */
+    private static TelemetryRecorder createRecorder(java.util.Properties properties, long pulsNumber)
+    {
+        final String directory = properties.getProperty(RECORDER_DIR_KEY, "").trim();
+        if (directory.length() == 0)
+        {
+            return null;
+        }
+        final long segmentSize = Long.parseLong(properties.getProperty(RECORDER_SEGMENT_SIZE_KEY, DEFAULT_RECORDER_SEGMENT_SIZE).trim());
+        final int maxSegments = Integer.parseInt(properties.getProperty(RECORDER_MAX_SEGMENTS_KEY, DEFAULT_RECORDER_MAX_SEGMENTS).trim());
+        final long forceInterval = Long.parseLong(properties.getProperty(RECORDER_FORCE_INTERVAL_KEY, DEFAULT_RECORDER_FORCE_INTERVAL).trim());
+        final int capacity = Integer.parseInt(properties.getProperty(RECORDER_CAPACITY_KEY, DEFAULT_RECORDER_CAPACITY).trim());
+        final boolean recordEdges = Boolean.parseBoolean(properties.getProperty(RECORDER_EDGES_KEY, "false").trim());
+        try
+        {
+            return new TelemetryRecorder(java.nio.file.Paths.get(directory), segmentSize << 20, maxSegments, 
+                                         forceInterval * 1_000_000L, capacity, pulsNumber, recordEdges);
+        }
+        catch (java.io.IOException exception)
+        {
+            logger.error("TelemetryRecorder: Verzeichnis " + directory + " nicht verfuegbar, keine Aufzeichnung", exception);
+            return null;
+        }
+    }
+    
+    /**
+     * createRippleAnalyzer(Properties properties, int channels, long pulsNumber) - Anlegen
+     * des RippleAnalyzer entsprechend der Konfiguration...
+     * @param properties
+     * @param channels Anzahl der Kanaele
+     * @param pulsNumber Zaehlschritte pro Umdrehung
+     * @return RippleAnalyzer oder null (keine Analyse)
+     */
+    private static RippleAnalyzer createRippleAnalyzer(java.util.Properties properties, int channels, long pulsNumber)
+    {
+        final String value = properties.getProperty(RIPPLE_ORDERS_KEY, DEFAULT_RIPPLE_ORDERS).trim();
+        if (value.length() == 0)
+        {
+            return null;
+        }
+        final String[] entries = value.split("\\s*,\\s*");
+        final int[] orders = new int[entries.length];
+        for (int index = 0; index < orders.length; index++)
+        {
+            orders[index] = Integer.parseInt(entries[index]);
+        }
+        final int revolutions = Integer.parseInt(properties.getProperty(RIPPLE_REVOLUTIONS_KEY, DEFAULT_RIPPLE_REVOLUTIONS).trim());
+        return new RippleAnalyzer(channels, pulsNumber, orders, revolutions);
+    }
+    
+    /**
+     * handleEdge(int pin, boolean high, long nanoTime) - Reaktion auf eine Flanke der EdgeSource,
+     * beauftragt im Thread des EdgeProcessor...
+     * <p>
+     * Die Verteilung erfolgt ueber den Index des Pins. Die Flanken A und B
+     * werden ohne Sperre im EncoderCounter des Kanals gezaehlt (vgl. 
+     * EdgeSource.channelOf()), nur die Taktung (NE555) synchronisiert sich 
+     * je Kanal mit reset() und stop(). Vor der Taktung werden die Zaehlerstaende 
+     * veroeffentlicht, damit die Taktung alle Flanken vor der Flanke NE555 sieht.
+     * </p>
+     * @param pin Index des Pins (EdgeSource.PIN_...)
+     * @param high true: steigende Flanke
+     * @param nanoTime Zeitpunkt der Flanke in ns (System.nanoTime())
+     */
+    void handleEdge(int pin, boolean high, long nanoTime)
+    {
+        if (this.recorder != null)
+        {
+            this.recorder.recordEdge(pin, high, nanoTime);
+        }
+        if (pin == EdgeSource.PIN_NE555)
+        {
+            if (high && (this.softwareClock == null))
+            {
+                publishCounters();
+                tick(nanoTime);
+            }
+            return;
+        }
+        final int channel = EdgeSource.channelOf(pin);
+        if (channel < this.channels.length)
+        {
+            final MotorChannel motorChannel = this.channels[channel];
+            final EncoderCounter encoderCounter = motorChannel.getEncoderCounter();
+            final long phi = encoderCounter.getLocalPhi();
+            if (pin == EdgeSource.pinA(channel))
             {
-                this.gpioController.provisionDigitalInputPin(GPIO_NE555_PIN, GPIO_NE555_PIN_NAME, Model.PIN_PULL_RESISTANCE),                    
-                this.gpioController.provisionDigitalInputPin(GPIO_INC_A_PIN, GPIO_INC_A_PIN_NAME, Model.PIN_PULL_RESISTANCE)
-            };
-
-            this.gpioController.addListener(listener, gpioPins);            
-            
-            ///////////////////////////////////////////////////////////////////////////////////////
-            
-            this.dataMap.put(DATA_KEY, new Data());
-            logger.debug(DATA_KEY + " in dataMap aufgenommen.");
-            
-            ///////////////////////////////////////////////////////////////////////////////////////
-            // Die I2C-Schnittstelle einrichten...
-            try
+                encoderCounter.onEdgeA(high, nanoTime);
+            }
+            else
             {
-                final I2CBus i2cBus = I2CFactory.getInstance(I2CBus.BUS_1);
-                this.drv8830 = new DRV8830(i2cBus.getDevice(ADDRESS));
-                int fault = this.drv8830.getFault(); 
-                logger.info("drv8830 liefert mit getFault() die Kennung: " + fault);                  
-            } 
-            catch (Throwable exception)
+                encoderCounter.onEdgeB(high, nanoTime);
+            }
+            if (this.rippleAnalyzer != null)
             {
-                logger.error("I2CFactory.getInstance()", exception);
-                System.exit(0);
+                // Welligkeit: nur der Zeitstempel je Zaehlschritt, Analyse im eigenen Thread...
+                final long step = encoderCounter.getLocalPhi() - phi;
+                if (step != 0L)
+                {
+                    this.rippleAnalyzer.onStep(channel, step > 0L, nanoTime);
+                }
             }
-            ///////////////////////////////////////////////////////////////////////////////////////
-            
-        } // end if(this.isRaspi).
+            // Lageregelung: Ziel je Flanke pruefen, nicht erst in der Taktung...
+            motorChannel.checkTarget(nanoTime);
+        }
+    }
+    
+    /**
+     * publishCounters() - Veroeffentlichung der Zaehlerstaende aller Kanaele, 
+     * im Thread des EdgeProcessor (Ende eines Stapels, vor der Taktung)...
+     */
+    private void publishCounters()
+    {
+        for (MotorChannel channel: this.channels)
+        {
+            channel.getEncoderCounter().publish();
+        }
+    }
+    
+    /**
+     * tick() - Die Taktung (steigende Flanke NE555) hat einen Referenzpunkt erreicht...
+     * <p>
+     * Die Kanaele werden nacheinander getaktet (vgl. MotorChannel.tick()), jeder 
+     * unter seiner eigenen Sperre. Die Stellwerte aller Kanaele werden danach als 
+     * ein Stapel an den I2cScheduler uebergeben, drive() erfolgt ueber die 
+     * Schattenkopie, d.h. ein Buszugriff erfolgt nur bei geaendertem Sollwert. 
+     * Das FAULT-Register wird im I2cScheduler unabhaengig von der Taktung abgefragt.
+     * </p>
+     * @param now Zeitpunkt der Flanke NE555 in ns (System.nanoTime())
+     */
+    private void tick(long now)
+    {
+        final long start = System.nanoTime();
+    
+        // now zur zeitlichen Einordnung des Ereignisses...
+        // this.past: Zeitpunkt der letzten Taktung...
+        if (this.past == NO_PAST)
+        {
+            // Erste Beauftragung: this.past = NO_PAST...
+            this.past = now;
+        }
         else
         {
-            this.dataMap.put(DATA_KEY, null);
-            logger.debug(DATA_KEY + " in dataMap mit value=null aufgenommen.");
+            this.tickPeriods.record(now - this.past);
+            this.tickIntervals.record(now - this.past);
+        }
+        // cycleTime: Taktzeit aus der Differenz now - past in ns...
+        final long cycleTime = now - this.past;
+        this.past = now;
+            
+        for (int channel = 0; channel < this.channels.length; channel++)
+        {
+            this.drives[channel] = this.channels[channel].tick(now, cycleTime);
+        }
+        
+        if (this.i2cScheduler != null)
+        {
+            // Nur Beauftragung, die Ausfuehrung erfolgt im Bus-Thread...
+            this.i2cScheduler.drive(this.drives, now);
         }
+        this.tickDurations.record(System.nanoTime() - start);
     }
-     
+    
     /**
      * 
      * @param listener
@@ -719,7 +1467,7 @@ public class Model
     {
         this.support.addPropertyChangeListener(listener);
     }
-
+    
     /**
      * 
      * @param listener
@@ -728,7 +1476,7 @@ public class Model
     {
         this.support.removePropertyChangeListener(listener);
     }
-
+    
     /**
      * setProperty(String key, Object newValue) - Die View wird informiert...
      * 
@@ -743,16 +1491,17 @@ public class Model
             
             this.dataMap.put(key, newValue);
             
-            if (Model.DATA_SET_POINT_KEY.equals(key))
+            final int channel = channelOfSetPointKey(key);
+            if (channel >= 0)
             {
                 if (Model.this.setPointsMap.containsKey(newValue))
                 {    
                     final Integer setPoint = Model.this.setPointsMap.get(newValue);
-                    this.drvSetPoint = (setPoint != null)? setPoint.intValue() : 0;
-                    logger.debug("drvSetPoint: " + this.drvSetPoint);
+                    this.channels[channel].setSetPoint((setPoint != null)? setPoint.intValue() : 0);
+                    logger.debug("drvSetPoint[" + channel + "]: " + this.channels[channel].getSetPoint());
                 }
             }
-
+    
 //            if (oldValue == null || newValue == null || !oldValue.equals(newValue))
 //            {
 //                logger.debug(key + ": " + oldValue + " => " + newValue);
@@ -765,15 +1514,47 @@ public class Model
     /**
      * shutdown()...
      * <p>
-     * Der gpioController wird auf dem Raspi heruntergefahren...
+     * Die EdgeSource (auf dem Raspi der gpioController) wird heruntergefahren...
      * </p>
      */
     public void shutdown()
     {
        logger.debug("shutdown()..."); 
-       if (isRaspi)
+       if (this.softwareClock != null)
+       {
+           this.softwareClock.shutdown();
+       }
+       if (this.edgeSource != null)
+       {
+           this.edgeSource.shutdown();  
+           this.edgeProcessor.shutdown();
+       }
+       if (this.i2cScheduler != null)
+       {
+           this.i2cScheduler.shutdown();
+       }
+       if (this.recorder != null)
+       {
+           this.recorder.shutdown();
+       }
+       if (this.rippleAnalyzer != null)
+       {
+           this.rippleAnalyzer.shutdown();
+       }
+       if (this.telemetryServer != null)
+       {
+           this.telemetryServer.shutdown();
+       }
+       for (ObjectName jmxName: this.jmxNames)
        {
-           this.gpioController.shutdown();  
+           try
+           {
+               java.lang.management.ManagementFactory.getPlatformMBeanServer().unregisterMBean(jmxName);
+           }
+           catch (JMException exception)
+           {
+               logger.warn("JMX-Abmeldung " + jmxName + ": " + exception.getMessage());
+           }
        }
     }
     
@@ -784,14 +1565,14 @@ public class Model
     {
         logger.debug("reset()...");
         
-        this.counter = 0L;
-        this.phi = 0L;
-        for (int index = 0; index < this.position.length; index++)
+        // phi ueber den Offset im EncoderCounter zuruecksetzen (ohne Eingriff 
+        // in den Thread des EdgeProcessor), je Kanal...
+        for (MotorChannel channel: this.channels)
         {
-            this.position[index] = 0L;                
+            channel.reset();
         }
     }
-
+    
     /**
      * stop() 
      */
@@ -799,41 +1580,397 @@ public class Model
     {
         logger.debug("stop()...");
         
-        this.counter = 0L;
-        this.phi = 0L;
-        
-        // Variablen zur Laufzeitbestimmung zuruecksetzen...
-        this.lapEndTime = this.lapStartTime = Instant.now();
-        
-        for (int index = 0; index < this.position.length; index++)
+        // Alle Kanaele anhalten...
+        for (MotorChannel channel: this.channels)
         {
-            this.position[index] = 0L;                
+            channel.stop();
+            setProperty(setPointKey(channel.getIndex()), SET_POINTS[MAX_VALUE]);
         }
-        //
-        setProperty(Model.DATA_SET_POINT_KEY, SET_POINTS[MAX_VALUE]);
         
-        if (isRaspi)
+        if (this.i2cScheduler != null)
+        {
+            // Abbremsen aller Kanaele mit hoechster Prioritaet, danach FAULT-Register  
+            // abfragen (eine Fehlermeldung erfolgt im I2cScheduler)... 
+            this.i2cScheduler.brake();
+            this.i2cScheduler.pollFault();
+        }
+    }
+    
+    
+    /**
+     * readState(StateSnapshot target) - liefert den zuletzt veroeffentlichten 
+     * Zustand der Taktung (Kanal 0) in target, ohne Sperre und ohne Allokation...
+     * @param target wird befuellt
+     * @return Version des Zustandes (Anzahl der Veroeffentlichungen)
+     */
+    public long readState(StateSnapshot target)
+    {
+        return this.channels[0].readState(target);
+    }
+    
+    /**
+     * readState(int channel, StateSnapshot target) - wie readState(StateSnapshot target)
+     * fuer den Kanal channel...
+     * @param channel Kanal
+     * @param target wird befuellt
+     * @return Version des Zustandes (Anzahl der Veroeffentlichungen)
+     */
+    public long readState(int channel, StateSnapshot target)
+    {
+        return this.channels[channel].readState(target);
+    }
+    
+    /**
+     * getStateVersion() - Anzahl der bisherigen Veroeffentlichungen (Kanal 0), zur 
+     * Erkennung einer Aenderung ohne Lesen des Zustandes...
+     * @return Version
+     */
+    public long getStateVersion()
+    {
+        return this.channels[0].getStateVersion();
+    }
+    
+    /**
+     * getStateVersion(int channel) - wie getStateVersion() fuer den Kanal channel...
+     * @param channel Kanal
+     * @return Version
+     */
+    public long getStateVersion(int channel)
+    {
+        return this.channels[channel].getStateVersion();
+    }
+    
+    /**
+     * getChannelCount() - Anzahl der Motorkanaele (vgl. CHANNELS_KEY)...
+     * @return Anzahl der Kanaele
+     */
+    public int getChannelCount()
+    {
+        return this.channels.length;
+    }
+    
+    /**
+     * getChannel(int channel) - Zugriff auf einen Motorkanal...
+     * @param channel Kanal
+     * @return MotorChannel
+     */
+    MotorChannel getChannel(int channel)
+    {
+        return this.channels[channel];
+    }
+    
+    /**
+     * getData() - der zuletzt veroeffentlichte Zustand als Data...
+     * @return Data
+     */
+    public Data getData()
+    {
+        final StateSnapshot state = new StateSnapshot();
+        readState(state);
+        return state.toData();
+    }
+    
+    /**
+     * getEdgeCount() - Anzahl der insgesamt gezaehlten Flanken aller Kanaele 
+     * (je nach Auswertung)...
+     * @return edgeCount
+     */
+    public long getEdgeCount()
+    {
+        long edgeCount = 0L;
+        for (MotorChannel channel: this.channels)
+        {
+            edgeCount += channel.getEdgeCount();
+        }
+        return edgeCount;
+    }
+    
+    /**
+     * getIllegalTransitions() - Anzahl der unzulaessigen Uebergaenge der Drehgeber 
+     * aller Kanaele, Mass fuer verlorene Flanken...
+     * @return illegalTransitions
+     */
+    public long getIllegalTransitions()
+    {
+        long illegalTransitions = 0L;
+        for (MotorChannel channel: this.channels)
+        {
+            illegalTransitions += channel.getIllegalTransitions();
+        }
+        return illegalTransitions;
+    }
+    
+    /**
+     * getPulsNumber() - Anzahl der Zaehlschritte pro Umdrehung (PULS_NUMBER * decoding)...
+     * @return pulsNumber
+     */
+    public long getPulsNumber()
+    {
+        return this.pulsNumber;
+    }
+    
+    /**
+     * getSetPoint() - aktueller Sollwert fuer den DRV8830 (Kanal 0)...
+     * @return -MAX_VALUE...0...+MAX_VALUE
+     */
+    public int getSetPoint()
+    {
+        return getSetPoint(0);
+    }
+    
+    /**
+     * getSetPoint(int channel) - aktueller Sollwert des Kanals channel...
+     * @param channel Kanal
+     * @return -MAX_VALUE...0...+MAX_VALUE
+     */
+    public int getSetPoint(int channel)
+    {
+        return this.channels[channel].getSetPoint();
+    }
+    
+    /**
+     * setSetPoint(int value) - Vorgabe des Sollwertes (Kanal 0) wie ueber die ComboBox 
+     * (setProperty(DATA_SET_POINT_KEY, ...), die View wird benachrichtigt)...
+     * @param value -MAX_VALUE...0...+MAX_VALUE
+     */
+    public void setSetPoint(int value)
+    {
+        setSetPoint(0, value);
+    }
+    
+    /**
+     * setSetPoint(int channel, int value) - Vorgabe des Sollwertes des Kanals channel
+     * (setProperty(setPointKey(channel), ...), die View wird benachrichtigt)...
+     * @param channel Kanal
+     * @param value -MAX_VALUE...0...+MAX_VALUE
+     */
+    public void setSetPoint(int channel, int value)
+    {
+        if (channel < 0 || channel >= this.channels.length)
+        {
+            throw new IllegalArgumentException("channel: " + channel);
+        }
+        if (value < -MAX_VALUE || value > MAX_VALUE)
+        {
+            throw new IllegalArgumentException("setPoint: " + value);
+        }
+        setProperty(setPointKey(channel), SET_POINTS[MAX_VALUE-value]);
+    }
+    
+    /**
+     * moveTo(long phi) - Fahrt des Kanals 0 auf die Ziellage phi...
+     * @param phi Ziellage in Impulsen
+     */
+    public void moveTo(long phi)
+    {
+        moveTo(0, phi);
+    }
+    
+    /**
+     * moveTo(int channel, long phi) - Fahrt des Kanals channel auf die Ziellage phi
+     * (nur in der Betriebsart ControlMode.POSITION). Der Betrag des Sollwertes ist
+     * der Stellwert der Fahrt, bei Erreichen des Zieles wird sofort brake()
+     * ausgefuehrt (vgl. MotorChannel.checkTarget())...
+     * @param channel Kanal
+     * @param phi Ziellage in Impulsen (getPulsNumber() Impulse je Umdrehung)
+     */
+    public void moveTo(int channel, long phi)
+    {
+        if (channel < 0 || channel >= this.channels.length)
+        {
+            throw new IllegalArgumentException("channel: " + channel);
+        }
+        if (this.channels[channel].getControlMode() != ControlMode.POSITION)
+        {
+            throw new IllegalArgumentException("moveTo nur in der Betriebsart " + ControlMode.POSITION.getKey());
+        }
+        if (!this.channels[channel].moveTo(phi))
+        {
+            logger.info("Kanal " + channel + ": Ziellage " + phi + " bereits erreicht.");
+        }
+    }
+    
+    /**
+     * setPointKey(int channel) - Key des Sollwertes eines Kanals in der dataMap 
+     * (Name der ComboBox), Kanal 0 => DATA_SET_POINT_KEY...
+     * @param channel Kanal
+     * @return Key
+     */
+    public static String setPointKey(int channel)
+    {
+        return (channel == 0)? DATA_SET_POINT_KEY : DATA_SET_POINT_KEY + "." + channel;
+    }
+    
+    /**
+     * channelOfSetPointKey(String key) - Umkehrung von setPointKey(int channel)...
+     * @param key
+     * @return Kanal oder -1 (kein Key eines Sollwertes)
+     */
+    private int channelOfSetPointKey(String key)
+    {
+        if (DATA_SET_POINT_KEY.equals(key))
+        {
+            return 0;
+        }
+        if (key.startsWith(DATA_SET_POINT_KEY + "."))
         {
             try
             {
-                // Abbremsen...
-                this.drv8830.brake();
-            
-                int fault = this.drv8830.getFault(); 
-                // Bei fault == 0 => Fehlerfrei, sonst Fehler!
-                if (fault != 0)
-                {
-                    DRV8830.Fault error = DRV8830.Fault.getFault(fault);
-                    logger.error("stop(): Nach brake() " + error.getReason());
-                }
+                final int channel = Integer.parseInt(key.substring(DATA_SET_POINT_KEY.length() + 1));
+                return (channel > 0 && channel < this.channels.length)? channel : -1;
             }
-            catch (IOException exception)
+            catch (NumberFormatException exception)
             {
-                logger.error("brake():", exception);
+                return -1;
             }
         }
+        return -1;
+    }
+    
+    /**
+     * getControlMode() - Betriebsart der Sollwertvorgabe...
+     * @return controlMode
+     */
+    public ControlMode getControlMode()
+    {
+        return this.channels[0].getControlMode();
+    }
+    
+    /**
+     * getEdgeRing() - Zugriff auf die Statistik des Rings der Flanken-Ereignisse...
+     * @return edgeRing oder null
+     */
+    EdgeRing getEdgeRing()
+    {
+        return this.edgeRing;
+    }
+    
+    /**
+     * getEdgeProcessor() - Zugriff auf die Statistik der Stapelverarbeitung...
+     * @return edgeProcessor oder null
+     */
+    EdgeProcessor getEdgeProcessor()
+    {
+        return this.edgeProcessor;
+    }
+    
+    /**
+     * getSoftwareClock() - Zugriff auf die Statistik der internen Taktung...
+     * @return softwareClock oder null (Taktung durch den NE555)
+     */
+    SoftwareClock getSoftwareClock()
+    {
+        return this.softwareClock;
+    }
+    
+    /**
+     * getTickPeriods() - Statistik der Taktzeit (Jitter der Taktung)...
+     * @return JitterStats
+     */
+    JitterStats getTickPeriods()
+    {
+        return this.tickPeriods;
+    }
+    
+    /**
+     * getLatencyHistograms() - alle Histogramme der Laufzeiten: Verarbeitung je Flanke, 
+     * Taktzeit, Rechenzeit der Taktung, Dauer der I2C-Kommandos, Latenz von der 
+     * Flanke NE555 (bzw. SoftwareClock) bis zum ausgefuehrten drive() und von der
+     * Flanke am Ziel (Lageregelung) bis zum ausgefuehrten brake()...
+     * @return Liste der vorhandenen Histogramme (je nach Anbindung)
+     */
+    java.util.List<LatencyHistogram> getLatencyHistograms()
+    {
+        final java.util.List<LatencyHistogram> histograms = new java.util.ArrayList<>();
+        if (this.edgeProcessor != null)
+        {
+            histograms.add(this.edgeProcessor.getHandlerDurations());
+        }
+        histograms.add(this.tickIntervals);
+        histograms.add(this.tickDurations);
+        if (this.i2cScheduler != null)
+        {
+            histograms.add(this.i2cScheduler.getTransactionDurations());
+            histograms.add(this.i2cScheduler.getOriginToDrive());
+            histograms.add(this.i2cScheduler.getOriginToBrake());
+        }
+        return histograms;
+    }
+    
+    /**
+     * getTickDurations() - Histogramm der Rechenzeit der Taktung (alle Kanaele)...
+     * @return LatencyHistogram
+     */
+    LatencyHistogram getTickDurations()
+    {
+        return this.tickDurations;
+    }
+    
+    /**
+     * resetLatencyHistograms() - Neubeginn aller Histogramme (vgl. LatencyHistogram.reset())...
+     */
+    void resetLatencyHistograms()
+    {
+        for (LatencyHistogram histogram: getLatencyHistograms())
+        {
+            histogram.reset();
+        }
+    }
+    
+    /**
+     * getRecorder() - Zugriff auf die Statistik der Aufzeichnung...
+     * @return recorder oder null
+     */
+    TelemetryRecorder getRecorder()
+    {
+        return this.recorder;
+    }
+    
+    /**
+     * getRippleAnalyzer() - Zugriff auf die Analyse der Welligkeit...
+     * @return rippleAnalyzer oder null
+     */
+    RippleAnalyzer getRippleAnalyzer()
+    {
+        return this.rippleAnalyzer;
+    }
+    
+    /**
+     * getMotorDriver() - Zugriff auf die Statistik der Buszugriffe (Kanal 0)...
+     * @return der MotorDriver mit Schattenkopie oder null
+     */
+    ShadowedMotorDriver getMotorDriver()
+    {
+        return getMotorDriver(0);
+    }
+    
+    /**
+     * getMotorDriver(int channel) - Zugriff auf die Statistik der Buszugriffe eines Kanals...
+     * @param channel Kanal
+     * @return der MotorDriver mit Schattenkopie oder null
+     */
+    ShadowedMotorDriver getMotorDriver(int channel)
+    {
+        return (this.motorDrivers != null)? this.motorDrivers[channel] : null;
+    }
+    
+    /**
+     * getTelemetryServer() - Zugriff auf den HTTP-Server (z.B. vergebener Port)...
+     * @return telemetryServer oder null
+     */
+    TelemetryServer getTelemetryServer()
+    {
+        return this.telemetryServer;
     }
     
+    /**
+     * getI2cScheduler() - Zugriff auf die Statistik des Bus-Threads...
+     * @return der I2cScheduler oder null
+     */
+    I2cScheduler getI2cScheduler()
+    {
+        return this.i2cScheduler;
+    }
     
     @Override
     public String toString()
@@ -0,0 +1,354 @@
+package gui;
+
+/**
+ * ModelMonitor - JMX-MBean des Model (vgl. ModelMonitorMBean)...
+ * <p>
+ * Jede Abfrage eines Attributes liest ueber Model.readState() den zuletzt
+ * veroeffentlichten Zustand der Taktung (Sequence-Lock, ohne lock des Model)
+ * bzw. die volatilen Statistiken. Nur die Raten (Flanken/s, Takte/s) werden
+ * aus dem Stand der letzten Abfrage bestimmt, dazu synchronisiert sich der
+ * Monitor mit sich selbst.
+ * </p>
+ * <p>
+ * Je Motorkanal wird ein Monitor angemeldet (vgl. Model.jmxName()): Zustand,
+ * Sollwert, Betriebsart, Fehlerkennung, Welligkeit sowie setSetPoint() und 
+ * moveTo() betreffen den Kanal channel, Flanken, Taktungen, I2C, SoftwareClock,
+ * Aufzeichnung, reset() und stop() das gesamte Model.
+ * </p>
+ */
+public class ModelMonitor implements ModelMonitorMBean
+{
+    /**
+     * MIN_RATE_INTERVAL = 100 ms - Abfragen in kuerzerem Abstand liefern die letzte Rate...
+     */
+    private final static long MIN_RATE_INTERVAL = 100_000_000L;
+    
+    /**
+     * model - das beobachtete Model...
+     */
+    private final Model model;
+    
+    /**
+     * channel - der beobachtete Kanal...
+     */
+    private final int channel;
+    
+    /**
+     * lastTime, lastEdges, lastTicks, edgeRate, tickRate - Stand der letzten
+     * Bestimmung der Raten (synchronisiert ueber this)...
+     */
+    private long lastTime;
+    private long lastEdges;
+    private long lastTicks;
+    private double edgeRate = 0.0;
+    private double tickRate = 0.0;
+    
+    /**
+     * Konstruktor ModelMonitor(Model model, int channel)
+     * @param model
+     * @param channel Kanal
+     */
+    ModelMonitor(Model model, int channel)
+    {
+        this.model = model;
+        this.channel = channel;
+        this.lastTime = System.nanoTime();
+        this.lastEdges = model.getEdgeCount();
+        this.lastTicks = model.getTickPeriods().getCount();
+    }
+    
+    /**
+     * state() - der zuletzt veroeffentlichte Zustand der Taktung...
+     * @return StateSnapshot
+     */
+    private StateSnapshot state()
+    {
+        final StateSnapshot state = new StateSnapshot();
+        this.model.readState(this.channel, state);
+        return state;
+    }
+    
+    /**
+     * updateRates() - Bestimmung der Raten seit der letzten Abfrage...
+     */
+    private synchronized void updateRates()
+    {
+        final long now = System.nanoTime();
+        final long elapsed = now - this.lastTime;
+        if (elapsed < MIN_RATE_INTERVAL)
+        {
+            return;
+        }
+        final long edges = this.model.getEdgeCount();
+        final long ticks = this.model.getTickPeriods().getCount();
+        this.edgeRate = (edges - this.lastEdges) * 1.0E9 / elapsed;
+        this.tickRate = (ticks - this.lastTicks) * 1.0E9 / elapsed;
+        this.lastTime = now;
+        this.lastEdges = edges;
+        this.lastTicks = ticks;
+    }
+    
+    @Override
+    public int getChannel()
+    {
+        return this.channel;
+    }
+    
+    @Override
+    public long getCounter()
+    {
+        return state().getCounter();
+    }
+    
+    @Override
+    public long getPhi()
+    {
+        return state().getPhi();
+    }
+    
+    @Override
+    public double getRotation()
+    {
+        return state().getRotation() / (double) FixedPoint.pow10(Model.SCALE_RPM);
+    }
+    
+    @Override
+    public double getRpm()
+    {
+        return state().getRpm() / (double) FixedPoint.pow10(Model.SCALE_RPM);
+    }
+    
+    @Override
+    public double getRpmMean()
+    {
+        return state().getRpmMean() / (double) FixedPoint.pow10(Model.SCALE_RPM);
+    }
+    
+    @Override
+    public double getSpeedRipple()
+    {
+        return state().getRipple() / (double) FixedPoint.pow10(Model.SCALE_RPM);
+    }
+    
+    @Override
+    public boolean isStandstill()
+    {
+        return state().isStandstill();
+    }
+    
+    @Override
+    public double getProfileValue()
+    {
+        return state().getProfileValue() / (double) FixedPoint.pow10(Model.SCALE_CONTROL);
+    }
+    
+    @Override
+    public String getProfilePhase()
+    {
+        return SetPointProfile.phaseName(state().getProfilePhase());
+    }
+    
+    @Override
+    public long getTargetPhi()
+    {
+        return state().getTargetPhi();
+    }
+    
+    @Override
+    public long getOvershoot()
+    {
+        return state().getOvershoot();
+    }
+    
+    @Override
+    public double getBrakeLatency()
+    {
+        return state().getBrakeLatency() / (double) FixedPoint.pow10(Model.SCALE_LATENCY);
+    }
+    
+    @Override
+    public long getRippleOrder()
+    {
+        return state().getRippleOrder();
+    }
+    
+    @Override
+    public double getRippleAmplitude()
+    {
+        return state().getRippleAmplitude() / (double) FixedPoint.pow10(Model.SCALE_CONTROL);
+    }
+    
+    @Override
+    public double getRippleFrequency()
+    {
+        return state().getRippleFrequency() / (double) FixedPoint.pow10(Model.SCALE_RPM);
+    }
+    
+    @Override
+    public int[] getRippleOrders()
+    {
+        final RippleAnalyzer rippleAnalyzer = this.model.getRippleAnalyzer();
+        return (rippleAnalyzer != null)? rippleAnalyzer.getOrders() : new int[0];
+    }
+    
+    @Override
+    public double[] getRippleAmplitudes()
+    {
+        final RippleAnalyzer rippleAnalyzer = this.model.getRippleAnalyzer();
+        return (rippleAnalyzer != null)? rippleAnalyzer.getAmplitudes(this.channel) : new double[0];
+    }
+    
+    @Override
+    public double getCycleTime()
+    {
+        return state().getCycleTime() / (double) FixedPoint.pow10(Model.SCALE_CYCLE_TIME);
+    }
+    
+    @Override
+    public double getLapTime()
+    {
+        return state().getLapTime() / (double) FixedPoint.pow10(Model.SCALE_LAP_TIME);
+    }
+    
+    @Override
+    public int getSetPoint()
+    {
+        return this.model.getSetPoint(this.channel);
+    }
+    
+    @Override
+    public long getDriveOutput()
+    {
+        return state().getOutput();
+    }
+    
+    @Override
+    public double getControlError()
+    {
+        return state().getError() / (double) FixedPoint.pow10(Model.SCALE_RPM);
+    }
+    
+    @Override
+    public String getControlMode()
+    {
+        return this.model.getChannel(this.channel).getControlMode().getKey();
+    }
+    
+    @Override
+    public int getFault()
+    {
+        final I2cScheduler i2cScheduler = this.model.getI2cScheduler();
+        return (i2cScheduler != null)? i2cScheduler.getFault(this.channel) : 0;
+    }
+    
+    @Override
+    public String getFaultReason()
+    {
+        final ShadowedMotorDriver motorDriver = this.model.getMotorDriver(this.channel);
+        final int fault = getFault();
+        return (motorDriver != null && fault != 0)? motorDriver.getFaultReason(fault) : "";
+    }
+    
+    @Override
+    public long getEdgeCount()
+    {
+        return this.model.getEdgeCount();
+    }
+    
+    @Override
+    public double getEdgeRate()
+    {
+        updateRates();
+        synchronized (this)
+        {
+            return this.edgeRate;
+        }
+    }
+    
+    @Override
+    public long getTickCount()
+    {
+        return this.model.getTickPeriods().getCount();
+    }
+    
+    @Override
+    public double getTickRate()
+    {
+        updateRates();
+        synchronized (this)
+        {
+            return this.tickRate;
+        }
+    }
+    
+    @Override
+    public long getIllegalTransitions()
+    {
+        return this.model.getIllegalTransitions();
+    }
+    
+    @Override
+    public long getEdgeOverflows()
+    {
+        final EdgeRing edgeRing = this.model.getEdgeRing();
+        return (edgeRing != null)? edgeRing.getOverflows() : 0L;
+    }
+    
+    @Override
+    public long getI2cErrors()
+    {
+        final I2cScheduler i2cScheduler = this.model.getI2cScheduler();
+        return (i2cScheduler != null)? i2cScheduler.getErrors() : 0L;
+    }
+    
+    @Override
+    public long getI2cRetries()
+    {
+        final I2cScheduler i2cScheduler = this.model.getI2cScheduler();
+        return (i2cScheduler != null)? i2cScheduler.getRetries() : 0L;
+    }
+    
+    @Override
+    public long getMissedDeadlines()
+    {
+        final SoftwareClock softwareClock = this.model.getSoftwareClock();
+        return (softwareClock != null)? softwareClock.getMissed() : 0L;
+    }
+    
+    @Override
+    public long getRecorderDropped()
+    {
+        final TelemetryRecorder recorder = this.model.getRecorder();
+        return (recorder != null)? recorder.getDropped() : 0L;
+    }
+    
+    @Override
+    public void reset()
+    {
+        this.model.reset();
+    }
+    
+    @Override
+    public void stop()
+    {
+        this.model.stop();
+    }
+    
+    @Override
+    public void setSetPoint(int setPoint)
+    {
+        this.model.setSetPoint(this.channel, setPoint);
+    }
+    
+    @Override
+    public void moveTo(long phi)
+    {
+        this.model.moveTo(this.channel, phi);
+    }
+    
+    @Override
+    public void resetLatencyHistograms()
+    {
+        this.model.resetLatencyHistograms();
+    }
+}
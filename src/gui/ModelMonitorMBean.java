@@ -0,0 +1,150 @@
+package gui;
+
+/**
+ * ModelMonitorMBean - JMX-Schnittstelle des Model (vgl. ModelMonitor),
+ * registriert unter Model.JMX_NAME_KEY (Voreinstellung "gui:type=Model")...
+ * <p>
+ * Die Attribute werden ohne Sperre aus dem veroeffentlichten Zustand der
+ * Taktung und den Statistiken gelesen, die Taktung wird damit nicht
+ * beeinflusst. Drehzahl, Zeiten und Lage sind als double in 1/min, s
+ * bzw. Umdrehungen angegeben.
+ * </p>
+ * <p>
+ * Je Motorkanal ist ein MBean angemeldet, Kanal 0 unter Model.JMX_NAME_KEY,
+ * Kanal k unter demselben Namen mit ",channel=k" (z.B. "gui:type=Model,channel=1").
+ * Die Attribute und Operationen des Kanals (Zustand, Sollwert, Fehlerkennung, 
+ * setSetPoint(), moveTo()) gelten fuer diesen Kanal, die Statistiken sowie 
+ * reset() und stop() fuer das gesamte Model.
+ * </p>
+ */
+public interface ModelMonitorMBean
+{
+    /** @return Kanal des MBean (0, 1...) */
+    public int getChannel();
+
+    /** @return Taktzaehler der letzten Taktung */
+    public long getCounter();
+    
+    /** @return Lage in Zaehlschritten */
+    public long getPhi();
+    
+    /** @return Lage in Umdrehungen */
+    public double getRotation();
+    
+    /** @return Drehzahl in 1/min */
+    public double getRpm();
+    
+    /** @return mittlere Drehzahl im gleitenden Fenster in 1/min */
+    public double getRpmMean();
+    
+    /** @return Welligkeit der Drehzahl (Standardabweichung im Fenster) in 1/min */
+    public double getSpeedRipple();
+    
+    /** @return true => Stillstand (kein Zuwachs im Fenster) */
+    public boolean isStandstill();
+    
+    /** @return Wert der Rampe des Sollwertes in Stufen */
+    public double getProfileValue();
+    
+    /** @return Abschnitt der Rampe des Sollwertes */
+    public String getProfilePhase();
+    
+    /** @return Ziellage der Lageregelung in Impulsen (ControlMode.POSITION) */
+    public long getTargetPhi();
+    
+    /** @return Ueberlauf der letzten Fahrt ueber die Ziellage in Impulsen */
+    public long getOvershoot();
+    
+    /** @return Reaktionszeit von der Flanke am Ziel bis zum ausgefuehrten brake() in us */
+    public double getBrakeLatency();
+    
+    /** @return dominante Ordnung der Welligkeit (RippleAnalyzer), 0 => keine */
+    public long getRippleOrder();
+    
+    /** @return Amplitude der dominanten Ordnung in % der Drehzahl */
+    public double getRippleAmplitude();
+    
+    /** @return Frequenz der dominanten Ordnung in Hz */
+    public double getRippleFrequency();
+    
+    /** @return analysierte Ordnungen (vgl. getRippleAmplitudes()), leer => keine Analyse */
+    public int[] getRippleOrders();
+    
+    /** @return Amplituden aller analysierten Ordnungen in % */
+    public double[] getRippleAmplitudes();
+    
+    /** @return Taktzeit in s */
+    public double getCycleTime();
+    
+    /** @return Dauer einer Umdrehung in s */
+    public double getLapTime();
+    
+    /** @return Sollwert (-MAX_VALUE...0...+MAX_VALUE), schreibbar ueber setSetPoint() */
+    public int getSetPoint();
+    
+    /** @return Stellwert an den DRV8830 */
+    public long getDriveOutput();
+    
+    /** @return Regelabweichung in 1/min (ControlMode.SPEED) */
+    public double getControlError();
+    
+    /** @return Betriebsart der Sollwertvorgabe */
+    public String getControlMode();
+    
+    /** @return zuletzt gelesene Fehlerkennung des DRV8830 (0 => fehlerfrei) */
+    public int getFault();
+    
+    /** @return Klartext zur Fehlerkennung */
+    public String getFaultReason();
+    
+    /** @return Anzahl der gezaehlten Flanken A/B */
+    public long getEdgeCount();
+    
+    /** @return gezaehlte Flanken pro s seit der letzten Abfrage */
+    public double getEdgeRate();
+    
+    /** @return Anzahl der Taktungen (seit dem Start) */
+    public long getTickCount();
+    
+    /** @return Taktungen pro s seit der letzten Abfrage */
+    public double getTickRate();
+    
+    /** @return Anzahl der unzulaessigen Uebergaenge A/B */
+    public long getIllegalTransitions();
+    
+    /** @return Anzahl der wegen vollem EdgeRing verworfenen Flanken */
+    public long getEdgeOverflows();
+    
+    /** @return Anzahl der gescheiterten I2C-Kommandos */
+    public long getI2cErrors();
+    
+    /** @return Anzahl der I2C-Wiederholungen */
+    public long getI2cRetries();
+    
+    /** @return Anzahl der ausgelassenen Deadlines der SoftwareClock */
+    public long getMissedDeadlines();
+    
+    /** @return Anzahl der verworfenen Datensaetze der Aufzeichnung */
+    public long getRecorderDropped();
+    
+    /** Operation: reset() des Model (Lage und Taktzaehler) */
+    public void reset();
+    
+    /** Operation: stop() des Model (Sollwert 0, Abbremsen) */
+    public void stop();
+    
+    /**
+     * Vorgabe des Sollwertes (wie die ComboBox), als schreibbares Attribut SetPoint...
+     * @param setPoint -MAX_VALUE...0...+MAX_VALUE
+     */
+    public void setSetPoint(int setPoint);
+    
+    /**
+     * Operation: Fahrt auf die Ziellage (nur ControlMode.POSITION)...
+     * @param phi Ziellage in Impulsen
+     */
+    public void moveTo(long phi);
+    
+    /** Operation: Neubeginn der Histogramme der Laufzeiten */
+    public void resetLatencyHistograms();
+}
@@ -0,0 +1,609 @@
+package gui;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * MotorChannel - ein Motorkanal: Drehgeber (Impulsfolgen A/B), Zustand der
+ * Taktung, Sollwert und Drehzahlregler eines Motors...
+ * <p>
+ * Jeder Kanal haelt seinen Zustand in eigenen Objekten (EncoderCounter,
+ * StatePublisher, lock), damit konkurrieren die Kanaele weder beim Zaehlen
+ * noch beim Lesen des Zustandes. Die Taktung aller Kanaele erfolgt nacheinander
+ * im Thread des EdgeProcessor (vgl. Model.tick()), reset() und stop() eines
+ * Kanals sperren nur diesen Kanal.
+ * </p>
+ * <p>
+ * Die Pins des Kanals ergeben sich aus seinem Index (vgl. EdgeSource.pinA(),
+ * EdgeSource.pinB()), der Motortreiber ist im I2cScheduler unter demselben
+ * Index angemeldet.
+ * </p>
+ * <p>
+ * In der Betriebsart ControlMode.POSITION prueft checkTarget() nach jeder 
+ * Flanke (ohne Sperre, ohne Allokation), ob die Ziellage erreicht ist, und 
+ * reiht dann sofort das mit moveTo() vorab angelegte brake-Kommando ein. 
+ * Die Taktung sendet danach keinen Stellwert mehr und ermittelt den 
+ * Ueberlauf (Impulse ueber das Ziel hinaus).
+ * </p>
+ */
+final class MotorChannel
+{
+    /**
+     * logger
+     */
+    private final static Logger logger = LoggerFactory.getLogger(MotorChannel.class);
+    
+    /**
+     * MEASURING_FACTOR_VALUE - Model.MEASURING_FACTOR als long (Rechnung in der Taktung)...
+     */
+    private final static long MEASURING_FACTOR_VALUE = Model.MEASURING_FACTOR.longValue();
+    
+    /**
+     * RPM_MIN_SCALED - Drehzahlen mit Betrag kleiner 0.01 werden als 0 angezeigt,
+     * skaliert mit SCALE_RPM...
+     */
+    private final static long RPM_MIN_SCALED = FixedPoint.pow10(Model.SCALE_RPM - 2);
+    
+    /**
+     * index - Index des Kanals (0...Model.MAX_CHANNELS-1)...
+     */
+    private final int index;
+    
+    /**
+     * encoderCounter - lock-freie Zaehlung der Impulse im Thread des EdgeProcessor...
+     */
+    private final EncoderCounter encoderCounter;
+    
+    /**
+     * pulsNumber - Anzahl der Zaehlschritte pro Umdrehung (PULS_NUMBER * decoding)...
+     */
+    private final long pulsNumber;
+    
+    /**
+     * constScaled - 60/pulsNumber, skaliert mit SCALE_INTERN (Rechnung in der Taktung)...
+     */
+    private final long constScaled;
+    
+    /**
+     * speedSwitchCount - vgl. Model.SPEED_SWITCH_KEY...
+     */
+    private final long speedSwitchCount;
+    
+    /**
+     * controlMode - vgl. Model.CONTROL_MODE_KEY...
+     */
+    private final ControlMode controlMode;
+    
+    /**
+     * rpmPerSetPoint - Solldrehzahl je Stufe der Sollwertvorgabe, skaliert mit SCALE_RPM...
+     */
+    private final long rpmPerSetPoint;
+    
+    /**
+     * pidController - Drehzahlregler, nur in der Taktung bzw. unter lock verwendet...
+     */
+    private final PidController pidController;
+    
+    /**
+     * profile - Rampe des Sollwertes, nur in der Taktung bzw. unter lock verwendet...
+     */
+    private final SetPointProfile profile;
+    
+    /**
+     * recorder - Aufzeichnung der Taktung dieses Kanals oder null...
+     */
+    private final TelemetryRecorder recorder;
+    
+    /**
+     * i2cScheduler - Bus-Thread (nur fuer die Fehlerkennung der Aufzeichnung) oder null...
+     */
+    private final I2cScheduler i2cScheduler;
+    
+    /**
+     * rippleAnalyzer - Analyse der Welligkeit (Ergebnis je Taktung uebernommen) oder null...
+     */
+    private final RippleAnalyzer rippleAnalyzer;
+    
+    /**
+     * rippleResult[] - Ergebnis des rippleAnalyzer, gelesen in der Taktung
+     * (vgl. RippleAnalyzer.readResult())...
+     */
+    private final long[] rippleResult = new long[RippleAnalyzer.RESULT_SLOTS];
+    
+    /**
+     * drvSetPoint - Sollwert fuer den DRV8830 (int), geschrieben aus der GUI,
+     * gelesen in der Taktung...
+     */
+    private volatile int drvSetPoint = 0;
+    
+    /**
+     * targetPhi - Ziellage in Impulsen (ControlMode.POSITION), geschrieben vor 
+     * targetDirection...
+     */
+    private volatile long targetPhi = 0L;
+    
+    /**
+     * targetDirection - Richtung der Fahrt auf targetPhi (+1, -1), 0 => kein Ziel; 
+     * gesetzt durch moveTo(), zurueckgesetzt bei Erreichen (Thread des EdgeProcessor)...
+     */
+    private final AtomicInteger targetDirection = new AtomicInteger();
+    
+    /**
+     * reachedPhi, reachedDirection - Ziellage und Richtung der letzten erreichten 
+     * Fahrt, reachedDirection 0 => keine; nur im Thread des EdgeProcessor 
+     * (checkTarget() und Taktung)...
+     */
+    private long reachedPhi = 0L;
+    private int reachedDirection = 0;
+    
+    /**
+     * overshoot - Ueberlauf der letzten Fahrt in Impulsen (nur Taktung)...
+     */
+    private long overshoot = 0L;
+    
+    /**
+     * counter - Taktzaehler (keine weitere funktionale Bedeutung)
+     */
+    private long counter = 0L;
+    
+    /**
+     * phi - Lageinformation in Impulse (Wert der letzten Taktung)...
+     */
+    private long phi = 0L;
+    
+    /**
+     *  position - das long-Array position[] dient der Ermittlung
+     *  des Zuwachses der Position waehrend der letzten Taktung:
+     *  phi[k+1]-phi[k].
+     */
+    private final long[] position = new long[] {0L, 0L};
+    
+    /**
+     * deltaWindow - gleitendes Fenster der Zuwaechse am Lagewert je Taktung
+     * (Mittelwert, Streuung, Stillstand)...
+     */
+    private final MovingWindow deltaWindow;
+    
+    /**
+     * cycleWindow - gleitendes Fenster der Taktzeiten in ns (Dauer des Fensters)...
+     */
+    private final MovingWindow cycleWindow;
+    
+    /**
+     * timing[] - Zeitgroessen des EncoderCounter, gelesen in der Taktung
+     * (vgl. EncoderCounter.readTiming())...
+     */
+    private final long[] timing = new long[EncoderCounter.TIMING_SLOTS];
+    
+    /**
+     * tickState - Zustand der Taktung, nur durch die Taktung beschrieben und
+     * ueber den statePublisher veroeffentlicht...
+     */
+    private final StateSnapshot tickState = new StateSnapshot();
+    
+    /**
+     * statePublisher - Veroeffentlichung von tickState ueber ein Sequence-Lock...
+     */
+    private final StatePublisher statePublisher = new StatePublisher();
+    
+    /**
+     * lock - Object fuer das Synchronisieren der Taktung mit reset() und stop()
+     * dieses Kanals...
+     */
+    private final Object lock = new Object();
+    
+    /**
+     * Konstruktor MotorChannel(int index, Properties properties, TelemetryRecorder recorder, I2cScheduler i2cScheduler, RippleAnalyzer rippleAnalyzer)
+     * @param index Index des Kanals
+     * @param properties Konfiguration, vgl. Model.DECODING_KEY, Model.CONTROL_MODE_KEY...
+     * @param recorder Aufzeichnung der Taktung oder null
+     * @param i2cScheduler Bus-Thread oder null
+     * @param rippleAnalyzer Analyse der Welligkeit oder null
+     */
+    MotorChannel(int index, java.util.Properties properties, TelemetryRecorder recorder, I2cScheduler i2cScheduler, RippleAnalyzer rippleAnalyzer)
+    {
+        this.index = index;
+        final int decoding = Integer.parseInt(properties.getProperty(Model.DECODING_KEY, Model.DEFAULT_DECODING).trim());
+        final int periodSteps = Integer.parseInt(properties.getProperty(Model.PERIOD_STEPS_KEY, Model.DEFAULT_PERIOD_STEPS).trim());
+        this.encoderCounter = new EncoderCounter(decoding, Model.MEASURING_NUMBER * decoding, periodSteps);
+        this.pulsNumber = Model.PULS_NUMBER * decoding;
+        this.constScaled = BigDecimal.valueOf(60L).divide(BigDecimal.valueOf(this.pulsNumber), Model.SCALE_INTERN, RoundingMode.HALF_UP)
+                                     .unscaledValue().longValue();
+        this.speedSwitchCount = Long.parseLong(properties.getProperty(Model.SPEED_SWITCH_KEY, Model.DEFAULT_SPEED_SWITCH).trim());
+        final int speedWindow = Integer.parseInt(properties.getProperty(Model.SPEED_WINDOW_KEY, Model.DEFAULT_SPEED_WINDOW).trim());
+        this.deltaWindow = new MovingWindow(speedWindow);
+        this.cycleWindow = new MovingWindow(speedWindow);
+        this.controlMode = ControlMode.fromKey(properties.getProperty(Model.CONTROL_MODE_KEY, Model.DEFAULT_CONTROL_MODE).trim());
+        this.rpmPerSetPoint = new BigDecimal(properties.getProperty(Model.RPM_PER_SET_POINT_KEY, Model.DEFAULT_RPM_PER_SET_POINT).trim())
+                                  .setScale(Model.SCALE_RPM, RoundingMode.HALF_UP).unscaledValue().longValue();
+        this.pidController = new PidController(Double.parseDouble(properties.getProperty(Model.PID_KP_KEY, Model.DEFAULT_PID_KP).trim()),
+                                               Double.parseDouble(properties.getProperty(Model.PID_KI_KEY, Model.DEFAULT_PID_KI).trim()),
+                                               Double.parseDouble(properties.getProperty(Model.PID_KD_KEY, Model.DEFAULT_PID_KD).trim()),
+                                               Model.MAX_VALUE);
+        this.profile = new SetPointProfile(Double.parseDouble(properties.getProperty(Model.PROFILE_RATE_KEY, Model.DEFAULT_PROFILE_RATE).trim()),
+                                           Double.parseDouble(properties.getProperty(Model.PROFILE_JERK_KEY, Model.DEFAULT_PROFILE_JERK).trim()));
+        this.recorder = recorder;
+        this.i2cScheduler = i2cScheduler;
+        this.rippleAnalyzer = rippleAnalyzer;
+    }
+    
+    /**
+     * tick(long now, long cycleTime) - Taktung des Kanals im Thread des EdgeProcessor,
+     * der Zaehlerstand muss zuvor veroeffentlicht sein (EncoderCounter.publish())...
+     * <p>
+     * Der Sollwert (drvSetPoint) wird ueber das profile als Rampe fortgeschaltet.
+     * In der Betriebsart ControlMode.SPEED ist der Wert des Profils eine Solldrehzahl
+     * (Wert * rpmPerSetPoint), der Stellwert fuer drive() wird nach der
+     * Drehzahlbestimmung vom pidController ermittelt.
+     * </p>
+     * <p>
+     * Die Drehzahl wird je nach Drehzahlbereich bestimmt (vgl. Model.SPEED_SWITCH_KEY):
+     * </p>
+     * <ul>
+     * <li>hohe Drehzahl: aus dem Zuwachs der Lage pro Taktzeit,</li>
+     * <li>niedrige Drehzahl: aus der Periodendauer der letzten Zaehlschritte
+     * (Zeit pro Zaehlschritt), nach oben begrenzt durch die seit dem letzten
+     * Zaehlschritt verstrichene Zeit, damit klingt die Drehzahl bis zum
+     * Stillstand stetig ab.</li>
+     * </ul>
+     * @param now Zeitpunkt der Taktung in ns (System.nanoTime())
+     * @param cycleTime Taktzeit in ns (0 bei der ersten Taktung)
+     * @return Stellwert fuer drive(), I2cScheduler.NO_DRIVE => kein Stellwert
+     */
+    int tick(long now, long cycleTime)
+    {
+        final int setPoint = this.drvSetPoint;
+        final int direction = (this.controlMode == ControlMode.POSITION)? this.targetDirection.get() : 0;
+        final int drive;
+        synchronized (this.lock)
+        {
+            this.counter++;
+            // Lageregelung: Fahrt mit dem Betrag des Sollwertes in Richtung des Zieles...
+            final int target = (this.controlMode == ControlMode.POSITION)? direction * Math.abs(setPoint) : setPoint;
+            final double profiled = this.profile.update(target, cycleTime);
+    
+            // Lage zum Zeitpunkt der Taktung...
+            this.phi = this.encoderCounter.getPhi();
+    
+            // Das Array position[] dient der Ermittlung des Zuwachses der Position
+            // waehrend der letzten Taktung: phi[k+1]-phi[k].
+            this.position[1] = this.position[0];
+            this.position[0] = this.phi;
+    
+            // rotation = phi/pulsNumber...
+            final long rotation = FixedPoint.divide(this.phi * FixedPoint.pow10(Model.SCALE_RPM), this.pulsNumber);
+    
+            //////////////////////////////////////////////////////////////////////////
+            // delta - Zuwachs an Lage in Impulsen gemessen...
+            final long delta = this.position[0] - this.position[1];
+            this.deltaWindow.add(delta);
+            this.cycleWindow.add(cycleTime);
+            if (logger.isDebugEnabled())
+            {
+                // Ausgabe nur im Debuglevel (Allokation), die Historie liefert der recorder...
+                logger.debug("Kanal " + this.index + ": delta=" + delta + ", Fenster: min. " + this.deltaWindow.getMin()
+                             + ", max. " + this.deltaWindow.getMax() + ", Summe " + this.deltaWindow.getSum());
+            }
+            //////////////////////////////////////////////////////////////////////////
+    
+            // rpm = (Zaehlschritte/Dauer) * (60/pulsNumber), der Quotient mit SCALE_INTERN,
+            // das Produkt mit SCALE_RPM gerundet...
+            this.encoderCounter.readTiming(this.timing);
+            long steps = 0L;
+            long nanos = 0L;
+            if (Math.abs(delta) >= this.speedSwitchCount)
+            {
+                // Hohe Drehzahl: Zuwachs pro Taktzeit...
+                steps = delta;
+                nanos = cycleTime;
+            }
+            else if (this.timing[EncoderCounter.TIMING_PERIOD_STEPS] != 0L)
+            {
+                // Niedrige Drehzahl: Periodendauer der letzten Zaehlschritte...
+                steps = this.timing[EncoderCounter.TIMING_PERIOD_STEPS];
+                nanos = this.timing[EncoderCounter.TIMING_PERIOD_NANOS];
+                final long sinceLastStep = now - this.timing[EncoderCounter.TIMING_LAST_STEP_NANOS];
+                if ((nanos > 0L) && (sinceLastStep * Math.abs(steps) > nanos))
+                {
+                    // Seit dem letzten Zaehlschritt laenger als eine Periode:
+                    // hoechstens ein Zaehlschritt in sinceLastStep...
+                    steps = Long.signum(steps);
+                    nanos = sinceLastStep;
+                }
+            }
+            long rpm = 0L;
+            if (nanos > 0L)
+            {
+                final long quotient = FixedPoint.perSecond(steps, nanos, Model.SCALE_INTERN);
+                rpm = FixedPoint.multiplyDivide(quotient, this.constScaled, FixedPoint.pow10(2 * Model.SCALE_INTERN - Model.SCALE_RPM));
+            }
+            rpm = (Math.abs(rpm) < RPM_MIN_SCALED)? 0L : rpm;
+    
+            //////////////////////////////////////////////////////////////////////////
+            // Gleitendes Fenster: mittlere Drehzahl aus Zuwachs und Dauer des Fensters,
+            // Welligkeit aus der Streuung des Zuwachses je Taktung, Stillstand ohne
+            // Zuwachs im Fenster...
+            final long windowNanos = this.cycleWindow.getSum();
+            if (windowNanos > 0L)
+            {
+                final long quotient = FixedPoint.perSecond(this.deltaWindow.getSum(), windowNanos, Model.SCALE_INTERN);
+                final long rpmMean = FixedPoint.multiplyDivide(quotient, this.constScaled, FixedPoint.pow10(2 * Model.SCALE_INTERN - Model.SCALE_RPM));
+                this.tickState.rpmMean = (Math.abs(rpmMean) < RPM_MIN_SCALED)? 0L : rpmMean;
+                this.tickState.ripple = Math.round(this.deltaWindow.getStandardDeviation() * this.deltaWindow.getSize() * 60.0E9
+                                                   * FixedPoint.pow10(Model.SCALE_RPM) / ((double) windowNanos * this.pulsNumber));
+            }
+            else
+            {
+                this.tickState.rpmMean = 0L;
+                this.tickState.ripple = 0L;
+            }
+            final boolean standstill = (this.deltaWindow.getMin() == 0L) && (this.deltaWindow.getMax() == 0L);
+            this.tickState.standstill = standstill? 1L : 0L;
+    
+            //////////////////////////////////////////////////////////////////////////
+            // Stellwert: Sollwert (openLoop) oder aus dem Drehzahlregler (speed)...
+            if (this.controlMode == ControlMode.SPEED)
+            {
+                drive = this.pidController.update(Math.round(profiled * this.rpmPerSetPoint), rpm, cycleTime);
+                this.tickState.error = this.pidController.getError();
+                this.tickState.integral = this.pidController.getIntegral();
+            }
+            else if ((this.controlMode == ControlMode.POSITION) && (direction == 0))
+            {
+                // Ziel erreicht (brake() ist eingereiht) oder kein Ziel: kein Stellwert...
+                this.profile.reset();
+                drive = I2cScheduler.NO_DRIVE;
+            }
+            else
+            {
+                drive = (int) Math.round(profiled);
+            }
+            this.tickState.output = (drive != I2cScheduler.NO_DRIVE)? drive : 0L;
+            if (this.reachedDirection != 0)
+            {
+                // Ueberlauf: groesste Lage hinter dem Ziel seit dem Erreichen...
+                this.overshoot = Math.max(this.overshoot, (this.phi - this.reachedPhi) * this.reachedDirection);
+            }
+            this.tickState.targetPhi = (direction != 0)? this.targetPhi : this.reachedPhi;
+            this.tickState.overshoot = this.overshoot;
+            this.tickState.brakeLatency = (this.i2cScheduler != null)? this.i2cScheduler.getBrakeLatency(this.index) : 0L;
+            this.tickState.profileValue = Math.round(profiled * FixedPoint.pow10(Model.SCALE_CONTROL));
+            this.tickState.profileRate = Math.round(this.profile.getRate() * FixedPoint.pow10(Model.SCALE_CONTROL));
+            this.tickState.profilePhase = this.profile.getPhase();
+            if (this.rippleAnalyzer != null)
+            {
+                // Welligkeit je Ordnung: Ergebnis des letzten Blocks (eigener Thread)...
+                this.rippleAnalyzer.readResult(this.index, this.rippleResult);
+                this.tickState.rippleOrder = this.rippleResult[RippleAnalyzer.RESULT_ORDER];
+                this.tickState.rippleAmplitude = this.rippleResult[RippleAnalyzer.RESULT_AMPLITUDE];
+                this.tickState.rippleFrequency = this.rippleResult[RippleAnalyzer.RESULT_FREQUENCY];
+            }
+    
+            //////////////////////////////////////////////////////////////////////////
+            // Ermittlung der Dauer einer Umdrehung
+            //
+            if (standstill)
+            {
+                // Stillstand: neue Umlaufmessung beginnen...
+                this.encoderCounter.resetLap();
+                this.timing[EncoderCounter.TIMING_LAP_NANOS] = 0L;
+            }
+    
+            // Zeitdauer fuer eine Umdrehung bestimmen...
+            final long lapTime = MEASURING_FACTOR_VALUE * FixedPoint.nanosToScaled(this.timing[EncoderCounter.TIMING_LAP_NANOS], Model.SCALE_LAP_TIME);
+    
+            // Veroeffentlichung ueber den statePublisher (ohne Allokation)...
+            this.tickState.counter = this.counter;
+            this.tickState.phi = this.phi;
+            this.tickState.rotation = rotation;
+            this.tickState.lapTime = lapTime;
+            this.tickState.rpm = rpm;
+            this.tickState.cycleTime = FixedPoint.nanosToScaled(cycleTime, Model.SCALE_CYCLE_TIME);
+            this.tickState.setPoint = setPoint;
+            this.statePublisher.publish(this.tickState);
+    
+            if (this.recorder != null)
+            {
+                // Nur Ablage im Ring, das Schreiben erfolgt im Thread des Recorders...
+                this.recorder.recordTick(this.counter, this.phi, now, cycleTime, rpm, lapTime,
+                                         (int) this.tickState.output, (this.i2cScheduler != null)? this.i2cScheduler.getFault(this.index) : 0);
+            }
+        }
+        return drive;
+    }
+    
+    /**
+     * checkTarget(long nanoTime) - Pruefung der Ziellage nach einer Flanke des 
+     * Kanals, nur im Thread des EdgeProcessor, ohne Sperre und ohne Allokation...
+     * @param nanoTime Zeitpunkt der Flanke in ns (Beginn der Reaktionszeit)
+     */
+    void checkTarget(long nanoTime)
+    {
+        final int direction = this.targetDirection.get();
+        if (direction == 0)
+        {
+            return;
+        }
+        final long target = this.targetPhi;
+        if (((this.encoderCounter.getLocalPhi() - target) * direction >= 0L) && this.targetDirection.compareAndSet(direction, 0))
+        {
+            if (this.i2cScheduler != null)
+            {
+                this.i2cScheduler.fireBrake(this.index, nanoTime);
+            }
+            this.reachedPhi = target;
+            this.reachedDirection = direction;
+            this.overshoot = 0L;
+        }
+    }
+    
+    /**
+     * moveTo(long phi) - Fahrt auf die Ziellage phi (ControlMode.POSITION), das 
+     * brake-Kommando wird vorab im I2cScheduler angelegt...
+     * @param phi Ziellage in Impulsen (vgl. getPulsNumber())
+     * @return false => Ziellage bereits erreicht, keine Fahrt
+     */
+    boolean moveTo(long phi)
+    {
+        final int direction = Long.signum(phi - this.encoderCounter.getPhi());
+        if (direction != 0 && this.i2cScheduler != null)
+        {
+            this.i2cScheduler.armBrake(this.index);
+        }
+        this.targetPhi = phi;
+        this.targetDirection.set(direction);
+        return direction != 0;
+    }
+    
+    /**
+     * cancelTarget() - ausstehendes Ziel verwerfen...
+     */
+    private void cancelTarget()
+    {
+        this.targetDirection.set(0);
+        if (this.i2cScheduler != null)
+        {
+            this.i2cScheduler.disarmBrake(this.index);
+        }
+    }
+    
+    /**
+     * reset() - Lage und Taktzaehler zuruecksetzen, ein ausstehendes Ziel 
+     * wird verworfen...
+     * <p>
+     * phi wird ueber den Offset im EncoderCounter zurueckgesetzt (ohne Eingriff
+     * in den Thread des EdgeProcessor).
+     * </p>
+     */
+    void reset()
+    {
+        cancelTarget();
+        this.encoderCounter.reset();
+        synchronized (this.lock)
+        {
+            this.counter = 0L;
+            this.phi = 0L;
+            for (int index = 0; index < this.position.length; index++)
+            {
+                this.position[index] = 0L;
+            }
+        }
+    }
+    
+    /**
+     * stop() - wie reset(), zusaetzlich Umlaufmessung, Drehzahlregler und
+     * Profil (ohne Rampe) zuruecksetzen (den Sollwert setzt das Model)...
+     */
+    void stop()
+    {
+        cancelTarget();
+        this.encoderCounter.reset();
+        // Variablen zur Laufzeitbestimmung zuruecksetzen...
+        this.encoderCounter.resetLap();
+        synchronized (this.lock)
+        {
+            this.counter = 0L;
+            this.phi = 0L;
+            for (int index = 0; index < this.position.length; index++)
+            {
+                this.position[index] = 0L;
+            }
+            this.pidController.reset();
+            this.profile.reset();
+        }
+    }
+    
+    /**
+     * readState(StateSnapshot target) - liefert den zuletzt veroeffentlichten
+     * Zustand der Taktung in target, ohne Sperre und ohne Allokation...
+     * @param target wird befuellt
+     * @return Version des Zustandes (Anzahl der Veroeffentlichungen)
+     */
+    long readState(StateSnapshot target)
+    {
+        return this.statePublisher.read(target);
+    }
+    
+    /**
+     * getStateVersion() - Anzahl der bisherigen Veroeffentlichungen...
+     * @return Version
+     */
+    long getStateVersion()
+    {
+        return this.statePublisher.getVersion();
+    }
+    
+    /**
+     * @return Index des Kanals
+     */
+    int getIndex()
+    {
+        return this.index;
+    }
+    
+    /**
+     * @return EncoderCounter des Kanals (Zaehlung im Thread des EdgeProcessor)
+     */
+    EncoderCounter getEncoderCounter()
+    {
+        return this.encoderCounter;
+    }
+    
+    /**
+     * @return Anzahl der Zaehlschritte pro Umdrehung (PULS_NUMBER * decoding)
+     */
+    long getPulsNumber()
+    {
+        return this.pulsNumber;
+    }
+    
+    /**
+     * @return Betriebsart der Sollwertvorgabe
+     */
+    ControlMode getControlMode()
+    {
+        return this.controlMode;
+    }
+    
+    /**
+     * @return Sollwert -MAX_VALUE...0...+MAX_VALUE
+     */
+    int getSetPoint()
+    {
+        return this.drvSetPoint;
+    }
+    
+    /**
+     * @param setPoint Sollwert -MAX_VALUE...0...+MAX_VALUE (Pruefung im Model)
+     */
+    void setSetPoint(int setPoint)
+    {
+        this.drvSetPoint = setPoint;
+    }
+    
+    /**
+     * @return Anzahl der gezaehlten Flanken des Kanals
+     */
+    long getEdgeCount()
+    {
+        return this.encoderCounter.getEdgeCount();
+    }
+    
+    /**
+     * @return Anzahl der unzulaessigen Uebergaenge des Drehgebers des Kanals
+     */
+    long getIllegalTransitions()
+    {
+        return this.encoderCounter.getIllegalCount();
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "MotorChannel " + this.index;
+    }
+}
@@ -0,0 +1,40 @@
+package gui;
+
+import java.io.IOException;
+
+/**
+ * Interface MotorDriver - Ansteuerung des Motortreibers...
+ * <p>
+ * Implementierungen sind der DRV8830 am I2C-Bus (Drv8830MotorDriver) 
+ * und die Software-Nachbildung (SimulatedMotorDriver).
+ * </p>
+ */
+public interface MotorDriver
+{
+    /**
+     * getFault() - Auslesen des Fehlerregisters...
+     * @return 0, wenn fehlerfrei, sonst Fehlerkennung
+     * @throws IOException
+     */
+    public int getFault() throws IOException;
+    
+    /**
+     * getFaultReason(int fault) - Klartext zur Fehlerkennung...
+     * @param fault Fehlerkennung aus getFault()
+     * @return Beschreibung des Fehlers
+     */
+    public String getFaultReason(int fault);
+    
+    /**
+     * drive(int value) - Vorgabe des Sollwertes (-MAX_VALUE...0...+MAX_VALUE)...
+     * @param value
+     * @throws IOException
+     */
+    public void drive(int value) throws IOException;
+    
+    /**
+     * brake() - Abbremsen...
+     * @throws IOException
+     */
+    public void brake() throws IOException;
+}
@@ -0,0 +1,214 @@
+package gui;
+
+/**
+ * MovingWindow - gleitendes Fenster der letzten length Werte (Ringpuffer) mit
+ * laufender Summe, Quadratsumme, Minimum und Maximum...
+ * <p>
+ * add() ersetzt den aeltesten Wert und passt Summe und Quadratsumme in O(1)
+ * an (ganzzahlig, damit ohne Drift durch Rundung). Minimum und Maximum werden
+ * ueber monotone Warteschlangen der Indizes gefuehrt (amortisiert O(1)).
+ * Es erfolgt keine Allokation nach dem Anlegen.
+ * </p>
+ * <p>
+ * Nicht synchronisiert, Zugriff nur aus einem Thread (bzw. unter der Sperre
+ * des Besitzers). Die Quadratsumme ist fuer |Wert| * sqrt(length) < 3*10^9
+ * ohne Ueberlauf.
+ * </p>
+ */
+final class MovingWindow
+{
+    /**
+     * values[] - Ringpuffer der Werte...
+     */
+    private final long[] values;
+    
+    /**
+     * count - Anzahl aller bisher aufgenommenen Werte (Position im Ring: count % length)...
+     */
+    private long count = 0L;
+    
+    /**
+     * sum, sumSquares - Summe und Quadratsumme der Werte im Fenster...
+     */
+    private long sum = 0L;
+    private long sumSquares = 0L;
+    
+    /**
+     * minQueue[], maxQueue[] - Positionen (count) der Kandidaten fuer Minimum und Maximum,
+     * als Ring mit den Grenzen ...Head (aeltester) und ...Tail (naechster freier)...
+     */
+    private final long[] minQueue;
+    private final long[] maxQueue;
+    private int minHead = 0;
+    private int minTail = 0;
+    private int maxHead = 0;
+    private int maxTail = 0;
+    
+    /**
+     * Konstruktor MovingWindow(int length)
+     * @param length Laenge des Fensters (>= 1)
+     */
+    MovingWindow(int length)
+    {
+        if (length < 1)
+        {
+            throw new IllegalArgumentException("length: " + length);
+        }
+        this.values = new long[length];
+        // Die Warteschlangen enthalten hoechstens length Positionen, +1 trennt voll und leer...
+        this.minQueue = new long[length + 1];
+        this.maxQueue = new long[length + 1];
+    }
+    
+    /**
+     * add(long value) - Aufnahme eines Wertes, der aelteste faellt heraus...
+     * @param value
+     */
+    void add(long value)
+    {
+        final int length = this.values.length;
+        final int index = (int) (this.count % length);
+        if (this.count >= length)
+        {
+            final long oldest = this.values[index];
+            this.sum -= oldest;
+            this.sumSquares -= oldest * oldest;
+        }
+        this.values[index] = value;
+        this.sum += value;
+        this.sumSquares += value * value;
+    
+        // Positionen ausserhalb des Fensters entfernen...
+        final long first = this.count - length + 1;
+        if (this.minHead != this.minTail && this.minQueue[this.minHead] < first)
+        {
+            this.minHead = next(this.minHead);
+        }
+        if (this.maxHead != this.maxTail && this.maxQueue[this.maxHead] < first)
+        {
+            this.maxHead = next(this.maxHead);
+        }
+        // ...und Kandidaten, die vom neuen Wert abgeloest werden...
+        while (this.minHead != this.minTail && valueAt(this.minQueue[previous(this.minTail)]) >= value)
+        {
+            this.minTail = previous(this.minTail);
+        }
+        this.minQueue[this.minTail] = this.count;
+        this.minTail = next(this.minTail);
+        while (this.maxHead != this.maxTail && valueAt(this.maxQueue[previous(this.maxTail)]) <= value)
+        {
+            this.maxTail = previous(this.maxTail);
+        }
+        this.maxQueue[this.maxTail] = this.count;
+        this.maxTail = next(this.maxTail);
+    
+        this.count++;
+    }
+    
+    /**
+     * clear() - Fenster leeren...
+     */
+    void clear()
+    {
+        this.count = 0L;
+        this.sum = 0L;
+        this.sumSquares = 0L;
+        this.minHead = this.minTail = 0;
+        this.maxHead = this.maxTail = 0;
+    }
+    
+    private long valueAt(long position)
+    {
+        return this.values[(int) (position % this.values.length)];
+    }
+    
+    private int next(int index)
+    {
+        return (index + 1 == this.minQueue.length)? 0 : index + 1;
+    }
+    
+    private int previous(int index)
+    {
+        return (index == 0)? this.minQueue.length - 1 : index - 1;
+    }
+    
+    /**
+     * getLength() - Laenge des Fensters...
+     * @return length
+     */
+    int getLength()
+    {
+        return this.values.length;
+    }
+    
+    /**
+     * getSize() - Anzahl der Werte im Fenster (bis zur Fuellung kleiner length)...
+     * @return size
+     */
+    int getSize()
+    {
+        return (int) Math.min(this.count, this.values.length);
+    }
+    
+    /**
+     * getSum() - Summe der Werte im Fenster...
+     * @return sum
+     */
+    long getSum()
+    {
+        return this.sum;
+    }
+    
+    /**
+     * getMean() - Mittelwert der Werte im Fenster...
+     * @return Mittelwert, 0 ohne Werte
+     */
+    double getMean()
+    {
+        final int size = getSize();
+        return (size == 0)? 0.0 : (double) this.sum / size;
+    }
+    
+    /**
+     * getVariance() - Varianz (Grundgesamtheit) der Werte im Fenster...
+     * @return Varianz, 0 ohne Werte
+     */
+    double getVariance()
+    {
+        final int size = getSize();
+        if (size == 0)
+        {
+            return 0.0;
+        }
+        // size * sumSquares - sum^2 ist exakt bis auf die Umwandlung in double...
+        final double numerator = (double) size * this.sumSquares - (double) this.sum * this.sum;
+        return Math.max(0.0, numerator) / ((double) size * size);
+    }
+    
+    /**
+     * getStandardDeviation() - Standardabweichung der Werte im Fenster...
+     * @return Standardabweichung, 0 ohne Werte
+     */
+    double getStandardDeviation()
+    {
+        return Math.sqrt(getVariance());
+    }
+    
+    /**
+     * getMin() - kleinster Wert im Fenster...
+     * @return min, 0 ohne Werte
+     */
+    long getMin()
+    {
+        return (this.minHead == this.minTail)? 0L : valueAt(this.minQueue[this.minHead]);
+    }
+    
+    /**
+     * getMax() - groesster Wert im Fenster...
+     * @return max, 0 ohne Werte
+     */
+    long getMax()
+    {
+        return (this.maxHead == this.maxTail)? 0L : valueAt(this.maxQueue[this.maxHead]);
+    }
+}
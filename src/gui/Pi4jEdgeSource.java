@@ -0,0 +1,185 @@
+package gui;
+
+import com.pi4j.io.gpio.GpioController;
+import com.pi4j.io.gpio.GpioFactory;
+import com.pi4j.io.gpio.GpioPin;
+import com.pi4j.io.gpio.GpioPinDigitalInput;
+import com.pi4j.io.gpio.Pin;
+import com.pi4j.io.gpio.PinEdge;
+import com.pi4j.io.gpio.PinPullResistance;
+import com.pi4j.io.gpio.RaspiPin;
+import com.pi4j.io.gpio.event.GpioPinDigitalStateChangeEvent;
+import com.pi4j.io.gpio.event.GpioPinListenerDigital;
+
+/**
+ * Pi4jEdgeSource - EdgeSource auf Basis des GPIO-Controllers von Pi4J...
+ * <p>
+ * Der Takt des NE555 und die Impulsfolgen A und B (je Motorkanal) werden ueber einen 
+ * GpioPinListenerDigital bedient. Die Zuordnung zum Pin-Index erfolgt 
+ * ueber die Referenz des provisionierten Pins (kein Vergleich der Namen).
+ * </p>
+ * <p>
+ * Pi4J liefert die Ereignisse aus den Ueberwachungs-Threads der einzelnen 
+ * Pins (ueber den Executor der GpioFactory), Flanken verschiedener Pins 
+ * koennen also gleichzeitig eintreffen. Der EdgeRing erlaubt aber nur einen 
+ * Schreiber, daher werden die Aufrufe des Listeners ueber callbackLock 
+ * serialisiert (kurze Sperre, nur Zeitstempel und Ablage im Ring).
+ * </p>
+ */
+public class Pi4jEdgeSource implements EdgeSource
+{
+    /**
+     * Pull-Up/Pull-Down-Einstellung...
+     * <p>
+     * Hier Voreinstellung auf PinPullResistance.OFF, da Pull-Down-Widerstaende 
+     * durch die Hardware bereitgestellt werden...
+     * </p>
+     * <p>
+     * Hier Einstellung: Kein Pull-Down/Pull-Up durch den Raspi (daher PinPullResistance.OFF)...
+     * </p>
+     */
+    private final static PinPullResistance PIN_PULL_RESISTANCE = PinPullResistance.OFF;
+    
+    /**
+     * ...der folgenden Pin wird über den Takt des Ne555 angesprochen und gibt damit den Takt
+     * fuer die Regelung und Anzeige vor...
+     */
+    private final static Pin GPIO_NE555_PIN = RaspiPin.GPIO_00;    // GPIO 17, Board-Nr. = 11
+    
+    /**
+     * Impulsfolge A..., wird durch einen entsprechenden Interrupt bedient.
+     */
+    private final static Pin GPIO_INC_A_PIN = RaspiPin.GPIO_02;     // GPIO 27, Board-Nr. = 13
+    
+    /**
+     * Impulsfolge B..., die Flanken werden zur Nachfuehrung des Pegels geliefert...
+     */
+    private final static Pin GPIO_INC_B_PIN = RaspiPin.GPIO_03;     // GPIO 22, Board-Nr. = 15
+    
+    /**
+     * gpioController - Referenz auf den GPIO-Controller...
+     */
+    private final GpioController gpioController;
+    
+    /**
+     * gpioPins[] - die provisionierten Pins, der Index entspricht 
+     * EdgeSource.PIN_NE555, EdgeSource.pinA(channel), EdgeSource.pinB(channel)...
+     */
+    private final GpioPinDigitalInput[] gpioPins;
+    
+    /**
+     * callbackLock - serialisiert die Callbacks der Pins, der Listener hat 
+     * damit genau einen Schreiber zur Zeit...
+     */
+    private final Object callbackLock = new Object();
+    
+    /**
+     * Konstruktor Pi4jEdgeSource() - ein Motorkanal an GPIO_INC_A_PIN/GPIO_INC_B_PIN...
+     */
+    public Pi4jEdgeSource()
+    {
+        this(new Pin[] {GPIO_INC_A_PIN, GPIO_INC_B_PIN});
+    }
+    
+    /**
+     * Konstruktor Pi4jEdgeSource(int[] encoderAddresses) - mehrere Motorkanaele...
+     * @param encoderAddresses Pi4J-Nummern der Impulsfolgen je Kanal: A0, B0, A1, B1...
+     */
+    public Pi4jEdgeSource(int[] encoderAddresses)
+    {
+        this(toPins(encoderAddresses));
+    }
+    
+    /**
+     * Konstruktor Pi4jEdgeSource(Pin[] encoderPins) - GPIO-Controller anlegen und Pins 
+     * provisionieren, damit sind die Pegel (isHigh()) bereits vor start() abfragbar...
+     * @param encoderPins Impulsfolgen je Kanal: A0, B0, A1, B1...
+     */
+    private Pi4jEdgeSource(Pin[] encoderPins)
+    {
+        this.gpioController = GpioFactory.getInstance();
+        this.gpioPins = new GpioPinDigitalInput[1 + encoderPins.length];
+        
+        this.gpioPins[PIN_INC_B] = this.gpioController.provisionDigitalInputPin(encoderPins[1], encoderPins[1].getName(), PIN_PULL_RESISTANCE);
+        this.gpioPins[PIN_NE555] = this.gpioController.provisionDigitalInputPin(GPIO_NE555_PIN, GPIO_NE555_PIN.getName(), PIN_PULL_RESISTANCE);
+        this.gpioPins[PIN_INC_A] = this.gpioController.provisionDigitalInputPin(encoderPins[0], encoderPins[0].getName(), PIN_PULL_RESISTANCE);
+        // ...weitere Kanaele in der Reihenfolge der Pin-Indizes...
+        for (int pin = PIN_INC_B + 1; pin < this.gpioPins.length; pin++)
+        {
+            final Pin encoderPin = encoderPins[pin - PIN_INC_A];
+            this.gpioPins[pin] = this.gpioController.provisionDigitalInputPin(encoderPin, encoderPin.getName(), PIN_PULL_RESISTANCE);
+        }
+    }
+        
+    /**
+     * toPins(int[] addresses) - Pi4J-Nummern in Pins...
+     * @param addresses
+     * @return Pins
+     */
+    private static Pin[] toPins(int[] addresses)
+    {
+        final Pin[] pins = new Pin[addresses.length];
+        for (int index = 0; index < addresses.length; index++)
+        {
+            pins[index] = RaspiPin.getPinByAddress(addresses[index]);
+            if (pins[index] == null)
+            {
+                throw new IllegalArgumentException("Pi4J-Pin " + addresses[index]);
+            }
+        }
+        return pins;
+    }
+    
+    /**
+     * start(EdgeListener listener) - den Listener anmelden...
+     */
+    @Override
+    public void start(EdgeListener listener)
+    {
+
+        final GpioPinListenerDigital gpioListener = new GpioPinListenerDigital() 
+        {
+            @Override
+            public void handleGpioPinDigitalStateChangeEvent(GpioPinDigitalStateChangeEvent event)
+            {
+                // Zeitstempel zuerst, vor jeder weiteren Verarbeitung...
+                final long nanoTime = System.nanoTime();
+                final GpioPin gpioPin = event.getPin();
+                final boolean high = (PinEdge.RISING == event.getEdge());
+                // Zuordnung ueber die Referenz des provisionierten Pins...
+                for (int pin = 0; pin < Pi4jEdgeSource.this.gpioPins.length; pin++)
+                {
+                    if (Pi4jEdgeSource.this.gpioPins[pin] == gpioPin)
+                    {
+                        // Ein Schreiber zur Zeit (Callbacks aus mehreren Threads)...
+                        synchronized (Pi4jEdgeSource.this.callbackLock)
+                        {
+                            listener.onEdge(pin, high, nanoTime);
+                        }
+                        return;
+                    }
+                }
+            }
+        };
+        this.gpioController.addListener(gpioListener, this.gpioPins);
+    }
+
+    /**
+     * isHigh(int pin) - Abfrage des Pin-Zustandes ueber Pi4J...
+     */
+    @Override
+    public boolean isHigh(int pin)
+    {
+        final GpioPinDigitalInput gpioPin = this.gpioPins[pin];
+        return (gpioPin != null)? gpioPin.isHigh() : true;
+    }
+
+    /**
+     * shutdown() - der gpioController wird heruntergefahren...
+     */
+    @Override
+    public void shutdown()
+    {
+        this.gpioController.shutdown();
+    }
+}
@@ -0,0 +1,170 @@
+package gui;
+
+/**
+ * PidController - PID-Drehzahlregler, beauftragt je Taktung im Thread des
+ * EdgeProcessor (vgl. Model.tick())...
+ * <p>
+ * Regelgroesse ist die gemessene Drehzahl, Stellgroesse der Sollwert des
+ * DRV8830 (-outputLimit...0...+outputLimit). Die Rechnung erfolgt ohne
+ * Allokation in double, der Stellwert wird gerundet und begrenzt:
+ * </p>
+ * <ul>
+ * <li>P: kp * e, mit e = Solldrehzahl - Drehzahl in 1/min,</li>
+ * <li>I: Summe ki * e * dt, nach oben und unten auf outputLimit begrenzt.
+ * Solange der Stellwert in der Begrenzung liegt und e weiter in die
+ * Begrenzung treibt, wird nicht integriert (anti-windup),</li>
+ * <li>D: kd * (-dDrehzahl/dt), d.h. auf die Messung statt auf e, damit
+ * bewirkt ein Sprung der Solldrehzahl keinen Stoss.</li>
+ * </ul>
+ * <p>
+ * Der Zustand (Regelabweichung, Integralanteil, Stellwert) ist skaliert
+ * abrufbar (vgl. getError(), getIntegral(), getOutput()).
+ * </p>
+ */
+final class PidController
+{
+    /**
+     * kp - Verstaerkung P in Stellwert pro 1/min...
+     */
+    private final double kp;
+    
+    /**
+     * ki - Verstaerkung I in Stellwert pro (1/min * s)...
+     */
+    private final double ki;
+    
+    /**
+     * kd - Verstaerkung D in Stellwert pro (1/min / s)...
+     */
+    private final double kd;
+    
+    /**
+     * outputLimit - Betrag des max. Stellwertes...
+     */
+    private final int outputLimit;
+    
+    /**
+     * rpmUnit - Skalierung der Drehzahl (10^Model.SCALE_RPM)...
+     */
+    private final double rpmUnit;
+    
+    /**
+     * integral - Integralanteil in Stellwert...
+     */
+    private double integral = 0.0;
+    
+    /**
+     * lastRpm - Drehzahl der letzten Beauftragung in 1/min...
+     */
+    private double lastRpm = 0.0;
+    
+    /**
+     * hasLast - false => keine letzte Drehzahl (kein D-Anteil)...
+     */
+    private boolean hasLast = false;
+    
+    /**
+     * error - letzte Regelabweichung, skaliert mit Model.SCALE_RPM...
+     */
+    private long error = 0L;
+    
+    /**
+     * output - letzter Stellwert...
+     */
+    private int output = 0;
+    
+    /**
+     * Konstruktor PidController(double kp, double ki, double kd, int outputLimit)
+     * @param kp Verstaerkung P
+     * @param ki Verstaerkung I
+     * @param kd Verstaerkung D
+     * @param outputLimit Betrag des max. Stellwertes
+     */
+    PidController(double kp, double ki, double kd, int outputLimit)
+    {
+        this.kp = kp;
+        this.ki = ki;
+        this.kd = kd;
+        this.outputLimit = outputLimit;
+        this.rpmUnit = FixedPoint.pow10(Model.SCALE_RPM);
+    }
+    
+    /**
+     * update(long targetRpm, long rpm, long nanos) - Bestimmung des Stellwertes...
+     * @param targetRpm Solldrehzahl, skaliert mit Model.SCALE_RPM
+     * @param rpm gemessene Drehzahl, skaliert mit Model.SCALE_RPM
+     * @param nanos Zeit seit der letzten Beauftragung in ns (0 => kein I- und D-Anteil)
+     * @return Stellwert (-outputLimit...0...+outputLimit)
+     */
+    int update(long targetRpm, long rpm, long nanos)
+    {
+        final double limit = this.outputLimit;
+        final double measured = rpm / this.rpmUnit;
+        final double error = (targetRpm - rpm) / this.rpmUnit;
+        final double dt = nanos / (double) FixedPoint.NANOS_PER_SECOND;
+    
+        double derivative = 0.0;
+        if (this.hasLast && (dt > 0.0))
+        {
+            derivative = -this.kd * (measured - this.lastRpm) / dt;
+        }
+        this.lastRpm = measured;
+        this.hasLast = true;
+    
+        final double proportional = this.kp * error;
+        if (dt > 0.0)
+        {
+            final double integral = this.integral + this.ki * error * dt;
+            final double unclamped = proportional + integral + derivative;
+            // anti-windup: nicht weiter in die Begrenzung integrieren...
+            if (!((unclamped > limit) && (error > 0.0)) && !((unclamped < -limit) && (error < 0.0)))
+            {
+                this.integral = Math.max(-limit, Math.min(limit, integral));
+            }
+        }
+    
+        final long output = Math.round(proportional + this.integral + derivative);
+        this.output = (int) Math.max(-this.outputLimit, Math.min(this.outputLimit, output));
+        this.error = targetRpm - rpm;
+        return this.output;
+    }
+    
+    /**
+     * reset() - Zuruecksetzen des Zustandes (z.B. nach stop())...
+     */
+    void reset()
+    {
+        this.integral = 0.0;
+        this.lastRpm = 0.0;
+        this.hasLast = false;
+        this.error = 0L;
+        this.output = 0;
+    }
+    
+    /**
+     * getError() - letzte Regelabweichung...
+     * @return Solldrehzahl - Drehzahl, skaliert mit Model.SCALE_RPM
+     */
+    long getError()
+    {
+        return this.error;
+    }
+    
+    /**
+     * getIntegral() - Integralanteil...
+     * @return Integralanteil in Stellwert, skaliert mit Model.SCALE_CONTROL
+     */
+    long getIntegral()
+    {
+        return Math.round(this.integral * FixedPoint.pow10(Model.SCALE_CONTROL));
+    }
+    
+    /**
+     * getOutput() - letzter Stellwert...
+     * @return Stellwert
+     */
+    int getOutput()
+    {
+        return this.output;
+    }
+}
@@ -0,0 +1,83 @@
+package gui;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * ProcessStats - Kennzahlen des eigenen Prozesses zum Vergleich der
+ * Startvarianten (HeadlessMain, SwingMain)...
+ * <p>
+ * Die Startzeit wird ab dem Start der JVM gemessen, der belegte Speicher
+ * (Resident Set Size) wird unter Linux aus /proc/self/status gelesen.
+ * </p>
+ */
+final class ProcessStats
+{
+    /**
+     * STATUS_FILE = "/proc/self/status" - Prozessstatus unter Linux...
+     */
+    private final static String STATUS_FILE = "/proc/self/status";
+    
+    /**
+     * RSS_ENTRY = "VmRSS:" - Eintrag der Resident Set Size in kB...
+     */
+    private final static String RSS_ENTRY = "VmRSS:";
+    
+    private ProcessStats()
+    {
+    }
+    
+    /**
+     * getUptime() - Zeit seit dem Start der JVM...
+     * @return Zeit in ms
+     */
+    static long getUptime()
+    {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+    
+    /**
+     * getResidentSize() - belegter physikalischer Speicher des Prozesses...
+     * @return Resident Set Size in kB, -1 wenn nicht verfuegbar (nicht Linux)
+     */
+    static long getResidentSize()
+    {
+        try (java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.FileReader(STATUS_FILE)))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (line.startsWith(RSS_ENTRY))
+                {
+                    return Long.parseLong(line.substring(RSS_ENTRY.length()).replace("kB", "").trim());
+                }
+            }
+        }
+        catch (java.io.IOException | NumberFormatException exception)
+        {
+            // kein /proc (z.B. Windows)...
+        }
+        return -1L;
+    }
+    
+    /**
+     * getUsedHeap() - belegter Heap...
+     * @return belegter Heap in kB
+     */
+    static long getUsedHeap()
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / 1024L;
+    }
+    
+    /**
+     * describe(String name) - Startzeit und Speicher als Text (Protokoll)...
+     * @param name Bezeichnung der Startvariante
+     * @return Text
+     */
+    static String describe(String name)
+    {
+        return String.format("%s: gestartet nach %d ms, RSS %d kB, Heap %d kB, %d Klassen geladen",
+                             name, getUptime(), getResidentSize(), getUsedHeap(),
+                             ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+    }
+}
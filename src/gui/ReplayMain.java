@@ -0,0 +1,183 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * ReplayMain - Wiedergabe einer Aufzeichnung (recorderDir mit recorderEdges=true)
+ * durch die Berechnung des Model und Vergleich der Taktung...
+ * <p>
+ * Aufruf mit Eintraegen key=value, z.B.:<br>
+ * <code>
+ * java gui.ReplayMain trace=telemetry speed=max
+ * </code>
+ * </p>
+ * <p>
+ * Die Flanken der Aufzeichnung werden ueber eine TraceEdgeSource in ein neues
+ * Model eingespeist, dessen Taktung in das Verzeichnis out aufgezeichnet wird.
+ * Anschliessend werden die Datensaetze TYPE_TICK beider Aufzeichnungen
+ * verglichen (counter und phi bezogen auf die erste Taktung, cycleTime, rpm,
+ * lapTime). Ausgegeben werden der Durchsatz der Wiedergabe, die Anzahl der
+ * Abweichungen und die erste Abweichung.
+ * </p>
+ * <p>
+ * Eingaben der GUI (reset, stop, Sollwert) sind nicht Teil der Aufzeichnung,
+ * nach einem reset() oder stop() im aufgezeichneten Lauf weichen phi bzw.
+ * lapTime daher ab.
+ * </p>
+ */
+public class ReplayMain
+{
+    /**
+     * TRACE_KEY = "trace" - Verzeichnis (oder Segment-Datei) der Aufzeichnung...
+     */
+    public final static String TRACE_KEY = "trace";
+    
+    /**
+     * SPEED_KEY = "speed" - Vielfaches der Geschwindigkeit, "max" => so schnell wie moeglich...
+     */
+    public final static String SPEED_KEY = "speed";
+    
+    /**
+     * OUT_KEY = "out" - Verzeichnis der Aufzeichnung der Wiedergabe (ohne Eintrag: temporaer)...
+     */
+    public final static String OUT_KEY = "out";
+    
+    /**
+     * TICK_WORDS[] - verglichene Worte eines Datensatzes TYPE_TICK...
+     */
+    private final static int[] TICK_WORDS = {1, 2, 4, 5, 6};
+    
+    /**
+     * TICK_NAMES[] - Bezeichnung der verglichenen Worte...
+     */
+    private final static String[] TICK_NAMES = {"counter", "phi", "cycleTime", "rpm", "lapTime"};
+    
+    /** main()-Funktionalitaet... */
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        final java.util.Properties properties = new java.util.Properties();
+        properties.setProperty(SPEED_KEY, "max");
+        for (String arg: args)
+        {
+            final int index = arg.indexOf('=');
+            if (index > 0)
+            {
+                properties.setProperty(arg.substring(0, index).trim(), arg.substring(index+1).trim());
+            }
+        }
+        if (!properties.containsKey(TRACE_KEY))
+        {
+            System.err.println("Aufruf: java gui.ReplayMain trace=<Verzeichnis> [speed=max|<Faktor>] [out=<Verzeichnis>]");
+            return;
+        }
+        final Path trace = Paths.get(properties.getProperty(TRACE_KEY));
+        final String speed = properties.getProperty(SPEED_KEY);
+        final Path out = properties.containsKey(OUT_KEY)? Paths.get(properties.getProperty(OUT_KEY))
+                                                        : Files.createTempDirectory("replay-");
+    
+        final TraceEdgeSource edgeSource = new TraceEdgeSource(trace, "max".equals(speed)? Double.POSITIVE_INFINITY : Double.parseDouble(speed));
+        // Auswertung wie in der Aufzeichnung, Aufzeichnung der Wiedergabe nur der Taktung...
+        properties.setProperty(Model.DECODING_KEY, Long.toString(edgeSource.getPulsNumber() / Model.PULS_NUMBER));
+        properties.setProperty(Model.RECORDER_DIR_KEY, out.toString());
+        properties.setProperty(Model.RECORDER_EDGES_KEY, "false");
+        properties.setProperty(Model.RECORDER_MAX_SEGMENTS_KEY, "0");
+        properties.setProperty(Model.RECORDER_CAPACITY_KEY, Integer.toString(1 << 20));
+        properties.setProperty(Model.RECORDER_FORCE_INTERVAL_KEY, "0");
+    
+        final long start = System.nanoTime();
+        final Model model = new Model(edgeSource, new SimulatedMotorDriver(), properties);
+        while (!edgeSource.isFinished())
+        {
+            Thread.sleep(10L);
+        }
+        model.shutdown();
+        final double seconds = (System.nanoTime() - start)/1.0E9;
+        final TelemetryRecorder recorder = model.getRecorder();
+        System.out.println(String.format("Wiedergabe: %,d Flanken in %.3f s, %,.0f Flanken/s, %d Datensaetze verworfen",
+                                         edgeSource.getEdges(), seconds, edgeSource.getEdges()/seconds, recorder.getDropped()));
+    
+        compare(trace, out);
+    }
+    
+    /**
+     * compare(Path expected, Path actual) - Vergleich der Datensaetze TYPE_TICK...
+     * @param expected Aufzeichnung
+     * @param actual Aufzeichnung der Wiedergabe
+     * @throws IOException
+     */
+    private static void compare(Path expected, Path actual) throws IOException
+    {
+        final TelemetryReader expectedReader = new TelemetryReader(expected);
+        final TelemetryReader actualReader = new TelemetryReader(actual);
+        final long[] expectedTick = new long[TelemetryRecorder.RECORD_WORDS];
+        final long[] actualTick = new long[TelemetryRecorder.RECORD_WORDS];
+        final long[] expectedFirst = new long[TelemetryRecorder.RECORD_WORDS];
+        final long[] actualFirst = new long[TelemetryRecorder.RECORD_WORDS];
+        long ticks = 0L;
+        long mismatches = 0L;
+        String firstMismatch = null;
+        while (true)
+        {
+            final boolean hasExpected = nextTick(expectedReader, expectedTick);
+            final boolean hasActual = nextTick(actualReader, actualTick);
+            if (!hasExpected || !hasActual)
+            {
+                if (hasExpected || hasActual)
+                {
+                    System.out.println("Anzahl der Taktungen verschieden, Vergleich nach " + ticks + " Taktungen beendet");
+                }
+                break;
+            }
+            if (ticks == 0L)
+            {
+                System.arraycopy(expectedTick, 0, expectedFirst, 0, expectedTick.length);
+                System.arraycopy(actualTick, 0, actualFirst, 0, actualTick.length);
+            }
+            ticks++;
+            for (int index = 0; index < TICK_WORDS.length; index++)
+            {
+                final int word = TICK_WORDS[index];
+                // counter und phi bezogen auf die erste Taktung...
+                final long expectedValue = (word <= 2)? expectedTick[word] - expectedFirst[word] : expectedTick[word];
+                final long actualValue = (word <= 2)? actualTick[word] - actualFirst[word] : actualTick[word];
+                if (expectedValue != actualValue)
+                {
+                    mismatches++;
+                    if (firstMismatch == null)
+                    {
+                        firstMismatch = String.format("Taktung %d: %s erwartet %d, berechnet %d",
+                                                      ticks, TICK_NAMES[index], expectedValue, actualValue);
+                    }
+                    break;
+                }
+            }
+        }
+        System.out.println(String.format("Vergleich: %d Taktungen, %d abweichend", ticks, mismatches));
+        if (firstMismatch != null)
+        {
+            System.out.println("Erste Abweichung: " + firstMismatch);
+        }
+    }
+    
+    /**
+     * nextTick(TelemetryReader reader, long[] record) - naechster Datensatz TYPE_TICK...
+     * @param reader
+     * @param record
+     * @return false => keine weiteren
+     * @throws IOException
+     */
+    private static boolean nextTick(TelemetryReader reader, long[] record) throws IOException
+    {
+        while (reader.next(record))
+        {
+            if (TelemetryReader.typeOf(record) == TelemetryRecorder.TYPE_TICK)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,405 @@
+package gui;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RippleAnalyzer - Analyse der Welligkeit der Drehzahl je Ordnung (Vielfache
+ * der Drehfrequenz) mit Goertzel-Filtern, in einem eigenen Thread...
+ * <p>
+ * Der Thread des EdgeProcessor legt je Zaehlschritt nur den Zeitstempel im
+ * Ring ab (onStep(), ohne Allokation, ohne Sperre, bei vollem Ring verworfen).
+ * Der Thread des Analyzers bildet daraus die Abstaende der Zaehlschritte. Diese
+ * sind im Winkel gleichabstaendig abgetastet (pulsNumber Werte je Umdrehung),
+ * damit liegt jede Ordnung k unabhaengig von der Drehzahl auf der festen
+ * normierten Frequenz k/pulsNumber (Ordnungsanalyse). Je konfigurierter Ordnung
+ * laeuft ein Goertzel-Filter ueber einen Block von revolutions Umdrehungen,
+ * der Speicher ist damit fest (zwei double je Ordnung und Kanal).
+ * </p>
+ * <p>
+ * Am Ende eines Blocks ergibt sich je Ordnung die Amplitude der Abstaende in
+ * Prozent des mittleren Abstandes (fuer kleine Welligkeit gleich der relativen
+ * Welligkeit der Drehzahl). Veroeffentlicht werden die dominante Ordnung, ihre
+ * Amplitude und ihre Frequenz in Hz (Sequence-Lock je Kanal, vgl. readResult()),
+ * die Taktung uebernimmt sie in den Zustand (StateSnapshot.getRippleOrder()...).
+ * Ein Richtungswechsel, ein Abstand ueber MAX_INTERVAL_NANOS oder verworfene
+ * Zaehlschritte beginnen einen neuen Block.
+ * </p>
+ */
+final class RippleAnalyzer
+{
+    /**
+     * logger
+     */
+    private final static Logger logger = LoggerFactory.getLogger(RippleAnalyzer.class);
+    
+    /**
+     * RESULT_... - Index in readResult(): dominante Ordnung (0 => keine),
+     * Amplitude in % skaliert mit Model.SCALE_CONTROL, Frequenz in Hz skaliert
+     * mit Model.SCALE_RPM...
+     */
+    final static int RESULT_ORDER = 0;
+    final static int RESULT_AMPLITUDE = 1;
+    final static int RESULT_FREQUENCY = 2;
+    final static int RESULT_SLOTS = 3;
+    
+    /**
+     * CAPACITY = 16384 - Groesse des Rings der Zaehlschritte...
+     */
+    private final static int CAPACITY = 16384;
+    
+    /**
+     * BATCH_SIZE = 1024 - Stapelgroesse beim Leeren des Rings...
+     */
+    private final static int BATCH_SIZE = 1024;
+    
+    /**
+     * MAX_INTERVAL_NANOS = 100 ms - groesserer Abstand zweier Zaehlschritte
+     * beginnt einen neuen Block (Anlauf, Stillstand)...
+     */
+    private final static long MAX_INTERVAL_NANOS = 100_000_000L;
+    
+    /**
+     * IDLE_PARK_NANOS = 1 ms - Wartezeit des Threads bei leerem Ring...
+     */
+    private final static long IDLE_PARK_NANOS = 1_000_000L;
+    
+    /**
+     * pulsNumber - Zaehlschritte pro Umdrehung (Abtastwerte je Umdrehung)...
+     */
+    private final long pulsNumber;
+    
+    /**
+     * orders[] - analysierte Ordnungen, coefficients[] - 2*cos(2*pi*k/pulsNumber) je Ordnung...
+     */
+    private final int[] orders;
+    private final double[] coefficients;
+    
+    /**
+     * blockLength - Abtastwerte je Block (revolutions * pulsNumber)...
+     */
+    private final int blockLength;
+    
+    /**
+     * ring - Zaehlschritte (Index des Kanals, Richtung, Zeitstempel), ein
+     * Schreiber (EdgeProcessor), ein Leser (Thread des Analyzers)...
+     */
+    private final EdgeRing ring = new EdgeRing(CAPACITY);
+    
+    // Zustand des Threads des Analyzers (je Kanal bzw. je Kanal und Ordnung)...
+    private final long[] lastTime;
+    private final boolean[] lastForward;
+    private final boolean[] started;
+    private final int[] samples;
+    private final double[] sums;
+    private final double[] s1;
+    private final double[] s2;
+    private long overflowsSeen = 0L;
+    
+    /**
+     * sequences - Sequence-Lock je Kanal fuer results (nur der Thread des Analyzers schreibt)...
+     */
+    private final AtomicLongArray sequences;
+    
+    /**
+     * results - je Kanal RESULT_SLOTS Werte, danach die Amplituden aller Ordnungen
+     * in %, skaliert mit Model.SCALE_CONTROL...
+     */
+    private final AtomicLongArray results;
+    
+    /**
+     * stride - Anzahl der Werte je Kanal in results...
+     */
+    private final int stride;
+    
+    /**
+     * blocks - Anzahl der ausgewerteten Bloecke...
+     */
+    private volatile long blocks = 0L;
+    
+    /**
+     * running - false => Thread beenden...
+     */
+    private volatile boolean running = true;
+    
+    /**
+     * thread - der Thread des Analyzers...
+     */
+    private final Thread thread;
+    
+    /**
+     * Konstruktor RippleAnalyzer(int channels, long pulsNumber, int[] orders, int revolutions)
+     * @param channels Anzahl der Kanaele
+     * @param pulsNumber Zaehlschritte pro Umdrehung
+     * @param orders analysierte Ordnungen, je 1...pulsNumber/2-1
+     * @param revolutions Umdrehungen je Block (>= 1)
+     */
+    RippleAnalyzer(int channels, long pulsNumber, int[] orders, int revolutions)
+    {
+        if (orders.length == 0)
+        {
+            throw new IllegalArgumentException("orders: keine Ordnung");
+        }
+        if (revolutions < 1 || revolutions * pulsNumber > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("revolutions: " + revolutions);
+        }
+        this.pulsNumber = pulsNumber;
+        this.orders = orders.clone();
+        this.coefficients = new double[orders.length];
+        for (int index = 0; index < orders.length; index++)
+        {
+            // Ordnungen ab pulsNumber/2 liegen ueber der halben Abtastrate...
+            if (orders[index] < 1 || 2L * orders[index] >= pulsNumber)
+            {
+                throw new IllegalArgumentException("order: " + orders[index]);
+            }
+            this.coefficients[index] = 2.0 * Math.cos(2.0 * Math.PI * orders[index] / pulsNumber);
+        }
+        this.blockLength = (int) (revolutions * pulsNumber);
+        this.lastTime = new long[channels];
+        this.lastForward = new boolean[channels];
+        this.started = new boolean[channels];
+        this.samples = new int[channels];
+        this.sums = new double[channels];
+        this.s1 = new double[channels * orders.length];
+        this.s2 = new double[channels * orders.length];
+        this.sequences = new AtomicLongArray(channels);
+        this.stride = RESULT_SLOTS + orders.length;
+        this.results = new AtomicLongArray(channels * this.stride);
+        this.thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                analyze();
+            }
+        }, "RippleAnalyzer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    
+    /**
+     * onStep(int channel, boolean forward, long nanoTime) - Ablage eines
+     * Zaehlschrittes, nur im Thread des EdgeProcessor...
+     * @param channel Index des Kanals
+     * @param forward true => Zaehlschritt vorwaerts
+     * @param nanoTime Zeitpunkt der Flanke in ns
+     */
+    void onStep(int channel, boolean forward, long nanoTime)
+    {
+        this.ring.offer(channel, forward, nanoTime);
+    }
+    
+    /**
+     * analyze() - Schleife des Threads: Leeren des Rings, Goertzel je Abstand...
+     */
+    private void analyze()
+    {
+        final long[] batch = new long[BATCH_SIZE];
+        final int orderCount = this.orders.length;
+        while (this.running)
+        {
+            final long overflows = this.ring.getOverflows();
+            if (overflows != this.overflowsSeen)
+            {
+                // Zaehlschritte verworfen: Abstaende ungueltig, alle Bloecke neu...
+                this.overflowsSeen = overflows;
+                Arrays.fill(this.started, false);
+            }
+            final int count = this.ring.drain(batch);
+            if (count == 0)
+            {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            for (int index = 0; index < count; index++)
+            {
+                final long event = batch[index];
+                final int channel = EdgeRing.pinOf(event);
+                final boolean forward = EdgeRing.isHigh(event);
+                final long nanoTime = this.ring.nanoTimeOf(event);
+                final long interval = nanoTime - this.lastTime[channel];
+                final boolean valid = this.started[channel] && (forward == this.lastForward[channel])
+                                      && (interval > 0L) && (interval <= MAX_INTERVAL_NANOS);
+                this.lastTime[channel] = nanoTime;
+                this.lastForward[channel] = forward;
+                if (!valid)
+                {
+                    this.started[channel] = true;
+                    restartBlock(channel);
+                    continue;
+                }
+                // Goertzel: s[n] = x[n] + coefficient * s[n-1] - s[n-2]...
+                final double x = interval;
+                final int base = channel * orderCount;
+                for (int order = 0; order < orderCount; order++)
+                {
+                    final double s0 = x + this.coefficients[order] * this.s1[base + order] - this.s2[base + order];
+                    this.s2[base + order] = this.s1[base + order];
+                    this.s1[base + order] = s0;
+                }
+                this.sums[channel] += x;
+                if (++this.samples[channel] == this.blockLength)
+                {
+                    evaluate(channel);
+                    restartBlock(channel);
+                }
+            }
+        }
+    }
+    
+    /**
+     * restartBlock(int channel) - Beginn eines neuen Blocks...
+     * @param channel
+     */
+    private void restartBlock(int channel)
+    {
+        this.samples[channel] = 0;
+        this.sums[channel] = 0.0;
+        final int base = channel * this.orders.length;
+        for (int order = 0; order < this.orders.length; order++)
+        {
+            this.s1[base + order] = 0.0;
+            this.s2[base + order] = 0.0;
+        }
+    }
+    
+    /**
+     * evaluate(int channel) - Auswertung eines vollstaendigen Blocks und
+     * Veroeffentlichung (ohne Allokation)...
+     * @param channel
+     */
+    private void evaluate(int channel)
+    {
+        final double mean = this.sums[channel] / this.blockLength;
+        final int base = channel * this.orders.length;
+        final int offset = channel * this.stride;
+        final long sequence = this.sequences.get(channel);
+        this.sequences.lazySet(channel, sequence + 1L);
+        int dominant = -1;
+        double maxAmplitude = 0.0;
+        for (int order = 0; order < this.orders.length; order++)
+        {
+            final double s1 = this.s1[base + order];
+            final double s2 = this.s2[base + order];
+            final double power = s1 * s1 + s2 * s2 - this.coefficients[order] * s1 * s2;
+            // Amplitude der Schwingung: 2 * |X| / N, bezogen auf den mittleren Abstand...
+            final double amplitude = 200.0 * Math.sqrt(Math.max(power, 0.0)) / (this.blockLength * mean);
+            this.results.lazySet(offset + RESULT_SLOTS + order, Math.round(amplitude * FixedPoint.pow10(Model.SCALE_CONTROL)));
+            if (amplitude > maxAmplitude)
+            {
+                maxAmplitude = amplitude;
+                dominant = order;
+            }
+        }
+        if ((dominant < 0) || (Math.round(maxAmplitude * FixedPoint.pow10(Model.SCALE_CONTROL)) == 0L))
+        {
+            // keine Welligkeit oberhalb der Aufloesung (z.B. Simulation)...
+            this.results.lazySet(offset + RESULT_ORDER, 0L);
+            this.results.lazySet(offset + RESULT_AMPLITUDE, 0L);
+            this.results.lazySet(offset + RESULT_FREQUENCY, 0L);
+        }
+        else
+        {
+            // Frequenz der Ordnung: Ordnung * Umdrehungen pro s...
+            final double frequency = this.orders[dominant] * 1.0E9 / (mean * this.pulsNumber);
+            this.results.lazySet(offset + RESULT_ORDER, this.orders[dominant]);
+            this.results.lazySet(offset + RESULT_AMPLITUDE, Math.round(maxAmplitude * FixedPoint.pow10(Model.SCALE_CONTROL)));
+            this.results.lazySet(offset + RESULT_FREQUENCY, Math.round(frequency * FixedPoint.pow10(Model.SCALE_RPM)));
+        }
+        this.sequences.lazySet(channel, sequence + 2L);
+        this.blocks++;
+        if (logger.isDebugEnabled())
+        {
+            logger.debug("Kanal " + channel + ": Ordnung " + ((dominant < 0)? 0 : this.orders[dominant]) + ", " + maxAmplitude + " %");
+        }
+    }
+    
+    /**
+     * readResult(int channel, long[] result) - Ergebnis des letzten Blocks
+     * (dominante Ordnung, Amplitude, Frequenz), ohne Sperre und ohne Allokation...
+     * @param channel Index des Kanals
+     * @param result Ziel, Laenge >= RESULT_SLOTS, alle 0 => noch kein Block
+     */
+    void readResult(int channel, long[] result)
+    {
+        final int offset = channel * this.stride;
+        while (true)
+        {
+            final long before = this.sequences.get(channel);
+            final long order = this.results.get(offset + RESULT_ORDER);
+            final long amplitude = this.results.get(offset + RESULT_AMPLITUDE);
+            final long frequency = this.results.get(offset + RESULT_FREQUENCY);
+            final long after = this.sequences.get(channel);
+            if ((before == after) && ((before & 1L) == 0L))
+            {
+                result[RESULT_ORDER] = order;
+                result[RESULT_AMPLITUDE] = amplitude;
+                result[RESULT_FREQUENCY] = frequency;
+                return;
+            }
+        }
+    }
+    
+    /**
+     * getAmplitudes(int channel) - Amplituden aller Ordnungen (vgl. getOrders())
+     * des letzten Blocks in %...
+     * @param channel Index des Kanals
+     * @return Amplituden
+     */
+    double[] getAmplitudes(int channel)
+    {
+        final double[] amplitudes = new double[this.orders.length];
+        final int offset = channel * this.stride + RESULT_SLOTS;
+        for (int order = 0; order < amplitudes.length; order++)
+        {
+            amplitudes[order] = this.results.get(offset + order) / (double) FixedPoint.pow10(Model.SCALE_CONTROL);
+        }
+        return amplitudes;
+    }
+    
+    /**
+     * @return analysierte Ordnungen
+     */
+    int[] getOrders()
+    {
+        return this.orders.clone();
+    }
+    
+    /**
+     * @return Anzahl der ausgewerteten Bloecke
+     */
+    long getBlocks()
+    {
+        return this.blocks;
+    }
+    
+    /**
+     * @return Anzahl der verworfenen Zaehlschritte (Ring voll)
+     */
+    long getDropped()
+    {
+        return this.ring.getOverflows();
+    }
+    
+    /**
+     * shutdown() - Beenden des Threads...
+     */
+    void shutdown()
+    {
+        this.running = false;
+        try
+        {
+            this.thread.join(1000L);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package gui;
+
+/**
+ * SetPointProfile - Fuehrungsgroessengenerator: aus einem Sprung des Sollwertes
+ * wird eine Rampe der Stellwerte, fortgeschaltet einmal je Taktung im Thread
+ * des EdgeProcessor (vgl. MotorChannel.tick())...
+ * <p>
+ * Der Verlauf wird schrittweise (inkrementell) aus dem aktuellen Zustand
+ * bestimmt, damit kann sich der Sollwert jederzeit aendern, auch waehrend
+ * einer laufenden Rampe. Die Rechnung erfolgt ohne Allokation in double:
+ * </p>
+ * <ul>
+ * <li>rateLimit &lt;= 0: kein Profil, der Sollwert gilt sofort (Sprung),</li>
+ * <li>jerkLimit &lt;= 0: Trapezprofil, der Wert folgt dem Sollwert mit der
+ * Steigung rateLimit (konstante Beschleunigung des Motors),</li>
+ * <li>sonst S-Kurve: die Steigung aendert sich hoechstens um jerkLimit pro s
+ * (begrenzter Ruck), vor dem Ziel wird rechtzeitig mit jerkLimit auf die
+ * Steigung 0 abgebaut.</li>
+ * </ul>
+ * <p>
+ * Der Zustand (Wert, Steigung, Abschnitt) wird mit dem Zustand der Taktung
+ * veroeffentlicht (vgl. StateSnapshot.getProfileValue()...).
+ * </p>
+ */
+final class SetPointProfile
+{
+    /**
+     * PHASE_... - Abschnitt des Profils...
+     */
+    final static int PHASE_IDLE = 0;
+    final static int PHASE_ACCELERATE = 1;
+    final static int PHASE_CRUISE = 2;
+    final static int PHASE_DECELERATE = 3;
+    
+    /**
+     * PHASE_NAMES - Anzeigetexte der Abschnitte (Index: PHASE_...)...
+     */
+    private final static String[] PHASE_NAMES = {"Ruhe", "Anlauf", "Rampe", "Auslauf"};
+    
+    /**
+     * SETTLE = 0.5 - Abstand zum Ziel, ab dem der Wert auf das Ziel gesetzt wird
+     * (halbe Stufe, der Stellwert wird gerundet)...
+     */
+    private final static double SETTLE = 0.5;
+    
+    /**
+     * rateLimit - max. Steigung in Stufen pro s...
+     */
+    private final double rateLimit;
+    
+    /**
+     * jerkLimit - max. Aenderung der Steigung in Stufen pro s^2...
+     */
+    private final double jerkLimit;
+    
+    /**
+     * value - aktueller Wert des Profils in Stufen...
+     */
+    private double value = 0.0;
+    
+    /**
+     * rate - aktuelle Steigung in Stufen pro s...
+     */
+    private double rate = 0.0;
+    
+    /**
+     * phase - aktueller Abschnitt (PHASE_...)...
+     */
+    private int phase = PHASE_IDLE;
+    
+    /**
+     * Konstruktor SetPointProfile(double rateLimit, double jerkLimit)
+     * @param rateLimit max. Steigung in Stufen pro s (&lt;= 0 => kein Profil)
+     * @param jerkLimit max. Aenderung der Steigung in Stufen pro s^2 (&lt;= 0 => Trapezprofil)
+     */
+    SetPointProfile(double rateLimit, double jerkLimit)
+    {
+        this.rateLimit = rateLimit;
+        this.jerkLimit = jerkLimit;
+    }
+    
+    /**
+     * update(int target, long nanos) - Fortschaltung um eine Taktung...
+     * @param target Sollwert in Stufen
+     * @param nanos Zeit seit der letzten Fortschaltung in ns (0 => keine Fortschaltung)
+     * @return Wert des Profils in Stufen
+     */
+    double update(int target, long nanos)
+    {
+        if (this.rateLimit <= 0.0)
+        {
+            // Kein Profil: Sprung auf den Sollwert...
+            settle(target);
+            return this.value;
+        }
+        final double dt = nanos / (double) FixedPoint.NANOS_PER_SECOND;
+        if (dt <= 0.0)
+        {
+            return this.value;
+        }
+        final double error = target - this.value;
+        final double direction = Math.signum(error);
+        if (this.jerkLimit <= 0.0)
+        {
+            // Trapezprofil: Steigung sofort auf rateLimit...
+            if (Math.abs(error) <= this.rateLimit * dt)
+            {
+                settle(target);
+                return this.value;
+            }
+            this.rate = direction * this.rateLimit;
+            this.value += this.rate * dt;
+            this.phase = PHASE_CRUISE;
+            return this.value;
+        }
+    
+        // S-Kurve: Steigung um hoechstens jerkLimit * dt aendern...
+        final double step = this.jerkLimit * dt;
+        if ((Math.abs(error) <= SETTLE) && (Math.abs(this.rate) <= step))
+        {
+            settle(target);
+            return this.value;
+        }
+        final double lastRate = this.rate;
+        // Weg bis zum Stillstand der Steigung (zzgl. einer Taktung Reaktionszeit)...
+        final double brakingDistance = lastRate * lastRate / (2.0 * this.jerkLimit) + Math.abs(lastRate) * dt;
+        if ((lastRate * direction > 0.0) && (brakingDistance >= Math.abs(error)))
+        {
+            this.rate = (Math.abs(lastRate) <= step)? 0.0 : lastRate - direction * step;
+        }
+        else
+        {
+            final double desired = direction * this.rateLimit;
+            this.rate = (lastRate < desired)? Math.min(lastRate + step, desired) : Math.max(lastRate - step, desired);
+        }
+        this.value += this.rate * dt;
+        if ((target - this.value) * direction < 0.0)
+        {
+            // nicht ueber das Ziel hinaus...
+            settle(target);
+            return this.value;
+        }
+        if (Math.abs(this.rate) > Math.abs(lastRate))
+        {
+            this.phase = PHASE_ACCELERATE;
+        }
+        else if (Math.abs(this.rate) < Math.abs(lastRate))
+        {
+            this.phase = PHASE_DECELERATE;
+        }
+        else
+        {
+            this.phase = PHASE_CRUISE;
+        }
+        return this.value;
+    }
+    
+    /**
+     * settle(int target) - Ziel erreicht...
+     * @param target
+     */
+    private void settle(int target)
+    {
+        this.value = target;
+        this.rate = 0.0;
+        this.phase = PHASE_IDLE;
+    }
+    
+    /**
+     * reset() - Profil sofort auf 0 (z.B. bei stop())...
+     */
+    void reset()
+    {
+        settle(0);
+    }
+    
+    /**
+     * @return Wert des Profils in Stufen
+     */
+    double getValue()
+    {
+        return this.value;
+    }
+    
+    /**
+     * @return Steigung in Stufen pro s
+     */
+    double getRate()
+    {
+        return this.rate;
+    }
+    
+    /**
+     * @return Abschnitt (PHASE_...)
+     */
+    int getPhase()
+    {
+        return this.phase;
+    }
+    
+    /**
+     * phaseName(long phase) - Anzeigetext zum Abschnitt...
+     * @param phase PHASE_...
+     * @return Anzeigetext
+     */
+    static String phaseName(long phase)
+    {
+        return ((phase >= 0L) && (phase < PHASE_NAMES.length))? PHASE_NAMES[(int) phase] : Long.toString(phase);
+    }
+}
@@ -0,0 +1,220 @@
+package gui;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ShadowedMotorDriver - MotorDriver mit Schattenkopie der Register CONTROL
+ * und FAULT des DRV8830...
+ * <p>
+ * Das CONTROL-Register des DRV8830 setzt sich aus VSET (Bit 7..2) und den 
+ * Bruecken-Eingaengen IN2/IN1 (Bit 1..0) zusammen. Ein Schreibzugriff erfolgt
+ * nur, wenn sich der effektive Registerwert gegenueber der Schattenkopie 
+ * aendert. Da das Model den Sollwert nur in der Taktung schreibt, fallen 
+ * mehrere Sollwertaenderungen zwischen zwei Takten auf den letzten Wert 
+ * zusammen.
+ * </p>
+ * <p>
+ * Das FAULT-Register wird nach jedem Schreibzugriff und sonst erst nach 
+ * Ablauf von faultMaxAgeNanos erneut gelesen, dazwischen wird die 
+ * Schattenkopie geliefert.
+ * </p>
+ * <p>
+ * Nach einer IOException ist der Registerinhalt unbekannt, die Schattenkopie
+ * wird dann verworfen. Ebenso nach einem FAULT-Register ungleich 0: UVLO setzt
+ * den Baustein zurueck, OCP und Uebertemperatur schalten die Bruecke ab, der
+ * naechste drive() muss also auch bei gleichem Sollwert auf den Bus.
+ * brake() wird nie unterdrueckt, ein Halt erreicht immer den Bus.
+ * </p>
+ */
+public class ShadowedMotorDriver implements MotorDriver
+{
+    /**
+     * UNKNOWN = -1 - Kennung fuer eine ungueltige Schattenkopie...
+     */
+    private final static int UNKNOWN = -1;
+    
+    /**
+     * VSET_MASK = 0x3F - max. Betrag von VSET...
+     */
+    private final static int VSET_MASK = 0x3F;
+    
+    /**
+     * BRIDGE_COAST, BRIDGE_REVERSE, BRIDGE_FORWARD, BRIDGE_BRAKE - Belegung IN2/IN1...
+     */
+    private final static int BRIDGE_COAST = 0b00;
+    private final static int BRIDGE_REVERSE = 0b01;
+    private final static int BRIDGE_FORWARD = 0b10;
+    private final static int BRIDGE_BRAKE = 0b11;
+    
+    /**
+     * driver - der eigentliche Motortreiber...
+     */
+    private final MotorDriver driver;
+    
+    /**
+     * faultMaxAgeNanos - max. Alter der Schattenkopie des FAULT-Registers...
+     */
+    private final long faultMaxAgeNanos;
+    
+    /**
+     * control - Schattenkopie des CONTROL-Registers (UNKNOWN => ungueltig)...
+     */
+    private int control = UNKNOWN;
+    
+    /**
+     * fault - Schattenkopie des FAULT-Registers (UNKNOWN => ungueltig)...
+     */
+    private int fault = UNKNOWN;
+    
+    /**
+     * faultTime - Zeitpunkt (System.nanoTime()) des letzten Lesens von FAULT...
+     */
+    private long faultTime = 0L;
+    
+    /**
+     * Zaehler der ausgefuehrten bzw. unterdrueckten Buszugriffe...
+     */
+    private final AtomicLong writesIssued = new AtomicLong();
+    private final AtomicLong writesSuppressed = new AtomicLong();
+    private final AtomicLong readsIssued = new AtomicLong();
+    private final AtomicLong readsSuppressed = new AtomicLong();
+    
+    /**
+     * Konstruktor ShadowedMotorDriver(MotorDriver driver, long faultMaxAgeNanos)
+     * @param driver der eigentliche Motortreiber
+     * @param faultMaxAgeNanos max. Alter der Schattenkopie des FAULT-Registers in ns
+     */
+    public ShadowedMotorDriver(MotorDriver driver, long faultMaxAgeNanos)
+    {
+        this.driver = driver;
+        this.faultMaxAgeNanos = faultMaxAgeNanos;
+    }
+    
+    /**
+     * controlRegister(int value) - effektiver Wert des CONTROL-Registers zum Sollwert...
+     * @param value Sollwert (-MAX_VALUE...0...+MAX_VALUE)
+     * @return Registerwert VSET|IN2|IN1
+     */
+    static int controlRegister(int value)
+    {
+        if (value == 0)
+        {
+            return BRIDGE_COAST;
+        }
+        final int vset = Math.min(Math.abs(value), VSET_MASK);
+        return (vset << 2) | ((value > 0)? BRIDGE_FORWARD : BRIDGE_REVERSE);
+    }
+    
+    @Override
+    public synchronized int getFault() throws IOException
+    {
+        final long now = System.nanoTime();
+        if ((this.fault != UNKNOWN) && (now - this.faultTime < this.faultMaxAgeNanos))
+        {
+            this.readsSuppressed.incrementAndGet();
+            return this.fault;
+        }
+        this.readsIssued.incrementAndGet();
+        this.fault = UNKNOWN;
+        final int fault = this.driver.getFault();
+        this.fault = fault;
+        this.faultTime = now;
+        if (fault != 0)
+        {
+            // Fehler: CONTROL im Baustein entspricht nicht mehr der Schattenkopie...
+            this.control = UNKNOWN;
+        }
+        return fault;
+    }
+
+    @Override
+    public String getFaultReason(int fault)
+    {
+        return this.driver.getFaultReason(fault);
+    }
+
+    @Override
+    public synchronized void drive(int value) throws IOException
+    {
+        write(controlRegister(value), value, false);
+    }
+
+    @Override
+    public synchronized void brake() throws IOException
+    {
+        write(BRIDGE_BRAKE, 0, true);
+    }
+    
+    /**
+     * write(int register, int value, boolean brake) - Schreibzugriff nur bei 
+     * geaendertem Registerwert (brake() immer)...
+     * @param register effektiver Registerwert
+     * @param value Sollwert fuer drive()
+     * @param brake true => brake(), sonst drive(value)
+     * @throws IOException
+     */
+    private void write(int register, int value, boolean brake) throws IOException
+    {
+        if (!brake && (register == this.control))
+        {
+            this.writesSuppressed.incrementAndGet();
+            return;
+        }
+        this.writesIssued.incrementAndGet();
+        // Bis zum erfolgreichen Schreiben ist der Registerinhalt unbekannt...
+        this.control = UNKNOWN;
+        this.fault = UNKNOWN;
+        if (brake)
+        {
+            this.driver.brake();
+        }
+        else
+        {
+            this.driver.drive(value);
+        }
+        this.control = register;
+    }
+    
+    /**
+     * invalidate() - Verwerfen der Schattenkopien, der naechste Zugriff erfolgt
+     * in jedem Fall auf dem Bus...
+     */
+    public synchronized void invalidate()
+    {
+        this.control = UNKNOWN;
+        this.fault = UNKNOWN;
+    }
+
+    /**
+     * @return Anzahl der ausgefuehrten Schreibzugriffe (CONTROL)
+     */
+    public final long getWritesIssued()
+    {
+        return this.writesIssued.get();
+    }
+
+    /**
+     * @return Anzahl der unterdrueckten Schreibzugriffe (CONTROL)
+     */
+    public final long getWritesSuppressed()
+    {
+        return this.writesSuppressed.get();
+    }
+
+    /**
+     * @return Anzahl der ausgefuehrten Lesezugriffe (FAULT)
+     */
+    public final long getReadsIssued()
+    {
+        return this.readsIssued.get();
+    }
+
+    /**
+     * @return Anzahl der aus der Schattenkopie bedienten Lesezugriffe (FAULT)
+     */
+    public final long getReadsSuppressed()
+    {
+        return this.readsSuppressed.get();
+    }
+}
@@ -0,0 +1,307 @@
+package gui;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SimulatedEdgeSource - Software-Nachbildung von Drehgeber und NE555...
+ * <p>
+ * Ein eigener Thread erzeugt die Quadratur-Flanken A/B mit der Rate edgeRate 
+ * (Flanken pro Sekunde und Kanal, das Vorzeichen gibt die Drehrichtung vor) und 
+ * den Takt mit der Frequenz tickRate. Bei mehreren Motorkanaelen werden die 
+ * Flanken reihum auf die Kanaele verteilt (vgl. EdgeSource.pinA(), pinB()), 
+ * die Last waechst damit linear mit der Anzahl der Kanaele. Mit edgeRate = Double.POSITIVE_INFINITY
+ * werden die Flanken ohne zeitliche Vorgabe so schnell wie moeglich erzeugt,
+ * damit kann der maximale Durchsatz des Listeners gemessen werden.
+ * </p>
+ * <p>
+ * Die Flanken werden in zeitlicher Reihenfolge geliefert, liegt der Thread
+ * zurueck, werden die faelligen Flanken in einem Schub nachgeliefert.
+ * </p>
+ */
+public class SimulatedEdgeSource implements EdgeSource
+{
+    /**
+     * logger
+     */
+    private final static Logger logger = LoggerFactory.getLogger(SimulatedEdgeSource.class);
+
+    /**
+     * QUADRATURE[] - Pegel (A: Bit 1, B: Bit 0) in der Reihenfolge der 
+     * Vorwaertsdrehung, A eilt B voraus...
+     */
+    private final static int[] QUADRATURE = {0b00, 0b10, 0b11, 0b01};
+    
+    /**
+     * MAX_BURST = 4096 - max. Anzahl der Flanken je Schleifendurchlauf...
+     */
+    private final static int MAX_BURST = 4096;
+    
+    /**
+     * SPIN_NANOS = 100 us - unterhalb dieser Wartezeit wird nicht mehr geparkt...
+     */
+    private final static long SPIN_NANOS = 100_000L;
+    
+    /**
+     * edgeRate - Flanken pro Sekunde und Kanal (A und B zusammen), Vorzeichen => Drehrichtung...
+     */
+    private volatile double edgeRate;
+    
+    /**
+     * tickRate - Frequenz des nachgebildeten NE555 in Hz...
+     */
+    private volatile double tickRate;
+    
+    /**
+     * channels - Anzahl der Motorkanaele...
+     */
+    private final int channels;
+    
+    /**
+     * clockHigh - aktueller Pegel des Taktes (PIN_NE555)...
+     */
+    private volatile boolean clockHigh = false;
+    
+    /**
+     * levels - aktuelle Pegel A/B je Kanal (A: Bit 1, B: Bit 0)...
+     */
+    private final AtomicIntegerArray levels;
+    
+    /**
+     * emittedEdges - Anzahl der bisher gelieferten Flanken A/B (alle Kanaele)...
+     */
+    private volatile long emittedEdges = 0L;
+    
+    /**
+     * emittedTicks - Anzahl der bisher gelieferten Takte (steigende Flanken NE555)...
+     */
+    private volatile long emittedTicks = 0L;
+    
+    /**
+     * running - Kennung fuer den Lauf des Threads...
+     */
+    private volatile boolean running = false;
+    
+    /**
+     * thread - Referenz auf den erzeugenden Thread...
+     */
+    private Thread thread = null;
+    
+    /**
+     * Konstruktor SimulatedEdgeSource(double edgeRate, double tickRate) - ein Motorkanal...
+     * @param edgeRate Flanken pro Sekunde, Vorzeichen => Drehrichtung
+     * @param tickRate Frequenz des Taktes in Hz
+     */
+    public SimulatedEdgeSource(double edgeRate, double tickRate)
+    {
+        this(edgeRate, tickRate, 1);
+    }
+    
+    /**
+     * Konstruktor SimulatedEdgeSource(double edgeRate, double tickRate, int channels)
+     * @param edgeRate Flanken pro Sekunde und Kanal, Vorzeichen => Drehrichtung
+     * @param tickRate Frequenz des Taktes in Hz
+     * @param channels Anzahl der Motorkanaele
+     */
+    public SimulatedEdgeSource(double edgeRate, double tickRate, int channels)
+    {
+        this.edgeRate = edgeRate;
+        this.tickRate = tickRate;
+        this.channels = channels;
+        this.levels = new AtomicIntegerArray(channels);
+    }
+    
+    @Override
+    public void start(EdgeListener listener)
+    {
+        this.running = true;
+        this.thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                generate(listener);
+            }
+        }, "SimulatedEdgeSource");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        logger.debug("SimulatedEdgeSource gestartet: edgeRate=" + this.edgeRate + ", tickRate=" + this.tickRate);
+    }
+
+    /**
+     * generate(EdgeListener listener) - Schleife des erzeugenden Threads...
+     * @param listener
+     */
+    private void generate(EdgeListener listener)
+    {
+        final long[] positions = new long[this.channels];
+        int channel = 0;
+        long edges = 0L;
+        long ticks = 0L;
+        boolean clock = this.clockHigh;
+        double nextEdge = System.nanoTime();
+        double nextTick = nextEdge;
+        
+        while (this.running)
+        {
+            final double rate = this.edgeRate;
+            final double tick = this.tickRate;
+            final boolean unlimited = Double.isInfinite(rate);
+            // Die Flanken aller Kanaele reihum, je Kanal mit der Rate edgeRate...
+            final double edgePeriod = (rate != 0.0 && !unlimited)? 1.0E9/(Math.abs(rate) * this.channels) : Double.POSITIVE_INFINITY;
+            // Je Takt zwei Flanken (steigend und fallend)...
+            final double tickPeriod = (tick > 0.0)? 0.5E9/tick : Double.POSITIVE_INFINITY;
+            final int direction = (rate < 0.0)? -1 : +1;
+            
+            final long now = System.nanoTime();
+            if (unlimited)
+            {
+                nextEdge = now;
+            }
+            if (edgePeriod == Double.POSITIVE_INFINITY && !unlimited)
+            {
+                nextEdge = Double.POSITIVE_INFINITY;
+            }
+            else if (nextEdge == Double.POSITIVE_INFINITY)
+            {
+                nextEdge = now;
+            }
+            if (tickPeriod == Double.POSITIVE_INFINITY)
+            {
+                nextTick = Double.POSITIVE_INFINITY;
+            }
+            else if (nextTick == Double.POSITIVE_INFINITY)
+            {
+                nextTick = now;
+            }
+            
+            int burst = 0;
+            while (burst < MAX_BURST)
+            {
+                final boolean edgeDue = unlimited || (nextEdge <= now);
+                final boolean tickDue = (nextTick <= now);
+                if (!edgeDue && !tickDue)
+                {
+                    break;
+                }
+                burst++;
+                if (tickDue && (!edgeDue || nextTick <= nextEdge))
+                {
+                    ///////////////////////////////////////////////////////////////
+                    // Takt (NE555)...
+                    clock = !clock;
+                    this.clockHigh = clock;
+                    listener.onEdge(PIN_NE555, clock, (long) nextTick);
+                    if (clock)
+                    {
+                        ticks++;
+                    }
+                    nextTick += tickPeriod;
+                    continue;
+                }
+                ///////////////////////////////////////////////////////////////////
+                // Quadratur-Flanke A oder B des naechsten Kanals...
+                final int previous = QUADRATURE[(int)(positions[channel] & 0x03L)];
+                positions[channel] += direction;
+                final int quadrature = QUADRATURE[(int)(positions[channel] & 0x03L)];
+                final boolean a = ((quadrature & 0b10) != 0);
+                final boolean b = ((quadrature & 0b01) != 0);
+                final boolean edgeA = ((quadrature ^ previous) & 0b10) != 0;
+                this.levels.lazySet(channel, quadrature);
+                // Zeitstempel: der geplante Zeitpunkt der Flanke (ohne Drosselung: now)...
+                listener.onEdge(edgeA? EdgeSource.pinA(channel) : EdgeSource.pinB(channel), edgeA? a : b, unlimited? now : (long) nextEdge);
+                channel = (channel + 1 == this.channels)? 0 : channel + 1;
+                edges++;
+                nextEdge += edgePeriod;
+            }
+            this.emittedEdges = edges;
+            this.emittedTicks = ticks;
+            
+            if (burst == 0)
+            {
+                // Nichts faellig, bis zur naechsten Flanke warten...
+                final long wait = (long)(Math.min(nextEdge, nextTick) - System.nanoTime());
+                if (wait > SPIN_NANOS)
+                {
+                    LockSupport.parkNanos(wait - SPIN_NANOS/2);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public boolean isHigh(int pin)
+    {
+        if (pin == PIN_NE555)
+        {
+            return this.clockHigh;
+        }
+        final int channel = EdgeSource.channelOf(pin);
+        if (channel >= this.channels)
+        {
+            return false;
+        }
+        final int quadrature = this.levels.get(channel);
+        return (pin == EdgeSource.pinA(channel))? ((quadrature & 0b10) != 0) : ((quadrature & 0b01) != 0);
+    }
+
+    @Override
+    public void shutdown()
+    {
+        this.running = false;
+        if (this.thread != null)
+        {
+            try
+            {
+                this.thread.join(1000L);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @param edgeRate Flanken pro Sekunde, Vorzeichen => Drehrichtung
+     */
+    public final void setEdgeRate(double edgeRate)
+    {
+        this.edgeRate = edgeRate;
+    }
+
+    /**
+     * @param tickRate Frequenz des Taktes in Hz
+     */
+    public final void setTickRate(double tickRate)
+    {
+        this.tickRate = tickRate;
+    }
+
+    /**
+     * @return Anzahl der Motorkanaele
+     */
+    public final int getChannels()
+    {
+        return this.channels;
+    }
+
+    /**
+     * @return Anzahl der bisher gelieferten Flanken A/B (alle Kanaele)
+     */
+    public final long getEmittedEdges()
+    {
+        return this.emittedEdges;
+    }
+
+    /**
+     * @return Anzahl der bisher gelieferten Takte
+     */
+    public final long getEmittedTicks()
+    {
+        return this.emittedTicks;
+    }
+}
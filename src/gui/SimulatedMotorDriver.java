@@ -0,0 +1,79 @@
+package gui;
+
+import java.io.IOException;
+
+/**
+ * SimulatedMotorDriver - Software-Nachbildung des Motortreibers...
+ * <p>
+ * Die Sollwertvorgaben werden nur abgelegt, ein Fehler kann ueber
+ * setFault(int) vorgegeben werden. Damit ist der Betrieb des Model 
+ * ohne I2C-Bus moeglich.
+ * </p>
+ */
+public class SimulatedMotorDriver implements MotorDriver
+{
+    /**
+     * value - zuletzt vorgegebener Sollwert...
+     */
+    private volatile int value = 0;
+    
+    /**
+     * fault - vorgegebene Fehlerkennung (0 => fehlerfrei)...
+     */
+    private volatile int fault = 0;
+    
+    /**
+     * braked - Kennung, zuletzt wurde brake() beauftragt...
+     */
+    private volatile boolean braked = false;
+    
+    @Override
+    public int getFault() throws IOException
+    {
+        return this.fault;
+    }
+
+    @Override
+    public String getFaultReason(int fault)
+    {
+        return "Simulierter Fehler: " + fault;
+    }
+
+    @Override
+    public void drive(int value) throws IOException
+    {
+        this.value = value;
+        this.braked = false;
+    }
+
+    @Override
+    public void brake() throws IOException
+    {
+        this.value = 0;
+        this.braked = true;
+    }
+
+    /**
+     * @return der zuletzt vorgegebene Sollwert
+     */
+    public final int getValue()
+    {
+        return this.value;
+    }
+
+    /**
+     * @return true, wenn zuletzt brake() beauftragt wurde
+     */
+    public final boolean isBraked()
+    {
+        return this.braked;
+    }
+
+    /**
+     * @param fault die zu liefernde Fehlerkennung (0 => fehlerfrei)
+     */
+    public final void setFault(int fault)
+    {
+        this.fault = fault;
+    }
+}
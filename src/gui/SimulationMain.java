@@ -0,0 +1,120 @@
+package gui;
+
+/**
+ * SimulationMain - Lastmessung des Model mit der Software-Nachbildung 
+ * von Drehgeber, NE555 und DRV8830 (ohne Raspi und ohne GUI)...
+ * <p>
+ * Aufruf mit Eintraegen key=value, z.B.:<br>
+ * <code>
+ * java gui.SimulationMain simEdgeRate=max simTickRate=1000 duration=10 channels=4
+ * </code>
+ * </p>
+ * <p>
+ * Ausgegeben wird je Sekunde die Anzahl der erzeugten und der im Model 
+ * verarbeiteten Flanken, am Ende die Anzahl der Buszugriffe. Mit channels 
+ * (vgl. Model.CHANNELS_KEY) wird die Last auf mehrere Motorkanaele verteilt, 
+ * die Rechenzeit der Taktung je Kanal zeigt die Skalierung.
+ * </p>
+ */
+public class SimulationMain
+{
+    /**
+     * DURATION_KEY = "duration" - Dauer der Messung in Sekunden...
+     */
+    public final static String DURATION_KEY = "duration";
+    
+    /** main()-Funktionalitaet... */
+    public static void main(String[] args) throws InterruptedException
+    {
+        final java.util.Properties properties = new java.util.Properties();
+        properties.setProperty(Model.BACKEND_KEY, Model.BACKEND_SIMULATION);
+        properties.setProperty(Model.SIM_EDGE_RATE_KEY, "max");
+        properties.setProperty(Model.SIM_TICK_RATE_KEY, "10");
+        properties.setProperty(DURATION_KEY, "10");
+        for (String arg: args)
+        {
+            final int index = arg.indexOf('=');
+            if (index > 0)
+            {
+                properties.setProperty(arg.substring(0, index).trim(), arg.substring(index+1).trim());
+            }
+        }
+        final int duration = Integer.parseInt(properties.getProperty(DURATION_KEY));
+        
+        final int channels = Model.getChannelCount(properties);
+        
+        final SimulatedEdgeSource edgeSource = new SimulatedEdgeSource(
+            "max".equals(properties.getProperty(Model.SIM_EDGE_RATE_KEY))? Double.POSITIVE_INFINITY : Double.parseDouble(properties.getProperty(Model.SIM_EDGE_RATE_KEY)),
+            Double.parseDouble(properties.getProperty(Model.SIM_TICK_RATE_KEY)), channels);
+        final MotorDriver[] motorDrivers = new MotorDriver[channels];
+        for (int channel = 0; channel < channels; channel++)
+        {
+            motorDrivers[channel] = new SimulatedMotorDriver();
+        }
+        final Model model = new Model(edgeSource, motorDrivers, properties);
+        
+        long lastEmitted = 0L;
+        long lastHandled = 0L;
+        long lastTime = System.nanoTime();
+        for (int second = 1; second <= duration; second++)
+        {
+            Thread.sleep(1000L);
+            final long now = System.nanoTime();
+            final long emitted = edgeSource.getEmittedEdges();
+            final long handled = model.getEdgeCount();
+            final double seconds = (now - lastTime)/1.0E9;
+            System.out.println(String.format("%3d s: erzeugt %,12.0f Flanken/s, gezaehlt %,12.0f Flanken/s", 
+                                             second, (emitted - lastEmitted)/seconds, (handled - lastHandled)/seconds));
+            lastEmitted = emitted;
+            lastHandled = handled;
+            lastTime = now;
+        }
+        System.out.println(String.format("Drehgeber: %d Zaehlschritte/Umdrehung, %d unzulaessige Uebergaenge", 
+                                         model.getPulsNumber(), model.getIllegalTransitions()));
+        final EdgeRing edgeRing = model.getEdgeRing();
+        final EdgeProcessor edgeProcessor = model.getEdgeProcessor();
+        System.out.println(String.format("EdgeRing: Groesse %d, max. Fuellstand %d, %d verworfen; Stapel: %d, mittel %.1f, max. %d", 
+                                         edgeRing.getCapacity(), edgeRing.getMaxOccupancy(), edgeRing.getOverflows(),
+                                         edgeProcessor.getBatches(), edgeProcessor.getAverageBatch(), edgeProcessor.getMaxBatch()));
+        final JitterStats tickPeriods = model.getTickPeriods();
+        System.out.println(String.format("Taktung (%s): %d Takte, Taktzeit mittel %.1f us, min. %.1f us, max. %.1f us, Jitter %.2f us", 
+                                         (model.getSoftwareClock() != null)? Model.CLOCK_SOFTWARE : Model.CLOCK_NE555,
+                                         tickPeriods.getCount(), tickPeriods.getMean()/1000.0, tickPeriods.getMin()/1000.0, 
+                                         tickPeriods.getMax()/1000.0, tickPeriods.getStandardDeviation()/1000.0));
+        final SoftwareClock softwareClock = model.getSoftwareClock();
+        if (softwareClock != null)
+        {
+            final JitterStats lateness = softwareClock.getLateness();
+            System.out.println(String.format("SoftwareClock: Verspaetung mittel %.1f us, max. %.1f us, Jitter %.2f us, %d Deadlines ausgelassen", 
+                                             lateness.getMean()/1000.0, lateness.getMax()/1000.0, 
+                                             lateness.getStandardDeviation()/1000.0, softwareClock.getMissed()));
+        }
+        for (LatencyHistogram histogram: model.getLatencyHistograms())
+        {
+            System.out.println(histogram.snapshot());
+        }
+        final LatencyHistogram.Snapshot tickDurations = model.getTickDurations().snapshot();
+        System.out.println(String.format("Kanaele: %d, Rechenzeit der Taktung mittel %.2f us, je Kanal %.2f us", 
+                                         channels, tickDurations.getMean()/1000.0, tickDurations.getMean()/1000.0/channels));
+        for (int channel = 0; channel < channels; channel++)
+        {
+            final ShadowedMotorDriver motorDriver = model.getMotorDriver(channel);
+            System.out.println(String.format("Kanal %d: %d Flanken; I2C: %d Schreibzugriffe, %d unterdrueckt; %d Lesezugriffe, %d aus der Schattenkopie", 
+                                             channel, model.getChannel(channel).getEdgeCount(),
+                                             motorDriver.getWritesIssued(), motorDriver.getWritesSuppressed(),
+                                             motorDriver.getReadsIssued(), motorDriver.getReadsSuppressed()));
+        }
+        final I2cScheduler i2cScheduler = model.getI2cScheduler();
+        System.out.println(String.format("I2cScheduler: %d Kommandos, Latenz mittel %d us, max. %d us, max. Warteschlange %d", 
+                                         i2cScheduler.getTransactions(), i2cScheduler.getAverageLatency()/1000L, 
+                                         i2cScheduler.getMaxLatency()/1000L, i2cScheduler.getMaxQueueDepth()));
+        model.shutdown();
+        final TelemetryRecorder recorder = model.getRecorder();
+        if (recorder != null)
+        {
+            System.out.println(String.format("TelemetryRecorder: %d Datensaetze, %d verworfen, %d Segmente, force() max. %d ms", 
+                                             recorder.getWritten(), recorder.getDropped(), recorder.getSegments(),
+                                             recorder.getMaxForceNanos()/1_000_000L));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package gui;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SoftwareClock - interne Taktung als Alternative zum NE555 (vgl. Model.CLOCK_SOURCE_KEY)...
+ * <p>
+ * Ein eigener Thread weckt zu festen Zeitpunkten (Deadlines) im Abstand
+ * period, bezogen auf System.nanoTime() und damit ohne Aufsummieren von
+ * Verspaetungen. Bis spinNanos vor der Deadline wird geparkt, den Rest
+ * wird aktiv gewartet (geringer Jitter auf Kosten von Rechenzeit).
+ * </p>
+ * <p>
+ * Zur Deadline wird ein Ereignis mit dem tatsaechlichen Zeitpunkt in den
+ * tickRing gelegt, die Taktung selbst erfolgt wie beim NE555 im Thread des
+ * EdgeProcessor. Erfasst werden die Verspaetung des Weckens (getLateness())
+ * und die ausgelassenen Deadlines (Verspaetung groesser period).
+ * </p>
+ */
+final class SoftwareClock
+{
+    /**
+     * period - Abstand der Taktungen in ns...
+     */
+    private final long period;
+    
+    /**
+     * spinNanos - aktives Warten vor der Deadline in ns...
+     */
+    private final long spinNanos;
+    
+    /**
+     * tickRing - Ablage der Taktungen (dieser Thread ist der einzige Erzeuger)...
+     */
+    private final EdgeRing tickRing;
+    
+    /**
+     * thread - der taktende Thread...
+     */
+    private final Thread thread;
+    
+    /**
+     * running - false => Thread beenden...
+     */
+    private volatile boolean running = true;
+    
+    /**
+     * lateness - Verspaetung des Weckens gegenueber der Deadline...
+     */
+    private final JitterStats lateness = new JitterStats();
+    
+    /**
+     * missed - Anzahl der ausgelassenen Deadlines...
+     */
+    private volatile long missed = 0L;
+    
+    /**
+     * Konstruktor SoftwareClock(long period, long spinNanos, EdgeRing tickRing)
+     * @param period Abstand der Taktungen in ns
+     * @param spinNanos aktives Warten vor der Deadline in ns
+     * @param tickRing Ablage der Taktungen
+     */
+    SoftwareClock(long period, long spinNanos, EdgeRing tickRing)
+    {
+        if (period <= 0L)
+        {
+            throw new IllegalArgumentException("period: " + period);
+        }
+        this.period = period;
+        this.spinNanos = Math.max(0L, spinNanos);
+        this.tickRing = tickRing;
+        this.thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                clock();
+            }
+        }, "SoftwareClock");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MAX_PRIORITY);
+    }
+    
+    /**
+     * start() - Start des taktenden Threads...
+     */
+    void start()
+    {
+        this.thread.start();
+    }
+    
+    /**
+     * clock() - Schleife des taktenden Threads...
+     */
+    private void clock()
+    {
+        long deadline = System.nanoTime() + this.period;
+        while (this.running)
+        {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > this.spinNanos)
+            {
+                LockSupport.parkNanos(remaining - this.spinNanos);
+            }
+            long now;
+            while ((now = System.nanoTime()) - deadline < 0L)
+            {
+                // aktives Warten bis zur Deadline...
+            }
+            this.tickRing.offer(EdgeSource.PIN_NE555, true, now);
+            this.lateness.record(now - deadline);
+            deadline += this.period;
+            if (now - deadline >= 0L)
+            {
+                // Deadlines ausgelassen: Phase beibehalten, naechste Deadline in der Zukunft...
+                final long skipped = (now - deadline) / this.period + 1L;
+                this.missed = this.missed + skipped;
+                deadline += skipped * this.period;
+            }
+        }
+    }
+    
+    /**
+     * getPeriod() - Abstand der Taktungen...
+     * @return period in ns
+     */
+    long getPeriod()
+    {
+        return this.period;
+    }
+    
+    /**
+     * getLateness() - Statistik der Verspaetung des Weckens...
+     * @return JitterStats
+     */
+    JitterStats getLateness()
+    {
+        return this.lateness;
+    }
+    
+    /**
+     * getMissed() - Anzahl der ausgelassenen Deadlines...
+     * @return missed
+     */
+    long getMissed()
+    {
+        return this.missed;
+    }
+    
+    /**
+     * shutdown() - Beenden des taktenden Threads...
+     */
+    void shutdown()
+    {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        try
+        {
+            this.thread.join(1000L);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
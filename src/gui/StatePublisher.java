@@ -0,0 +1,70 @@
+package gui;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * StatePublisher - Veroeffentlichung eines StateSnapshot ueber ein Sequence-Lock...
+ * <p>
+ * Es gibt genau einen Schreiber (die Taktung). Waehrend des Schreibens ist 
+ * die Sequenznummer ungerade. Ein Leser wiederholt das Lesen, bis er vor und 
+ * nach dem Kopieren dieselbe gerade Sequenznummer sieht. Beliebig viele Leser
+ * erhalten so einen konsistenten Zustand, ohne den Schreiber zu blockieren 
+ * und ohne Allokation.
+ * </p>
+ */
+final class StatePublisher
+{
+    /**
+     * sequence - Sequenznummer, ungerade => Schreibvorgang...
+     */
+    private final AtomicLong sequence = new AtomicLong();
+    
+    /**
+     * slots - Ablage der Werte...
+     */
+    private final AtomicLongArray slots = new AtomicLongArray(StateSnapshot.SLOTS);
+    
+    /**
+     * publish(StateSnapshot state) - Veroeffentlichen, nur durch den einen Schreiber...
+     * @param state
+     */
+    void publish(StateSnapshot state)
+    {
+        final long sequence = this.sequence.get();
+        this.sequence.lazySet(sequence + 1L);
+        state.writeTo(this.slots);
+        this.sequence.lazySet(sequence + 2L);
+    }
+    
+    /**
+     * read(StateSnapshot target) - konsistentes Lesen in target...
+     * @param target
+     * @return Version des gelesenen Zustandes (Anzahl der Veroeffentlichungen)
+     */
+    long read(StateSnapshot target)
+    {
+        while (true)
+        {
+            final long before = this.sequence.get();
+            if ((before & 1L) != 0L)
+            {
+                continue;
+            }
+            target.readFrom(this.slots);
+            if (this.sequence.get() == before)
+            {
+                return before >>> 1;
+            }
+        }
+    }
+    
+    /**
+     * getVersion() - Anzahl der abgeschlossenen Veroeffentlichungen...
+     * @return Version
+     */
+    long getVersion()
+    {
+        return this.sequence.get() >>> 1;
+    }
+}
@@ -0,0 +1,626 @@
+package gui;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * StateSnapshot - primitiver, wiederverwendbarer Zustand der Taktung...
+ * <p>
+ * Die Werte sind skalierte long-Werte (vgl. Model.SCALE_RPM, Model.SCALE_CYCLE_TIME, 
+ * Model.SCALE_LAP_TIME). Ein StateSnapshot wird einmal angelegt und dann ueber 
+ * Model.readState(StateSnapshot) immer wieder befuellt, das Lesen erfolgt damit 
+ * ohne Sperre und ohne Allokation. Bei Bedarf liefert toData() die Darstellung 
+ * als Data.
+ * </p>
+ */
+public class StateSnapshot
+{
+    /**
+     * SLOT_... - Ablageplaetze im StatePublisher...
+     */
+    final static int SLOT_COUNTER = 0;
+    final static int SLOT_PHI = 1;
+    final static int SLOT_ROTATION = 2;
+    final static int SLOT_LAP_TIME = 3;
+    final static int SLOT_RPM = 4;
+    final static int SLOT_CYCLE_TIME = 5;
+    final static int SLOT_SET_POINT = 6;
+    final static int SLOT_ERROR = 7;
+    final static int SLOT_INTEGRAL = 8;
+    final static int SLOT_OUTPUT = 9;
+    final static int SLOT_RPM_MEAN = 10;
+    final static int SLOT_RIPPLE = 11;
+    final static int SLOT_STANDSTILL = 12;
+    final static int SLOT_PROFILE_VALUE = 13;
+    final static int SLOT_PROFILE_RATE = 14;
+    final static int SLOT_PROFILE_PHASE = 15;
+    final static int SLOT_TARGET_PHI = 16;
+    final static int SLOT_OVERSHOOT = 17;
+    final static int SLOT_BRAKE_LATENCY = 18;
+    final static int SLOT_RIPPLE_ORDER = 19;
+    final static int SLOT_RIPPLE_AMPLITUDE = 20;
+    final static int SLOT_RIPPLE_FREQUENCY = 21;
+    
+    /**
+     * SLOTS - Anzahl der Ablageplaetze...
+     */
+    final static int SLOTS = 22;
+    
+    /**
+     * counter - Zaehler fuer die aktuelle Taktung k...
+     */
+    long counter;
+    
+    /**
+     * phi - Lageinformation in Impulsen...
+     */
+    long phi;
+    
+    /**
+     * rotation - Lage in Umdrehungen, skaliert mit Model.SCALE_RPM...
+     */
+    long rotation;
+    
+    /**
+     * lapTime - Dauer einer Umdrehung in s, skaliert mit Model.SCALE_LAP_TIME...
+     */
+    long lapTime;
+    
+    /**
+     * rpm - Drehzahl in 1/min, skaliert mit Model.SCALE_RPM...
+     */
+    long rpm;
+    
+    /**
+     * cycleTime - Taktzeit in s, skaliert mit Model.SCALE_CYCLE_TIME...
+     */
+    long cycleTime;
+    
+    /**
+     * setPoint - Sollwert des DRV8830 (-MAX_VALUE...0...+MAX_VALUE)...
+     */
+    long setPoint;
+    
+    /**
+     * error - Regelabweichung des PidController in 1/min, skaliert mit Model.SCALE_RPM...
+     */
+    long error;
+    
+    /**
+     * integral - Integralanteil des PidController, skaliert mit Model.SCALE_CONTROL...
+     */
+    long integral;
+    
+    /**
+     * output - Stellwert an den DRV8830 (-MAX_VALUE...0...+MAX_VALUE)...
+     */
+    long output;
+    
+    /**
+     * rpmMean - mittlere Drehzahl im gleitenden Fenster in 1/min, skaliert mit Model.SCALE_RPM...
+     */
+    long rpmMean;
+    
+    /**
+     * ripple - Welligkeit der Drehzahl (Standardabweichung im gleitenden Fenster) 
+     * in 1/min, skaliert mit Model.SCALE_RPM...
+     */
+    long ripple;
+    
+    /**
+     * standstill - 1 => Stillstand (kein Zuwachs im gleitenden Fenster), sonst 0...
+     */
+    long standstill;
+    
+    /**
+     * profileValue - Wert der Rampe des Sollwertes (SetPointProfile), skaliert mit Model.SCALE_CONTROL...
+     */
+    long profileValue;
+    
+    /**
+     * profileRate - Steigung der Rampe in Stufen pro s, skaliert mit Model.SCALE_CONTROL...
+     */
+    long profileRate;
+    
+    /**
+     * profilePhase - Abschnitt der Rampe (SetPointProfile.PHASE_...)...
+     */
+    long profilePhase;
+    
+    /**
+     * targetPhi - Ziellage der Lageregelung in Impulsen (laufende bzw. letzte Fahrt)...
+     */
+    long targetPhi;
+    
+    /**
+     * overshoot - Ueberlauf der letzten Fahrt ueber die Ziellage in Impulsen...
+     */
+    long overshoot;
+    
+    /**
+     * brakeLatency - Reaktionszeit von der Flanke am Ziel bis zum ausgefuehrten 
+     * brake() in us, skaliert mit Model.SCALE_LATENCY...
+     */
+    long brakeLatency;
+    
+    /**
+     * rippleOrder - dominante Ordnung der Welligkeit (RippleAnalyzer), 0 => keine...
+     */
+    long rippleOrder;
+    
+    /**
+     * rippleAmplitude - Amplitude der dominanten Ordnung in % der Drehzahl,
+     * skaliert mit Model.SCALE_CONTROL...
+     */
+    long rippleAmplitude;
+    
+    /**
+     * rippleFrequency - Frequenz der dominanten Ordnung in Hz, skaliert mit Model.SCALE_RPM...
+     */
+    long rippleFrequency;
+    
+    /**
+     * writeTo(AtomicLongArray slots) - Ablage (nur durch den StatePublisher)...
+     * @param slots
+     */
+    void writeTo(AtomicLongArray slots)
+    {
+        slots.lazySet(SLOT_COUNTER, this.counter);
+        slots.lazySet(SLOT_PHI, this.phi);
+        slots.lazySet(SLOT_ROTATION, this.rotation);
+        slots.lazySet(SLOT_LAP_TIME, this.lapTime);
+        slots.lazySet(SLOT_RPM, this.rpm);
+        slots.lazySet(SLOT_CYCLE_TIME, this.cycleTime);
+        slots.lazySet(SLOT_SET_POINT, this.setPoint);
+        slots.lazySet(SLOT_ERROR, this.error);
+        slots.lazySet(SLOT_INTEGRAL, this.integral);
+        slots.lazySet(SLOT_OUTPUT, this.output);
+        slots.lazySet(SLOT_RPM_MEAN, this.rpmMean);
+        slots.lazySet(SLOT_RIPPLE, this.ripple);
+        slots.lazySet(SLOT_STANDSTILL, this.standstill);
+        slots.lazySet(SLOT_PROFILE_VALUE, this.profileValue);
+        slots.lazySet(SLOT_PROFILE_RATE, this.profileRate);
+        slots.lazySet(SLOT_PROFILE_PHASE, this.profilePhase);
+        slots.lazySet(SLOT_TARGET_PHI, this.targetPhi);
+        slots.lazySet(SLOT_OVERSHOOT, this.overshoot);
+        slots.lazySet(SLOT_BRAKE_LATENCY, this.brakeLatency);
+        slots.lazySet(SLOT_RIPPLE_ORDER, this.rippleOrder);
+        slots.lazySet(SLOT_RIPPLE_AMPLITUDE, this.rippleAmplitude);
+        slots.lazySet(SLOT_RIPPLE_FREQUENCY, this.rippleFrequency);
+    }
+    
+    /**
+     * readFrom(AtomicLongArray slots) - Uebernahme (nur durch den StatePublisher)...
+     * @param slots
+     */
+    void readFrom(AtomicLongArray slots)
+    {
+        this.counter = slots.get(SLOT_COUNTER);
+        this.phi = slots.get(SLOT_PHI);
+        this.rotation = slots.get(SLOT_ROTATION);
+        this.lapTime = slots.get(SLOT_LAP_TIME);
+        this.rpm = slots.get(SLOT_RPM);
+        this.cycleTime = slots.get(SLOT_CYCLE_TIME);
+        this.setPoint = slots.get(SLOT_SET_POINT);
+        this.error = slots.get(SLOT_ERROR);
+        this.integral = slots.get(SLOT_INTEGRAL);
+        this.output = slots.get(SLOT_OUTPUT);
+        this.rpmMean = slots.get(SLOT_RPM_MEAN);
+        this.ripple = slots.get(SLOT_RIPPLE);
+        this.standstill = slots.get(SLOT_STANDSTILL);
+        this.profileValue = slots.get(SLOT_PROFILE_VALUE);
+        this.profileRate = slots.get(SLOT_PROFILE_RATE);
+        this.profilePhase = slots.get(SLOT_PROFILE_PHASE);
+        this.targetPhi = slots.get(SLOT_TARGET_PHI);
+        this.overshoot = slots.get(SLOT_OVERSHOOT);
+        this.brakeLatency = slots.get(SLOT_BRAKE_LATENCY);
+        this.rippleOrder = slots.get(SLOT_RIPPLE_ORDER);
+        this.rippleAmplitude = slots.get(SLOT_RIPPLE_AMPLITUDE);
+        this.rippleFrequency = slots.get(SLOT_RIPPLE_FREQUENCY);
+    }
+    
+    /**
+     * slotOf(String key) - Ablageplatz zum Key aus Data (z.B. Data.RPM_KEY)...
+     * <p>
+     * Zur einmaligen Zuordnung, z.B. beim Aufbau der View.
+     * </p>
+     * @param key
+     * @return Ablageplatz oder -1
+     */
+    public static int slotOf(String key)
+    {
+        if (Data.COUNTER_KEY.equals(key))
+        {
+            return SLOT_COUNTER;
+        }
+        if (Data.PHI_KEY.equals(key))
+        {
+            return SLOT_PHI;
+        }
+        if (Data.ROTATION_KEY.equals(key))
+        {
+            return SLOT_ROTATION;
+        }
+        if (Data.LAP_TIME_KEY.equals(key))
+        {
+            return SLOT_LAP_TIME;
+        }
+        if (Data.RPM_KEY.equals(key))
+        {
+            return SLOT_RPM;
+        }
+        if (Data.CYCLE_TIME_KEY.equals(key))
+        {
+            return SLOT_CYCLE_TIME;
+        }
+        if (Data.ERROR_KEY.equals(key))
+        {
+            return SLOT_ERROR;
+        }
+        if (Data.INTEGRAL_KEY.equals(key))
+        {
+            return SLOT_INTEGRAL;
+        }
+        if (Data.OUTPUT_KEY.equals(key))
+        {
+            return SLOT_OUTPUT;
+        }
+        if (Data.RPM_MEAN_KEY.equals(key))
+        {
+            return SLOT_RPM_MEAN;
+        }
+        if (Data.RIPPLE_KEY.equals(key))
+        {
+            return SLOT_RIPPLE;
+        }
+        if (Data.STANDSTILL_KEY.equals(key))
+        {
+            return SLOT_STANDSTILL;
+        }
+        if (Data.PROFILE_VALUE_KEY.equals(key))
+        {
+            return SLOT_PROFILE_VALUE;
+        }
+        if (Data.PROFILE_RATE_KEY.equals(key))
+        {
+            return SLOT_PROFILE_RATE;
+        }
+        if (Data.PROFILE_PHASE_KEY.equals(key))
+        {
+            return SLOT_PROFILE_PHASE;
+        }
+        if (Data.TARGET_PHI_KEY.equals(key))
+        {
+            return SLOT_TARGET_PHI;
+        }
+        if (Data.OVERSHOOT_KEY.equals(key))
+        {
+            return SLOT_OVERSHOOT;
+        }
+        if (Data.BRAKE_LATENCY_KEY.equals(key))
+        {
+            return SLOT_BRAKE_LATENCY;
+        }
+        if (Data.RIPPLE_ORDER_KEY.equals(key))
+        {
+            return SLOT_RIPPLE_ORDER;
+        }
+        if (Data.RIPPLE_AMPLITUDE_KEY.equals(key))
+        {
+            return SLOT_RIPPLE_AMPLITUDE;
+        }
+        if (Data.RIPPLE_FREQUENCY_KEY.equals(key))
+        {
+            return SLOT_RIPPLE_FREQUENCY;
+        }
+        return -1;
+    }
+    
+    /**
+     * get(int slot) - Wert zum Ablageplatz...
+     * @param slot vgl. slotOf(String)
+     * @return skalierter Wert
+     */
+    public long get(int slot)
+    {
+        switch (slot)
+        {
+            case SLOT_COUNTER:
+                return this.counter;
+            case SLOT_PHI:
+                return this.phi;
+            case SLOT_ROTATION:
+                return this.rotation;
+            case SLOT_LAP_TIME:
+                return this.lapTime;
+            case SLOT_RPM:
+                return this.rpm;
+            case SLOT_CYCLE_TIME:
+                return this.cycleTime;
+            case SLOT_SET_POINT:
+                return this.setPoint;
+            case SLOT_ERROR:
+                return this.error;
+            case SLOT_INTEGRAL:
+                return this.integral;
+            case SLOT_OUTPUT:
+                return this.output;
+            case SLOT_RPM_MEAN:
+                return this.rpmMean;
+            case SLOT_RIPPLE:
+                return this.ripple;
+            case SLOT_STANDSTILL:
+                return this.standstill;
+            case SLOT_PROFILE_VALUE:
+                return this.profileValue;
+            case SLOT_PROFILE_RATE:
+                return this.profileRate;
+            case SLOT_PROFILE_PHASE:
+                return this.profilePhase;
+            case SLOT_TARGET_PHI:
+                return this.targetPhi;
+            case SLOT_OVERSHOOT:
+                return this.overshoot;
+            case SLOT_BRAKE_LATENCY:
+                return this.brakeLatency;
+            case SLOT_RIPPLE_ORDER:
+                return this.rippleOrder;
+            case SLOT_RIPPLE_AMPLITUDE:
+                return this.rippleAmplitude;
+            case SLOT_RIPPLE_FREQUENCY:
+                return this.rippleFrequency;
+            default:
+                return 0L;
+        }
+    }
+    
+    /**
+     * format(int slot, long value) - Anzeigetext zum Wert, identisch zu 
+     * Data.getValue(key)...
+     * @param slot vgl. slotOf(String)
+     * @param value skalierter Wert
+     * @return Anzeigetext
+     */
+    public static String format(int slot, long value)
+    {
+        switch (slot)
+        {
+            case SLOT_ROTATION:
+                return BigDecimal.valueOf(value, Model.SCALE_RPM).toString();
+            case SLOT_LAP_TIME:
+                return FixedPoint.toDecimal(value, Model.SCALE_LAP_TIME).toString();
+            case SLOT_RPM:
+                return FixedPoint.toDecimal(value, Model.SCALE_RPM).toString();
+            case SLOT_CYCLE_TIME:
+                return FixedPoint.toDecimal(value, Model.SCALE_CYCLE_TIME).toString();
+            case SLOT_ERROR:
+                return FixedPoint.toDecimal(value, Model.SCALE_RPM).toString();
+            case SLOT_INTEGRAL:
+                return FixedPoint.toDecimal(value, Model.SCALE_CONTROL).toString();
+            case SLOT_RPM_MEAN:
+            case SLOT_RIPPLE:
+                return FixedPoint.toDecimal(value, Model.SCALE_RPM).toString();
+            case SLOT_STANDSTILL:
+                return Boolean.toString(value != 0L);
+            case SLOT_PROFILE_VALUE:
+            case SLOT_PROFILE_RATE:
+                return FixedPoint.toDecimal(value, Model.SCALE_CONTROL).toString();
+            case SLOT_PROFILE_PHASE:
+                return SetPointProfile.phaseName(value);
+            case SLOT_BRAKE_LATENCY:
+                return FixedPoint.toDecimal(value, Model.SCALE_LATENCY).toString();
+            case SLOT_RIPPLE_AMPLITUDE:
+                return FixedPoint.toDecimal(value, Model.SCALE_CONTROL).toString();
+            case SLOT_RIPPLE_FREQUENCY:
+                return FixedPoint.toDecimal(value, Model.SCALE_RPM).toString();
+            default:
+                return Long.toString(value);
+        }
+    }
+    
+    /**
+     * toData() - Darstellung als Data (BigDecimal wird erst hier erzeugt)...
+     * @return Data
+     */
+    public Data toData()
+    {
+        return new Data(Long.valueOf(this.counter), 
+                        Long.valueOf(this.phi),
+                        BigDecimal.valueOf(this.rotation, Model.SCALE_RPM),
+                        FixedPoint.toDecimal(this.lapTime, Model.SCALE_LAP_TIME),
+                        FixedPoint.toDecimal(this.rpm, Model.SCALE_RPM),
+                        FixedPoint.toDecimal(this.cycleTime, Model.SCALE_CYCLE_TIME),
+                        BigDecimal.valueOf(this.setPoint),
+                        FixedPoint.toDecimal(this.error, Model.SCALE_RPM),
+                        FixedPoint.toDecimal(this.integral, Model.SCALE_CONTROL),
+                        Long.valueOf(this.output),
+                        FixedPoint.toDecimal(this.rpmMean, Model.SCALE_RPM),
+                        FixedPoint.toDecimal(this.ripple, Model.SCALE_RPM),
+                        Boolean.valueOf(this.standstill != 0L),
+                        FixedPoint.toDecimal(this.profileValue, Model.SCALE_CONTROL),
+                        FixedPoint.toDecimal(this.profileRate, Model.SCALE_CONTROL),
+                        SetPointProfile.phaseName(this.profilePhase),
+                        Long.valueOf(this.targetPhi),
+                        Long.valueOf(this.overshoot),
+                        FixedPoint.toDecimal(this.brakeLatency, Model.SCALE_LATENCY),
+                        Long.valueOf(this.rippleOrder),
+                        FixedPoint.toDecimal(this.rippleAmplitude, Model.SCALE_CONTROL),
+                        FixedPoint.toDecimal(this.rippleFrequency, Model.SCALE_RPM));
+    }
+
+    /**
+     * @return the counter
+     */
+    public final long getCounter()
+    {
+        return this.counter;
+    }
+
+    /**
+     * @return the phi
+     */
+    public final long getPhi()
+    {
+        return this.phi;
+    }
+
+    /**
+     * @return the rotation, skaliert mit Model.SCALE_RPM
+     */
+    public final long getRotation()
+    {
+        return this.rotation;
+    }
+
+    /**
+     * @return the lapTime, skaliert mit Model.SCALE_LAP_TIME
+     */
+    public final long getLapTime()
+    {
+        return this.lapTime;
+    }
+
+    /**
+     * @return the rpm, skaliert mit Model.SCALE_RPM
+     */
+    public final long getRpm()
+    {
+        return this.rpm;
+    }
+
+    /**
+     * @return the cycleTime, skaliert mit Model.SCALE_CYCLE_TIME
+     */
+    public final long getCycleTime()
+    {
+        return this.cycleTime;
+    }
+
+    /**
+     * @return the setPoint
+     */
+    public final long getSetPoint()
+    {
+        return this.setPoint;
+    }
+
+    /**
+     * @return the error, skaliert mit Model.SCALE_RPM
+     */
+    public final long getError()
+    {
+        return this.error;
+    }
+
+    /**
+     * @return the integral, skaliert mit Model.SCALE_CONTROL
+     */
+    public final long getIntegral()
+    {
+        return this.integral;
+    }
+
+    /**
+     * @return the output
+     */
+    public final long getOutput()
+    {
+        return this.output;
+    }
+
+    /**
+     * @return the rpmMean, skaliert mit Model.SCALE_RPM
+     */
+    public final long getRpmMean()
+    {
+        return this.rpmMean;
+    }
+
+    /**
+     * @return the ripple, skaliert mit Model.SCALE_RPM
+     */
+    public final long getRipple()
+    {
+        return this.ripple;
+    }
+
+    /**
+     * @return true => Stillstand
+     */
+    public final boolean isStandstill()
+    {
+        return this.standstill != 0L;
+    }
+
+    /**
+     * @return the profileValue, skaliert mit Model.SCALE_CONTROL
+     */
+    public final long getProfileValue()
+    {
+        return this.profileValue;
+    }
+
+    /**
+     * @return the profileRate, skaliert mit Model.SCALE_CONTROL
+     */
+    public final long getProfileRate()
+    {
+        return this.profileRate;
+    }
+
+    /**
+     * @return the profilePhase (SetPointProfile.PHASE_...)
+     */
+    public final long getProfilePhase()
+    {
+        return this.profilePhase;
+    }
+
+    /**
+     * @return the targetPhi
+     */
+    public final long getTargetPhi()
+    {
+        return this.targetPhi;
+    }
+
+    /**
+     * @return the overshoot
+     */
+    public final long getOvershoot()
+    {
+        return this.overshoot;
+    }
+
+    /**
+     * @return the brakeLatency, skaliert mit Model.SCALE_LATENCY
+     */
+    public final long getBrakeLatency()
+    {
+        return this.brakeLatency;
+    }
+
+    /**
+     * @return the rippleOrder, 0 => keine
+     */
+    public final long getRippleOrder()
+    {
+        return this.rippleOrder;
+    }
+
+    /**
+     * @return the rippleAmplitude in %, skaliert mit Model.SCALE_CONTROL
+     */
+    public final long getRippleAmplitude()
+    {
+        return this.rippleAmplitude;
+    }
+
+    /**
+     * @return the rippleFrequency in Hz, skaliert mit Model.SCALE_RPM
+     */
+    public final long getRippleFrequency()
+    {
+        return this.rippleFrequency;
+    }
+}
@@ -6,8 +6,15 @@ import java.net.URL;
 
 import javax.imageio.ImageIO;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class SwingMain              
 {
+    /**
+     * logger
+     */
+    private final static Logger logger = LoggerFactory.getLogger(SwingMain.class);
 
     /** PROPERTIES_FILE - Name der Property-Datei, beinhaltet alle Systemeinstellungen */
     public final static String PROPERTIES_FILE = "system.properties";
@@ -34,6 +41,12 @@ public class SwingMain
      */
     private final String iconImageFile;
     
+    /**
+     * VIEW_FRAME_RATE_KEY - Key unter dem die max. Bildrate der Anzeige (1/s) 
+     * abgelegt ist...
+     */
+    public final static String VIEW_FRAME_RATE_KEY = "viewFrameRate";
+    
     /** 
      * defaultLookAndFeel - boolsche Kennung, es ist kein LookAndFeel ueber die
      * Konfiguration eingestellt worden, verwende dann die 
@@ -90,8 +103,10 @@ public class SwingMain
         // *** Testausgabe... ***
         // System.out.println( javax.swing.UIManager.getSystemLookAndFeelClassName() );
         
-        final Model model = new Model();
-        SwingWindow swingWindow = new SwingWindow(model);
+        final Model model = new Model(properties);
+        final int viewFrameRate = Integer.parseInt(properties.getProperty(SwingMain.VIEW_FRAME_RATE_KEY, 
+                                                   Integer.toString(SwingWindow.DEFAULT_FRAME_RATE)).trim());
+        SwingWindow swingWindow = new SwingWindow(model, viewFrameRate);
         //
         this.iconImageFile = properties.getProperty(SwingMain.ICON_IMAGE_KEY, "");
         try
@@ -117,6 +132,8 @@ public class SwingMain
             public void run()
             {
                 swingWindow.setVisible(true);
+                // Startzeit und Speicher (Vergleich mit HeadlessMain)...
+                logger.info(ProcessStats.describe("SwingMain"));
             }
         });
     }
@@ -19,6 +19,8 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.text.JTextComponent;
 
 import org.slf4j.Logger;
@@ -66,6 +68,53 @@ public class SwingWindow extends JFrame implements View
     
     private static final String COMBO_BOX = JComboBox.class.getCanonicalName();
     
+    /**
+     * DEFAULT_FRAME_RATE = 25 - Voreinstellung der max. Bildrate der Anzeige in 1/s...
+     */
+    public static final int DEFAULT_FRAME_RATE = 25;
+    
+    /**
+     * model - Referenz auf das Model, der Zustand wird ueber readState() gelesen...
+     */
+    private final Model model;
+    
+    /**
+     * viewTimer - Timer im EDT, liest den Zustand des Model mit der max. Bildrate...
+     */
+    private final Timer viewTimer;
+    
+    /**
+     * viewState - wiederverwendeter Zustand zum Lesen aus dem Model...
+     */
+    private final StateSnapshot viewState = new StateSnapshot();
+    
+    /**
+     * channels - Anzahl der Motorkanaele, je Kanal eine Spalte...
+     */
+    private final int channels;
+    
+    /**
+     * viewVersions[] - Version des zuletzt dargestellten Zustandes je Kanal...
+     */
+    private final long[] viewVersions;
+    
+    /**
+     * dataFields[][] - die Anzeigefelder je Kanal, zweiter Index ist der Ablageplatz 
+     * im StateSnapshot (vgl. StateSnapshot.slotOf()), null => keine Anzeige...
+     */
+    private final JTextComponent[][] dataFields;
+    
+    /**
+     * renderedValues[][] - zuletzt dargestellte Werte je Kanal, nur bei Aenderung wird
+     * der Text neu gesetzt...
+     */
+    private final long[][] renderedValues;
+    
+    /**
+     * renderedTexts[][] - zuletzt dargestellte Texte je Kanal...
+     */
+    private final String[][] renderedTexts;
+    
     /**
      * controlData - Beschreibungsdaten der Oberflaechenelemente...
      */
@@ -77,6 +126,21 @@ public class SwingWindow extends JFrame implements View
         {TEXT_FIELD, Data.LAP_TIME_KEY,         "Drehzeit [s]" },
         {TEXT_FIELD, Data.RPM_KEY,              "Drehzahl [1/min]" },
         {TEXT_FIELD, Data.CYCLE_TIME_KEY,       "Taktzeit [s]" },
+        {TEXT_FIELD, Data.ERROR_KEY,            "Regelabweichung [1/min]" },
+        {TEXT_FIELD, Data.INTEGRAL_KEY,         "Integralanteil" },
+        {TEXT_FIELD, Data.OUTPUT_KEY,           "Stellwert" },
+        {TEXT_FIELD, Data.RPM_MEAN_KEY,         "Drehzahl gemittelt [1/min]" },
+        {TEXT_FIELD, Data.RIPPLE_KEY,           "Welligkeit [1/min]" },
+        {TEXT_FIELD, Data.STANDSTILL_KEY,       "Stillstand" },
+        {TEXT_FIELD, Data.PROFILE_VALUE_KEY,    "Sollwert Rampe" },
+        {TEXT_FIELD, Data.PROFILE_RATE_KEY,     "Steigung Rampe [1/s]" },
+        {TEXT_FIELD, Data.PROFILE_PHASE_KEY,    "Abschnitt Rampe" },
+        {TEXT_FIELD, Data.TARGET_PHI_KEY,       "Ziellage [Impulse]" },
+        {TEXT_FIELD, Data.OVERSHOOT_KEY,        "Ueberlauf [Impulse]" },
+        {TEXT_FIELD, Data.BRAKE_LATENCY_KEY,    "Reaktionszeit brake [us]" },
+        {TEXT_FIELD, Data.RIPPLE_ORDER_KEY,     "Welligkeit Ordnung" },
+        {TEXT_FIELD, Data.RIPPLE_AMPLITUDE_KEY, "Welligkeit Amplitude [%]" },
+        {TEXT_FIELD, Data.RIPPLE_FREQUENCY_KEY, "Welligkeit Frequenz [Hz]" },
         {COMBO_BOX,  Model.DATA_SET_POINT_KEY,  "Sollwert" }
     };
     
@@ -126,9 +190,41 @@ public class SwingWindow extends JFrame implements View
      * This is the default constructor
      */
     public SwingWindow(Model model)
+    {
+        this(model, DEFAULT_FRAME_RATE);
+    }
+    
+    /**
+     * Konstruktor SwingWindow(Model model, int frameRate)
+     * <p>
+     * Die Anzeige liest den Zustand des Model im EDT mit max. frameRate Bildern 
+     * pro Sekunde. Mehrere Takte zwischen zwei Bildern fallen damit auf den
+     * letzten Zustand zusammen. Waehrend das Fenster ikonifiziert ist, ruht
+     * die Anzeige.
+     * </p>
+     * @param model
+     * @param frameRate max. Bildrate in 1/s
+     */
+    public SwingWindow(Model model, int frameRate)
     {
         super();
+        this.model = model;
+        this.channels = model.getChannelCount();
+        this.viewVersions = new long[this.channels];
+        java.util.Arrays.fill(this.viewVersions, -1L);
+        this.dataFields = new JTextComponent[this.channels][StateSnapshot.SLOTS];
+        this.renderedValues = new long[this.channels][StateSnapshot.SLOTS];
+        this.renderedTexts = new String[this.channels][StateSnapshot.SLOTS];
         initialize();
+        this.viewTimer = new Timer(1000/Math.max(1, frameRate), new ActionListener()
+        {
+            @Override
+            public void actionPerformed(ActionEvent event)
+            {
+                renderState();
+            }
+        });
+        this.viewTimer.setCoalesce(true);
         addWindowListener(new WindowAdapter()
         {
             @Override
@@ -138,6 +234,26 @@ public class SwingWindow extends JFrame implements View
                 model.shutdown();
                 System.exit(0);
             }
+            
+            @Override
+            public void windowOpened(WindowEvent event)
+            {
+                SwingWindow.this.viewTimer.start();
+            }
+            
+            @Override
+            public void windowIconified(WindowEvent event)
+            {
+                logger.debug("windowIconified(WindowEvent)...");
+                SwingWindow.this.viewTimer.stop();
+            }
+            
+            @Override
+            public void windowDeiconified(WindowEvent event)
+            {
+                logger.debug("windowDeiconified(WindowEvent)...");
+                SwingWindow.this.viewTimer.start();
+            }
         });
     }
 
@@ -148,7 +264,7 @@ public class SwingWindow extends JFrame implements View
      */
     private void initialize()
     {
-        this.setSize(450, 250);
+        this.setSize(450 + 110 * (this.channels - 1), 250);
         this.setContentPane(getJContentPane());
         this.setTitle( "GPIO-Motorsteuerung (DRV8830)" );
         this.resetButton.setName(Model.NAME_RESET_BUTTON);
@@ -200,6 +316,23 @@ public class SwingWindow extends JFrame implements View
                 JPanel centerPanel = new JPanel();
                 centerPanel.setLayout(new BoxLayout(centerPanel, javax.swing.BoxLayout.Y_AXIS));
                 
+                if (this.channels > 1)
+                {
+                    // Kopfzeile: je Kanal eine Spalte...
+                    JPanel headerPanel = new JPanel();
+                    headerPanel.setLayout(new BoxLayout(headerPanel, javax.swing.BoxLayout.X_AXIS));
+                    headerPanel.add(Box.createHorizontalGlue());
+                    for (int channel = 0; channel < this.channels; channel++)
+                    {
+                        JLabel channelLabel = new JLabel("Kanal " + channel, SwingConstants.CENTER);
+                        channelLabel.setPreferredSize(new Dimension(100, channelLabel.getPreferredSize().height));
+                        channelLabel.setMaximumSize(channelLabel.getPreferredSize());
+                        headerPanel.add(channelLabel);
+                        headerPanel.add(Box.createRigidArea(new Dimension(4, 0)));
+                    }
+                    centerPanel.add(headerPanel);
+                }
+                
                 for(String[] controlParam: SwingWindow.controlData)
                 {
                     final String controlType = controlParam[0];
@@ -214,40 +347,57 @@ public class SwingWindow extends JFrame implements View
                     
                         if (TEXT_FIELD.equals(controlType))
                         {
-                            JTextField controlTextField = new JTextField(10);
-                            controlTextField.setMaximumSize(new Dimension(100, controlTextField.getMinimumSize().height));
-                            this.textComponentMap.put(controlId, controlTextField);
-                            controlTextField.setEditable(false);
-                            controlPanel.add(controlTextField);
-                            controlPanel.add(Box.createRigidArea(new Dimension(4, 0)));
+                            final int slot = StateSnapshot.slotOf(controlId);
+                            // Je Kanal ein Anzeigefeld, im textComponentMap das Feld des Kanals 0...
+                            for (int channel = 0; channel < this.channels; channel++)
+                            {
+                                JTextField controlTextField = new JTextField(10);
+                                controlTextField.setMaximumSize(new Dimension(100, controlTextField.getMinimumSize().height));
+                                if (channel == 0)
+                                {
+                                    this.textComponentMap.put(controlId, controlTextField);
+                                }
+                                if (slot >= 0)
+                                {
+                                    this.dataFields[channel][slot] = controlTextField;
+                                }
+                                controlTextField.setEditable(false);
+                                controlPanel.add(controlTextField);
+                                controlPanel.add(Box.createRigidArea(new Dimension(4, 0)));
+                            }
                             centerPanel.add(controlPanel);
                         }
                         else if (COMBO_BOX.equals(controlType) && Model.DATA_SET_POINT_KEY.equals(controlId))
                         {
-                            // setPointComboBox - ComboBox mit Auswahl entsprechend der Stufung Sollwertvorgabe...
-                            JComboBox<BigDecimal> setPointComboBox = new JComboBox<>(Model.SET_POINTS);
-                            setPointComboBox.setName(controlId);
-                            setPointComboBox.setMaximumSize(new Dimension(100, setPointComboBox.getMinimumSize().height));
-                            this.comboBoxMap.put(controlId, setPointComboBox); 
-                            controlPanel.add(setPointComboBox);
-                            controlPanel.add(Box.createRigidArea(new Dimension(4, 0)));
-                            centerPanel.add(controlPanel);
-                            
-                            // Selektion des Eintrages mit BigDecimal.ZERO...
-                            setPointComboBox.setSelectedIndex(Model.SELECTED_INDEX);
-                            
-                            setPointComboBox.addActionListener(new ActionListener() 
+                            // Je Kanal eine ComboBox, Name ist der Key des Sollwertes (vgl. Model.setPointKey())...
+                            for (int channel = 0; channel < this.channels; channel++)
                             {
-
-                                @Override
-                                public void actionPerformed(ActionEvent event)
+                                // setPointComboBox - ComboBox mit Auswahl entsprechend der Stufung Sollwertvorgabe...
+                                JComboBox<BigDecimal> setPointComboBox = new JComboBox<>(Model.SET_POINTS);
+                                final String setPointKey = Model.setPointKey(channel);
+                                setPointComboBox.setName(setPointKey);
+                                setPointComboBox.setMaximumSize(new Dimension(100, setPointComboBox.getMinimumSize().height));
+                                this.comboBoxMap.put(setPointKey, setPointComboBox); 
+                                controlPanel.add(setPointComboBox);
+                                controlPanel.add(Box.createRigidArea(new Dimension(4, 0)));
+                    
+                                // Selektion des Eintrages mit BigDecimal.ZERO...
+                                setPointComboBox.setSelectedIndex(Model.SELECTED_INDEX);
+                    
+                                setPointComboBox.addActionListener(new ActionListener() 
                                 {
-                                    JComboBox<BigDecimal> source = (JComboBox<BigDecimal>)event.getSource();   
-                                    logger.info(source.getName() + ": " + event.getActionCommand());   
-                                    
-                                    actionCommandDelegate(event);
-                                }
-                            });
+                    
+                                    @Override
+                                    public void actionPerformed(ActionEvent event)
+                                    {
+                                        JComboBox<BigDecimal> source = (JComboBox<BigDecimal>)event.getSource();   
+                                        logger.info(source.getName() + ": " + event.getActionCommand());   
+                    
+                                        actionCommandDelegate(event);
+                                    }
+                                });
+                            }
+                            centerPanel.add(controlPanel);
                         }
                     }
 
@@ -300,43 +450,77 @@ public class SwingWindow extends JFrame implements View
         this.actionListener = listener;
     }
 
+    /**
+     * renderState() - wird durch den viewTimer im EDT beauftragt, liest den Zustand 
+     * jedes Kanals des Model und setzt nur die Texte der geaenderten Felder...
+     */
+    private void renderState()
+    {
+        for (int channel = 0; channel < this.channels; channel++)
+        {
+            if (this.model.getStateVersion(channel) == this.viewVersions[channel])
+            {
+                // Keine neue Taktung seit dem letzten Bild...
+                continue;
+            }
+            final boolean initial = (this.viewVersions[channel] < 0L);
+            this.viewVersions[channel] = this.model.readState(channel, this.viewState);
+            final JTextComponent[] fields = this.dataFields[channel];
+            final long[] values = this.renderedValues[channel];
+            for (int slot = 0; slot < fields.length; slot++)
+            {
+                final JTextComponent textComponent = fields[slot];
+                if (textComponent == null)
+                {
+                    continue;
+                }
+                final long value = this.viewState.get(slot);
+                if (initial || (value != values[slot]))
+                {
+                    values[slot] = value;
+                    final String text = StateSnapshot.format(slot, value);
+                    this.renderedTexts[channel][slot] = text;
+                    textComponent.setText(text);
+                }
+            }
+        }
+    }
+    
     /**
      * propertyChange(PropertyChangeEvent event) - wird vom Model her beaufragt
      * und muss die View evtl. nachziehen...  
+     * <p>
+     * Erfolgt die Beauftragung ausserhalb des EDT, so wird die Verarbeitung 
+     * an den EDT weitergereicht.
+     * </p>
      */
     @Override
     public void propertyChange(PropertyChangeEvent event)
     {
-        final String propertyName = event.getPropertyName();
-        final Object newValue = event.getNewValue();
-
-        if (Model.DATA_KEY.equals(propertyName))
+        if (!SwingUtilities.isEventDispatchThread())
         {
-            // propertyChange vom Model her mit DATA_KEY...
-            if (newValue instanceof Data)
+            SwingUtilities.invokeLater(new Runnable()
             {
-                Data newData = (Data) newValue;
-                for(String key: newData.getKeys())
+                @Override
+                public void run()
                 {
-                    if (this.textComponentMap.containsKey(key))
-                    {
-                        final JTextComponent textComponent = this.textComponentMap.get(key);
-                        textComponent. setText(newData.getValue(key));
-                        continue;
-                    }
+                    propertyChange(event);
                 }
-            }
+            });
+            return;
         }
-        if (Model.DATA_SET_POINT_KEY.equals(propertyName))
+        
+        final String propertyName = event.getPropertyName();
+        final Object newValue = event.getNewValue();
+
+        // Die Anzeigefelder werden nur in renderState() geschrieben (Bildrate der View)...
+        if (this.comboBoxMap.containsKey(propertyName))
         {
-            // propertyChange vom Model her mit DATA_SET_POINT_KEY...
+            // propertyChange vom Model her mit dem Key eines Sollwertes (vgl. Model.setPointKey())...
             BigDecimal newData = (BigDecimal) newValue;
             
-            if (this.comboBoxMap.containsKey(propertyName))
-            {
-                JComboBox<BigDecimal> setPointComboBox = this.comboBoxMap.get(propertyName);
-                setPointComboBox.setSelectedItem(newData);
-            }
+            JComboBox<BigDecimal> setPointComboBox = this.comboBoxMap.get(propertyName);
+            setPointComboBox.setSelectedItem(newData);
         }
         
         // Kontrollausgabe im Debuglevel...
@@ -0,0 +1,190 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TelemetryReader - sequentielles Lesen der Segment-Dateien eines
+ * TelemetryRecorder (vgl. dort zum Aufbau der Datensaetze)...
+ * <p>
+ * Die Segmente eines Verzeichnisses werden in der Reihenfolge ihrer Namen
+ * gelesen (Startzeitpunkt, Segmentnummer). Jedes Segment beginnt mit einem
+ * Kopfsatz, das Ende der Daten ist der erste Datensatz mit TYPE_END oder das
+ * Dateiende.
+ * </p>
+ */
+final class TelemetryReader
+{
+    /**
+     * files - die zu lesenden Segmente...
+     */
+    private final List<Path> files;
+    
+    /**
+     * fileIndex - Index des naechsten Segmentes in files...
+     */
+    private int fileIndex = 0;
+    
+    /**
+     * buffer - eingeblendetes aktuelles Segment, null => keines...
+     */
+    private MappedByteBuffer buffer = null;
+    
+    /**
+     * header[] - Kopfsatz des aktuellen Segmentes...
+     */
+    private final long[] header = new long[TelemetryRecorder.RECORD_WORDS];
+    
+    /**
+     * Konstruktor TelemetryReader(Path path)
+     * @param path Verzeichnis mit Segmenten oder eine einzelne Segment-Datei
+     * @throws IOException
+     */
+    TelemetryReader(Path path) throws IOException
+    {
+        this.files = listSegments(path);
+        if (this.files.isEmpty())
+        {
+            throw new IOException("Keine Segmente in " + path);
+        }
+    }
+    
+    /**
+     * listSegments(Path path) - die Segmente in der Reihenfolge ihrer Namen...
+     * @param path Verzeichnis oder Datei
+     * @return Liste der Segmente
+     * @throws IOException
+     */
+    static List<Path> listSegments(Path path) throws IOException
+    {
+        final List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(path))
+        {
+            files.add(path);
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path,
+                 TelemetryRecorder.FILE_PREFIX + "*" + TelemetryRecorder.FILE_SUFFIX))
+        {
+            for (Path file: stream)
+            {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+    
+    /**
+     * next(long[] record) - Lesen des naechsten Datensatzes (ohne Kopfsaetze)...
+     * @param record Ziel, Laenge >= RECORD_WORDS
+     * @return false => keine weiteren Datensaetze
+     * @throws IOException bei ungueltigem Kopfsatz
+     */
+    boolean next(long[] record) throws IOException
+    {
+        while (true)
+        {
+            if ((this.buffer != null) && (this.buffer.remaining() >= TelemetryRecorder.RECORD_SIZE))
+            {
+                for (int index = 0; index < TelemetryRecorder.RECORD_WORDS; index++)
+                {
+                    record[index] = this.buffer.getLong();
+                }
+                if (typeOf(record) != TelemetryRecorder.TYPE_END)
+                {
+                    return true;
+                }
+            }
+            if (this.fileIndex >= this.files.size())
+            {
+                this.buffer = null;
+                return false;
+            }
+            open(this.files.get(this.fileIndex++));
+        }
+    }
+    
+    /**
+     * open(Path file) - Einblenden eines Segmentes und Pruefen des Kopfsatzes...
+     * @param file
+     * @throws IOException
+     */
+    private void open(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+            buffer.order(TelemetryRecorder.BYTE_ORDER);
+            if (buffer.remaining() < TelemetryRecorder.RECORD_SIZE)
+            {
+                throw new IOException(file + ": kein Kopfsatz");
+            }
+            for (int index = 0; index < TelemetryRecorder.RECORD_WORDS; index++)
+            {
+                this.header[index] = buffer.getLong();
+            }
+            if ((typeOf(this.header) != TelemetryRecorder.TYPE_HEADER) || (this.header[1] != TelemetryRecorder.MAGIC)
+                || (this.header[2] != TelemetryRecorder.VERSION) || (auxOf(this.header) != TelemetryRecorder.RECORD_SIZE))
+            {
+                throw new IOException(file + ": ungueltiger Kopfsatz");
+            }
+            this.buffer = buffer;
+        }
+    }
+    
+    /**
+     * getBase() - Bezugszeitpunkt der gepackten Flanken des aktuellen Segmentes...
+     * @return base in ns
+     */
+    long getBase()
+    {
+        return this.header[4];
+    }
+    
+    /**
+     * getSegmentIndex() - Segmentnummer des aktuellen Segmentes...
+     * @return Segmentnummer
+     */
+    long getSegmentIndex()
+    {
+        return this.header[5];
+    }
+    
+    /**
+     * getPulsNumber() - Zaehlschritte pro Umdrehung der Aufzeichnung...
+     * @return pulsNumber
+     */
+    long getPulsNumber()
+    {
+        return this.header[7];
+    }
+    
+    /**
+     * typeOf(long[] record) - Typ eines Datensatzes...
+     * @param record
+     * @return TYPE_...
+     */
+    static int typeOf(long[] record)
+    {
+        return (int) (record[0] >>> 32);
+    }
+    
+    /**
+     * auxOf(long[] record) - Zusatz eines Datensatzes (z.B. Anzahl der Flanken)...
+     * @param record
+     * @return Zusatz
+     */
+    static int auxOf(long[] record)
+    {
+        return (int) record[0];
+    }
+}
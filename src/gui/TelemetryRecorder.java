@@ -0,0 +1,595 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TelemetryRecorder - Aufzeichnung der Taktung in Segment-Dateien mit
+ * Datensaetzen fester Laenge (RECORD_SIZE = 64 Byte, little endian)...
+ * <p>
+ * Die Taktung legt einen Datensatz nur als RECORD_WORDS long-Werte in einem
+ * vorab angelegten Ring ab (genau ein Schreiber, keine Allokation, kein
+ * Blockieren; ist der Ring voll, so wird der Datensatz verworfen und gezaehlt).
+ * Ein eigener Thread uebertraegt die Datensaetze in die per Memory-Mapping
+ * eingeblendete Segment-Datei. Ist ein Segment voll, so wird das naechste
+ * angelegt, von den Segmenten werden max. maxSegments aufbewahrt. Das
+ * Zurueckschreiben auf den Datentraeger (force()) erfolgt ebenfalls nur im
+ * Thread des Recorders, Verzoegerungen der SD-Karte erreichen damit die
+ * Taktung nicht.
+ * </p>
+ * <p>
+ * Aufbau eines Datensatzes (Worte zu je 8 Byte):
+ * </p>
+ * <pre>
+ *   Wort 0: Typ (Bit 63...32), Zusatz (Bit 31...0)
+ *   TYPE_HEADER: Zusatz = RECORD_SIZE, 1 MAGIC | 2 VERSION | 3 Systemzeit in ms |
+ *                4 base (nanoTime) | 5 Segmentnummer | 
+ *                6 SCALE_RPM (Bit 63...32), SCALE_LAP_TIME (Bit 31...0) | 7 pulsNumber
+ *   TYPE_TICK:   1 counter | 2 phi | 3 nanoTime | 4 cycleTime in ns |
+ *                5 rpm (SCALE_RPM) | 6 lapTime (SCALE_LAP_TIME) |
+ *                7 Stellwert drive (Bit 63...32), Fault (Bit 31...0)
+ *   TYPE_EDGES:  Zusatz = Anzahl n (1...EDGES_PER_RECORD), 1...n Flanken
+ * </pre>
+ * <p>
+ * Flanken (nur bei Aufzeichnung mit recordEdges) werden wie im EdgeRing 
+ * gepackt: (nanoTime - base) &lt;&lt; 8 | pin &lt;&lt; 1 | Pegel. Sie werden im
+ * Schreiber gesammelt und spaetestens vor dem naechsten Datensatz TYPE_TICK
+ * (bzw. mit flushEdges()) abgelegt, die Reihenfolge bleibt damit erhalten.
+ * </p>
+ * <p>
+ * Ein Datensatz mit Typ 0 kennzeichnet das Ende der Daten in einem Segment.
+ * </p>
+ */
+final class TelemetryRecorder
+{
+    /**
+     * logger
+     */
+    private final static Logger logger = LoggerFactory.getLogger(TelemetryRecorder.class);
+    
+    /**
+     * RECORD_SIZE = 64 - Laenge eines Datensatzes in Byte...
+     */
+    static final int RECORD_SIZE = 64;
+    
+    /**
+     * RECORD_WORDS = 8 - Anzahl der long-Worte eines Datensatzes...
+     */
+    static final int RECORD_WORDS = RECORD_SIZE / 8;
+    
+    /**
+     * TYPE_END, TYPE_HEADER, TYPE_TICK - Typ eines Datensatzes...
+     */
+    static final int TYPE_END = 0;
+    static final int TYPE_HEADER = 1;
+    static final int TYPE_TICK = 2;
+    static final int TYPE_EDGES = 3;
+    
+    /**
+     * EDGES_PER_RECORD = 7 - max. Anzahl der Flanken je Datensatz TYPE_EDGES...
+     */
+    static final int EDGES_PER_RECORD = RECORD_WORDS - 1;
+    
+    /**
+     * MAGIC - Kennung im Kopfsatz, in der Datei (little endian) als "MOTREC01" lesbar...
+     */
+    static final long MAGIC = 0x3130434552544F4DL;
+    
+    /**
+     * VERSION = 1 - Version des Formates...
+     */
+    static final long VERSION = 1L;
+    
+    /**
+     * BYTE_ORDER - Byte-Reihenfolge der Segment-Dateien...
+     */
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    
+    /**
+     * FILE_PREFIX, FILE_SUFFIX - Name der Segment-Dateien: telemetry-<Start>-<Nummer>.bin...
+     */
+    static final String FILE_PREFIX = "telemetry-";
+    static final String FILE_SUFFIX = ".bin";
+    
+    /**
+     * IDLE_PARK_NANOS = 1 ms - Wartezeit des Threads bei leerem Ring...
+     */
+    private final static long IDLE_PARK_NANOS = 1_000_000L;
+    
+    /**
+     * TAIL, HEAD - Index von tail und head in positions[] (eigene Cache-Lines)...
+     */
+    private static final int TAIL = 8;
+    private static final int HEAD = 24;
+    
+    /**
+     * directory - Verzeichnis der Segment-Dateien...
+     */
+    private final Path directory;
+    
+    /**
+     * segmentRecords - Anzahl der Datensaetze je Segment (incl. Kopfsatz)...
+     */
+    private final int segmentRecords;
+    
+    /**
+     * maxSegments - max. Anzahl der aufbewahrten Segmente, 0 => unbegrenzt...
+     */
+    private final int maxSegments;
+    
+    /**
+     * forceNanos - Abstand des Zurueckschreibens (force()) in ns, 0 => nur bei Segmentwechsel...
+     */
+    private final long forceNanos;
+    
+    /**
+     * pulsNumber - Zaehlschritte pro Umdrehung, im Kopfsatz vermerkt...
+     */
+    private final long pulsNumber;
+    
+    /**
+     * base - Bezugszeitpunkt der gepackten Flanken in ns (im Kopfsatz vermerkt)...
+     */
+    private final long base = System.nanoTime();
+    
+    /**
+     * recordEdges - true => recordEdge() legt die Flanken ab...
+     */
+    private final boolean recordEdges;
+    
+    /**
+     * pendingEdges[], pendingCount - gesammelte Flanken des Schreibers...
+     */
+    private final long[] pendingEdges = new long[EDGES_PER_RECORD];
+    private int pendingCount = 0;
+    
+    /**
+     * startStamp - Zeitpunkt des Starts im Dateinamen...
+     */
+    private final String startStamp;
+    
+    /**
+     * ring[] - Ablage der Datensaetze, capacity * RECORD_WORDS Worte...
+     */
+    private final long[] ring;
+    
+    /**
+     * mask - capacity - 1...
+     */
+    private final int mask;
+    
+    /**
+     * positions[] - tail (nur Schreiber) und head (nur Thread des Recorders)...
+     */
+    private final AtomicLongArray positions = new AtomicLongArray(HEAD + 8);
+    
+    /**
+     * producerTail, cachedHead - lokale Kopien des Schreibers...
+     */
+    private long producerTail = 0L;
+    private long cachedHead = 0L;
+    
+    /**
+     * droppedCount, dropped - Anzahl der verworfenen Datensaetze (Ring voll)...
+     */
+    private long droppedCount = 0L;
+    private final AtomicLong dropped = new AtomicLong();
+    
+    /**
+     * lost - Anzahl der Datensaetze, die der Thread des Recorders nicht 
+     * schreiben konnte (Segment nicht angelegt)...
+     */
+    private final AtomicLong lost = new AtomicLong();
+    
+    /**
+     * written - Anzahl der in Segmente uebertragenen Datensaetze...
+     */
+    private final AtomicLong written = new AtomicLong();
+    
+    /**
+     * segments - Anzahl der angelegten Segmente...
+     */
+    private final AtomicLong segments = new AtomicLong();
+    
+    /**
+     * maxForceNanos - max. Dauer eines force() in ns...
+     */
+    private volatile long maxForceNanos = 0L;
+    
+    ///////////////////////////////////////////////////////////////////////////
+    // Zustand des Threads des Recorders...
+    
+    /**
+     * buffer - eingeblendetes aktuelles Segment, null => kein Segment...
+     */
+    private MappedByteBuffer buffer = null;
+    
+    /**
+     * segmentIndex - Nummer des aktuellen Segmentes...
+     */
+    private long segmentIndex = 0L;
+    
+    /**
+     * files - die aufbewahrten Segmente, das aelteste zuerst...
+     */
+    private final ArrayDeque<Path> files = new ArrayDeque<>();
+    
+    /**
+     * lastForce - Zeitpunkt des letzten force()...
+     */
+    private long lastForce = 0L;
+    
+    /**
+     * failed - nach einem Fehler beim Anlegen eines Segmentes wird nur noch verworfen...
+     */
+    private boolean failed = false;
+    
+    /**
+     * thread - der Thread des Recorders...
+     */
+    private final Thread thread;
+    
+    /**
+     * running - false => Thread beenden (nach Leeren des Rings)...
+     */
+    private volatile boolean running = true;
+    
+    /**
+     * Konstruktor TelemetryRecorder(Path directory, long segmentSize, int maxSegments,
+     *                               long forceNanos, int capacity, long pulsNumber, boolean recordEdges)
+     * @param directory Verzeichnis der Segment-Dateien (wird ggf. angelegt)
+     * @param segmentSize Groesse eines Segmentes in Byte (wird auf RECORD_SIZE abgerundet)
+     * @param maxSegments max. Anzahl der aufbewahrten Segmente, 0 => unbegrenzt
+     * @param forceNanos Abstand des Zurueckschreibens in ns, 0 => nur bei Segmentwechsel
+     * @param capacity Anzahl der Datensaetze im Ring (wird auf eine Zweierpotenz aufgerundet)
+     * @param pulsNumber Zaehlschritte pro Umdrehung (Kopfsatz)
+     * @param recordEdges true => auch die Flanken aufzeichnen (vgl. recordEdge())
+     * @throws IOException wenn das Verzeichnis nicht angelegt werden kann
+     */
+    TelemetryRecorder(Path directory, long segmentSize, int maxSegments, long forceNanos, int capacity, 
+                      long pulsNumber, boolean recordEdges) throws IOException
+    {
+        if (segmentSize < 2 * RECORD_SIZE || segmentSize > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("segmentSize: " + segmentSize);
+        }
+        if (capacity < 1 || capacity > (1 << 24))
+        {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentRecords = (int) (segmentSize / RECORD_SIZE);
+        this.maxSegments = maxSegments;
+        this.forceNanos = forceNanos;
+        this.pulsNumber = pulsNumber;
+        this.recordEdges = recordEdges;
+        this.startStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        final int size = (capacity == 1)? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new long[size * RECORD_WORDS];
+        this.mask = size - 1;
+        this.thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                write();
+            }
+        }, "TelemetryRecorder");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    
+    /**
+     * recordTick(...) - Ablage eines Datensatzes TYPE_TICK, nur durch die Taktung...
+     * @param counter Taktzaehler
+     * @param phi Lage in Zaehlschritten
+     * @param nanoTime Zeitpunkt der Taktung in ns
+     * @param cycleTime Taktzeit in ns
+     * @param rpm Drehzahl, skaliert mit SCALE_RPM
+     * @param lapTime Dauer einer Umdrehung, skaliert mit SCALE_LAP_TIME
+     * @param setPoint Stellwert an den DRV8830 (Sollwert bzw. Ausgang des PidController)
+     * @param fault Inhalt des FAULT-Registers
+     * @return false, wenn der Ring voll war (Datensatz verworfen)
+     */
+    boolean recordTick(long counter, long phi, long nanoTime, long cycleTime, long rpm, long lapTime, int setPoint, int fault)
+    {
+        flushEdges();
+        return append(((long) TYPE_TICK << 32), counter, phi, nanoTime, cycleTime, rpm, lapTime,
+                      ((long) setPoint << 32) | (fault & 0xFFFFFFFFL));
+    }
+    
+    /**
+     * isRecordingEdges() - werden die Flanken aufgezeichnet?
+     * @return recordEdges
+     */
+    boolean isRecordingEdges()
+    {
+        return this.recordEdges;
+    }
+    
+    /**
+     * recordEdge(int pin, boolean high, long nanoTime) - Sammeln einer Flanke, nur 
+     * durch den Schreiber der Taktung (Thread des EdgeProcessor)...
+     * @param pin Index des Pins
+     * @param high neuer Pegel
+     * @param nanoTime Zeitpunkt der Flanke in ns
+     */
+    void recordEdge(int pin, boolean high, long nanoTime)
+    {
+        if (!this.recordEdges)
+        {
+            return;
+        }
+        this.pendingEdges[this.pendingCount++] = ((nanoTime - this.base) << 8) | (pin << 1) | (high? 1L : 0L);
+        if (this.pendingCount == EDGES_PER_RECORD)
+        {
+            flushEdges();
+        }
+    }
+    
+    /**
+     * flushEdges() - Ablage der gesammelten Flanken als Datensatz TYPE_EDGES...
+     */
+    void flushEdges()
+    {
+        final int count = this.pendingCount;
+        if (count == 0)
+        {
+            return;
+        }
+        final long[] edges = this.pendingEdges;
+        for (int index = count; index < EDGES_PER_RECORD; index++)
+        {
+            edges[index] = 0L;
+        }
+        this.pendingCount = 0;
+        append(((long) TYPE_EDGES << 32) | count, edges[0], edges[1], edges[2], edges[3], edges[4], edges[5], edges[6]);
+    }
+    
+    /**
+     * append(long w0, ... long w7) - Ablage eines Datensatzes im Ring...
+     * @return false, wenn der Ring voll war (Datensatz verworfen)
+     */
+    private boolean append(long w0, long w1, long w2, long w3, long w4, long w5, long w6, long w7)
+    {
+        final long tail = this.producerTail;
+        if (tail - this.cachedHead > this.mask)
+        {
+            this.cachedHead = this.positions.get(HEAD);
+            if (tail - this.cachedHead > this.mask)
+            {
+                this.dropped.lazySet(++this.droppedCount);
+                return false;
+            }
+        }
+        final long[] ring = this.ring;
+        final int offset = ((int) tail & this.mask) * RECORD_WORDS;
+        ring[offset] = w0;
+        ring[offset + 1] = w1;
+        ring[offset + 2] = w2;
+        ring[offset + 3] = w3;
+        ring[offset + 4] = w4;
+        ring[offset + 5] = w5;
+        ring[offset + 6] = w6;
+        ring[offset + 7] = w7;
+        this.producerTail = tail + 1L;
+        this.positions.lazySet(TAIL, tail + 1L);
+        return true;
+    }
+    
+    /**
+     * write() - Schleife des Threads: Uebertragung aus dem Ring in die Segmente...
+     */
+    private void write()
+    {
+        long head = 0L;
+        while (true)
+        {
+            final long tail = this.positions.get(TAIL);
+            if (tail == head)
+            {
+                if (!this.running)
+                {
+                    break;
+                }
+                forceIfDue(System.nanoTime());
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            while (head < tail)
+            {
+                writeRecord(((int) head & this.mask) * RECORD_WORDS);
+                head++;
+                // Platz im Ring sofort freigeben...
+                this.positions.lazySet(HEAD, head);
+            }
+            forceIfDue(System.nanoTime());
+        }
+        closeSegment();
+    }
+    
+    /**
+     * writeRecord(int offset) - Uebertragung eines Datensatzes in das Segment...
+     * @param offset Index des ersten Wortes in ring[]
+     */
+    private void writeRecord(int offset)
+    {
+        if (this.failed)
+        {
+            this.lost.incrementAndGet();
+            return;
+        }
+        if ((this.buffer == null) || (this.buffer.remaining() < RECORD_SIZE))
+        {
+            if (!openSegment())
+            {
+                this.lost.incrementAndGet();
+                return;
+            }
+        }
+        final long[] ring = this.ring;
+        final MappedByteBuffer buffer = this.buffer;
+        for (int index = 0; index < RECORD_WORDS; index++)
+        {
+            buffer.putLong(ring[offset + index]);
+        }
+        this.written.lazySet(this.written.get() + 1L);
+    }
+    
+    /**
+     * openSegment() - Abschluss des aktuellen und Anlegen des naechsten Segmentes
+     * mit Kopfsatz, Loeschen der aeltesten Segmente ueber maxSegments...
+     * @return true, wenn das Segment angelegt wurde
+     */
+    private boolean openSegment()
+    {
+        closeSegment();
+        final Path file = this.directory.resolve(String.format("%s%s-%04d%s", FILE_PREFIX, this.startStamp, this.segmentIndex, FILE_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            // Die Einblendung bleibt nach dem Schliessen des Kanals gueltig...
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, (long) this.segmentRecords * RECORD_SIZE);
+            buffer.order(BYTE_ORDER);
+            buffer.putLong(((long) TYPE_HEADER << 32) | RECORD_SIZE);
+            buffer.putLong(MAGIC);
+            buffer.putLong(VERSION);
+            buffer.putLong(System.currentTimeMillis());
+            buffer.putLong(this.base);
+            buffer.putLong(this.segmentIndex);
+            buffer.putLong(((long) Model.SCALE_RPM << 32) | Model.SCALE_LAP_TIME);
+            buffer.putLong(this.pulsNumber);
+            this.buffer = buffer;
+        }
+        catch (IOException exception)
+        {
+            logger.error("TelemetryRecorder: Segment " + file + " nicht angelegt, Aufzeichnung beendet", exception);
+            this.failed = true;
+            return false;
+        }
+        this.segmentIndex++;
+        this.segments.incrementAndGet();
+        this.files.addLast(file);
+        while ((this.maxSegments > 0) && (this.files.size() > this.maxSegments))
+        {
+            final Path oldest = this.files.removeFirst();
+            try
+            {
+                Files.deleteIfExists(oldest);
+            }
+            catch (IOException exception)
+            {
+                logger.warn("TelemetryRecorder: " + oldest + " nicht geloescht: " + exception);
+            }
+        }
+        logger.debug("TelemetryRecorder: Segment " + file);
+        return true;
+    }
+    
+    /**
+     * closeSegment() - Zurueckschreiben und Freigabe des aktuellen Segmentes...
+     */
+    private void closeSegment()
+    {
+        if (this.buffer != null)
+        {
+            force();
+            // Die Freigabe der Einblendung erfolgt durch die Garbage-Collection...
+            this.buffer = null;
+        }
+    }
+    
+    /**
+     * forceIfDue(long now) - Zurueckschreiben nach Ablauf von forceNanos...
+     * @param now
+     */
+    private void forceIfDue(long now)
+    {
+        if ((this.forceNanos > 0L) && (this.buffer != null) && (now - this.lastForce >= this.forceNanos))
+        {
+            force();
+        }
+    }
+    
+    /**
+     * force() - Zurueckschreiben des aktuellen Segmentes auf den Datentraeger...
+     */
+    private void force()
+    {
+        final long start = System.nanoTime();
+        this.buffer.force();
+        this.lastForce = System.nanoTime();
+        final long duration = this.lastForce - start;
+        if (duration > this.maxForceNanos)
+        {
+            this.maxForceNanos = duration;
+        }
+    }
+    
+    /**
+     * getWritten() - Anzahl der in Segmente uebertragenen Datensaetze...
+     * @return written
+     */
+    long getWritten()
+    {
+        return this.written.get();
+    }
+    
+    /**
+     * getDropped() - Anzahl der verworfenen Datensaetze (Ring voll oder 
+     * Segment nicht angelegt)...
+     * @return dropped
+     */
+    long getDropped()
+    {
+        return this.dropped.get() + this.lost.get();
+    }
+    
+    /**
+     * getSegments() - Anzahl der angelegten Segmente...
+     * @return segments
+     */
+    long getSegments()
+    {
+        return this.segments.get();
+    }
+    
+    /**
+     * getMaxForceNanos() - max. Dauer des Zurueckschreibens in ns...
+     * @return maxForceNanos
+     */
+    long getMaxForceNanos()
+    {
+        return this.maxForceNanos;
+    }
+    
+    /**
+     * shutdown() - Beenden nach Leeren des Rings, das letzte Segment wird
+     * zurueckgeschrieben...
+     */
+    void shutdown()
+    {
+        this.running = false;
+        try
+        {
+            this.thread.join(5000L);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,630 @@
+package gui;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * TelemetryServer - eingebetteter HTTP-Server (JDK HttpServer) zur Beobachtung
+ * des Model im Browser (vgl. Model.HTTP_PORT_KEY)...
+ * <p>
+ * Schnittstellen:
+ * </p>
+ * <ul>
+ * <li>GET / - einfache Anzeige im Browser (EventSource auf /stream)</li>
+ * <li>GET /stream?rate=50&amp;batch=5 - Server-Sent Events: zuerst ein Ereignis
+ * "fields" mit Namen und Skalierung der Werte, dann je batch Abtastungen
+ * ein Ereignis mit den in dieser Zeit neu veroeffentlichten Zustaenden als
+ * kompaktes JSON (skalierte long-Werte)</li>
+ * <li>GET /state - aktueller Zustand als JSON</li>
+ * <li>POST /setPoint?value=n[&amp;channel=k], POST /moveTo?phi=n[&amp;channel=k], 
+ * POST /stop, POST /reset - Bedienung</li>
+ * </ul>
+ * <p>
+ * Die Taktung wird nicht beruehrt: abgetastet wird ueber Model.readState()
+ * (ohne Sperre) im Thread des sampler, dort erfolgt auch die Serialisierung.
+ * Geschrieben wird im Thread der jeweiligen Verbindung aus einer begrenzten
+ * Warteschlange. Ist diese voll, wird der Frame verworfen (Ausduennung),
+ * bleibt sie laenger als STALL_TIMEOUT voll, wird die Verbindung getrennt:
+ * der sampler unterbricht den Thread der Verbindung, ein in write() blockierter
+ * SocketChannel wird dabei geschlossen (InterruptibleChannel).
+ * </p>
+ */
+final class TelemetryServer
+{
+    /**
+     * logger...
+     */
+    private final static Logger logger = LoggerFactory.getLogger(TelemetryServer.class);
+    
+    /**
+     * MAX_RATE = 1000 - max. Abtastrate eines Clients in 1/s...
+     */
+    final static int MAX_RATE = 1000;
+    
+    /**
+     * MAX_BATCH = 1000 - max. Anzahl der Abtastungen je Frame...
+     */
+    final static int MAX_BATCH = 1000;
+    
+    /**
+     * DEFAULT_RATE = 20, DEFAULT_BATCH = 4 - Voreinstellungen (5 Frames/s)...
+     */
+    final static int DEFAULT_RATE = 20;
+    final static int DEFAULT_BATCH = 4;
+    
+    /**
+     * QUEUE_FRAMES = 16 - Groesse der Warteschlange je Client in Frames...
+     */
+    private final static int QUEUE_FRAMES = 16;
+    
+    /**
+     * STALL_TIMEOUT = 5 s - ein Client, der so lange nichts abnimmt, wird getrennt...
+     */
+    private final static long STALL_TIMEOUT = 5_000_000_000L;
+    
+    /**
+     * FIELDS - Namen und Skalierung (Nachkommastellen) der Werte eines Zustandes...
+     */
+    private final static String FIELDS = "{\"fields\":[\"counter\",\"phi\",\"rotation\",\"lapTime\",\"rpm\",\"cycleTime\","
+                                       + "\"setPoint\",\"error\",\"integral\",\"output\",\"rpmMean\",\"ripple\",\"standstill\","
+                                       + "\"profileValue\",\"profileRate\",\"profilePhase\",\"targetPhi\",\"overshoot\",\"brakeLatency\","
+                                       + "\"rippleOrder\",\"rippleAmplitude\",\"rippleFrequency\"],"
+                                       + "\"scales\":[0,0," + Model.SCALE_RPM + "," + Model.SCALE_LAP_TIME + "," + Model.SCALE_RPM + ","
+                                       + Model.SCALE_CYCLE_TIME + ",0," + Model.SCALE_RPM + "," + Model.SCALE_CONTROL + ",0,"
+                                       + Model.SCALE_RPM + "," + Model.SCALE_RPM + ",0,"
+                                       + Model.SCALE_CONTROL + "," + Model.SCALE_CONTROL + ",0,0,0," + Model.SCALE_LATENCY + ",0,"
+                                       + Model.SCALE_CONTROL + "," + Model.SCALE_RPM + "]}";
+    
+    /**
+     * INDEX_PAGE - Anzeige im Browser...
+     */
+    private final static String INDEX_PAGE = "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>gui.Model</title></head>"
+        + "<body><pre id=\"state\">...</pre><script>"
+        + "var fields=[],scales=[],source=new EventSource('stream'+location.search);"
+        + "source.addEventListener('fields',function(e){var f=JSON.parse(e.data);fields=f.fields;scales=f.scales;});"
+        + "source.onmessage=function(e){var f=JSON.parse(e.data);if(f.samples.length==0)return;"
+        + "var s=f.samples[f.samples.length-1],t='';"
+        + "for(var i=0;i<fields.length;i++){t+=fields[i]+': '+(s[i]/Math.pow(10,scales[i])).toFixed(scales[i])+'\\n';}"
+        + "document.getElementById('state').textContent=t+'dropped: '+f.dropped;};"
+        + "</script></body></html>";
+    
+    /**
+     * model...
+     */
+    private final Model model;
+    
+    /**
+     * server - JDK HttpServer...
+     */
+    private final HttpServer server;
+    
+    /**
+     * executor - Threads der Verbindungen (je Client einer fuer die Dauer des Streams)...
+     */
+    private final ExecutorService executor;
+    
+    /**
+     * sampler - Abtastung und Serialisierung fuer alle Clients...
+     */
+    private final ScheduledExecutorService sampler;
+    
+    /**
+     * maxClients - max. Anzahl gleichzeitiger Streams...
+     */
+    private final int maxClients;
+    
+    /**
+     * clients - Anzahl der aktuellen Streams...
+     */
+    private final AtomicInteger clients = new AtomicInteger();
+    
+    /**
+     * startTime - Bezug der Zeitangabe t der Frames...
+     */
+    private final long startTime = System.nanoTime();
+    
+    /**
+     * Konstruktor TelemetryServer(Model model, InetSocketAddress address, int maxClients)
+     * @param model
+     * @param address Adresse und Port (Port 0 => beliebiger freier Port)
+     * @param maxClients max. Anzahl gleichzeitiger Streams
+     * @throws IOException Port belegt o.ae.
+     */
+    TelemetryServer(Model model, InetSocketAddress address, int maxClients) throws IOException
+    {
+        this.model = model;
+        this.maxClients = maxClients;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newCachedThreadPool(new NamedThreadFactory("TelemetryServer"));
+        this.sampler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("TelemetryServer-sampler"));
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/", new HttpHandler()
+        {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException
+            {
+                if (!"/".equals(exchange.getRequestURI().getPath()))
+                {
+                    send(exchange, 404, "text/plain", "not found");
+                    return;
+                }
+                send(exchange, 200, "text/html; charset=utf-8", INDEX_PAGE);
+            }
+        });
+        this.server.createContext("/state", new HttpHandler()
+        {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException
+            {
+                final StateSnapshot state = new StateSnapshot();
+                final long version = TelemetryServer.this.model.readState(state);
+                final StringBuilder builder = new StringBuilder(256);
+                builder.append("{\"version\":").append(version)
+                       .append(",\"counter\":").append(state.getCounter())
+                       .append(",\"phi\":").append(state.getPhi())
+                       .append(",\"rotation\":").append(FixedPoint.toDecimal(state.getRotation(), Model.SCALE_RPM).toPlainString())
+                       .append(",\"lapTime\":").append(FixedPoint.toDecimal(state.getLapTime(), Model.SCALE_LAP_TIME).toPlainString())
+                       .append(",\"rpm\":").append(FixedPoint.toDecimal(state.getRpm(), Model.SCALE_RPM).toPlainString())
+                       .append(",\"cycleTime\":").append(FixedPoint.toDecimal(state.getCycleTime(), Model.SCALE_CYCLE_TIME).toPlainString())
+                       .append(",\"setPoint\":").append(TelemetryServer.this.model.getSetPoint())
+                       .append(",\"error\":").append(FixedPoint.toDecimal(state.getError(), Model.SCALE_RPM).toPlainString())
+                       .append(",\"integral\":").append(FixedPoint.toDecimal(state.getIntegral(), Model.SCALE_CONTROL).toPlainString())
+                       .append(",\"output\":").append(state.getOutput())
+                       .append(",\"rpmMean\":").append(FixedPoint.toDecimal(state.getRpmMean(), Model.SCALE_RPM).toPlainString())
+                       .append(",\"ripple\":").append(FixedPoint.toDecimal(state.getRipple(), Model.SCALE_RPM).toPlainString())
+                       .append(",\"standstill\":").append(state.isStandstill())
+                       .append(",\"profileValue\":").append(FixedPoint.toDecimal(state.getProfileValue(), Model.SCALE_CONTROL).toPlainString())
+                       .append(",\"profileRate\":").append(FixedPoint.toDecimal(state.getProfileRate(), Model.SCALE_CONTROL).toPlainString())
+                       .append(",\"profilePhase\":\"").append(SetPointProfile.phaseName(state.getProfilePhase())).append('"')
+                       .append(",\"targetPhi\":").append(state.getTargetPhi())
+                       .append(",\"overshoot\":").append(state.getOvershoot())
+                       .append(",\"brakeLatency\":").append(FixedPoint.toDecimal(state.getBrakeLatency(), Model.SCALE_LATENCY).toPlainString())
+                       .append(",\"rippleOrder\":").append(state.getRippleOrder())
+                       .append(",\"rippleAmplitude\":").append(FixedPoint.toDecimal(state.getRippleAmplitude(), Model.SCALE_CONTROL).toPlainString())
+                       .append(",\"rippleFrequency\":").append(FixedPoint.toDecimal(state.getRippleFrequency(), Model.SCALE_RPM).toPlainString())
+                       .append(",\"controlMode\":\"").append(TelemetryServer.this.model.getControlMode().getKey())
+                       .append("\",\"edges\":").append(TelemetryServer.this.model.getEdgeCount())
+                       .append(",\"illegalTransitions\":").append(TelemetryServer.this.model.getIllegalTransitions())
+                       .append('}');
+                send(exchange, 200, "application/json", builder.toString());
+            }
+        });
+        this.server.createContext("/setPoint", new CommandHandler()
+        {
+            @Override
+            void execute(HttpExchange exchange)
+            {
+                final String value = getParameter(exchange, "value");
+                if (value == null)
+                {
+                    throw new IllegalArgumentException("value fehlt");
+                }
+                final String channel = getParameter(exchange, "channel");
+                TelemetryServer.this.model.setSetPoint((channel != null)? Integer.parseInt(channel) : 0, Integer.parseInt(value));
+            }
+        });
+        this.server.createContext("/moveTo", new CommandHandler()
+        {
+            @Override
+            void execute(HttpExchange exchange)
+            {
+                final String phi = getParameter(exchange, "phi");
+                if (phi == null)
+                {
+                    throw new IllegalArgumentException("phi fehlt");
+                }
+                final String channel = getParameter(exchange, "channel");
+                TelemetryServer.this.model.moveTo((channel != null)? Integer.parseInt(channel) : 0, Long.parseLong(phi));
+            }
+        });
+        this.server.createContext("/stop", new CommandHandler()
+        {
+            @Override
+            void execute(HttpExchange exchange)
+            {
+                TelemetryServer.this.model.stop();
+            }
+        });
+        this.server.createContext("/reset", new CommandHandler()
+        {
+            @Override
+            void execute(HttpExchange exchange)
+            {
+                TelemetryServer.this.model.reset();
+            }
+        });
+        this.server.createContext("/stream", new HttpHandler()
+        {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException
+            {
+                stream(exchange);
+            }
+        });
+    }
+    
+    /**
+     * start() - Start des Servers...
+     */
+    void start()
+    {
+        this.server.start();
+        logger.info("TelemetryServer: http://" + this.server.getAddress().getHostString() + ":" + getPort() + "/");
+    }
+    
+    /**
+     * getPort() - tatsaechlicher Port (bei Port 0 der vergebene)...
+     * @return port
+     */
+    int getPort()
+    {
+        return this.server.getAddress().getPort();
+    }
+    
+    /**
+     * shutdown() - Beenden des Servers, offene Streams werden getrennt...
+     */
+    void shutdown()
+    {
+        this.sampler.shutdownNow();
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+    
+    /**
+     * stream(HttpExchange exchange) - Server-Sent Events im Thread der Verbindung...
+     * @param exchange
+     * @throws IOException
+     */
+    private void stream(HttpExchange exchange) throws IOException
+    {
+        if (this.clients.incrementAndGet() > this.maxClients)
+        {
+            this.clients.decrementAndGet();
+            send(exchange, 503, "text/plain", "max. " + this.maxClients + " clients");
+            return;
+        }
+        final Subscription subscription;
+        try
+        {
+            subscription = new Subscription(parseInt(getParameter(exchange, "rate"), DEFAULT_RATE, 1, MAX_RATE),
+                                            parseInt(getParameter(exchange, "batch"), DEFAULT_BATCH, 1, MAX_BATCH));
+        }
+        catch (IllegalArgumentException exception)
+        {
+            this.clients.decrementAndGet();
+            send(exchange, 400, "text/plain", exception.getMessage());
+            return;
+        }
+        subscription.future = this.sampler.scheduleAtFixedRate(subscription, 0L,
+                                                               1_000_000_000L / subscription.rate, TimeUnit.NANOSECONDS);
+        logger.info("Stream " + exchange.getRemoteAddress() + ": " + subscription.rate + "/s, batch " + subscription.batch);
+        subscription.attach(Thread.currentThread());
+        try
+        {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            // keine Wiederverwendung der Verbindung, close() trennt den Client...
+            exchange.getResponseHeaders().set("Connection", "close");
+            exchange.sendResponseHeaders(200, 0L);
+            final OutputStream output = exchange.getResponseBody();
+            output.write(("event: fields\ndata: " + FIELDS + "\n\n").getBytes(StandardCharsets.UTF_8));
+            output.flush();
+            while (!subscription.stalled)
+            {
+                final byte[] frame = subscription.frames.poll(1L, TimeUnit.SECONDS);
+                if (frame != null)
+                {
+                    output.write(frame);
+                    output.flush();
+                }
+            }
+            logger.warn("Stream " + exchange.getRemoteAddress() + " getrennt (keine Abnahme seit " + STALL_TIMEOUT/1_000_000_000L + " s)");
+        }
+        catch (IOException exception)
+        {
+            if (subscription.stalled)
+            {
+                // ClosedByInterruptException: write() durch disconnect() abgebrochen...
+                logger.warn("Stream " + exchange.getRemoteAddress() + " getrennt (keine Abnahme seit " + STALL_TIMEOUT/1_000_000_000L + " s)");
+                return;
+            }
+            // Client hat die Verbindung beendet...
+            logger.info("Stream " + exchange.getRemoteAddress() + " beendet, " + subscription.dropped + " Frames verworfen");
+        }
+        catch (InterruptedException exception)
+        {
+            if (subscription.stalled)
+            {
+                logger.warn("Stream " + exchange.getRemoteAddress() + " getrennt (keine Abnahme seit " + STALL_TIMEOUT/1_000_000_000L + " s)");
+            }
+            // Unterbrechung bleibt gesetzt, close() schliesst dann auch einen vollen SocketChannel...
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            subscription.release();
+            subscription.detach();
+            exchange.close();
+            if (subscription.stalled)
+            {
+                // Unterbrechung durch disconnect() nicht an den Thread des Pools weitergeben...
+                Thread.interrupted();
+            }
+        }
+    }
+    
+    /**
+     * Subscription - Abtastung eines Clients, ausgefuehrt im sampler...
+     * <p>
+     * Je Abtastung wird der Zustand nur uebernommen, wenn seit der letzten
+     * Abtastung eine neue Taktung veroeffentlicht wurde. Nach batch Abtastungen
+     * wird der Frame (auch leer, dann als Lebenszeichen) in die Warteschlange
+     * gestellt.
+     * </p>
+     */
+    private final class Subscription implements Runnable
+    {
+        private final int rate;
+        private final int batch;
+        private final BlockingQueue<byte[]> frames = new ArrayBlockingQueue<>(QUEUE_FRAMES);
+        private final StateSnapshot state = new StateSnapshot();
+        private final StringBuilder builder = new StringBuilder(1024);
+        private long lastVersion = -1L;
+        private int samples = 0;
+        private int count = 0;
+        private long dropped = 0L;
+        private long lastAccepted = System.nanoTime();
+        private volatile boolean stalled = false;
+        private volatile ScheduledFuture<?> future;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private Thread writer = null;
+    
+        Subscription(int rate, int batch)
+        {
+            this.rate = rate;
+            this.batch = batch;
+        }
+    
+        @Override
+        public void run()
+        {
+            if (this.count == 0)
+            {
+                this.builder.setLength(0);
+                this.samples = 0;
+            }
+            final long version = TelemetryServer.this.model.readState(this.state);
+            if (version != this.lastVersion)
+            {
+                this.lastVersion = version;
+                this.builder.append((this.samples == 0)? '[' : ',');
+                this.builder.append('[').append(this.state.getCounter())
+                            .append(',').append(this.state.getPhi())
+                            .append(',').append(this.state.getRotation())
+                            .append(',').append(this.state.getLapTime())
+                            .append(',').append(this.state.getRpm())
+                            .append(',').append(this.state.getCycleTime())
+                            .append(',').append(this.state.getSetPoint())
+                            .append(',').append(this.state.getError())
+                            .append(',').append(this.state.getIntegral())
+                            .append(',').append(this.state.getOutput())
+                            .append(',').append(this.state.getRpmMean())
+                            .append(',').append(this.state.getRipple())
+                            .append(',').append(this.state.isStandstill()? 1 : 0)
+                            .append(',').append(this.state.getProfileValue())
+                            .append(',').append(this.state.getProfileRate())
+                            .append(',').append(this.state.getProfilePhase())
+                            .append(',').append(this.state.getTargetPhi())
+                            .append(',').append(this.state.getOvershoot())
+                            .append(',').append(this.state.getBrakeLatency())
+                            .append(',').append(this.state.getRippleOrder())
+                            .append(',').append(this.state.getRippleAmplitude())
+                            .append(',').append(this.state.getRippleFrequency())
+                            .append(']');
+                this.samples++;
+            }
+            if (++this.count < this.batch)
+            {
+                return;
+            }
+            this.count = 0;
+            final String samples = (this.samples == 0)? "[]" : this.builder.append(']').toString();
+            final String frame = "data: {\"t\":" + (System.nanoTime() - TelemetryServer.this.startTime)/1_000_000L
+                               + ",\"dropped\":" + this.dropped + ",\"samples\":" + samples + "}\n\n";
+            final long now = System.nanoTime();
+            if (this.frames.offer(frame.getBytes(StandardCharsets.UTF_8)))
+            {
+                this.lastAccepted = now;
+            }
+            else
+            {
+                // langsamer Client: Frame verwerfen, bei dauerhaftem Stau trennen...
+                this.dropped++;
+                if (now - this.lastAccepted > STALL_TIMEOUT)
+                {
+                    // Der Thread der Verbindung haengt ggf. in write(), Abbruch 
+                    // ueber disconnect(), damit werden Thread und Socket frei...
+                    this.stalled = true;
+                    release();
+                    disconnect();
+                }
+            }
+        }
+    
+        /**
+         * release() - Ende der Abtastung, Freigabe des Platzes (einmalig)...
+         */
+        void release()
+        {
+            if (this.released.compareAndSet(false, true))
+            {
+                this.future.cancel(false);
+                TelemetryServer.this.clients.decrementAndGet();
+            }
+        }
+    
+        /**
+         * attach(Thread thread) - Thread der Verbindung, der in stream() schreibt...
+         * @param thread
+         */
+        synchronized void attach(Thread thread)
+        {
+            this.writer = thread;
+        }
+    
+        /**
+         * detach() - Ende von stream(), danach keine Unterbrechung mehr...
+         */
+        synchronized void detach()
+        {
+            this.writer = null;
+        }
+    
+        /**
+         * disconnect() - Trennen des Clients: Unterbrechung des Threads der 
+         * Verbindung, ein blockiertes write() endet mit ClosedByInterruptException
+         * und der SocketChannel wird geschlossen...
+         */
+        synchronized void disconnect()
+        {
+            if (this.writer != null)
+            {
+                this.writer.interrupt();
+            }
+        }
+    }
+    
+    /**
+     * CommandHandler - POST-Kommando, Antwort 204 bzw. 400 mit Fehlertext...
+     */
+    private abstract class CommandHandler implements HttpHandler
+    {
+        abstract void execute(HttpExchange exchange);
+    
+        @Override
+        public void handle(HttpExchange exchange) throws IOException
+        {
+            if (!"POST".equals(exchange.getRequestMethod()))
+            {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, "text/plain", "POST");
+                return;
+            }
+            try
+            {
+                execute(exchange);
+            }
+            catch (IllegalArgumentException exception)
+            {
+                send(exchange, 400, "text/plain", String.valueOf(exception.getMessage()));
+                return;
+            }
+            exchange.sendResponseHeaders(204, -1L);
+            exchange.close();
+        }
+    }
+    
+    /**
+     * send(HttpExchange exchange, int status, String contentType, String body) - vollstaendige Antwort...
+     * @param exchange
+     * @param status HTTP-Status
+     * @param contentType
+     * @param body
+     * @throws IOException
+     */
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException
+    {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody())
+        {
+            output.write(bytes);
+        }
+    }
+    
+    /**
+     * getParameter(HttpExchange exchange, String name) - Parameter der Query...
+     * @param exchange
+     * @param name
+     * @return Wert oder null
+     */
+    private static String getParameter(HttpExchange exchange, String name)
+    {
+        final String query = exchange.getRequestURI().getRawQuery();
+        if (query == null)
+        {
+            return null;
+        }
+        for (String parameter: query.split("&"))
+        {
+            final int index = parameter.indexOf('=');
+            if (index > 0 && name.equals(parameter.substring(0, index)))
+            {
+                return parameter.substring(index + 1);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * parseInt(String value, int defaultValue, int min, int max) - Parameter mit Pruefung...
+     * @return Wert
+     * @throws IllegalArgumentException keine Zahl oder ausserhalb min...max
+     */
+    private static int parseInt(String value, int defaultValue, int min, int max)
+    {
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        final int result = Integer.parseInt(value);
+        if (result < min || result > max)
+        {
+            throw new IllegalArgumentException(value + " nicht in " + min + "..." + max);
+        }
+        return result;
+    }
+    
+    /**
+     * NamedThreadFactory - Daemon-Threads mit Namen...
+     */
+    private static final class NamedThreadFactory implements ThreadFactory
+    {
+        private final String name;
+        private final AtomicInteger number = new AtomicInteger();
+    
+        NamedThreadFactory(String name)
+        {
+            this.name = name;
+        }
+    
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            final Thread thread = new Thread(runnable, this.name + "-" + this.number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
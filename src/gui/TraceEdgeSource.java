@@ -0,0 +1,266 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TraceEdgeSource - Wiedergabe der von einem TelemetryRecorder aufgezeichneten
+ * Flanken (recorderEdges = true) als EdgeSource...
+ * <p>
+ * Die Flanken werden in der aufgezeichneten Reihenfolge mit den aufgezeichneten
+ * Abstaenden der Zeitstempel geliefert, bezogen auf den Start der Wiedergabe.
+ * Da die Berechnung im Model nur die Zeitstempel der Flanken verwendet,
+ * ist das Ergebnis unabhaengig vom Tempo der Wiedergabe:
+ * </p>
+ * <ul>
+ * <li>speed = Double.POSITIVE_INFINITY: so schnell wie moeglich,</li>
+ * <li>speed = k: k-fache Geschwindigkeit der Aufzeichnung.</li>
+ * </ul>
+ * <p>
+ * Die Quelle ist verlustfrei (isLossless()), bei vollem Ring wird gewartet.
+ * Die Pegel vor der ersten Flanke ergeben sich aus der jeweils ersten Flanke
+ * eines Pins.
+ * </p>
+ */
+public class TraceEdgeSource implements EdgeSource
+{
+    /**
+     * logger
+     */
+    private final static Logger logger = LoggerFactory.getLogger(TraceEdgeSource.class);
+    
+    /**
+     * SPIN_NANOS = 100 us - kuerzere Wartezeiten werden aktiv gewartet...
+     */
+    private final static long SPIN_NANOS = 100_000L;
+    
+    /**
+     * path - Verzeichnis oder Datei der Aufzeichnung...
+     */
+    private final Path path;
+    
+    /**
+     * speed - Vielfaches der Geschwindigkeit der Aufzeichnung...
+     */
+    private final double speed;
+    
+    /**
+     * initialLevels - Pegel vor der ersten Flanke, Bit n entspricht dem Pin n...
+     */
+    private final int initialLevels;
+    
+    /**
+     * pulsNumber - Zaehlschritte pro Umdrehung der Aufzeichnung...
+     */
+    private final long pulsNumber;
+    
+    /**
+     * levels - aktuelle Pegel, Bit n entspricht dem Pin n...
+     */
+    private volatile int levels;
+    
+    /**
+     * edges - Anzahl der gelieferten Flanken...
+     */
+    private volatile long edges = 0L;
+    
+    /**
+     * finished - true => alle Flanken geliefert (oder Abbruch)...
+     */
+    private volatile boolean finished = false;
+    
+    /**
+     * running - false => Abbruch der Wiedergabe...
+     */
+    private volatile boolean running = true;
+    
+    /**
+     * thread - der wiedergebende Thread...
+     */
+    private Thread thread = null;
+    
+    /**
+     * Konstruktor TraceEdgeSource(Path path, double speed)
+     * @param path Verzeichnis mit Segmenten oder eine einzelne Segment-Datei
+     * @param speed Vielfaches der Geschwindigkeit der Aufzeichnung,
+     * Double.POSITIVE_INFINITY => so schnell wie moeglich
+     * @throws IOException wenn die Aufzeichnung nicht lesbar ist
+     */
+    public TraceEdgeSource(Path path, double speed) throws IOException
+    {
+        if (!(speed > 0.0))
+        {
+            throw new IllegalArgumentException("speed: " + speed);
+        }
+        this.path = path;
+        this.speed = speed;
+    
+        // Pegel vor der ersten Flanke: Gegenteil der ersten Flanke je Pin...
+        final TelemetryReader reader = new TelemetryReader(path);
+        final long[] record = new long[TelemetryRecorder.RECORD_WORDS];
+        int levels = 0;
+        int seen = 0;
+        final int wanted = (1 << PIN_NE555) | (1 << PIN_INC_A) | (1 << PIN_INC_B);
+        while (((seen & wanted) != wanted) && reader.next(record))
+        {
+            if (TelemetryReader.typeOf(record) != TelemetryRecorder.TYPE_EDGES)
+            {
+                continue;
+            }
+            for (int index = 1; index <= TelemetryReader.auxOf(record); index++)
+            {
+                final int pin = EdgeRing.pinOf(record[index]);
+                if ((seen & (1 << pin)) == 0)
+                {
+                    seen |= (1 << pin);
+                    levels |= EdgeRing.isHigh(record[index])? 0 : (1 << pin);
+                }
+            }
+        }
+        this.initialLevels = levels;
+        this.levels = levels;
+        this.pulsNumber = reader.getPulsNumber();
+    }
+    
+    /**
+     * getPulsNumber() - Zaehlschritte pro Umdrehung der Aufzeichnung (Vorgabe
+     * fuer die Auswertung im Model, vgl. Model.DECODING_KEY)...
+     * @return pulsNumber
+     */
+    public long getPulsNumber()
+    {
+        return this.pulsNumber;
+    }
+    
+    @Override
+    public void start(EdgeListener listener)
+    {
+        this.thread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    replay(listener);
+                }
+                catch (IOException exception)
+                {
+                    logger.error("TraceEdgeSource: Wiedergabe abgebrochen", exception);
+                }
+                finally
+                {
+                    TraceEdgeSource.this.finished = true;
+                }
+            }
+        }, "TraceEdgeSource");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    
+    /**
+     * replay(EdgeListener listener) - Schleife des wiedergebenden Threads...
+     * @param listener
+     * @throws IOException
+     */
+    private void replay(EdgeListener listener) throws IOException
+    {
+        final TelemetryReader reader = new TelemetryReader(this.path);
+        final long[] record = new long[TelemetryRecorder.RECORD_WORDS];
+        final boolean paced = !Double.isInfinite(this.speed);
+        final long start = System.nanoTime();
+        long first = Long.MIN_VALUE;
+        int levels = this.initialLevels;
+        long edges = 0L;
+        while (this.running && reader.next(record))
+        {
+            if (TelemetryReader.typeOf(record) != TelemetryRecorder.TYPE_EDGES)
+            {
+                continue;
+            }
+            final long base = reader.getBase();
+            final int count = TelemetryReader.auxOf(record);
+            for (int index = 1; index <= count; index++)
+            {
+                final long event = record[index];
+                final long recorded = base + (event >> 8);
+                if (first == Long.MIN_VALUE)
+                {
+                    first = recorded;
+                }
+                // Zeitstempel bezogen auf den Start der Wiedergabe...
+                final long nanoTime = start + (recorded - first);
+                if (paced)
+                {
+                    final long due = start + (long) ((recorded - first) / this.speed);
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0L)
+                    {
+                        if (wait > SPIN_NANOS)
+                        {
+                            LockSupport.parkNanos(wait - SPIN_NANOS/2);
+                        }
+                    }
+                }
+                final int pin = EdgeRing.pinOf(event);
+                final boolean high = EdgeRing.isHigh(event);
+                levels = high? (levels | (1 << pin)) : (levels & ~(1 << pin));
+                this.levels = levels;
+                listener.onEdge(pin, high, nanoTime);
+                edges++;
+            }
+            this.edges = edges;
+        }
+    }
+    
+    @Override
+    public boolean isHigh(int pin)
+    {
+        return ((this.levels & (1 << pin)) != 0);
+    }
+    
+    @Override
+    public boolean isLossless()
+    {
+        return true;
+    }
+    
+    /**
+     * isFinished() - sind alle Flanken geliefert?
+     * @return true => Wiedergabe beendet
+     */
+    public boolean isFinished()
+    {
+        return this.finished;
+    }
+    
+    /**
+     * getEdges() - Anzahl der gelieferten Flanken...
+     * @return edges
+     */
+    public long getEdges()
+    {
+        return this.edges;
+    }
+    
+    @Override
+    public void shutdown()
+    {
+        this.running = false;
+        if (this.thread != null)
+        {
+            try
+            {
+                this.thread.join(1000L);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
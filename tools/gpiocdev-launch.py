@@ -0,0 +1,75 @@
+#!/usr/bin/env python3
+# gpiocdev-launch.py - Startprogramm fuer backend = gpiocdev (gui.GpioCdevEdgeSource)...
+#
+# Fordert die Leitungen am gpiochip mit ioctl GPIO_V2_GET_LINE_IOCTL an (Eingang,
+# steigende und fallende Flanke, Zeitstempel CLOCK_MONOTONIC, ohne Pull-Widerstand
+# wie Pi4jEdgeSource), legt den Dateideskriptor der Leitungsanforderung auf fd 0
+# und ersetzt sich durch den Java-Aufruf. Java liest die Ereignisse dann mit
+# gpioEventFile = - unmittelbar aus dem Kernel-Puffer. Nur Python 3, ohne libgpiod.
+#
+# Aufruf (auf dem Raspi, Benutzer in der Gruppe gpio):
+#   python3 tools/gpiocdev-launch.py /dev/gpiochip0 17,27,22 -- \
+#       java -cp control02.jar:pi4j-core.jar:slf4j-api-1.7.30.jar:slf4j-simple-1.7.30.jar:i2c.jar \
+#       gui.HeadlessMain backend=gpiocdev gpioEventFile=- gpioLines=17,27,22 httpPort=8080
+#
+# Die Leitungen (BCM-Nummern) muessen mit gpioLines uebereinstimmen: NE555, A0, B0, A1, B1...
+# Die Konsole von HeadlessMain ist dabei abgeschaltet (fd 0 ist die Leitungsanforderung),
+# bedient wird ueber HTTP (httpPort) oder JMX.
+
+import fcntl
+import os
+import struct
+import sys
+
+# struct gpio_v2_line_request (linux/gpio.h), 592 Byte...
+GPIO_V2_LINES_MAX = 64
+GPIO_MAX_NAME_SIZE = 32
+GPIO_V2_LINE_NUM_ATTRS_MAX = 10
+REQUEST_SIZE = 592
+REQUEST_OFFSET_FD = 588
+# _IOWR(0xB4, 0x07, struct gpio_v2_line_request)...
+GPIO_V2_GET_LINE_IOCTL = (3 << 30) | (REQUEST_SIZE << 16) | (0xB4 << 8) | 0x07
+
+# enum gpio_v2_line_flag...
+GPIO_V2_LINE_FLAG_INPUT = 1 << 2
+GPIO_V2_LINE_FLAG_EDGE_RISING = 1 << 3
+GPIO_V2_LINE_FLAG_EDGE_FALLING = 1 << 4
+
+# EVENT_BUFFER_SIZE = 1024 - max. Kernel-Puffer (GPIO_V2_LINES_MAX * 16 Ereignisse)...
+EVENT_BUFFER_SIZE = GPIO_V2_LINES_MAX * 16
+
+
+def request_lines(chip, lines, consumer):
+    """Leitungsanforderung, Rueckgabe ist der Dateideskriptor der Anforderung..."""
+    if not 0 < len(lines) <= GPIO_V2_LINES_MAX:
+        raise ValueError("lines: " + str(lines))
+    offsets = struct.pack("<%dI" % GPIO_V2_LINES_MAX, *(lines + [0] * (GPIO_V2_LINES_MAX - len(lines))))
+    name = consumer.encode("ascii")[:GPIO_MAX_NAME_SIZE - 1].ljust(GPIO_MAX_NAME_SIZE, b"\0")
+    # struct gpio_v2_line_config: flags, num_attrs, padding[5], attrs[10] (je 24 Byte)...
+    config = struct.pack("<QI5I", GPIO_V2_LINE_FLAG_INPUT | GPIO_V2_LINE_FLAG_EDGE_RISING | GPIO_V2_LINE_FLAG_EDGE_FALLING,
+                         0, 0, 0, 0, 0, 0) + bytes(24 * GPIO_V2_LINE_NUM_ATTRS_MAX)
+    # num_lines, event_buffer_size, padding[5], fd...
+    request = bytearray(offsets + name + config + struct.pack("<II5Ii", len(lines), EVENT_BUFFER_SIZE, 0, 0, 0, 0, 0, -1))
+    assert len(request) == REQUEST_SIZE
+    chip_fd = os.open(chip, os.O_RDONLY | os.O_CLOEXEC)
+    try:
+        fcntl.ioctl(chip_fd, GPIO_V2_GET_LINE_IOCTL, request)
+    finally:
+        os.close(chip_fd)
+    return struct.unpack_from("<i", request, REQUEST_OFFSET_FD)[0]
+
+
+def main(argv):
+    if len(argv) < 5 or argv[3] != "--":
+        sys.stderr.write("Aufruf: gpiocdev-launch.py /dev/gpiochipN line,line,... -- java ...\n")
+        return 2
+    chip = argv[1]
+    lines = [int(line) for line in argv[2].split(",")]
+    fd = request_lines(chip, lines, "control02")
+    os.dup2(fd, 0)
+    os.close(fd)
+    os.execvp(argv[4], argv[4:])
+
+
+if __name__ == "__main__":
+    sys.exit(main(sys.argv))